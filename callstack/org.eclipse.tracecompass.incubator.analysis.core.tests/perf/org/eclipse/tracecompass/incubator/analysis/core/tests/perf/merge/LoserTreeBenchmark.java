@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.analysis.core.tests.perf.merge;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.merge.LoserTree;
+import org.junit.Test;
+
+/**
+ * Benchmarks the merge of sorted sources, like the streams of a trace, with a
+ * {@link LoserTree} and with a {@link PriorityQueue} of the sources ordered by
+ * the key of their head, from 8 to 4096 sources.
+ */
+public class LoserTreeBenchmark {
+
+    private static final String TEST_ID = "org.eclipse.tracecompass.incubator#Merge#";
+    private static final String TEST_LOSER_TREE = "Loser tree merge (%d sources)";
+    private static final String TEST_PRIORITY_QUEUE = "Priority queue merge (%d sources)";
+
+    private static final int[] SOURCE_COUNTS = { 8, 64, 512, 4096 };
+    private static final int ELEMENT_COUNT = 2000000;
+    private static final int LOOP_COUNT = 10;
+    private static final long SEED = 42;
+
+    /**
+     * Run the benchmarks for all the numbers of sources
+     */
+    @Test
+    public void runMergeBenchmark() {
+        for (int sourceCount : SOURCE_COUNTS) {
+            long[][] sources = createSources(sourceCount);
+            long expected = 0;
+            for (long[] source : sources) {
+                for (long key : source) {
+                    expected += key;
+                }
+            }
+            benchmarkLoserTree(sources, expected);
+            benchmarkPriorityQueue(sources, expected);
+        }
+    }
+
+    private static long[][] createSources(int sourceCount) {
+        Random random = new Random(SEED);
+        int length = ELEMENT_COUNT / sourceCount;
+        long[][] sources = new long[sourceCount][length];
+        for (long[] source : sources) {
+            long key = 0;
+            for (int i = 0; i < length; i++) {
+                key += 1 + random.nextInt(2 * sourceCount);
+                source[i] = key;
+            }
+        }
+        return sources;
+    }
+
+    private static void benchmarkLoserTree(long[][] sources, long expected) {
+        Performance perf = Performance.getDefault();
+        String name = String.format(TEST_LOSER_TREE, sources.length);
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + name));
+        perf.tagAsSummary(pm, name, Dimension.CPU_TIME);
+
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            pm.start();
+            LoserTree tree = new LoserTree(sources.length);
+            int[] positions = new int[sources.length];
+            for (int source = 0; source < sources.length; source++) {
+                tree.setKey(source, sources[source][0]);
+            }
+            tree.build();
+            long sum = 0;
+            while (!tree.isEmpty()) {
+                int source = tree.getTop();
+                sum += tree.getTopKey();
+                int position = ++positions[source];
+                if (position < sources[source].length) {
+                    tree.replaceTopKey(sources[source][position]);
+                } else {
+                    tree.removeTop();
+                }
+            }
+            pm.stop();
+            assertEquals(expected, sum);
+        }
+        pm.commit();
+    }
+
+    private static void benchmarkPriorityQueue(long[][] sources, long expected) {
+        Performance perf = Performance.getDefault();
+        String name = String.format(TEST_PRIORITY_QUEUE, sources.length);
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + name));
+        perf.tagAsSummary(pm, name, Dimension.CPU_TIME);
+
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            pm.start();
+            int[] positions = new int[sources.length];
+            PriorityQueue<Integer> queue = new PriorityQueue<>(sources.length, (o1, o2) -> {
+                int compare = Long.compare(sources[o1][positions[o1]], sources[o2][positions[o2]]);
+                return compare != 0 ? compare : Integer.compare(o1, o2);
+            });
+            for (int source = 0; source < sources.length; source++) {
+                queue.add(source);
+            }
+            long sum = 0;
+            Integer top = queue.poll();
+            while (top != null) {
+                int source = top;
+                sum += sources[source][positions[source]];
+                if (++positions[source] < sources[source].length) {
+                    queue.add(top);
+                }
+                top = queue.poll();
+            }
+            pm.stop();
+            assertEquals(expected, sum);
+        }
+        pm.commit();
+    }
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.analysis.core.tests.merge;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.merge.LoserTree;
+import org.junit.Test;
+
+/**
+ * Test the {@link LoserTree} class
+ */
+@NonNullByDefault
+public class LoserTreeTest {
+
+    private static final long SEED = 42;
+
+    /**
+     * Test a tree without sources, and a tree whose sources have no elements
+     */
+    @Test
+    public void testEmpty() {
+        LoserTree tree = new LoserTree(0);
+        assertTrue(tree.isEmpty());
+        assertEquals(-1, tree.getTop());
+
+        tree = new LoserTree(5);
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.getActiveCount());
+        assertEquals(-1, tree.getTop());
+        tree.removeTop();
+        assertTrue(tree.isEmpty());
+    }
+
+    /**
+     * Test that the sources with the same key are ordered by number
+     */
+    @Test
+    public void testTies() {
+        LoserTree tree = new LoserTree(3);
+        tree.setKey(2, 10);
+        tree.setKey(1, 10);
+        tree.setKey(0, 20);
+        tree.build();
+        assertEquals(3, tree.getActiveCount());
+        assertEquals(1, tree.getTop());
+        assertEquals(10, tree.getTopKey());
+
+        tree.replaceTopKey(20);
+        assertEquals(2, tree.getTop());
+        tree.removeTop();
+        assertEquals(0, tree.getTop());
+        tree.removeTop();
+        assertEquals(1, tree.getTop());
+        assertEquals(20, tree.getTopKey());
+        tree.removeTop();
+        assertFalse(tree.getActiveCount() > 0);
+        assertEquals(-1, tree.getTop());
+    }
+
+    /**
+     * Test the extreme keys
+     */
+    @Test
+    public void testExtremeKeys() {
+        LoserTree tree = new LoserTree(2);
+        tree.setKey(0, Long.MAX_VALUE);
+        tree.setKey(1, Long.MIN_VALUE);
+        tree.build();
+        assertEquals(1, tree.getTop());
+        tree.replaceTopKey(Long.MAX_VALUE);
+        assertEquals(0, tree.getTop());
+        tree.removeTop();
+        assertEquals(1, tree.getTop());
+        assertEquals(Long.MAX_VALUE, tree.getTopKey());
+    }
+
+    /**
+     * Merge random sorted sources of all the sizes up to 70 sources, with a
+     * rebuild of the tree, like after a seek, in the middle of the merge
+     */
+    @Test
+    public void testMerge() {
+        Random random = new Random(SEED);
+        for (int size = 1; size <= 70; size++) {
+            long[][] sources = new long[size][];
+            List<long[]> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                sources[i] = new long[random.nextInt(20)];
+                long key = random.nextInt(10);
+                for (int j = 0; j < sources[i].length; j++) {
+                    key += random.nextInt(3);
+                    sources[i][j] = key;
+                    expected.add(new long[] { key, i });
+                }
+            }
+            expected.sort(Comparator.<long[]> comparingLong(element -> element[0]).thenComparingLong(element -> element[1]));
+
+            LoserTree tree = new LoserTree(size);
+            int[] positions = new int[size];
+            for (int i = 0; i < size; i++) {
+                if (sources[i].length > 0) {
+                    tree.setKey(i, sources[i][0]);
+                }
+            }
+            tree.build();
+
+            List<long[]> actual = new ArrayList<>();
+            while (!tree.isEmpty()) {
+                int source = tree.getTop();
+                long key = sources[source][positions[source]];
+                assertEquals(key, tree.getTopKey());
+                actual.add(new long[] { key, source });
+                positions[source]++;
+                if (positions[source] < sources[source].length) {
+                    tree.replaceTopKey(sources[source][positions[source]]);
+                } else {
+                    tree.removeTop();
+                }
+                if (actual.size() == expected.size() / 2) {
+                    for (int i = 0; i < size; i++) {
+                        if (positions[i] < sources[i].length) {
+                            tree.setKey(i, sources[i][positions[i]]);
+                        } else {
+                            tree.remove(i);
+                        }
+                    }
+                    tree.build();
+                }
+            }
+            assertEquals("size " + size, expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals("size " + size + ", element " + i, expected.get(i), actual.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.analysis.core.merge;
+
+import java.util.Arrays;
+
+/**
+ * A tournament tree of losers, to merge sorted sources by a primitive key,
+ * like the time stamps of the streams of a trace. The sources are numbered
+ * from 0 and the tree keeps the key of the head of each source, so the
+ * sources are not read to compare them.
+ *
+ * The top of the tree is the source with the smallest key, the sources with
+ * the same key are ordered by number. Replacing the key of the top, when its
+ * source moves to its next element, replays only the matches from its leaf to
+ * the root: log2(n) comparisons against the losers of these matches, instead
+ * of up to twice as many for a binary heap.
+ *
+ * Typical use:
+ *
+ * <pre>
+ * LoserTree tree = new LoserTree(sources.size());
+ * for (int i = 0; i &lt; sources.size(); i++) {
+ *     if (sources.get(i).hasNext()) {
+ *         tree.setKey(i, sources.get(i).peekTime());
+ *     }
+ * }
+ * tree.build();
+ * while (!tree.isEmpty()) {
+ *     Source source = sources.get(tree.getTop());
+ *     consume(source.next());
+ *     if (source.hasNext()) {
+ *         tree.replaceTopKey(source.peekTime());
+ *     } else {
+ *         tree.removeTop();
+ *     }
+ * }
+ * </pre>
+ *
+ * This class is not thread-safe.
+ */
+public final class LoserTree {
+
+    private final int fSize;
+    /** Keys of the heads of the sources */
+    private final long[] fKeys;
+    /** Whether a source has no more elements */
+    private final boolean[] fExhausted;
+    /**
+     * The winner at index 0, and the loser of each match at the other
+     * indexes. The leaf of source i is the node fSize + i, and the parent of
+     * node j is node j / 2.
+     */
+    private final int[] fTree;
+    private int fCount = 0;
+
+    /**
+     * Constructor, the sources are exhausted until their key is set
+     *
+     * @param size
+     *            the number of sources
+     */
+    public LoserTree(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Invalid number of sources: " + size); //$NON-NLS-1$
+        }
+        fSize = size;
+        fKeys = new long[size];
+        fExhausted = new boolean[size];
+        Arrays.fill(fExhausted, true);
+        fTree = new int[Math.max(size, 1)];
+        build();
+    }
+
+    /**
+     * Get the number of sources of the tree
+     *
+     * @return the number of sources
+     */
+    public int size() {
+        return fSize;
+    }
+
+    /**
+     * Set the key of the head of a source. The tree must be rebuilt with
+     * {@link #build()} after the keys are set.
+     *
+     * @param source
+     *            the number of the source
+     * @param key
+     *            the key of the head of the source
+     */
+    public void setKey(int source, long key) {
+        fKeys[source] = key;
+        fExhausted[source] = false;
+    }
+
+    /**
+     * Mark a source as exhausted. The tree must be rebuilt with
+     * {@link #build()} after the sources are removed.
+     *
+     * @param source
+     *            the number of the source
+     */
+    public void remove(int source) {
+        fExhausted[source] = true;
+    }
+
+    /**
+     * Build the tree from the keys of the sources, in linear time
+     */
+    public void build() {
+        fCount = 0;
+        for (int i = 0; i < fSize; i++) {
+            if (!fExhausted[i]) {
+                fCount++;
+            }
+        }
+        if (fSize == 0) {
+            fTree[0] = -1;
+            return;
+        }
+        Arrays.fill(fTree, -1);
+        for (int source = 0; source < fSize; source++) {
+            // Play up to the first node without a waiting player
+            int winner = source;
+            int node = (fSize + source) >>> 1;
+            while (node > 0 && fTree[node] >= 0) {
+                int player = fTree[node];
+                if (isBefore(player, winner)) {
+                    fTree[node] = winner;
+                    winner = player;
+                }
+                node >>>= 1;
+            }
+            fTree[node] = winner;
+        }
+    }
+
+    /**
+     * Whether all the sources are exhausted
+     *
+     * @return true if there are no more elements
+     */
+    public boolean isEmpty() {
+        return fCount == 0;
+    }
+
+    /**
+     * Get the number of sources that are not exhausted
+     *
+     * @return the number of sources with elements
+     */
+    public int getActiveCount() {
+        return fCount;
+    }
+
+    /**
+     * Get the source with the smallest key
+     *
+     * @return the number of the source, or -1 if the tree is empty
+     */
+    public int getTop() {
+        return fCount == 0 ? -1 : fTree[0];
+    }
+
+    /**
+     * Get the smallest key
+     *
+     * @return the key of the top source, or {@link Long#MAX_VALUE} if the tree
+     *         is empty
+     */
+    public long getTopKey() {
+        return fCount == 0 ? Long.MAX_VALUE : fKeys[fTree[0]];
+    }
+
+    /**
+     * Get the key of a source
+     *
+     * @param source
+     *            the number of the source
+     * @return the key of the head of the source
+     */
+    public long getKey(int source) {
+        return fKeys[source];
+    }
+
+    /**
+     * Replace the key of the top source, when it moves to its next element
+     *
+     * @param key
+     *            the key of the new head of the top source
+     */
+    public void replaceTopKey(long key) {
+        int top = fTree[0];
+        fKeys[top] = key;
+        replay(top);
+    }
+
+    /**
+     * Remove the top source, when it has no more elements
+     */
+    public void removeTop() {
+        if (fCount == 0) {
+            return;
+        }
+        int top = fTree[0];
+        fExhausted[top] = true;
+        fCount--;
+        replay(top);
+    }
+
+    /**
+     * Replay the matches of a source from its leaf to the root
+     */
+    private void replay(int source) {
+        int winner = source;
+        for (int node = (fSize + source) >>> 1; node > 0; node >>>= 1) {
+            int loser = fTree[node];
+            if (isBefore(loser, winner)) {
+                fTree[node] = winner;
+                winner = loser;
+            }
+        }
+        fTree[0] = winner;
+    }
+
+    /**
+     * Whether a source comes before another: the exhausted sources come last,
+     * then the sources are ordered by key and by number.
+     */
+    private boolean isBefore(int source, int other) {
+        boolean exhausted = fExhausted[source];
+        if (exhausted != fExhausted[other]) {
+            return !exhausted;
+        }
+        if (!exhausted) {
+            long key = fKeys[source];
+            long otherKey = fKeys[other];
+            if (key != otherKey) {
+                return key < otherKey;
+            }
+        }
+        return source < other;
+    }
+}
@@ -0,0 +1,576 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.analysis.core.merge;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.Activator;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+
+/**
+ * Job sorting the events of a JSON trace by timestamp in a supplementary file,
+ * with an external merge sort.
+ *
+ * The events of the trace file are split in runs of bounded size, that are
+ * sorted by a pool of threads using only the timestamp of the events, and
+ * written to temporary files. The runs are then merged in the supplementary
+ * file, in several passes if there are too many runs to merge them at once.
+ * The events with the same timestamp keep the order of the trace file.
+ *
+ * The supplementary file has the name of the trace file and is a JSON array of
+ * the events, each event being the bytes of the event in the trace file.
+ */
+public abstract class ParallelSortingJob extends Job {
+
+    private static final int RUN_SIZE = 16 * 1024 * 1024;
+    private static final int INITIAL_RUN_CAPACITY = 1024 * 1024;
+    private static final int MAX_THREADS = 8;
+    private static final int MAX_MERGE_RUNS = 128;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+    /** The key of the events without a timestamp, that are sorted first */
+    private static final long NO_KEY = Long.MIN_VALUE;
+
+    private final @Nullable ITmfTrace fTrace;
+    private final String fPath;
+    private final byte[] fTsKey;
+    private final int fBracketsToSkip;
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            the trace to sort
+     * @param path
+     *            the path to the trace file
+     * @param tsKey
+     *            the key of the timestamp in the events, with its quotes and
+     *            the colon, for example <code>"ts":</code>
+     * @param bracketsToSkip
+     *            the number of opening brackets before the array of the events
+     */
+    public ParallelSortingJob(@Nullable ITmfTrace trace, String path, String tsKey, int bracketsToSkip) {
+        super("Sorting trace " + new File(path).getName()); //$NON-NLS-1$
+        fTrace = trace;
+        fPath = path;
+        fTsKey = tsKey.getBytes(StandardCharsets.UTF_8);
+        fBracketsToSkip = bracketsToSkip;
+    }
+
+    /**
+     * Get the path of the trace file
+     *
+     * @return the path
+     */
+    public String getPath() {
+        return fPath;
+    }
+
+    /**
+     * Process the metadata of the trace, once its events are sorted
+     *
+     * @param trace
+     *            the trace
+     * @param dir
+     *            the supplementary file directory of the trace
+     * @throws IOException
+     *             if the metadata cannot be read or written
+     */
+    protected abstract void processMetadata(ITmfTrace trace, String dir) throws IOException;
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        ITmfTrace trace = fTrace;
+        if (trace == null) {
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Trace cannot be null"); //$NON-NLS-1$
+        }
+        String dir = TmfTraceManager.getSupplementaryFileDir(trace);
+        File tempDir = new File(dir + ".tmp"); //$NON-NLS-1$
+        File output = new File(dir + new File(fPath).getName());
+        SubMonitor subMonitor = SubMonitor.convert(monitor, getName(), 2);
+        try {
+            Files.createDirectories(tempDir.toPath());
+            List<File> runs = split(tempDir, subMonitor.split(1));
+            if (runs.isEmpty()) {
+                return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Empty event in " + fPath); //$NON-NLS-1$
+            }
+            File sorted = merge(tempDir, runs, subMonitor.split(1));
+            Files.move(sorted.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            processMetadata(trace, dir);
+        } catch (OperationCanceledException e) {
+            return Status.CANCEL_STATUS;
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error sorting trace " + fPath, e); //$NON-NLS-1$
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error sorting trace " + fPath, e); //$NON-NLS-1$
+        } finally {
+            File[] files = tempDir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            tempDir.delete();
+            subMonitor.done();
+        }
+        return Status.OK_STATUS;
+    }
+
+    // ------------------------------------------------------------------------
+    // Splitting
+    // ------------------------------------------------------------------------
+
+    /**
+     * The events of a run, one after the other in a byte array
+     */
+    private static final class Run {
+        private byte[] fData = new byte[INITIAL_RUN_CAPACITY];
+        private int fSize = 0;
+        private int[] fStarts = new int[1024];
+        private int fCount = 0;
+
+        private void startEvent() {
+            if (fCount == fStarts.length) {
+                fStarts = Arrays.copyOf(fStarts, 2 * fCount);
+            }
+            fStarts[fCount++] = fSize;
+        }
+
+        private void append(int b) {
+            if (fSize == fData.length) {
+                fData = Arrays.copyOf(fData, 2 * fSize);
+            }
+            fData[fSize++] = (byte) b;
+        }
+
+        private int getEnd(int event) {
+            return (event + 1 < fCount) ? fStarts[event + 1] : fSize;
+        }
+    }
+
+    /**
+     * Split the events of the trace file in sorted runs
+     */
+    private List<File> split(File tempDir, SubMonitor monitor) throws IOException {
+        File file = new File(fPath);
+        monitor.setWorkRemaining((int) Math.min(Integer.MAX_VALUE, file.length() / BUFFER_SIZE + 1));
+        int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Trace sorting"); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<File> runs = new ArrayList<>();
+        Deque<Future<?>> pending = new ArrayDeque<>();
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            CountingReader reader = new CountingReader(input);
+            if (!reader.skipBrackets(fBracketsToSkip)) {
+                return runs;
+            }
+            Run run = new Run();
+            long worked = 0;
+            while (reader.readEvent(run)) {
+                long read = reader.getCount() / BUFFER_SIZE;
+                if (read > worked) {
+                    monitor.worked((int) (read - worked));
+                    worked = read;
+                }
+                if (monitor.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                if (run.fSize >= RUN_SIZE) {
+                    submit(executor, pending, threads, run, tempDir, runs);
+                    run = new Run();
+                }
+            }
+            if (run.fCount > 0) {
+                submit(executor, pending, threads, run, tempDir, runs);
+            }
+            while (!pending.isEmpty()) {
+                waitFor(pending.poll());
+            }
+        } finally {
+            for (Future<?> future : pending) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+        return runs;
+    }
+
+    /**
+     * Submit the sort of a run, after waiting for the oldest sort if there are
+     * too many runs in memory
+     */
+    private void submit(ExecutorService executor, Deque<Future<?>> pending, int threads, Run run, File tempDir, List<File> runs) throws IOException {
+        while (pending.size() > threads) {
+            waitFor(pending.poll());
+        }
+        File runFile = new File(tempDir, "run" + runs.size() + ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+        runs.add(runFile);
+        pending.add(executor.submit(() -> {
+            sortRun(run, runFile);
+            return runFile;
+        }));
+    }
+
+    private static void waitFor(@Nullable Future<?> future) throws IOException {
+        if (future == null) {
+            return;
+        }
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Sort the events of a run by timestamp, keeping the order of the events
+     * with the same timestamp, and write them in a run file
+     */
+    private void sortRun(Run run, File runFile) throws IOException {
+        int count = run.fCount;
+        long[] keys = new long[count];
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = getKey(run.fData, run.fStarts[i], run.getEnd(i));
+            order[i] = i;
+        }
+        // Arrays.sort of objects is stable
+        Arrays.sort(order, (o1, o2) -> Long.compare(keys[o1], keys[o2]));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(runFile.toPath()), BUFFER_SIZE))) {
+            for (int i : order) {
+                int start = run.fStarts[i];
+                int length = run.getEnd(i) - start;
+                out.writeLong(keys[i]);
+                out.writeInt(length);
+                out.write(run.fData, start, length);
+            }
+        }
+    }
+
+    /**
+     * Get the sort key of an event: the bits of its timestamp as a double,
+     * ordered like the doubles
+     */
+    private long getKey(byte[] data, int start, int end) {
+        int index = indexOf(data, start, end, fTsKey);
+        if (index < 0) {
+            return NO_KEY;
+        }
+        int pos = index + fTsKey.length;
+        while (pos < end && (data[pos] == ' ' || data[pos] == '"' || data[pos] == '\t')) {
+            pos++;
+        }
+        int numberStart = pos;
+        while (pos < end && isNumberChar(data[pos])) {
+            pos++;
+        }
+        if (pos == numberStart) {
+            return NO_KEY;
+        }
+        double value;
+        try {
+            value = Double.parseDouble(new String(data, numberStart, pos - numberStart, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            return NO_KEY;
+        }
+        if (Double.isNaN(value)) {
+            return NO_KEY;
+        }
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static boolean isNumberChar(byte b) {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+
+    private static int indexOf(byte[] data, int start, int end, byte[] key) {
+        int last = end - key.length;
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < key.length && data[i + j] == key[j]) {
+                j++;
+            }
+            if (j == key.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the events of a JSON trace, counting the bytes read, like the JSON traces do: an event is an
+     * object at the top level of the array of events, the array ends at its
+     * closing bracket.
+     */
+    private static final class CountingReader {
+        private final InputStream fInput;
+        private final byte[] fBuffer = new byte[BUFFER_SIZE];
+        private int fPosition = 0;
+        private int fLimit = 0;
+        private long fCount = 0;
+
+        private CountingReader(InputStream input) {
+            fInput = input;
+        }
+
+        private int read() throws IOException {
+            if (fPosition == fLimit) {
+                int read = fInput.read(fBuffer);
+                if (read <= 0) {
+                    return -1;
+                }
+                fCount += read;
+                fPosition = 0;
+                fLimit = read;
+            }
+            return fBuffer[fPosition++] & 0xff;
+        }
+
+        private long getCount() {
+            return fCount;
+        }
+
+        private boolean skipBrackets(int brackets) throws IOException {
+            for (int i = 0; i < brackets; i++) {
+                int b = read();
+                while (b != '[') {
+                    if (b == -1) {
+                        return false;
+                    }
+                    b = read();
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Read the next event and append it to a run
+         *
+         * @return false at the end of the events
+         */
+        private boolean readEvent(Run run) throws IOException {
+            int scope = -1;
+            int arrayScope = 0;
+            boolean inQuotes = false;
+            int b = read();
+            while (b != -1) {
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (inQuotes) {
+                    if (b == '\\') {
+                        if (scope >= 0) {
+                            run.append(b);
+                        }
+                        b = read();
+                        if (b == -1) {
+                            break;
+                        }
+                    }
+                } else if (b == '{') {
+                    scope++;
+                    if (scope == 0) {
+                        run.startEvent();
+                    }
+                } else if (b == '}') {
+                    if (scope == 0) {
+                        run.append(b);
+                        return true;
+                    }
+                    scope--;
+                } else if (b == '[') {
+                    arrayScope++;
+                } else if (b == ']') {
+                    if (arrayScope > 0) {
+                        arrayScope--;
+                    } else {
+                        break;
+                    }
+                }
+                if (scope >= 0) {
+                    run.append(b);
+                }
+                b = read();
+            }
+            if (scope >= 0) {
+                // Drop the incomplete event
+                run.fSize = run.fStarts[--run.fCount];
+            }
+            return false;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Merging
+    // ------------------------------------------------------------------------
+
+    /**
+     * A sorted run file, read one event at a time
+     */
+    private static final class RunReader implements AutoCloseable {
+        private final DataInputStream fInput;
+        private long fKey;
+        private byte[] fEvent = new byte[1024];
+        private int fLength;
+
+        private RunReader(File file) throws IOException {
+            fInput = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE));
+        }
+
+        private boolean next() throws IOException {
+            try {
+                fKey = fInput.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            fLength = fInput.readInt();
+            if (fLength > fEvent.length) {
+                fEvent = new byte[Math.max(fLength, 2 * fEvent.length)];
+            }
+            fInput.readFully(fEvent, 0, fLength);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            fInput.close();
+        }
+    }
+
+    /**
+     * Merge the runs, in several passes if needed, in a sorted JSON file
+     */
+    private static File merge(File tempDir, List<File> runs, SubMonitor monitor) throws IOException {
+        List<File> current = runs;
+        int passes = 1;
+        for (int count = runs.size(); count > MAX_MERGE_RUNS; count = (count + MAX_MERGE_RUNS - 1) / MAX_MERGE_RUNS) {
+            passes++;
+        }
+        monitor.setWorkRemaining(passes);
+        int pass = 0;
+        while (current.size() > MAX_MERGE_RUNS) {
+            List<File> merged = new ArrayList<>();
+            for (int i = 0; i < current.size(); i += MAX_MERGE_RUNS) {
+                List<File> group = current.subList(i, Math.min(current.size(), i + MAX_MERGE_RUNS));
+                File mergedFile = new File(tempDir, "merge" + pass + '-' + merged.size() + ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+                mergeRuns(group, mergedFile, false, monitor);
+                for (File file : group) {
+                    file.delete();
+                }
+                merged.add(mergedFile);
+            }
+            current = merged;
+            pass++;
+            monitor.worked(1);
+        }
+        File sorted = new File(tempDir, "sorted.json"); //$NON-NLS-1$
+        mergeRuns(current, sorted, true, monitor);
+        monitor.worked(1);
+        return sorted;
+    }
+
+    /**
+     * Merge runs, with a loser tree so that the runs with the same key are
+     * merged in the order of the runs
+     *
+     * @param json
+     *            true to write a JSON array of the events, false to write a
+     *            run file
+     */
+    private static void mergeRuns(List<File> runFiles, File output, boolean json, IProgressMonitor monitor) throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(output.toPath()), BUFFER_SIZE);
+                DataOutputStream out = new DataOutputStream(stream)) {
+            LoserTree tree = new LoserTree(runFiles.size());
+            for (int i = 0; i < runFiles.size(); i++) {
+                RunReader reader = new RunReader(runFiles.get(i));
+                readers.add(reader);
+                if (reader.next()) {
+                    tree.setKey(i, reader.fKey);
+                }
+            }
+            tree.build();
+            if (json) {
+                out.write('[');
+                out.write('\n');
+            }
+            long count = 0;
+            while (!tree.isEmpty()) {
+                RunReader reader = readers.get(tree.getTop());
+                if (json) {
+                    if (count > 0) {
+                        out.write(',');
+                        out.write('\n');
+                    }
+                } else {
+                    out.writeLong(reader.fKey);
+                    out.writeInt(reader.fLength);
+                }
+                out.write(reader.fEvent, 0, reader.fLength);
+                if (reader.next()) {
+                    tree.replaceTopKey(reader.fKey);
+                } else {
+                    tree.removeTop();
+                }
+                if (++count % CANCEL_CHECK_INTERVAL == 0 && monitor.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+            }
+            if (json) {
+                out.write('\n');
+                out.write(']');
+                out.write('\n');
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+}
@@ -53,15 +53,19 @@ import com.google.common.collect.Multimap;
  * {@link org.eclipse.tracecompass.incubator.analysis.core.concepts} and the
  * analysis module should be automatically picked up at creation time.
  *
+ * The providers are kept in synchronized sets and the getters iterate over a
+ * copy of those sets, so the model can be queried by many threads at once,
+ * while traces are opened and closed.
+ *
  * @author Geneviève Bastien
  */
 public class CompositeHostModel implements IHostModel {
 
     private final Multimap<ITmfTrace, Object> fTraceObjectMap = HashMultimap.create();
-    private final Set<ICpuTimeProvider> fCpuTimeProviders = Objects.requireNonNull(Collections.newSetFromMap(new WeakHashMap<ICpuTimeProvider, Boolean>()));
-    private final Set<IThreadOnCpuProvider> fThreadOnCpuProviders = Objects.requireNonNull(Collections.newSetFromMap(new WeakHashMap<IThreadOnCpuProvider, Boolean>()));
-    private final Set<ISamplingDataProvider> fSamplingDataProviders = Objects.requireNonNull(Collections.newSetFromMap(new WeakHashMap<ISamplingDataProvider, Boolean>()));
-    private final Set<KernelAnalysisModule> fKernelModules = Objects.requireNonNull(Collections.newSetFromMap(new WeakHashMap<KernelAnalysisModule, Boolean>()));
+    private final Set<ICpuTimeProvider> fCpuTimeProviders = Objects.requireNonNull(Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<ICpuTimeProvider, Boolean>())));
+    private final Set<IThreadOnCpuProvider> fThreadOnCpuProviders = Objects.requireNonNull(Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<IThreadOnCpuProvider, Boolean>())));
+    private final Set<ISamplingDataProvider> fSamplingDataProviders = Objects.requireNonNull(Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<ISamplingDataProvider, Boolean>())));
+    private final Set<KernelAnalysisModule> fKernelModules = Objects.requireNonNull(Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<KernelAnalysisModule, Boolean>())));
     private final String fHostId;
 
     /**
@@ -77,7 +81,7 @@ public class CompositeHostModel implements IHostModel {
 
     @Override
     public int getThreadOnCpu(int cpu, long t, boolean block) {
-        for (IThreadOnCpuProvider provider : fThreadOnCpuProviders) {
+        for (IThreadOnCpuProvider provider : snapshot(fThreadOnCpuProviders)) {
             Integer tid = provider.getThreadOnCpuAtTime(cpu, t, block);
             if (tid != null && tid != IHostModel.UNKNOWN_TID) {
                 return tid;
@@ -88,7 +92,7 @@ public class CompositeHostModel implements IHostModel {
 
     @Override
     public long getCpuTime(int tid, long start, long end) {
-        for (ICpuTimeProvider provider : fCpuTimeProviders) {
+        for (ICpuTimeProvider provider : snapshot(fCpuTimeProviders)) {
             long cpuTime = provider.getCpuTime(tid, start, end);
             if (cpuTime != IHostModel.TIME_UNKNOWN) {
                 return cpuTime;
@@ -99,7 +103,7 @@ public class CompositeHostModel implements IHostModel {
 
     @Override
     public Collection<AggregatedCallSite> getSamplingData(int tid, long start, long end) {
-        for (ISamplingDataProvider provider : fSamplingDataProviders) {
+        for (ISamplingDataProvider provider : snapshot(fSamplingDataProviders)) {
             Collection<AggregatedCallSite> samples = provider.getSamplingData(tid, start, end);
             if (!samples.isEmpty()) {
                 return samples;
@@ -110,7 +114,7 @@ public class CompositeHostModel implements IHostModel {
 
     @Override
     public int getProcessId(int tid, long t) {
-        Integer pid = fKernelModules.stream()
+        Integer pid = snapshot(fKernelModules).stream()
                 .map(module -> KernelThreadInformationProvider.getProcessId(module, tid, t))
                 .filter(Objects::nonNull)
                 .findFirst().orElse(null);
@@ -119,7 +123,7 @@ public class CompositeHostModel implements IHostModel {
 
     @Override
     public @Nullable String getExecName(int tid, long t) {
-        return fKernelModules.stream()
+        return snapshot(fKernelModules).stream()
                 .map(module -> KernelThreadInformationProvider.getExecutableName(module, tid))
                 .filter(Objects::nonNull)
                 .findFirst().orElse(null);
@@ -336,20 +340,31 @@ public class CompositeHostModel implements IHostModel {
         if (requiredData.contains(ModelDataType.PID) || requiredData.contains(ModelDataType.EXEC_NAME) ||
                 requiredData.contains(ModelDataType.KERNEL_STATES)) {
             // Add the kernel modules
-            list.addAll(fKernelModules);
+            list.addAll(snapshot(fKernelModules));
         }
         if (requiredData.contains(ModelDataType.TID)) {
-            list.addAll(getModulesFrom(fThreadOnCpuProviders));
+            list.addAll(getModulesFrom(snapshot(fThreadOnCpuProviders)));
         }
         if (requiredData.contains(ModelDataType.CPU_TIME)) {
-            list.addAll(getModulesFrom(fCpuTimeProviders));
+            list.addAll(getModulesFrom(snapshot(fCpuTimeProviders)));
         }
         if (requiredData.contains(ModelDataType.SAMPLING_DATA)) {
-            list.addAll(getModulesFrom(fSamplingDataProviders));
+            list.addAll(getModulesFrom(snapshot(fSamplingDataProviders)));
         }
         return list;
     }
 
+    /**
+     * Copy a set of providers, to iterate over them while other threads add or
+     * remove providers. A synchronized set must be locked while it is iterated
+     * over and its weak keys may be expunged on any access.
+     */
+    private static <T> List<T> snapshot(Set<T> set) {
+        synchronized (set) {
+            return new ArrayList<>(set);
+        }
+    }
+
     private static Collection<IAnalysisModule> getModulesFrom(Collection<?> set) {
         List<IAnalysisModule> list = new ArrayList<>();
         for (Object obj : set) {
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.callstack.core.tests.perf.analysis;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.ctf.core.tests.shared.CtfBenchmarkTrace;
+import org.eclipse.tracecompass.incubator.callstack.core.lttng2.ust.LttngUstCallStackAnalysis;
+import org.eclipse.tracecompass.incubator.internal.callstack.core.instrumented.callgraph.CallGraphAnalysis;
+import org.eclipse.tracecompass.lttng2.ust.core.trace.LttngUstTrace;
+import org.eclipse.tracecompass.testtraces.ctf.CtfTestTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfAnalysisException;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceOpenedSignal;
+import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestHelper;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+import org.eclipse.tracecompass.tmf.ctf.core.tests.shared.CtfTmfTestTraceUtils;
+import org.eclipse.tracecompass.tmf.ctf.core.trace.CtfTmfTrace;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Benchmarks the wall-clock time of the {@link CallGraphAnalysis} with 1 to
+ * {@link CallGraphAnalysis#MAX_THREADS} threads, once the call stack is built
+ */
+@RunWith(Parameterized.class)
+public class CallGraphScalingBenchmark {
+
+    /**
+     * Test test ID for the call graph scaling benchmarks
+     */
+    public static final String TEST_ID = "org.eclipse.tracecompass.incubator#CallGraph#";
+    private static final String TEST_CALLGRAPH_BUILD = "Building CallGraph with %d threads (%s)";
+
+    private static final int[] THREAD_COUNTS = { 1, 2, 4, 8, 16, 32 };
+    private static final int LOOP_COUNT = 5;
+
+    private static String getPathFromCtfTestTrace(CtfTestTrace testTrace) {
+        CtfTmfTrace ctftrace = CtfTmfTestTraceUtils.getTrace(testTrace);
+        String path = ctftrace.getPath();
+        if (path == null) {
+            throw new NullPointerException("Path shouldn't be null");
+        }
+        ctftrace.dispose();
+        return path;
+    }
+
+    /**
+     * Get the traces to benchmark
+     *
+     * @return The arrays of parameters
+     */
+    @Parameters(name = "{index}: {0}")
+    public static Iterable<Object[]> getParameters() {
+        return Arrays.asList(new Object[][] {
+                { CtfTestTrace.CYG_PROFILE.name(), getPathFromCtfTestTrace(CtfTestTrace.CYG_PROFILE) },
+                { CtfBenchmarkTrace.UST_QMLSCENE.name(), CtfBenchmarkTrace.UST_QMLSCENE.getTracePath().toString() },
+        });
+    }
+
+    private final String fName;
+    private final String fTracePath;
+
+    /**
+     * Constructor
+     *
+     * @param name
+     *            A name for this test
+     * @param tracePath
+     *            The absolute path to the trace to test
+     */
+    public CallGraphScalingBenchmark(String name, String tracePath) {
+        fName = name;
+        fTracePath = tracePath;
+    }
+
+    /**
+     * Run the benchmark for each number of threads
+     *
+     * @throws TmfTraceException
+     *             Exceptions thrown getting the trace
+     * @throws TmfAnalysisException
+     *             Exceptions thrown setting the trace of the analysis
+     */
+    @Test
+    public void runScalingBenchmark() throws TmfTraceException, TmfAnalysisException {
+        Performance perf = Performance.getDefault();
+        LttngUstTrace trace = new LttngUstTrace();
+        try {
+            trace.initTrace(null, fTracePath, ITmfEvent.class);
+            trace.traceOpened(new TmfTraceOpenedSignal(this, trace, null));
+            LttngUstCallStackAnalysis callStackModule = TmfTraceUtils.getAnalysisModuleOfClass(trace, LttngUstCallStackAnalysis.class, LttngUstCallStackAnalysis.ID);
+            assertNotNull(callStackModule);
+            // Only the call graph analyses of this benchmark are measured
+            callStackModule.triggerAutomatically(false);
+            assertTrue(TmfTestHelper.executeAnalysis(callStackModule));
+
+            for (int threadCount : THREAD_COUNTS) {
+                String name = String.format(TEST_CALLGRAPH_BUILD, threadCount, fName);
+                PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + name));
+                perf.tagAsSummary(pm, name, Dimension.ELAPSED_PROCESS);
+                for (int i = 0; i < LOOP_COUNT; i++) {
+                    CallGraphAnalysis callGraphModule = new CallGraphAnalysis(callStackModule);
+                    try {
+                        callGraphModule.setId(callStackModule.getId());
+                        callGraphModule.setThreadCount(threadCount);
+                        assertTrue(callGraphModule.setTrace(trace));
+                        pm.start();
+                        assertTrue(TmfTestHelper.executeAnalysis(callGraphModule));
+                        pm.stop();
+                        assertFalse(callGraphModule.getCallGraph().getElements().isEmpty());
+                    } finally {
+                        callGraphModule.dispose();
+                    }
+                }
+                pm.commit();
+            }
+        } finally {
+            File suppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+            trace.dispose();
+            for (File file : suppDir.listFiles()) {
+                file.delete();
+            }
+        }
+    }
+}
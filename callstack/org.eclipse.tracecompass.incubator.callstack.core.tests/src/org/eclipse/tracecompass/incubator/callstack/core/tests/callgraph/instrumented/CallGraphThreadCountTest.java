@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.callstack.core.tests.callgraph.instrumented;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.analysis.core.concepts.AggregatedCallSite;
+import org.eclipse.tracecompass.incubator.callstack.core.base.ICallStackElement;
+import org.eclipse.tracecompass.incubator.callstack.core.callgraph.CallGraph;
+import org.eclipse.tracecompass.incubator.callstack.core.tests.flamechart.CallStackTestBase;
+import org.eclipse.tracecompass.incubator.callstack.core.tests.stubs.CallGraphAnalysisStub;
+import org.eclipse.tracecompass.incubator.internal.callstack.core.instrumented.callgraph.AggregatedCalledFunction;
+import org.eclipse.tracecompass.incubator.internal.callstack.core.instrumented.callgraph.CallGraphAnalysis;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test that the callgraph built by many threads is the same as the callgraph
+ * built by a single thread
+ */
+public class CallGraphThreadCountTest {
+
+    /** More threads in the trace than threads building the callgraph */
+    private static final int NB_THREADS = CallGraphAnalysis.MAX_THREADS + 8;
+    private static final int NB_CALLS = 200;
+    private static final long CALL_DURATION = 100;
+
+    private final List<CallGraphAnalysisStub> fCgas = new ArrayList<>();
+
+    /**
+     * Dispose the callgraph analyses
+     */
+    @After
+    public void tearDown() {
+        fCgas.forEach(CallGraphAnalysisStub::dispose);
+    }
+
+    /**
+     * Build the call stacks of many threads, with functions of random length
+     * on 3 levels
+     */
+    private static @NonNull ITmfStateSystemBuilder createFixture() {
+        ITmfStateSystemBuilder fixture = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend("Test", 0L));
+        for (int thread = 0; thread < NB_THREADS; thread++) {
+            Random random = new Random(thread);
+            int parentQuark = fixture.getQuarkAbsoluteAndAdd(CallGraphAnalysisStub.PROCESS_PATH, Integer.toString(1000 + thread), CallGraphAnalysisStub.CALLSTACK_PATH);
+            int[] quarks = new int[3];
+            for (int depth = 0; depth < quarks.length; depth++) {
+                quarks[depth] = fixture.getQuarkRelativeAndAdd(parentQuark, Integer.toString(depth));
+            }
+            for (int call = 0; call < NB_CALLS; call++) {
+                long start = call * CALL_DURATION;
+                long end = start + 10 + random.nextInt(80);
+                fixture.modifyAttribute(start, (long) random.nextInt(3), quarks[0]);
+                long childStart = start + 1 + random.nextInt(5);
+                long childEnd = childStart + 1 + random.nextInt((int) (end - childStart));
+                fixture.modifyAttribute(childStart, (long) (10 + random.nextInt(4)), quarks[1]);
+                if (random.nextBoolean() && childEnd - childStart > 2) {
+                    fixture.modifyAttribute(childStart + 1, (long) (20 + random.nextInt(3)), quarks[2]);
+                    fixture.modifyAttribute(childEnd - 1, (Object) null, quarks[2]);
+                }
+                fixture.modifyAttribute(childEnd, (Object) null, quarks[1]);
+                fixture.modifyAttribute(end, (Object) null, quarks[0]);
+            }
+        }
+        fixture.closeHistory(NB_CALLS * CALL_DURATION + 2);
+        return fixture;
+    }
+
+    /**
+     * Test that the callgraphs built with 1 thread and with the maximum number
+     * of threads have the same elements and the same calling context trees
+     */
+    @Test
+    public void testSameCallGraph() {
+        Map<String, String> sequential = buildCallGraph(1);
+        Map<String, String> parallel = buildCallGraph(CallGraphAnalysis.MAX_THREADS);
+        assertEquals(NB_THREADS, sequential.size());
+        for (String tree : sequential.values()) {
+            assertTrue(tree, tree.contains("0x2"));
+        }
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * Build the callgraph of a new fixture with a number of threads
+     *
+     * @return The description of the calling context tree of each leaf
+     *         element, by element name
+     */
+    private Map<String, String> buildCallGraph(int threadCount) {
+        String @NonNull [] pp = { CallGraphAnalysisStub.PROCESS_PATH };
+        String @NonNull [] tp = { "*" };
+        CallGraphAnalysisStub cga = new CallGraphAnalysisStub(createFixture(), ImmutableList.of(pp, tp));
+        fCgas.add(cga);
+        cga.setThreadCount(threadCount);
+        assertTrue(cga.iterate());
+        CallGraph cg = cga.getCallGraph();
+        Map<String, String> trees = new TreeMap<>();
+        for (ICallStackElement element : cg.getElements()) {
+            addTrees(cg, element, trees);
+        }
+        return trees;
+    }
+
+    private static void addTrees(CallGraph cg, ICallStackElement element, Map<String, String> trees) {
+        if (!element.isLeaf()) {
+            element.getChildrenElements().forEach(child -> addTrees(cg, child, trees));
+            return;
+        }
+        trees.put(element.getName(), describe(cg.getCallingContextTree(element)));
+    }
+
+    /**
+     * Describe callsites with their symbol, duration, self time, number of
+     * calls and callees, in the order of their descriptions
+     */
+    private static String describe(Iterable<AggregatedCallSite> callsites) {
+        List<String> descriptions = new ArrayList<>();
+        for (AggregatedCallSite callsite : callsites) {
+            AggregatedCalledFunction function = (AggregatedCalledFunction) callsite;
+            descriptions.add(CallStackTestBase.getCallSiteSymbol(function).resolve(Collections.emptySet()) +
+                    " duration=" + function.getDuration() +
+                    " self=" + function.getSelfTime() +
+                    " calls=" + function.getNbCalls() +
+                    " " + describe(function.getCallees()));
+        }
+        Collections.sort(descriptions);
+        return descriptions.toString();
+    }
+}
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.List;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.model.HostThread;
 import org.eclipse.tracecompass.incubator.analysis.core.model.IHostModel;
 import org.eclipse.tracecompass.incubator.analysis.core.model.ModelManager;
@@ -335,4 +337,49 @@ public class CallStackTest extends CallStackTestBase {
         assertNull(function);
 
     }
+
+    /**
+     * Test that the {@link CallStack#iterateOverCallStack(long, long,
+     * IHostModel, java.util.function.Consumer)} method returns the functions
+     * of {@link CallStack#getNextFunction(long, int, ICalledFunction,
+     * IHostModel, long, long)} in a depth-first order
+     */
+    @Test
+    public void testCallStackIteration() {
+        CallStackAnalysisStub module = getModule();
+        assertNotNull(module);
+        CallStackSeries callstack = module.getCallStackSeries();
+        assertNotNull(callstack);
+        IHostModel model = ModelManager.getModelFor("");
+
+        long[][] ranges = { { START_TIME, END_TIME }, { 0, Long.MAX_VALUE }, { 3, 10 }, { 7, 16 } };
+        for (ICallStackElement process : callstack.getRootElements()) {
+            for (ICallStackElement thread : process.getChildrenElements()) {
+                assertTrue(thread instanceof InstrumentedCallStackElement);
+                CallStack callStack = ((InstrumentedCallStackElement) thread).getCallStack();
+                for (long[] range : ranges) {
+                    List<ICalledFunction> expected = new ArrayList<>();
+                    getNextFunctions(callStack, null, 1, model, range[0], range[1], expected);
+                    List<ICalledFunction> functions = new ArrayList<>();
+                    callStack.iterateOverCallStack(range[0], range[1], model, functions::add);
+                    assertEquals(expected, functions);
+                }
+            }
+        }
+    }
+
+    private static void getNextFunctions(CallStack callStack, @Nullable ICalledFunction parent, int depth, IHostModel model, long start, long end, List<ICalledFunction> functions) {
+        if (depth > callStack.getMaxDepth()) {
+            return;
+        }
+        long time = parent == null ? callStack.getStartTime() : parent.getStart();
+        long functionStart = parent == null ? start : Math.max(parent.getStart(), start);
+        long functionEnd = parent == null ? end : Math.min(parent.getEnd(), end);
+        ICalledFunction function = callStack.getNextFunction(time, depth, parent, model, functionStart, functionEnd);
+        while (function != null) {
+            functions.add(function);
+            getNextFunctions(callStack, function, depth + 1, model, start, end, functions);
+            function = callStack.getNextFunction(function.getEnd(), depth, parent, model, functionStart, functionEnd);
+        }
+    }
 }
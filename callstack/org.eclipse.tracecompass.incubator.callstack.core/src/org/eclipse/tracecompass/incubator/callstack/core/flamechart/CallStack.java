@@ -14,6 +14,7 @@ package org.eclipse.tracecompass.incubator.callstack.core.flamechart;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -301,7 +302,74 @@ public class CallStack {
      *            The consumer to consume the function calls
      */
     public void iterateOverCallStack(long startTime, long endTime, Consumer<ICalledFunction> consumer) {
-        // TODO Do we need this? If so, implement me!
+        iterateOverCallStack(startTime, endTime, ModelManager.getModelFor(getHostId(startTime)), consumer);
+    }
+
+    /**
+     * Iterate over the callstack in a depth-first manner, a function being
+     * consumed before its children. Each depth is read with a single 2D query
+     * of the state system over the time range, instead of the queries per
+     * function of
+     * {@link #getNextFunction(long, int, ICalledFunction, IHostModel, long, long)},
+     * and the calls are rebuilt from the sorted intervals. The functions are
+     * the ones this method would return: they are bounded by the time range
+     * and the parent of a function is the last function consumed at the
+     * previous depth.
+     *
+     * @param startTime
+     *            The start time of the iteration
+     * @param endTime
+     *            The end time of the iteration, functions are cut at this time
+     * @param model
+     *            The operating system model to retrieve extra information
+     * @param consumer
+     *            The consumer to consume the function calls
+     */
+    public void iterateOverCallStack(long startTime, long endTime, IHostModel model, Consumer<ICalledFunction> consumer) {
+        // The functions end at the end of their interval + 1
+        long start = Math.max(fStateSystem.getStartTime(), startTime);
+        long end = Math.min(fStateSystem.getCurrentEndTime(), endTime - 1);
+        if (start > end) {
+            return;
+        }
+        List<List<ITmfStateInterval>> depths = new ArrayList<>();
+        try {
+            for (Integer quark : fQuarks) {
+                List<ITmfStateInterval> intervals = new ArrayList<>();
+                for (ITmfStateInterval interval : fStateSystem.query2D(Collections.singleton(quark), start, end)) {
+                    if (!interval.getStateValue().isNull()) {
+                        intervals.add(interval);
+                    }
+                }
+                intervals.sort(Comparator.comparingLong(ITmfStateInterval::getStartTime));
+                depths.add(intervals);
+            }
+        } catch (IndexOutOfBoundsException | TimeRangeException | StateSystemDisposedException e) {
+            return;
+        }
+        iterateOverDepth(depths, new int[depths.size()], 0, null, startTime, endTime, model, consumer);
+    }
+
+    private void iterateOverDepth(List<List<ITmfStateInterval>> depths, int[] positions, int depth, @Nullable ICalledFunction parent, long start, long end, IHostModel model, Consumer<ICalledFunction> consumer) {
+        List<ITmfStateInterval> intervals = depths.get(depth);
+        while (positions[depth] < intervals.size()) {
+            ITmfStateInterval interval = intervals.get(positions[depth]);
+            if (interval.getStartTime() >= end) {
+                // This interval is a call of a next function of the parent
+                return;
+            }
+            positions[depth]++;
+            if (interval.getEndTime() < start) {
+                // This interval has no parent
+                continue;
+            }
+            ICalledFunction function = CalledFunctionFactory.create(Math.max(start, interval.getStartTime()), Math.min(end, interval.getEndTime() + 1), interval.getValue(), getSymbolKeyAt(interval.getStartTime()), getThreadId(interval.getStartTime()), parent,
+                    model);
+            consumer.accept(function);
+            if (depth + 1 < depths.size()) {
+                iterateOverDepth(depths, positions, depth + 1, function, function.getStart(), function.getEnd(), model, consumer);
+            }
+        }
     }
 
     /**
@@ -163,6 +163,39 @@ public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalys
      */
     protected abstract @Nullable Pair<ICallStackElement, AggregatedCallSite> getProfiledStackTrace(ITmfEvent event);
 
+    /**
+     * Add the stack trace of an event to a call graph being built. By default,
+     * the stack trace of {@link #getProfiledStackTrace(ITmfEvent)} is added
+     * right away. Implementations can instead aggregate the stack traces of
+     * the request and add them to the call graph in
+     * {@link #flushStackTraces(CallGraph)}.
+     *
+     * @param callGraph
+     *            The call graph of the request
+     * @param event
+     *            The trace event to process
+     */
+    protected void addStackTrace(CallGraph callGraph, ITmfEvent event) {
+        Pair<ICallStackElement, AggregatedCallSite> perfCallSite = getProfiledStackTrace(event);
+        if (perfCallSite == null) {
+            return;
+        }
+        callGraph.addAggregatedCallSite(perfCallSite.getFirst(), perfCallSite.getSecond());
+    }
+
+    /**
+     * Add the stack traces that were aggregated by
+     * {@link #addStackTrace(CallGraph, ITmfEvent)} to a call graph. It is
+     * called once the request of the call graph is done, even if it was
+     * cancelled.
+     *
+     * @param callGraph
+     *            The call graph of the request
+     */
+    protected void flushStackTraces(CallGraph callGraph) {
+        // Nothing to do by default
+    }
+
     @Override
     protected boolean executeAnalysis(@NonNull IProgressMonitor monitor) throws TmfAnalysisException {
         CallGraph callgraph = executeForRange(TmfTimeRange.ETERNITY);
@@ -184,21 +217,23 @@ public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalys
             request.cancel();
         }
 
+        CallGraph callGraph = new CallGraph();
         try {
-            CallGraph callGraph = new CallGraph();
             request = new ProfilingEventRequest(trace, callGraph, range);
             fRequest = request;
             trace.sendRequest(request);
 
             request.waitForCompletion();
-            if (!request.isCompleted()) {
-                return null;
-            }
-            return callGraph;
         } catch (InterruptedException e) {
             Activator.getInstance().logError("Request interrupted", e); //$NON-NLS-1$
+            return null;
+        } finally {
+            flushStackTraces(callGraph);
         }
-        return null;
+        if (!request.isCompleted()) {
+            return null;
+        }
+        return callGraph;
     }
 
     @Override
@@ -253,11 +288,7 @@ public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalys
         }
 
         private void processEvent(ITmfEvent event) {
-            Pair<ICallStackElement, AggregatedCallSite> perfCallSite = getProfiledStackTrace(event);
-            if (perfCallSite == null) {
-                return;
-            }
-            fCallGraph.addAggregatedCallSite(perfCallSite.getFirst(), perfCallSite.getSecond());
+            addStackTrace(fCallGraph, event);
         }
     }
 
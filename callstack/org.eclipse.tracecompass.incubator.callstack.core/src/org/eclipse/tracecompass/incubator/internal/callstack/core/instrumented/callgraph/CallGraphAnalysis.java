@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Ericsson
+ * Copyright (c) 2016, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -11,11 +11,16 @@
 
 package org.eclipse.tracecompass.incubator.internal.callstack.core.instrumented.callgraph;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -80,6 +85,11 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
      */
     public static final String ID = "org.eclipse.tracecompass.incubator.callstack.callgraph"; //$NON-NLS-1$
 
+    /**
+     * Maximum number of threads building the call graph
+     */
+    public static final int MAX_THREADS = 32;
+
     /**
      * Index of some metrics, to get its statistics. package-private so
      * aggregated called function can access it
@@ -103,7 +113,8 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
     private final CallGraph fCallGraph = new CallGraph();
 
     private @Nullable Collection<ISymbolProvider> fSymbolProviders = null;
-    private boolean fHasKernelStatuses = false;
+    private volatile boolean fHasKernelStatuses = false;
+    private volatile int fThreadCount = Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS);
 
     // Keep a very small cache of selection callgraphs, to avoid having to
     // compute again
@@ -130,6 +141,17 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
         setName(NLS.bind(Messages.CallGraphAnalysis_NamePrefix, csProvider.getName()));
     }
 
+    /**
+     * Set the number of threads that build the call graph of the elements in
+     * parallel
+     *
+     * @param threadCount
+     *            The number of threads, between 1 and {@link #MAX_THREADS}
+     */
+    public void setThreadCount(int threadCount) {
+        fThreadCount = Math.max(1, Math.min(threadCount, MAX_THREADS));
+    }
+
     @Override
     public @NonNull String getHelpText() {
         String msg = Messages.CallGraphAnalysis_Description;
@@ -198,7 +220,10 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
 
     /**
      * Iterate over a callstack series. It will do a depth-first search to create
-     * the callgraph
+     * the callgraph. The call stacks of the leaf elements are independent, so
+     * their callgraphs are built in parallel and added to the callgraph in the
+     * order of the elements. The providers behind the host model expect a
+     * single caller, so the threads take turns to query it.
      *
      * @param callstackSerie
      *            The series to iterate over
@@ -218,27 +243,51 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
     protected boolean iterateOverCallstackSerie(CallStackSeries callstackSerie, IHostModel model, CallGraph callgraph, long start, long end, IProgressMonitor monitor) {
         // The root elements are the same as the one from the callstack series
         Collection<ICallStackElement> rootElements = callstackSerie.getRootElements();
+        List<ICallStackElement> leafElements = new ArrayList<>();
         for (ICallStackElement element : rootElements) {
             if (monitor.isCanceled()) {
                 return false;
             }
-            iterateOverElement(element, model, callgraph, start, end, monitor);
+            addLeafElements(element, leafElements);
         }
-        return true;
+        int parallelism = Math.max(1, Math.min(fThreadCount, leafElements.size()));
+        IHostModel elementModel = parallelism > 1 ? new SynchronizedHostModel(model) : model;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<CallGraph>> tasks = new ArrayList<>();
+            for (ICallStackElement element : leafElements) {
+                tasks.add(pool.submit(() -> {
+                    CallGraph elementCallgraph = new CallGraph();
+                    if (!monitor.isCanceled()) {
+                        iterateOverLeafElement(element, elementModel, elementCallgraph, start, end);
+                    }
+                    return elementCallgraph;
+                }));
+            }
+            for (int i = 0; i < leafElements.size(); i++) {
+                ICallStackElement element = leafElements.get(i);
+                for (AggregatedCallSite callsite : tasks.get(i).join().getCallingContextTree(element)) {
+                    callgraph.addAggregatedCallSite(element, callsite);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return !monitor.isCanceled();
     }
 
-    private void iterateOverElement(ICallStackElement element, IHostModel model, CallGraph callgraph, long start, long end, IProgressMonitor monitor) {
+    private static void addLeafElements(ICallStackElement element, List<ICallStackElement> leafElements) {
         // Iterator over the children of the element until we reach the leaves
         if (element.isLeaf()) {
-            iterateOverLeafElement(element, model, callgraph, start, end, monitor);
+            leafElements.add(element);
             return;
         }
         for (ICallStackElement child : element.getChildrenElements()) {
-            iterateOverElement(child, model, callgraph, start, end, monitor);
+            addLeafElements(child, leafElements);
         }
     }
 
-    private void iterateOverLeafElement(ICallStackElement element, IHostModel model, CallGraph callgraph, long start, long end, IProgressMonitor monitor) {
+    private void iterateOverLeafElement(ICallStackElement element, IHostModel model, CallGraph callgraph, long start, long end) {
         if (!(element instanceof InstrumentedCallStackElement)) {
             throw new IllegalStateException("Call Graph Analysis: The element does not have the right type"); //$NON-NLS-1$
         }
@@ -249,48 +298,153 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
         if (callStack.getMaxDepth() == 0) {
             return;
         }
-        fHasKernelStatuses |= callStack.hasKernelStatuses();
-        // Start with the first function
-        AbstractCalledFunction nextFunction = (AbstractCalledFunction) callStack.getNextFunction(callStack.getStartTime(), 1, null, model, start, end);
-        while (nextFunction != null) {
-            AggregatedCalledFunction aggregatedChild = createCallSite(CallStackSymbolFactory.createSymbol(nextFunction.getSymbol(), element, nextFunction.getStart()));
-            iterateOverCallstack(element, callStack, nextFunction, 2, aggregatedChild, model, start, end, monitor);
-            aggregatedChild.addFunctionCall(nextFunction);
-            // Add the kernel statuses if available
-            Iterable<ProcessStatusInterval> kernelStatuses = callStack.getKernelStatuses(nextFunction, Collections.emptyList());
-            for (ProcessStatusInterval status : kernelStatuses) {
-                aggregatedChild.addKernelStatus(status);
+        if (callStack.hasKernelStatuses()) {
+            fHasKernelStatuses = true;
+        }
+        // The functions are consumed before their children, so the aggregated
+        // callsite of a function is complete when a function that is not its
+        // descendant is consumed
+        Deque<CallFrame> frames = new ArrayDeque<>();
+        callStack.iterateOverCallStack(start, end, model, function -> {
+            CallFrame parent = frames.peek();
+            while (parent != null && parent.fFunction != function.getParent()) {
+                closeFrame(frames, element, callStack, model, callgraph);
+                parent = frames.peek();
+            }
+            if (parent != null) {
+                // Add sampling data of the time between next function and beginning of next
+                // level
+                parent.addSamplingData(model, function);
             }
-            callgraph.addAggregatedCallSite(element, aggregatedChild);
-            nextFunction = (AbstractCalledFunction) callStack.getNextFunction(nextFunction.getEnd(), 1, null, model, start, end);
+            AggregatedCalledFunction aggregatedChild = createCallSite(CallStackSymbolFactory.createSymbol(function.getSymbol(), element, function.getStart()));
+            frames.push(new CallFrame((AbstractCalledFunction) function, aggregatedChild, frames.size() + 1, start));
+        });
+        while (!frames.isEmpty()) {
+            closeFrame(frames, element, callStack, model, callgraph);
         }
     }
 
-    private void iterateOverCallstack(ICallStackElement element, CallStack callstack, ICalledFunction function, int nextLevel, AggregatedCalledFunction aggregatedCall, IHostModel model, long start, long end, IProgressMonitor monitor) {
-        if (nextLevel > callstack.getMaxDepth()) {
+    private static void closeFrame(Deque<CallFrame> frames, ICallStackElement element, CallStack callStack, IHostModel model, CallGraph callgraph) {
+        CallFrame frame = frames.pop();
+        AbstractCalledFunction function = frame.fFunction;
+        AggregatedCalledFunction aggregatedCall = frame.fAggregatedCall;
+        if (frame.fDepth < callStack.getMaxDepth()) {
+            // Get the sampling to the end of the function
+            frame.addSamplingData(model, null);
+        }
+        CallFrame parent = frames.peek();
+        if (parent != null) {
+            parent.fAggregatedCall.addChild(function, aggregatedCall);
             return;
         }
-        int threadId = function.getThreadId();
-        long lastSampleEnd = start;
-
-        AbstractCalledFunction nextFunction = (AbstractCalledFunction) callstack.getNextFunction(function.getStart(), nextLevel, function, model, Math.max(function.getStart(), start), Math.min(function.getEnd(), end));
-        while (nextFunction != null) {
-            // Add sampling data of the time between next function and beginning of next
-            // level
-            if (threadId > 0) {
-                Collection<AggregatedCallSite> samplingData = model.getSamplingData(threadId, lastSampleEnd, nextFunction.getStart());
-                samplingData.forEach(aggregatedCall::addChild);
-                lastSampleEnd = nextFunction.getEnd();
+        aggregatedCall.addFunctionCall(function);
+        // Add the kernel statuses if available
+        Iterable<ProcessStatusInterval> kernelStatuses = callStack.getKernelStatuses(function, Collections.emptyList());
+        for (ProcessStatusInterval status : kernelStatuses) {
+            aggregatedCall.addKernelStatus(status);
+        }
+        callgraph.addAggregatedCallSite(element, aggregatedCall);
+    }
+
+    /**
+     * A function whose children are being aggregated
+     */
+    private static final class CallFrame {
+        private final AbstractCalledFunction fFunction;
+        private final AggregatedCalledFunction fAggregatedCall;
+        private final int fDepth;
+        private long fLastSampleEnd;
+
+        public CallFrame(AbstractCalledFunction function, AggregatedCalledFunction aggregatedCall, int depth, long start) {
+            fFunction = function;
+            fAggregatedCall = aggregatedCall;
+            fDepth = depth;
+            fLastSampleEnd = start;
+        }
+
+        /**
+         * Add the sampling data of the function from the end of the last child
+         * to the next child, or to the end of the function if there is no next
+         * child
+         */
+        public void addSamplingData(IHostModel model, @Nullable ICalledFunction nextChild) {
+            int threadId = fFunction.getThreadId();
+            if (threadId <= 0) {
+                return;
+            }
+            Collection<AggregatedCallSite> samplingData;
+            if (nextChild != null) {
+                samplingData = model.getSamplingData(threadId, fLastSampleEnd, nextChild.getStart());
+                fLastSampleEnd = nextChild.getEnd();
+            } else {
+                samplingData = model.getSamplingData(threadId, fLastSampleEnd, fFunction.getEnd() - fLastSampleEnd);
             }
-            AggregatedCalledFunction aggregatedChild = createCallSite(CallStackSymbolFactory.createSymbol(nextFunction.getSymbol(), element, nextFunction.getStart()));
-            iterateOverCallstack(element, callstack, nextFunction, nextLevel + 1, aggregatedChild, model, start, end, monitor);
-            aggregatedCall.addChild(nextFunction, aggregatedChild);
-            nextFunction = (AbstractCalledFunction) callstack.getNextFunction(nextFunction.getEnd(), nextLevel, function, model, Math.max(function.getStart(), start), Math.min(function.getEnd(), end));
-        }
-        // Get the sampling to the end of the function
-        if (threadId > 0) {
-            Collection<AggregatedCallSite> samplingData = model.getSamplingData(threadId, lastSampleEnd, function.getEnd() - lastSampleEnd);
-            samplingData.forEach(aggregatedCall::addChild);
+            samplingData.forEach(fAggregatedCall::addChild);
+        }
+    }
+
+    /**
+     * A host model shared by the threads building the callgraph. The sampling
+     * and CPU time providers of a model may request the trace and fill their
+     * index when they are first queried, so only one thread queries the model
+     * at a time.
+     */
+    private static final class SynchronizedHostModel implements IHostModel {
+        private final IHostModel fModel;
+
+        public SynchronizedHostModel(IHostModel model) {
+            fModel = model;
+        }
+
+        @Override
+        public synchronized int getThreadOnCpu(int cpu, long t, boolean block) {
+            return fModel.getThreadOnCpu(cpu, t, block);
+        }
+
+        @Override
+        public synchronized int getProcessId(int tid, long t) {
+            return fModel.getProcessId(tid, t);
+        }
+
+        @Override
+        public synchronized @Nullable String getExecName(int tid, long t) {
+            return fModel.getExecName(tid, t);
+        }
+
+        @Override
+        public synchronized long getCpuTime(int tid, long start, long end) {
+            return fModel.getCpuTime(tid, start, end);
+        }
+
+        @Override
+        public synchronized Collection<AggregatedCallSite> getSamplingData(int tid, long start, long end) {
+            return fModel.getSamplingData(tid, start, end);
+        }
+
+        @Override
+        public synchronized Iterable<ProcessStatusInterval> getThreadStatusIntervals(int tid, long start, long end, long resolution) {
+            return fModel.getThreadStatusIntervals(tid, start, end, resolution);
+        }
+
+        @Override
+        public synchronized boolean isSamplingDataAvailable() {
+            return fModel.isSamplingDataAvailable();
+        }
+
+        @Override
+        public synchronized boolean isThreadStatusAvailable() {
+            return fModel.isThreadStatusAvailable();
+        }
+
+        @Override
+        public synchronized Collection<IAnalysisModule> getRequiredModules(EnumSet<ModelDataType> requiredData) {
+            return fModel.getRequiredModules(requiredData);
+        }
+
+        @Override
+        public void dispose() {
+            // The model is shared with the rest of the application, it is not
+            // disposed with the callgraph
         }
     }
 
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.perf.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Objects;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceReader;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
+import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.junit.Test;
+
+/**
+ * Benchmarks the decoding of all the events of a multi-CPU binary FTrace
+ * trace, the CPU pages are read from the page cache of the trace
+ */
+public class BinaryFTraceReaderBenchmark {
+
+    /**
+     * Test ID for the binary FTrace benchmarks
+     */
+    public static final String TEST_ID = "org.eclipse.tracecompass.incubator#FTrace#";
+    private static final String TEST_READ = "Read binary trace, multiple CPUs";
+
+    private static final int LOOP_COUNT = 25;
+
+    /**
+     * Read all the events of the trace, each iteration with a new reader
+     *
+     * @throws Exception
+     *             An error occurred while reading the trace
+     */
+    @Test
+    public void runReaderBenchmark() throws Exception {
+        BinaryFTraceHeaderInfo trace = BinaryFTraceFileParser.parse(FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS));
+
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + TEST_READ));
+        perf.tagAsSummary(pm, TEST_READ, Dimension.CPU_TIME);
+
+        long nbEvents = -1;
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            long count = 0;
+            pm.start();
+            try (BinaryFTraceReader reader = new BinaryFTraceReader(trace)) {
+                while (reader.hasMoreEvents()) {
+                    assertNotNull(reader.getTopStream().getCurrentEvent());
+                    count++;
+                    reader.advance();
+                }
+            }
+            pm.stop();
+            if (nbEvents >= 0) {
+                assertEquals(nbEvents, count);
+            }
+            nbEvents = count;
+        }
+        pm.commit();
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.perf.binary;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Objects;
+import java.util.Random;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceReader;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
+import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.junit.Test;
+
+/**
+ * Benchmarks the seeks of a binary FTrace reader at random time stamps of a
+ * multi-CPU trace
+ */
+public class BinaryFTraceSeekBenchmark {
+
+    private static final String TEST_SEEK = "Seek binary trace, random time stamps";
+
+    private static final int LOOP_COUNT = 25;
+    private static final int NB_SEEKS = 1000;
+    private static final long SEED = 42;
+
+    /**
+     * Seek a reader at random time stamps between the first and last events
+     * of the trace, the same time stamps at each iteration
+     *
+     * @throws Exception
+     *             An error occurred while reading the trace
+     */
+    @Test
+    public void runSeekBenchmark() throws Exception {
+        BinaryFTraceHeaderInfo trace = BinaryFTraceFileParser.parse(FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS));
+
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(BinaryFTraceReaderBenchmark.TEST_ID + TEST_SEEK));
+        perf.tagAsSummary(pm, TEST_SEEK, Dimension.CPU_TIME);
+
+        try (BinaryFTraceReader reader = new BinaryFTraceReader(trace)) {
+            long startTime = reader.getStartTime();
+            long endTime = startTime;
+            while (reader.hasMoreEvents()) {
+                BinaryFTraceEvent event = reader.getTopStream().getCurrentEvent();
+                assertNotNull(event);
+                endTime = Math.max(endTime, event.getTimeSinceBoot());
+                reader.advance();
+            }
+
+            for (int i = 0; i < LOOP_COUNT; i++) {
+                Random random = new Random(SEED);
+                pm.start();
+                for (int j = 0; j < NB_SEEKS; j++) {
+                    long timestamp = startTime + (long) (random.nextDouble() * (endTime - startTime));
+                    assertTrue(reader.seek(timestamp));
+                    assertNotNull(reader.getTopStream().getCurrentEvent());
+                }
+                pm.stop();
+            }
+        }
+        pm.commit();
+    }
+}
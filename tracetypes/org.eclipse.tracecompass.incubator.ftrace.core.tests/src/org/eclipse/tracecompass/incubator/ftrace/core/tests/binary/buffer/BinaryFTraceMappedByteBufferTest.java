@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.binary.buffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceByteBuffer;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceHeaderElementSize;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceMappedByteBuffer;
+import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.junit.Test;
+
+/**
+ * Tests for {@link BinaryFTraceMappedByteBuffer}
+ */
+public class BinaryFTraceMappedByteBufferTest {
+    private static final String TRACING = "tracing";
+    private static final String VERSION = "6";
+    private static final int RANDOM_OFFSET = 3;
+
+    /**
+     * Test that the mapped buffer reads the same data as the
+     * {@link BinaryFTraceByteBuffer}, and that its offset is incremented
+     * properly
+     *
+     * @throws IOException
+     *             If an error occurred while getting the file path or reading
+     *             the data
+     */
+    @Test
+    public void testSequentialReads() throws IOException {
+        String traceLocation = FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS);
+
+        try (BinaryFTraceByteBuffer expected = new BinaryFTraceByteBuffer(traceLocation);
+                BinaryFTraceMappedByteBuffer buffer = new BinaryFTraceMappedByteBuffer(traceLocation)) {
+            assertEquals(expected.getFileSize(), buffer.getFileSize());
+
+            assertArrayEquals(expected.getNextBytes(BinaryFTraceHeaderElementSize.MAGIC_VALUE), buffer.getNextBytes(BinaryFTraceHeaderElementSize.MAGIC_VALUE));
+            assertEquals(TRACING, buffer.getNextBytesAsString(BinaryFTraceHeaderElementSize.TRACING_STRING));
+            expected.getNextBytesAsString(BinaryFTraceHeaderElementSize.TRACING_STRING);
+            assertEquals(VERSION, buffer.getNextString());
+            expected.getNextString();
+            assertEquals(expected.getCurrentOffset(), buffer.getCurrentOffset());
+
+            expected.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+            buffer.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(expected.getNextShort(), buffer.getNextShort());
+            assertEquals(expected.getNextInt(), buffer.getNextInt());
+            assertEquals(expected.getNextLong(), buffer.getNextLong());
+            assertEquals(expected.getCurrentOffset(), buffer.getCurrentOffset());
+
+            expected.movePointerToOffset(RANDOM_OFFSET);
+            buffer.movePointerToOffset(RANDOM_OFFSET);
+            assertEquals(RANDOM_OFFSET, buffer.getCurrentOffset());
+            assertEquals(expected.getNextLong(), buffer.getNextLong());
+        }
+    }
+
+    /**
+     * Test that the absolute reads do not move the offset of the buffer
+     *
+     * @throws IOException
+     *             If an error occurred while getting the file path or reading
+     *             the data
+     */
+    @Test
+    public void testAbsoluteReads() throws IOException {
+        String traceLocation = FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS);
+
+        try (BinaryFTraceMappedByteBuffer buffer = new BinaryFTraceMappedByteBuffer(traceLocation)) {
+            long versionOffset = (long) BinaryFTraceHeaderElementSize.MAGIC_VALUE + BinaryFTraceHeaderElementSize.TRACING_STRING;
+            assertEquals(VERSION, buffer.getString(versionOffset));
+            long value = buffer.getLong(RANDOM_OFFSET);
+            assertEquals(0, buffer.getCurrentOffset());
+
+            buffer.movePointerToOffset(RANDOM_OFFSET);
+            assertEquals(value, buffer.getNextLong());
+            assertEquals(buffer.getInt(RANDOM_OFFSET + Long.BYTES), buffer.getNextInt());
+        }
+    }
+}
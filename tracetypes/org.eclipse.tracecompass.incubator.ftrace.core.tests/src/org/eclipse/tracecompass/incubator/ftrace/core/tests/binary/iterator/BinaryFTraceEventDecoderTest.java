@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.binary.iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceDataType;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventFormat;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFormatField;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceValueSign;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceEventDecoder;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceIteratorHelper;
+import org.junit.Test;
+
+/**
+ * Tests for {@link BinaryFTraceEventDecoder}
+ */
+public class BinaryFTraceEventDecoderTest {
+    private static final int EVENT_ID = 42;
+    private static final String EVENT_NAME = "sched_process_fork";
+    private static final long POINTER = 0xffffffff81000000L;
+    private static final String POINTER_STRING = "mapped string";
+    private static final int PAYLOAD_SIZE = 48;
+
+    private static BinaryFTraceFormatField createField(String name, BinaryFTraceDataType type, int offset, int size, BinaryFTraceValueSign signed, int arrayLength, boolean isDataLoc, boolean isPointer) {
+        return new BinaryFTraceFormatField.BinaryFTraceFormatFieldBuilder()
+                .fieldName(name)
+                .fieldType(type)
+                .strFieldType(type.name())
+                .offset(offset)
+                .size(size)
+                .signed(signed)
+                .array(arrayLength)
+                .dataLoc(isDataLoc)
+                .pointer(isPointer)
+                .build();
+    }
+
+    private static BinaryFTraceHeaderInfo createHeader(ByteOrder byteOrder) {
+        Map<String, BinaryFTraceFormatField> commonFields = new HashMap<>();
+        commonFields.put("common_type", createField("common_type", BinaryFTraceDataType.SHORT, 0, 2, BinaryFTraceValueSign.UNSIGNED, -1, false, false));
+        commonFields.put("common_pid", createField("common_pid", BinaryFTraceDataType.INT, 4, 4, BinaryFTraceValueSign.SIGNED, -1, false, false));
+
+        Map<String, BinaryFTraceFormatField> customFields = new HashMap<>();
+        customFields.put("parent_comm", createField("parent_comm", BinaryFTraceDataType.CHAR, 8, 8, BinaryFTraceValueSign.SIGNED, 8, false, false));
+        customFields.put("parent_pid", createField("parent_pid", BinaryFTraceDataType.INT, 16, 4, BinaryFTraceValueSign.SIGNED, -1, false, false));
+        customFields.put("prio", createField("prio", BinaryFTraceDataType.SHORT, 20, 2, BinaryFTraceValueSign.SIGNED, -1, false, false));
+        customFields.put("flags", createField("flags", BinaryFTraceDataType.SHORT, 22, 2, BinaryFTraceValueSign.UNSIGNED, -1, false, false));
+        customFields.put("child_comm", createField("child_comm", BinaryFTraceDataType.CHAR, 24, 4, BinaryFTraceValueSign.SIGNED, 0, true, false));
+        customFields.put("fmt", createField("fmt", BinaryFTraceDataType.LONG, 28, 8, BinaryFTraceValueSign.UNSIGNED, -1, false, true));
+        customFields.put("count", createField("count", BinaryFTraceDataType.LONG, 36, 8, BinaryFTraceValueSign.UNSIGNED, -1, false, false));
+        customFields.put("unknown", createField("unknown", BinaryFTraceDataType.UNKNOWN, 44, 4, BinaryFTraceValueSign.UNSIGNED, -1, false, false));
+
+        Map<Integer, BinaryFTraceEventFormat> eventFormats = new HashMap<>();
+        eventFormats.put(EVENT_ID, new BinaryFTraceEventFormat(EVENT_ID, EVENT_NAME, commonFields, customFields, ""));
+
+        Map<String, String> pointerStrings = new HashMap<>();
+        pointerStrings.put("0x" + Long.toHexString(POINTER), POINTER_STRING);
+
+        return new BinaryFTraceHeaderInfo.BinaryFTraceHeaderInfoBuilder()
+                .endianess(byteOrder)
+                .fTraceEventFormats(eventFormats)
+                .eventSystems(new ArrayList<>())
+                .printKPointerStringMapping(pointerStrings)
+                .eventCommonFields(commonFields)
+                .build();
+    }
+
+    private static byte[] createPayload(ByteOrder byteOrder) {
+        ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_SIZE + 8).order(byteOrder);
+        buffer.putShort(0, (short) EVENT_ID);
+        buffer.putInt(4, 1234);
+        buffer.position(8);
+        buffer.put("bash".getBytes(StandardCharsets.US_ASCII));
+        buffer.putInt(16, 1000);
+        buffer.putShort(20, (short) -20);
+        buffer.putShort(22, (short) 0xfffe);
+        // The child name is at the end of the payload, with its length
+        buffer.putInt(24, (6 << 16) | PAYLOAD_SIZE);
+        buffer.putLong(28, POINTER);
+        buffer.putLong(36, -1L);
+        buffer.position(PAYLOAD_SIZE);
+        buffer.put("child\0".getBytes(StandardCharsets.US_ASCII));
+        return buffer.array();
+    }
+
+    /**
+     * Test that the decoded values are the ones of the generic parsing of the
+     * event data, in both byte orders
+     */
+    @Test
+    public void testDecode() {
+        for (ByteOrder byteOrder : new ByteOrder[] { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN }) {
+            BinaryFTraceHeaderInfo header = createHeader(byteOrder);
+            BinaryFTraceIteratorHelper helper = new BinaryFTraceIteratorHelper(header);
+            byte[] data = createPayload(byteOrder);
+
+            BinaryFTraceEventDecoder decoder = helper.getEventDecoder(data);
+            assertNotNull(decoder);
+            Object[] values = decoder.decode(data);
+            Map<String, Object> fields = decoder.toMap(values);
+
+            assertEquals(helper.parseEventData(decoder.getEventFormat(), data), fields);
+            assertEquals(EVENT_NAME, fields.get("name"));
+            assertEquals(1234L, fields.get("common_pid"));
+            assertEquals("bash", fields.get("parent_comm"));
+            assertEquals(1000L, fields.get("parent_pid"));
+            assertEquals(-20L, fields.get("prio"));
+            assertEquals(0xfffeL, fields.get("flags"));
+            assertEquals("child", fields.get("child_comm"));
+            assertEquals(POINTER_STRING, fields.get("fmt"));
+            assertEquals(Long.toUnsignedString(-1L), fields.get("count"));
+            assertNull(fields.get("unknown"));
+            assertEquals(1234L, decoder.getCommonPid(values));
+            assertNull(decoder.getTgid(values));
+        }
+    }
+
+    /**
+     * Test the fields of the event content: no common fields, no null values
+     * and the parent pid of the fork event is renamed
+     */
+    @Test
+    public void testPayload() {
+        BinaryFTraceHeaderInfo header = createHeader(ByteOrder.LITTLE_ENDIAN);
+        byte[] data = createPayload(ByteOrder.LITTLE_ENDIAN);
+        BinaryFTraceEventDecoder decoder = header.getEventDecoder(EVENT_ID);
+        assertNotNull(decoder);
+
+        String[] names = decoder.getPayloadNames();
+        Object[] values = decoder.getPayloadValues(decoder.decode(data));
+        Map<String, Object> payload = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            payload.put(names[i], values[i]);
+        }
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("name", EVENT_NAME);
+        expected.put("parent_comm", "bash");
+        expected.put("pid", 1000L);
+        expected.put("prio", -20L);
+        expected.put("flags", 0xfffeL);
+        expected.put("child_comm", "child");
+        expected.put("fmt", POINTER_STRING);
+        expected.put("count", Long.toUnsignedString(-1L));
+        assertEquals(expected, payload);
+        assertEquals(expected.size(), names.length);
+    }
+}
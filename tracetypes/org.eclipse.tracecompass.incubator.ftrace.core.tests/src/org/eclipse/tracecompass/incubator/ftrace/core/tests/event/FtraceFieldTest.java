@@ -13,7 +13,9 @@ package org.eclipse.tracecompass.incubator.ftrace.core.tests.event;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -22,6 +24,7 @@ import java.util.Objects;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceField;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.junit.Test;
 
 /**
@@ -212,6 +215,56 @@ public class FtraceFieldTest {
         }
     }
 
+    /**
+     * Testing that the scanner of the lines gives the same fields as the
+     * regular expressions
+     */
+    @Test
+    public void testParseLineWithoutPattern() {
+        List<@NonNull String> lines = List.of(
+                "kworker/0:0-9514  [000] d..4  3210.263482: sched_wakeup: comm=daemonsu pid=16620 prio=120 success=1 target_cpu=000",
+                "  kworker/u16:6-214   [002] d...   149.136514: sched_switch: prev_comm=kworker/u16:6 prev_pid=214 prev_prio=120 prev_state=R+ ==> next_comm=swapper/2 next_pid=0 next_prio=120",
+                "           <...>-919973  [019] ..... 40313.809636: sched_process_fork: comm=runc:[2:INIT] pid=919973 child_comm=runc:[2:INIT] child_pid=919974",
+                "bash-1977  ( 1977) [001] ....  5.5: sched_process_fork: comm=bash pid=1977 child_comm=bash child_pid=2000",
+                "Thread-2-2001  (-----) [003] d..3  12.000001: sched_waking: comm=a pid=1 prio=120 target_cpu=003",
+                "surfaceflinger-1022  ( 1002) [000] ...1  100.25: tracing_mark_write: B|1002|onMessageReceived",
+                "test/1-1316  [005] .......   713.920983: sys_recvmsg(fd: 3, msg: 7ffe3bd38070, flags: 0)",
+                "test/1-1316  [005] ....   713.920988: sys_recvmsg -> 0xfffffffffffffff5",
+                "test-1-1316  [005]   713.920988: sys_exit_recvmsg:      __syscall_nr=47 ret=-11",
+                "ksoftirqd/1-12    [001] d.s1   387.212674: softirq_raise: vec=9 [action=RCU]",
+                "comm-12 [001] 1.0: irq_handler_entry: irq=1 name=i8042, extra=[0x1f]",
+                "comm-12 [001] 1.0: event_without_fields: ",
+                "comm-12 [001] 1.0: event_with_data: some text",
+                "comm-12 [001] 1.0: event_with_colons: key: value other: 0x10",
+                "comm-12 [001] 1.0: event_with_both: key: value other=12",
+                "comm-12 [001] 1.0: event_with_closing: a=(1) b=2",
+                "comm-12 [1] 1: not_an_event",
+                "# tracer: nop");
+        for (String line : lines) {
+            GenericFtraceField expected = GenericFtraceField.parseLineWithPattern(line);
+            GenericFtraceField field = GenericFtraceField.parseLine(line);
+            if (expected == null) {
+                assertNull(line, field);
+                continue;
+            }
+            assertNotNull(line, field);
+            assertEquals(line, expected.getName(), field.getName());
+            assertEquals(line, expected.getCpu(), field.getCpu());
+            assertEquals(line, expected.getTs(), field.getTs());
+            assertEquals(line, expected.getPid(), field.getPid());
+            assertEquals(line, expected.getTid(), field.getTid());
+            assertEquals(line, getFieldValues(expected), getFieldValues(field));
+        }
+    }
+
+    private static Map<String, Object> getFieldValues(GenericFtraceField field) {
+        Map<String, Object> values = new HashMap<>();
+        for (ITmfEventField eventField : field.getContent().getFields()) {
+            values.put(eventField.getName(), eventField.getValue());
+        }
+        return values;
+    }
+
     @NonNullByDefault
     private static class ResultsParse {
 
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.ActivatorTest;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.GenericFtraceParallelParser;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.TextFtraceTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the parallel parsing of a text ftrace reads the same events as
+ * the sequential parsing
+ */
+public class GenericFtraceParallelParserTest {
+
+    private static final String TRACE_PATH = "res/trace-android-sched";
+    private static final Pattern TIMESTAMP_PATTERN = Pattern.compile(" (\\d+)(\\.\\d+): ");
+    /** Enough copies of the trace for the file to have many chunks of 4 MB */
+    private static final int NB_COPIES = 600;
+    private static final int NB_READS = 3000;
+
+    private File fFile;
+    private TextFtraceTrace fSequentialTrace;
+    private TextFtraceTrace fParallelTrace;
+    /** The events read by the sequential parsing, by rank */
+    private final List<String> fEvents = new ArrayList<>();
+    /** The location of each event, by rank */
+    private final List<ITmfLocation> fLocations = new ArrayList<>();
+
+    /**
+     * Write a large trace with copies of a test trace and comments between
+     * them, and read its events with the sequential parsing
+     *
+     * @throws IOException
+     *             if the trace cannot be written
+     * @throws TmfTraceException
+     *             if a trace cannot be opened
+     */
+    @Before
+    public void setUp() throws IOException, TmfTraceException {
+        List<String> lines = Files.readAllLines(ActivatorTest.getAbsoluteFilePath(TRACE_PATH).toFile().toPath(), StandardCharsets.ISO_8859_1);
+        fFile = File.createTempFile("parallelFtrace", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(fFile.toPath(), StandardCharsets.ISO_8859_1)) {
+            for (String line : lines) {
+                if (line.startsWith("#")) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            for (int copy = 0; copy < NB_COPIES; copy++) {
+                writer.write("# copy " + copy);
+                writer.newLine();
+                for (String line : lines) {
+                    if (!line.startsWith("#")) {
+                        writer.write(shiftTimestamp(line, copy * 1000L));
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+
+        fSequentialTrace = new TextFtraceTrace();
+        fSequentialTrace.initTrace(null, fFile.getAbsolutePath(), ITmfEvent.class);
+        System.setProperty(GenericFtraceParallelParser.PARALLEL_PARSING_PROPERTY, Boolean.TRUE.toString());
+        try {
+            fParallelTrace = new TextFtraceTrace();
+            fParallelTrace.initTrace(null, fFile.getAbsolutePath(), ITmfEvent.class);
+        } finally {
+            System.clearProperty(GenericFtraceParallelParser.PARALLEL_PARSING_PROPERTY);
+        }
+
+        ITmfContext context = fSequentialTrace.seekEvent(0L);
+        ITmfLocation location = context.getLocation();
+        ITmfEvent event = fSequentialTrace.getNext(context);
+        while (event != null) {
+            assertEquals(fEvents.size(), event.getRank());
+            fLocations.add(location);
+            fEvents.add(toString(event));
+            location = context.getLocation();
+            event = fSequentialTrace.getNext(context);
+        }
+        assertTrue(fFile.length() > 2 * 4 * 1024 * 1024);
+    }
+
+    /**
+     * Dispose the traces and delete the file
+     */
+    @After
+    public void tearDown() {
+        fSequentialTrace.dispose();
+        fParallelTrace.dispose();
+        fFile.delete();
+    }
+
+    private static String shiftTimestamp(String line, long seconds) {
+        Matcher matcher = TIMESTAMP_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return line;
+        }
+        return line.substring(0, matcher.start(1)) + (Long.parseLong(matcher.group(1)) + seconds) + line.substring(matcher.end(1));
+    }
+
+    private static String toString(ITmfEvent event) {
+        return event.getTimestamp().toNanos() + " " + event.getName() + " " + event.getContent();
+    }
+
+    /**
+     * Test that a read of the whole trace, over the chunk boundaries, gives
+     * the same events, ranks and locations
+     */
+    @Test
+    public void testSequentialRead() {
+        ITmfContext context = fParallelTrace.seekEvent(0L);
+        assertEquals(fEvents.size(), readEvents(context, 0, fEvents.size(), true));
+        assertNull(fParallelTrace.getNext(context));
+
+        // Read again from the start, once the chunks are all read
+        context = fParallelTrace.seekEvent(0L);
+        assertEquals(NB_READS, readEvents(context, 0, NB_READS, true));
+    }
+
+    /**
+     * Test reads from the middle of a chunk, after a seek by rank and by
+     * location
+     */
+    @Test
+    public void testSeek() {
+        int rank = fEvents.size() / 2 + 13;
+        ITmfContext context = fParallelTrace.seekEvent((long) rank);
+        assertEquals(fLocations.get(rank), context.getLocation());
+        assertEquals(NB_READS, readEvents(context, rank, NB_READS, true));
+
+        // The parsing starts again at a line in the middle of a chunk
+        rank = fEvents.size() / 4 + 7;
+        context = fParallelTrace.seekEvent(fLocations.get(rank));
+        assertEquals(NB_READS, readEvents(context, rank, NB_READS, false));
+
+        // Seek past the parsed chunks, until the end of the trace
+        rank = fEvents.size() - NB_READS / 2;
+        context = fParallelTrace.seekEvent(fLocations.get(rank));
+        assertEquals(NB_READS / 2, readEvents(context, rank, NB_READS, false));
+        assertNull(fParallelTrace.getNext(context));
+    }
+
+    /**
+     * Test that the lines already read from a chunk are read again after a
+     * seek back in that chunk
+     */
+    @Test
+    public void testReadAgainAfterSeek() {
+        int rank = fEvents.size() / 2;
+        ITmfContext context = fParallelTrace.seekEvent(fLocations.get(rank));
+        assertEquals(NB_READS, readEvents(context, rank, NB_READS, false));
+
+        for (int seekRank : new int[] { rank + NB_READS / 2, rank + 1, rank }) {
+            context = fParallelTrace.seekEvent(fLocations.get(seekRank));
+            assertEquals(NB_READS, readEvents(context, seekRank, NB_READS, false));
+        }
+    }
+
+    /**
+     * Read events from a context and compare them to the events of the
+     * sequential parsing
+     *
+     * @return the number of events read
+     */
+    private int readEvents(ITmfContext context, int firstRank, int count, boolean checkRanks) {
+        int rank = firstRank;
+        while (rank < firstRank + count) {
+            ITmfLocation location = context.getLocation();
+            ITmfEvent event = fParallelTrace.getNext(context);
+            if (rank == fEvents.size()) {
+                assertNull(event);
+                break;
+            }
+            assertNotNull("Event " + rank, event);
+            assertEquals("Location " + rank, fLocations.get(rank), location);
+            assertEquals("Event " + rank, fEvents.get(rank), toString(event));
+            if (checkRanks) {
+                assertEquals(rank, event.getRank());
+            }
+            rank++;
+        }
+        return rank - firstRank;
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -11,8 +11,12 @@
 
 package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event;
 
+import java.util.HashMap;
 import java.util.Map;
 
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceEventDecoder;
+
 /**
  * A trace event parsed from the binary FTrace file.
  *
@@ -25,25 +29,29 @@ public class BinaryFTraceEvent {
     private final String fEventName;
 
     // Event payload
-    private final Map<String, Object> fFields;
+    private final BinaryFTraceEventDecoder fDecoder;
+    private final Object @Nullable [] fValues;
+    private @Nullable Map<String, Object> fFields = null;
 
     /**
      * Constructor
      *
      * @param timeSinceBoot
      *            The time stamp of the event (since boot)
-     * @param fields
-     *            The properties of the event as key-value pairs
-     * @param eventName
-     *            The name of the event
+     * @param decoder
+     *            The decoder of the event format of the event
+     * @param values
+     *            The values decoded by the decoder, or null if the event has
+     *            no payload
      * @param cpu
      *            The CPU number of the event
      */
-    public BinaryFTraceEvent(long timeSinceBoot, Map<String, Object> fields, String eventName, int cpu) {
+    public BinaryFTraceEvent(long timeSinceBoot, BinaryFTraceEventDecoder decoder, Object @Nullable [] values, int cpu) {
         fTimeSinceBoot = timeSinceBoot;
-        fFields = fields;
+        fDecoder = decoder;
+        fValues = values;
         fCpu = cpu;
-        fEventName = eventName;
+        fEventName = decoder.getEventFormat().getEventName();
     }
 
     /**
@@ -63,7 +71,32 @@ public class BinaryFTraceEvent {
      * @return the type length of the event
      */
     public Map<String, Object> getFields() {
-        return fFields;
+        Map<String, Object> fields = fFields;
+        if (fields == null) {
+            Object[] values = fValues;
+            fields = (values != null) ? fDecoder.toMap(values) : new HashMap<>();
+            fFields = fields;
+        }
+        return fields;
+    }
+
+    /**
+     * Get the decoder of the event format of the event
+     *
+     * @return the decoder of the event
+     */
+    public BinaryFTraceEventDecoder getDecoder() {
+        return fDecoder;
+    }
+
+    /**
+     * Get the values of the fields of the event, in the order of
+     * {@link BinaryFTraceEventDecoder#getFieldNames()}
+     *
+     * @return the values of the fields, or null if the event has no payload
+     */
+    public Object @Nullable [] getValues() {
+        return fValues;
     }
 
     /**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -24,6 +24,11 @@ public class BinaryFTraceFileCPU {
     private final long fSectionSize; // in bytes
     private final int fCpu;
     private final List<BinaryFTraceCPUDataPage> fLstPages;
+    /*
+     * Largest time stamp of the pages from the second one to each page, to
+     * find the page of a time stamp by binary search
+     */
+    private final long[] fPageMaxTimeStamps;
 
     /**
      * Constructor
@@ -44,6 +49,13 @@ public class BinaryFTraceFileCPU {
         fSectionSize = size;
         fCpu = cpu;
         fLstPages = lstPages;
+
+        fPageMaxTimeStamps = new long[lstPages.size()];
+        long maxTimeStamp = Long.MIN_VALUE;
+        for (int i = 1; i < fPageMaxTimeStamps.length; i++) {
+            maxTimeStamp = Math.max(maxTimeStamp, lstPages.get(i).getTimeStamp());
+            fPageMaxTimeStamps[i] = maxTimeStamp;
+        }
     }
 
     /**
@@ -84,4 +96,31 @@ public class BinaryFTraceFileCPU {
     public List<BinaryFTraceCPUDataPage> getPages() {
         return fLstPages;
     }
+
+    /**
+     * Get the index of the page where the events at or after a time stamp
+     * start: the first page if the time stamp is not after it, otherwise the
+     * page before the first next page that starts after the time stamp.
+     *
+     * @param timestamp
+     *            The time stamp
+     * @return The index of the page in {@link #getPages()}, 0 if there are no
+     *         pages
+     */
+    public int getPageIndex(long timestamp) {
+        if (fLstPages.isEmpty() || timestamp <= fLstPages.get(0).getTimeStamp()) {
+            return 0;
+        }
+        int low = 1;
+        int high = fPageMaxTimeStamps.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (fPageMaxTimeStamps[mid] > timestamp) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low - 1;
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -16,6 +16,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceEventDecoder;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTracePageCache;
 
 /**
  * A representation of all header information required for parsing the events in
@@ -46,6 +50,10 @@ public class BinaryFTraceHeaderInfo {
 
     private List<BinaryFTraceFileCPU> cpus;
 
+    // The mapped pages, shared by all the iterators of the trace
+    private BinaryFTracePageCache fPageCache;
+    private final Map<Integer, BinaryFTraceEventDecoder> fEventDecoders = new ConcurrentHashMap<>();
+
     /**
      * Constructor
      *
@@ -89,8 +97,24 @@ public class BinaryFTraceHeaderInfo {
      * @param filePath
      *            The file path of the trace file.
      */
-    public void setFilePath(String filePath) {
+    public synchronized void setFilePath(String filePath) {
         this.fFilePath = filePath;
+        fPageCache = null;
+    }
+
+    /**
+     * Get the cache of the memory mapped CPU pages of the trace file, shared by
+     * all the iterators of the trace.
+     *
+     * @return The page cache of the trace file.
+     */
+    public synchronized BinaryFTracePageCache getPageCache() {
+        BinaryFTracePageCache pageCache = fPageCache;
+        if (pageCache == null) {
+            pageCache = new BinaryFTracePageCache(fFilePath, fEndianess);
+            fPageCache = pageCache;
+        }
+        return pageCache;
     }
 
     /**
@@ -234,6 +258,28 @@ public class BinaryFTraceHeaderInfo {
         return null;
     }
 
+    /**
+     * Get the decoder of the payloads of an event format. The decoder of a
+     * format is compiled once, the first time an event of the format is read,
+     * and shared by all the iterators of the trace.
+     *
+     * @param eventTypeID
+     *            The ID of the event.
+     * @return The decoder of the event format with the same event format ID,
+     *         or null if there is no such event format.
+     */
+    public BinaryFTraceEventDecoder getEventDecoder(int eventTypeID) {
+        BinaryFTraceEventDecoder decoder = fEventDecoders.get(eventTypeID);
+        if (decoder == null) {
+            BinaryFTraceEventFormat eventFormat = getEventFormatByID(eventTypeID);
+            if (eventFormat == null) {
+                return null;
+            }
+            decoder = fEventDecoders.computeIfAbsent(eventTypeID, id -> new BinaryFTraceEventDecoder(eventFormat, this));
+        }
+        return decoder;
+    }
+
     /**
      * Get the list of CPUS.
      *
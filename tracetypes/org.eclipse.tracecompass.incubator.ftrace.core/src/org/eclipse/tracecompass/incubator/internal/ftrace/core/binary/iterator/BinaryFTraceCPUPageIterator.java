@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -13,8 +13,8 @@ package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -22,20 +22,37 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEventDefinition;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventFormat;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceByteBuffer;
 
 /**
  * An iterator to loop through events in a single CPU data page. A CPU maybe
  * paged if the trace type is fly_record. This class is used to loop through the
  * event of a single CPUPage in a CPU section (the same CPU).
  *
+ * The page is read from the memory mapped page cache of the trace, so the
+ * iterator holds no file handle, and the event payloads are copied straight
+ * from the mapped page.
+ *
+ * To seek, the iterator keeps, in the page cache, a checkpoint every
+ * {@link #CHECKPOINT_INTERVAL} events of the page the first time it seeks in
+ * it, so that the next seeks only read the events from the last checkpoint
+ * before the time stamp.
+ *
  * @Author Hoang Thuan Pham
  */
 public class BinaryFTraceCPUPageIterator implements Closeable {
-    // The buffer
-    private @Nullable BinaryFTraceByteBuffer fBuffer;
+    /** Number of events between two seek checkpoints */
+    private static final int CHECKPOINT_INTERVAL = 16;
+    /*
+     * A checkpoint is the offset and time stamp of the iterator before reading
+     * an event, and the largest time stamp of the events up to that event
+     */
+    private static final int CHECKPOINT_SIZE = 3;
+
+    // The mapped page, index 0 is the start of the page
+    private @Nullable ByteBuffer fBuffer;
+    // The position of the next read in the page buffer
+    private int fPointer;
 
     private final BinaryFTraceHeaderInfo fFileHeader;
     private final long fLimit;
@@ -103,11 +120,8 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
      */
     @Override
     public void close() throws IOException {
-        BinaryFTraceByteBuffer buffer = fBuffer;
-        if (buffer != null) {
-            buffer.close();
-            fBuffer = null;
-        }
+        // The page is unmapped with the page cache, just release it
+        fBuffer = null;
     }
 
     /**
@@ -212,10 +226,10 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
             return false;
         }
 
-        BinaryFTraceByteBuffer buffer = fBuffer;
+        ByteBuffer buffer = fBuffer;
         if (buffer != null) {
-            buffer.movePointerToOffset(fCurrentOffset);
-            int eventTypeLengthAndTimeStamp = buffer.getNextInt();
+            movePointerToOffset(fCurrentOffset);
+            int eventTypeLengthAndTimeStamp = getNextInt(buffer);
             fCurrentTypeLen = fDataParser.getEventTypeLength(eventTypeLengthAndTimeStamp);
             fCurrentTimeDelta = fDataParser.getDeltaTime(eventTypeLengthAndTimeStamp);
             fCurrentOffset += 4;
@@ -241,10 +255,10 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
             return -1;
         }
 
-        BinaryFTraceByteBuffer buffer = fBuffer;
+        ByteBuffer buffer = fBuffer;
         if (buffer != null) {
-            buffer.movePointerToOffset(fCurrentOffset);
-            int nextEventTypeLen = buffer.getNextInt();
+            movePointerToOffset(fCurrentOffset);
+            int nextEventTypeLen = getNextInt(buffer);
             return fDataParser.getEventTypeLength(nextEventTypeLen);
         }
 
@@ -264,9 +278,9 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
         if (fCurrentTypeLen <= fFileHeader.getHeaderEventInfo().getDataMaxTypeLen()) {
             fCurrentTimeStamp += fCurrentTimeDelta;
         } else {
-            BinaryFTraceByteBuffer buffer = fBuffer;
+            ByteBuffer buffer = fBuffer;
             if (buffer != null) {
-                long extend = buffer.getNextInt();
+                long extend = getNextInt(buffer);
                 extend = extend <<= 27;
                 extend += fCurrentTimeDelta;
 
@@ -299,10 +313,10 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
         if (fCurrentTypeLen == fFileHeader.getHeaderEventInfo().getCustomLengthEventTypeLen()) {
             // If the type length is 0, then the next 4 bytes contain the actual
             // length
-            BinaryFTraceByteBuffer buffer = fBuffer;
+            ByteBuffer buffer = fBuffer;
             if (buffer != null) {
                 // the size includes the size field itself, subtract it to get the actual event length
-                payloadSize = buffer.getNextInt() - 4;
+                payloadSize = getNextInt(buffer) - 4;
                 this.fCurrentOffset += 4;
             }
         } else if (fCurrentTypeLen <= fFileHeader.getHeaderEventInfo().getDataMaxTypeLen()) {
@@ -333,32 +347,30 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
     public @Nullable BinaryFTraceEvent getCurrentEvent() throws IOException {
         // Make a local copy to prevent multithreading null check
         BinaryFTraceEventDefinition eventDef = fEventDef;
+        ByteBuffer buffer = fBuffer;
+
+        if (eventDef != null && buffer != null) {
+            // The payload is read from the mapped page, the pointer of the
+            // iterator is not moved
+            byte[] data = new byte[eventDef.getPayloadSize()];
+            buffer.position((int) (eventDef.getPayloadOffset() - fPage.getPageStartingOffset()));
+            buffer.get(data);
+
+            BinaryFTraceEventDecoder decoder = fDataParser.getEventDecoder(data);
+            if (decoder == null) {
+                return null;
+            }
 
-        if (eventDef != null) {
-            // We use a new buffer to read the current event
-            try (BinaryFTraceByteBuffer tempBuffer = new BinaryFTraceByteBuffer(fFileHeader.getFilePath());) {
-                tempBuffer.setByteOrder(fFileHeader.getEndianess());
-                tempBuffer.movePointerToOffset(eventDef.getPayloadOffset());
-
-                byte[] data = tempBuffer.getNextBytes(eventDef.getPayloadSize());
-                BinaryFTraceEventFormat eventFormat = fDataParser.getEventFormat(data);
-                if (eventFormat == null) {
-                    return null;
-                }
-
-                Map<String, Object> properties;
-                if (eventDef.getPayloadSize() > 0) {
-                    properties = fDataParser.parseEventData(eventFormat, data);
-                } else {
-                    properties = new HashMap<>();
-                }
-
-                BinaryFTraceEvent event = new BinaryFTraceEvent(fCurrentTimeStamp,
-                        properties,
-                        eventFormat.getEventName(),
-                        fPage.getCpu());
-                return event;
+            Object[] values = null;
+            if (eventDef.getPayloadSize() > 0) {
+                values = decoder.decode(data);
             }
+
+            BinaryFTraceEvent event = new BinaryFTraceEvent(fCurrentTimeStamp,
+                    decoder,
+                    values,
+                    fPage.getCpu());
+            return event;
         }
 
         return null;
@@ -378,6 +390,34 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
         // Reset the iterator
         initializeIterator();
 
+        long[] checkpoints = fFileHeader.getPageCache().getSeekCheckpoints(fPage);
+        if (checkpoints == null) {
+            checkpoints = buildCheckpoints();
+            fFileHeader.getPageCache().setSeekCheckpoints(fPage, checkpoints);
+            initializeIterator();
+        }
+
+        /*
+         * Start from the last checkpoint before the time stamp, the events
+         * before it would all be read by the loop below
+         */
+        int low = 0;
+        int high = checkpoints.length / CHECKPOINT_SIZE;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (checkpoints[mid * CHECKPOINT_SIZE + 2] < timeStampToSeekTo) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low > 0) {
+            int checkpoint = (low - 1) * CHECKPOINT_SIZE;
+            fCurrentOffset = checkpoints[checkpoint];
+            fCurrentTimeStamp = checkpoints[checkpoint + 1];
+            movePointerToOffset(fCurrentOffset);
+        }
+
         // Read the first event
         BinaryFTraceResponse response = readNextEvent();
 
@@ -411,7 +451,7 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
     public boolean hasNext() throws IOException {
         boolean ret = true;
 
-        BinaryFTraceByteBuffer buffer = fBuffer;
+        ByteBuffer buffer = fBuffer;
 
         if (buffer == null) {
             ret = false;
@@ -426,7 +466,7 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
                 ret = false;
             } else {
                 // We check the header type length and timestamp
-                int typeLengthAndTimeStamp = buffer.getNextInt();
+                int typeLengthAndTimeStamp = getNextInt(buffer);
 
                 /*
                  * If the type length and timestamp is 0, it might be a custom
@@ -439,7 +479,7 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
                         ret = false;
                     } else {
                         // No custom length, guaranteed to be paddings
-                        int customLength = buffer.getNextInt();
+                        int customLength = getNextInt(buffer);
                         if (customLength == 0) {
                             ret = false;
                         }
@@ -448,12 +488,50 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
             }
 
             // Reset the buffer to avoid issues with other methods
-            buffer.movePointerToOffset(fCurrentOffset);
+            movePointerToOffset(fCurrentOffset);
         }
 
         return ret;
     }
 
+    /**
+     * Read all the events of the page from the start, like a seek past the
+     * last event would, and keep a checkpoint every
+     * {@link #CHECKPOINT_INTERVAL} events
+     *
+     * @return The checkpoints
+     * @throws IOException
+     *             if there is an error reading the events
+     */
+    private long[] buildCheckpoints() throws IOException {
+        long[] checkpoints = new long[CHECKPOINT_SIZE * 4];
+        int size = 0;
+        int nbEvents = 0;
+        long maxTimeStamp = Long.MIN_VALUE;
+
+        long offset = fCurrentOffset;
+        long timeStamp = fCurrentTimeStamp;
+        BinaryFTraceResponse response = readNextEvent();
+        while (response == BinaryFTraceResponse.OK) {
+            maxTimeStamp = Math.max(maxTimeStamp, fCurrentTimeStamp);
+            if (nbEvents++ % CHECKPOINT_INTERVAL == 0) {
+                if (size == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, size * 2);
+                }
+                checkpoints[size++] = offset;
+                checkpoints[size++] = timeStamp;
+                checkpoints[size++] = maxTimeStamp;
+            }
+            if (!hasNext()) {
+                break;
+            }
+            offset = fCurrentOffset;
+            timeStamp = fCurrentTimeStamp;
+            response = readNextEvent();
+        }
+        return Arrays.copyOf(checkpoints, size);
+    }
+
     private void initializeIterator() throws IOException {
         fCurrentOffset = fPage.getDataStartingOffset();
         fCurrentTimeStamp = fPage.getTimeStamp();
@@ -462,15 +540,27 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
         fEventDef = null;
 
         // Reset the iterator
-        if (fBuffer != null) {
-            fBuffer.movePointerToOffset(fPage.getDataStartingOffset());
-        } else {
-            // Prepare the buffer
-            BinaryFTraceByteBuffer newBuffer = new BinaryFTraceByteBuffer(fFileHeader.getFilePath());
-            newBuffer.setByteOrder(fFileHeader.getEndianess());
-            newBuffer.movePointerToOffset(fPage.getDataStartingOffset());
-
-            fBuffer = newBuffer;
+        if (fBuffer == null) {
+            // Get the page from the cache shared by the iterators of the trace
+            fBuffer = fFileHeader.getPageCache().getPage(fPage);
         }
+        movePointerToOffset(fPage.getDataStartingOffset());
+    }
+
+    /**
+     * Move the pointer of the page buffer to an offset in the file
+     */
+    private void movePointerToOffset(long offset) {
+        fPointer = (int) (offset - fPage.getPageStartingOffset());
+    }
+
+    /**
+     * Read the integer at the pointer of the page buffer and move the pointer
+     * after it
+     */
+    private int getNextInt(ByteBuffer buffer) {
+        int value = buffer.getInt(fPointer);
+        fPointer += Integer.BYTES;
+        return value;
     }
 }
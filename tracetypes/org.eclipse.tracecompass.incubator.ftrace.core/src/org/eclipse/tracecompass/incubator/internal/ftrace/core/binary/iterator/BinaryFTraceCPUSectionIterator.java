@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -36,6 +36,9 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
     /** The first page of the CPU section, required to reset the iterator **/
     private BinaryFTraceCPUDataPage fHeadPage;
 
+    /** The CPU section, to find the page of a time stamp **/
+    private final BinaryFTraceFileCPU fCpu;
+
     /**
      * Constructor
      *
@@ -48,6 +51,7 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
      */
     public BinaryFTraceCPUSectionIterator(BinaryFTraceFileCPU cpu, BinaryFTraceHeaderInfo headerInfo) throws IOException {
         this.headerInfo = headerInfo;
+        fCpu = cpu;
 
         if (!cpu.getPages().isEmpty()) {
             fHeadPage = cpu.getPages().get(0); // Get the first page
@@ -165,22 +169,20 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
      *             If the iterator cannot locate an timestamp.
      */
     public boolean seek(long timestamp) throws IOException {
-        // First we reset the iterator
-        resetIterator();
+        // First we close the current iterator
+        BinaryFTraceCPUPageIterator currentIter = fCurrPageIterator;
+        if (currentIter != null) {
+            currentIter.close();
+        }
+        fCurrPageIterator = null;
 
-        BinaryFTraceCPUDataPage currPage = fHeadPage;
         boolean ret = false;
 
-        if (currPage != null) {
+        if (fHeadPage != null) {
+            // Binary search of the page by the time stamps of the pages
+            BinaryFTraceCPUDataPage currPage = fCpu.getPages().get(fCpu.getPageIndex(timestamp));
             BinaryFTraceCPUDataPage nextPage = currPage.getNextPage();
 
-            if (timestamp > currPage.getTimeStamp()) {
-                while (nextPage != null && timestamp >= nextPage.getTimeStamp()) {
-                    currPage = nextPage;
-                    nextPage = currPage.getNextPage();
-                }
-            }
-
             BinaryFTraceCPUPageIterator iter = BinaryFTraceIteratorHelper.getPageIterator(currPage, headerInfo);
             if (iter != null) {
                 ret = iter.seek(timestamp);
@@ -207,20 +209,4 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
 
         return ret;
     }
-
-    /**
-     * Reset the iterator from the start.
-     * @throws IOException
-     *
-     * @throws Exception
-     *             if there is an issue getting the iterator of the head page.
-     */
-    private void resetIterator() throws IOException {
-        BinaryFTraceCPUPageIterator iter = fCurrPageIterator;
-        if (iter != null) {
-            iter.close();
-        }
-
-        fCurrPageIterator = BinaryFTraceIteratorHelper.getPageIterator(fHeadPage, headerInfo);
-    }
 }
@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceConstants;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceDataType;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventFormat;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFormatField;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceValueSign;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.layout.GenericFtraceEventLayout;
+
+/**
+ * A decoder of the binary payloads of the events of one event format, compiled
+ * once from the fields of the format.
+ *
+ * The kind, offset, size and signedness of each field are resolved when the
+ * decoder is compiled, so decoding a payload reads the values straight from
+ * the payload bytes into an array of values, in the order of
+ * {@link #getFieldNames()}. The fields of the event content, with the common
+ * fields and the null values left out, are also resolved once, so an event
+ * content is built from the array without any intermediate map. The values are
+ * the same as the ones of
+ * {@link BinaryFTraceIteratorHelper#parseEventData(BinaryFTraceEventFormat, byte[])}.
+ */
+public class BinaryFTraceEventDecoder {
+    private static final String EVENT_NAME_FIELD = "name"; //$NON-NLS-1$
+    private static final String COMMON_PID_FIELD = "common_pid"; //$NON-NLS-1$
+    private static final String TGID_FIELD = "tgid"; //$NON-NLS-1$
+    private static final String PARENT_PID_FIELD = "parent_pid"; //$NON-NLS-1$
+    private static final String PID_FIELD = "pid"; //$NON-NLS-1$
+    private static final String HEX_PREFIX = "0x"; //$NON-NLS-1$
+
+    /* Index of the event name in the payload indexes */
+    private static final int EVENT_NAME_INDEX = -1;
+    /* Index of a field that is not in the event */
+    private static final int NO_INDEX = -2;
+
+    private static final int DATALOC_SHIFT = 16;
+    private static final int DATA_LOC_OFFSET = 0x0000FFFF;
+    private static final int DATA_LOC_SIZE = 4;
+
+    /**
+     * The way a field value is read, from the first test of
+     * {@link BinaryFTraceIteratorHelper#getFieldValue} that matches the field
+     */
+    private enum FieldKind {
+        POINTER,
+        STRING,
+        DATA_LOC_STRING,
+        SIGNED,
+        UNSIGNED,
+        LONG,
+        UNSIGNED_LONG,
+        NULL
+    }
+
+    private final BinaryFTraceEventFormat fEventFormat;
+    private final BinaryFTraceIteratorHelper fHelper;
+    private final Map<String, String> fPointerStrings;
+    private final boolean fLittleEndian;
+
+    private final String[] fFieldNames;
+    private final BinaryFTraceFormatField[] fFields;
+    private final FieldKind[] fKinds;
+    private final int[] fOffsets;
+    private final int[] fSizes;
+
+    private final String[] fPayloadNames;
+    private final int[] fPayloadIndexes;
+    private final int fCommonPidIndex;
+    private final int fTgidIndex;
+
+    /**
+     * Constructor, compiles the decoder of an event format
+     *
+     * @param eventFormat
+     *            The event format
+     * @param header
+     *            The header of the trace, with the byte order of the payloads
+     *            and the strings of the printk pointers
+     */
+    public BinaryFTraceEventDecoder(BinaryFTraceEventFormat eventFormat, BinaryFTraceHeaderInfo header) {
+        fEventFormat = eventFormat;
+        fHelper = new BinaryFTraceIteratorHelper(header);
+        Map<String, String> pointerStrings = header.getPrintKPointerStringMapping();
+        fPointerStrings = pointerStrings != null ? pointerStrings : new HashMap<>();
+        fLittleEndian = header.getEndianess() == ByteOrder.LITTLE_ENDIAN;
+
+        List<Entry<String, BinaryFTraceFormatField>> fields = new ArrayList<>(eventFormat.getCommonFields().entrySet());
+        fields.addAll(eventFormat.getCustomFields().entrySet());
+        int nbFields = fields.size();
+        fFieldNames = new String[nbFields];
+        fFields = new BinaryFTraceFormatField[nbFields];
+        fKinds = new FieldKind[nbFields];
+        fOffsets = new int[nbFields];
+        fSizes = new int[nbFields];
+
+        /*
+         * The fields of the parsed event data, in the same order as
+         * parseEventData puts them, so that the last field of a name wins
+         */
+        Map<String, Integer> eventData = new HashMap<>();
+        eventData.put(EVENT_NAME_FIELD, EVENT_NAME_INDEX);
+        for (int i = 0; i < nbFields; i++) {
+            BinaryFTraceFormatField field = fields.get(i).getValue();
+            fFieldNames[i] = fields.get(i).getKey();
+            fFields[i] = field;
+            fKinds[i] = getKind(field);
+            fOffsets[i] = field.getOffset();
+            fSizes[i] = field.getSize();
+            eventData.put(fFieldNames[i], i);
+        }
+        fCommonPidIndex = eventData.getOrDefault(COMMON_PID_FIELD, NO_INDEX);
+        fTgidIndex = eventData.getOrDefault(TGID_FIELD, NO_INDEX);
+
+        /*
+         * The fields of the event content: the fields that are never null and
+         * that are not common fields, with the parent pid of the fork events
+         * renamed
+         */
+        boolean isFork = GenericFtraceEventLayout.getInstance().eventSchedProcessFork().equals(eventFormat.getEventName());
+        Map<String, Integer> payload = new HashMap<>();
+        for (Entry<String, Integer> entry : eventData.entrySet()) {
+            String key = entry.getKey();
+            int index = entry.getValue();
+            boolean isNull = (index == EVENT_NAME_INDEX) ? eventFormat.getEventName() == null : fKinds[index] == FieldKind.NULL;
+            if (!isNull && !key.startsWith(BinaryFTraceConstants.EVENT_FORMAT_COMMON_FIELD_PREFIX)) {
+                if (key.equals(PARENT_PID_FIELD) && isFork) {
+                    key = PID_FIELD;
+                }
+                payload.put(key, index);
+            }
+        }
+        fPayloadNames = new String[payload.size()];
+        fPayloadIndexes = new int[payload.size()];
+        int i = 0;
+        for (Entry<String, Integer> entry : payload.entrySet()) {
+            fPayloadNames[i] = entry.getKey();
+            fPayloadIndexes[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    private static FieldKind getKind(BinaryFTraceFormatField field) {
+        if (field.isPointer()) {
+            return FieldKind.POINTER;
+        }
+        if (field.isString()) {
+            return field.isDataLoc() ? FieldKind.DATA_LOC_STRING : FieldKind.STRING;
+        }
+        if (field.getArrayLength() == 0) {
+            return FieldKind.POINTER;
+        }
+        boolean signed = field.getSigned() == BinaryFTraceValueSign.SIGNED;
+        BinaryFTraceDataType type = field.getFieldType();
+        if (type == null) {
+            return FieldKind.NULL;
+        }
+        switch (type) {
+        case CHAR:
+            if (field.getSize() != 1) {
+                return FieldKind.NULL;
+            }
+            return signed ? FieldKind.SIGNED : FieldKind.UNSIGNED;
+        case SHORT:
+        case INT:
+            return signed ? FieldKind.SIGNED : FieldKind.UNSIGNED;
+        case LONG:
+            return field.getSigned() == BinaryFTraceValueSign.UNSIGNED ? FieldKind.UNSIGNED_LONG : FieldKind.LONG;
+        case UNKNOWN:
+        default:
+            return FieldKind.NULL;
+        }
+    }
+
+    /**
+     * Get the event format of this decoder
+     *
+     * @return The event format
+     */
+    public BinaryFTraceEventFormat getEventFormat() {
+        return fEventFormat;
+    }
+
+    /**
+     * Get the names of the fields of the format, in the order of the decoded
+     * values
+     *
+     * @return The names of the fields
+     */
+    public String[] getFieldNames() {
+        return fFieldNames;
+    }
+
+    /**
+     * Decode the binary payload of an event
+     *
+     * @param data
+     *            The binary payload of the event
+     * @return The values of the fields, in the order of
+     *         {@link #getFieldNames()}
+     */
+    public Object[] decode(byte[] data) {
+        Object[] values = new Object[fFields.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = decodeField(i, data);
+        }
+        return values;
+    }
+
+    private @Nullable Object decodeField(int i, byte[] data) {
+        int offset = fOffsets[i];
+        int size = fSizes[i];
+        FieldKind kind = fKinds[i];
+        int valueSize = getValueSize(i);
+        if (offset < 0 || size < valueSize || offset + size > data.length) {
+            // Truncated payload or unusual field, use the generic parsing
+            return fHelper.getFieldValue(fFields[i], data);
+        }
+
+        switch (kind) {
+        case POINTER:
+            return readPointer(readLong(data, offset));
+        case STRING:
+            return readString(data, offset, size);
+        case DATA_LOC_STRING: {
+            int dataLocation = (int) readLong(data, offset, DATA_LOC_SIZE);
+            int length = dataLocation >> DATALOC_SHIFT;
+            int dataOffset = dataLocation & DATA_LOC_OFFSET;
+            if (length < 0) {
+                return fHelper.getFieldValue(fFields[i], data);
+            }
+            if (dataOffset + length > data.length) {
+                return ""; //$NON-NLS-1$
+            }
+            return readString(data, dataOffset, length);
+        }
+        case SIGNED: {
+            // Sign extend the value
+            int shift = Long.SIZE - valueSize * Byte.SIZE;
+            return (readLong(data, offset, valueSize) << shift) >> shift;
+        }
+        case UNSIGNED:
+            return readLong(data, offset, valueSize);
+        case LONG:
+            return readLong(data, offset);
+        case UNSIGNED_LONG: {
+            long value = readLong(data, offset);
+            // An unsigned value that does not fit in a long is a string
+            return value < 0 ? Long.toUnsignedString(value) : Long.valueOf(value);
+        }
+        case NULL:
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Number of bytes read from the field, any byte after them is ignored
+     */
+    private int getValueSize(int i) {
+        switch (fKinds[i]) {
+        case POINTER:
+        case LONG:
+        case UNSIGNED_LONG:
+            return Long.BYTES;
+        case DATA_LOC_STRING:
+            // Only a 4 bytes dynamic field is read, others are left to the
+            // generic parsing
+            return fSizes[i] == DATA_LOC_SIZE ? DATA_LOC_SIZE : Integer.MAX_VALUE;
+        case SIGNED:
+        case UNSIGNED:
+            return fFields[i].getFieldType().getSize();
+        case STRING:
+        case NULL:
+        default:
+            return 0;
+        }
+    }
+
+    private long readLong(byte[] data, int offset) {
+        return readLong(data, offset, Long.BYTES);
+    }
+
+    /**
+     * Read an unsigned value of up to 8 bytes in the byte order of the trace
+     */
+    private long readLong(byte[] data, int offset, int size) {
+        long value = 0;
+        if (fLittleEndian) {
+            for (int i = size - 1; i >= 0; i--) {
+                value = (value << Byte.SIZE) | (data[offset + i] & 0xFF);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                value = (value << Byte.SIZE) | (data[offset + i] & 0xFF);
+            }
+        }
+        return value;
+    }
+
+    private static String readString(byte[] data, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (data[i] == 0) {
+                return new String(data, offset, i - offset);
+            }
+        }
+        return new String(data, offset, length);
+    }
+
+    private String readPointer(long pointerAddress) {
+        String hexAddress = HEX_PREFIX + Long.toHexString(pointerAddress);
+        String value = fPointerStrings.get(hexAddress);
+        return value != null ? value : hexAddress;
+    }
+
+    /**
+     * Get the decoded values as a map of the field names to the values,
+     * including the name of the event, like
+     * {@link BinaryFTraceIteratorHelper#parseEventData(BinaryFTraceEventFormat, byte[])}
+     *
+     * @param values
+     *            The decoded values
+     * @return A Map containing all the the field values.
+     */
+    public Map<String, Object> toMap(Object[] values) {
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put(EVENT_NAME_FIELD, fEventFormat.getEventName());
+        for (int i = 0; i < values.length; i++) {
+            eventProperties.put(fFieldNames[i], values[i]);
+        }
+        return eventProperties;
+    }
+
+    /**
+     * Get the names of the fields of the event content
+     *
+     * @return The names of the fields of the event content
+     */
+    public String[] getPayloadNames() {
+        return fPayloadNames;
+    }
+
+    /**
+     * Get the values of the fields of the event content
+     *
+     * @param values
+     *            The decoded values
+     * @return The values of the fields of the event content, in the order of
+     *         {@link #getPayloadNames()}
+     */
+    public Object[] getPayloadValues(Object[] values) {
+        Object[] payload = new Object[fPayloadIndexes.length];
+        for (int i = 0; i < payload.length; i++) {
+            int index = fPayloadIndexes[i];
+            payload[i] = (index == EVENT_NAME_INDEX) ? fEventFormat.getEventName() : values[index];
+        }
+        return payload;
+    }
+
+    /**
+     * Get the value of the common_pid field
+     *
+     * @param values
+     *            The decoded values
+     * @return The value of the field, or null if the event has none
+     */
+    public @Nullable Object getCommonPid(Object[] values) {
+        return getValue(values, fCommonPidIndex);
+    }
+
+    /**
+     * Get the value of the tgid field
+     *
+     * @param values
+     *            The decoded values
+     * @return The value of the field, or null if the event has none
+     */
+    public @Nullable Object getTgid(Object[] values) {
+        return getValue(values, fTgidIndex);
+    }
+
+    private @Nullable Object getValue(Object[] values, int index) {
+        if (index == NO_INDEX) {
+            return null;
+        }
+        return (index == EVENT_NAME_INDEX) ? fEventFormat.getEventName() : values[index];
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -13,9 +13,6 @@ package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
 
 import java.io.IOException;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -23,13 +20,11 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceLocation;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceLocationInfo;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceConstants;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceField;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.IGenericFtraceConstants;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.layout.GenericFtraceEventLayout;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.BinaryFTrace;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
@@ -101,7 +96,7 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
      */
     @SuppressWarnings("resource")
     public synchronized GenericFtraceEvent getCurrentEvent() throws IOException {
-        final BinaryFTraceCPUSectionIterator top = super.getPrio().peek();
+        final BinaryFTraceCPUSectionIterator top = getTopStream();
         if (top != null) {
             if (!fCurLocation.equals(fPreviousLocation)) {
                 fPreviousLocation = fCurLocation;
@@ -130,13 +125,21 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
         // This function call guarantees that name will not be null
         String name = eventNameRewrite(event.getEventName());
 
-        Object commonPidField = event.getFields().getOrDefault("common_pid", null); //$NON-NLS-1$
+        BinaryFTraceEventDecoder decoder = event.getDecoder();
+        Object[] values = event.getValues();
+        if (values == null) {
+            @SuppressWarnings("null")
+            GenericFtraceField parsedEvent = new GenericFtraceField(name, cpu, timestampInNano, pid, pid, new String[0], new Object[0]);
+            return new GenericFtraceEvent(fTrace, fCurRank, parsedEvent);
+        }
+
+        Object commonPidField = decoder.getCommonPid(values);
         if (commonPidField != null) {
             pid = ((Long) commonPidField).intValue();
         }
         Integer tid = pid;
 
-        Object tgidField = event.getFields().getOrDefault("tgid", null); //$NON-NLS-1$
+        Object tgidField = decoder.getTgid(values);
         if (tgidField != null) {
             int tgidNumeric = ((Long) tgidField).intValue();
             if (tgidNumeric != pid) {
@@ -144,22 +147,9 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
             }
         }
 
-        Map<@NonNull String, @NonNull Object> fields = new HashMap<>();
-        for (Entry<String, Object> field : event.getFields().entrySet()) {
-            String key = field.getKey();
-            Object value = field.getValue();
-
-            if (value != null && !key.startsWith(BinaryFTraceConstants.EVENT_FORMAT_COMMON_FIELD_PREFIX)) {
-                if (key.equals("parent_pid") && name.equals(GenericFtraceEventLayout.getInstance().eventSchedProcessFork())) { //$NON-NLS-1$
-                    key = "pid"; //$NON-NLS-1$
-                }
-
-                fields.put(key, value);
-            }
-        }
-
+        // The decoder already left out the common fields and the null values
         @SuppressWarnings("null")
-        GenericFtraceField parsedEvent = new GenericFtraceField(name, cpu, timestampInNano, pid, tid, fields);
+        GenericFtraceField parsedEvent = new GenericFtraceField(name, cpu, timestampInNano, pid, tid, decoder.getPayloadNames(), decoder.getPayloadValues(values));
         return new GenericFtraceEvent(fTrace, fCurRank, parsedEvent);
     }
 
@@ -378,7 +368,7 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
      */
     @SuppressWarnings("resource")
     public synchronized long getCurrentTimestamp() throws IOException {
-        final BinaryFTraceCPUSectionIterator top = super.getPrio().peek();
+        final BinaryFTraceCPUSectionIterator top = getTopStream();
 
         if (top != null) {
             BinaryFTraceEvent currentEvent = top.getCurrentEvent();
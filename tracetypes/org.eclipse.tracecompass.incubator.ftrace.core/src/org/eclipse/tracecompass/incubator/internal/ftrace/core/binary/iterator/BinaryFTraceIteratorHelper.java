@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -34,6 +34,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.Bin
  */
 public class BinaryFTraceIteratorHelper {
     private final BinaryFTraceHeaderInfo fHeader;
+    private @Nullable BinaryFTraceFormatField fCommonTypeField = null;
 
     private static final int TYPE_LENGTH_SHIFT_BIG = 27;
     private static final int TIME_DELTA_SHIFT_LITTLE = 5;
@@ -192,8 +193,7 @@ public class BinaryFTraceIteratorHelper {
      *         the binary FTrace event.
      */
     public BinaryFTraceEventFormat getEventFormat(byte[] data) {
-        BinaryFTraceFormatField commonTypeField = fHeader.getEventCommonFields().get("common_type"); //$NON-NLS-1$
-        Long eventId = (Long) getFieldValue(commonTypeField, data);
+        Long eventId = getEventId(data);
 
         if (eventId == null) {
             return null;
@@ -202,6 +202,34 @@ public class BinaryFTraceIteratorHelper {
         return fHeader.getEventFormatByID(eventId.intValue());
     }
 
+    /**
+     * Get the decoder of the event format based on the common_type field in a
+     * binary payload of a binary FTrace event.
+     *
+     * @param data
+     *            The binary payload of a binary FTrace event
+     * @return A {@link BinaryFTraceEventDecoder} to parse the binary FTrace
+     *         event, or null if the event format is unknown.
+     */
+    public @Nullable BinaryFTraceEventDecoder getEventDecoder(byte[] data) {
+        Long eventId = getEventId(data);
+
+        if (eventId == null) {
+            return null;
+        }
+
+        return fHeader.getEventDecoder(eventId.intValue());
+    }
+
+    private Long getEventId(byte[] data) {
+        BinaryFTraceFormatField commonTypeField = fCommonTypeField;
+        if (commonTypeField == null) {
+            commonTypeField = fHeader.getEventCommonFields().get("common_type"); //$NON-NLS-1$
+            fCommonTypeField = commonTypeField;
+        }
+        return (Long) getFieldValue(commonTypeField, data);
+    }
+
     private Object getPrimitiveDataValue(BinaryFTraceFormatField formatField, byte[] data) {
         Object value = null;
         switch (formatField.getFieldType()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -17,8 +17,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
 
+import org.eclipse.tracecompass.incubator.internal.analysis.core.merge.LoserTree;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
@@ -27,7 +27,7 @@ import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 
 /**
  * A reader for Binary FTrace where data is divided into sections by CPUs, and
- * in each section time is monotonic. It utilizes a priority queue to select the
+ * in each section time is monotonic. It utilizes a tree of losers to select the
  * next event to be parsed.
  *
  * @author Matthew Khouzam
@@ -35,7 +35,6 @@ import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
  *
  */
 public class BinaryFTraceReader implements AutoCloseable {
-    private static final int MIN_PRIO_SIZE = 16;
 
     // ------------------------------------------------------------------------
     // Attributes
@@ -52,9 +51,10 @@ public class BinaryFTraceReader implements AutoCloseable {
     private final List<BinaryFTraceCPUSectionIterator> fIterators = Collections.synchronizedList(new ArrayList<BinaryFTraceCPUSectionIterator>());
 
     /**
-     * Priority queue to order the trace file readers by timestamp.
+     * Tree to order the trace file readers by timestamp, the sources of the
+     * tree are the indexes of the readers in {@link #fIterators}.
      */
-    private PriorityQueue<BinaryFTraceCPUSectionIterator> fPrio;
+    private LoserTree fTree;
 
     /**
      * Array to count the number of event per trace file.
@@ -98,7 +98,7 @@ public class BinaryFTraceReader implements AutoCloseable {
         createStreamInputReaders();
 
         /**
-         * Populate the timestamp-based priority queue.
+         * Populate the timestamp-based tree.
          */
         populateStreamInputReaderHeap();
 
@@ -130,7 +130,7 @@ public class BinaryFTraceReader implements AutoCloseable {
             }
             fIterators.clear();
         }
-        fPrio.clear();
+        fTree = new LoserTree(0);
         fClosed = true;
     }
 
@@ -158,15 +158,6 @@ public class BinaryFTraceReader implements AutoCloseable {
         fEndTime = endTime;
     }
 
-    /**
-     * Get the priority queue of this trace reader.
-     *
-     * @return The priority queue of input readers
-     */
-    protected PriorityQueue<BinaryFTraceCPUSectionIterator> getPrio() {
-        return fPrio;
-    }
-
     // ------------------------------------------------------------------------
     // Operations
     // ------------------------------------------------------------------------
@@ -202,40 +193,30 @@ public class BinaryFTraceReader implements AutoCloseable {
     }
 
     /**
-     * Initializes the priority queue used to choose the trace file with the
-     * lower next event timestamp.
+     * Initializes the tree used to choose the trace file with the lower next
+     * event timestamp.
      */
     private void populateStreamInputReaderHeap() {
-        if (fIterators.isEmpty()) {
-            fPrio = new PriorityQueue<>(MIN_PRIO_SIZE,
-                    new BinaryFTraceCPUSectionIteratorComparator());
-            return;
-        }
-
-        /*
-         * Create the priority queue with a size twice as bigger as the number
-         * of reader in order to avoid constant resizing.
-         */
-        fPrio = new PriorityQueue<>(
-                Math.max(fIterators.size() * 2, MIN_PRIO_SIZE),
-                new BinaryFTraceCPUSectionIteratorComparator());
+        fTree = new LoserTree(fIterators.size());
 
         int pos = 0;
 
-        for (BinaryFTraceCPUSectionIterator iterator : fIterators) {
+        for (int i = 0; i < fIterators.size(); i++) {
+            BinaryFTraceCPUSectionIterator iterator = fIterators.get(i);
             /*
-             * Add each trace file reader in the priority queue, if we are able
-             * to read an event from it.
+             * Add each trace file reader in the tree, if we are able to read an
+             * event from it.
              */
             BinaryFTraceResponse readNextEvent = iterator.readNextEvent();
             if (readNextEvent != BinaryFTraceResponse.ERROR) {
-                fPrio.add(iterator);
+                fTree.setKey(i, iterator.getCurrentTimeStamp());
 
                 fEventCountPerTraceFile[pos] = 0;
 
                 pos++;
             }
         }
+        fTree.build();
     }
 
     /**
@@ -244,16 +225,18 @@ public class BinaryFTraceReader implements AutoCloseable {
      * @return true if yes.
      */
     public final boolean hasMoreEvents() {
-        return !fPrio.isEmpty();
+        return !fTree.isEmpty();
     }
 
     /**
      * Gets the stream with the oldest event
      *
-     * @return the stream with the oldest event
+     * @return the stream with the oldest event, or null if there are no more
+     *         events
      */
     public BinaryFTraceCPUSectionIterator getTopStream() {
-        return fPrio.peek();
+        int top = fTree.getTop();
+        return top < 0 ? null : fIterators.get(top);
     }
 
     /**
@@ -266,10 +249,6 @@ public class BinaryFTraceReader implements AutoCloseable {
      *             if the seek fails
      */
     public boolean seek(long timestamp) throws IOException {
-        /*
-         * Remove all the trace readers from the priority queue
-         */
-        fPrio.clear();
         long newEndTime = TmfTimestamp.BIG_CRUNCH.toNanos();
 
         for (int i = 0; i < fIterators.size(); i++) {
@@ -282,14 +261,17 @@ public class BinaryFTraceReader implements AutoCloseable {
             currentIterator.seek(timestamp);
 
             /*
-             * Add it to the priority queue if there is a current event.
+             * Keep it in the tree if there is a current event.
              */
             BinaryFTraceEvent currentEvent = currentIterator.getCurrentEvent();
             if (currentEvent != null) {
-                fPrio.add(currentIterator);
+                fTree.setKey(i, currentIterator.getCurrentTimeStamp());
                 newEndTime = Math.min(currentEvent.getTimeSinceBoot(), newEndTime);
+            } else {
+                fTree.remove(i);
             }
         }
+        fTree.build();
 
         boolean ret = hasMoreEvents();
         // Set the new timestamp if there are more events to be read
@@ -309,12 +291,12 @@ public class BinaryFTraceReader implements AutoCloseable {
      */
     public boolean advance() throws IOException {
         /*
-         * Remove the reader from the top of the priority queue.
+         * Get the reader at the top of the tree.
          */
-        BinaryFTraceCPUSectionIterator top = fPrio.poll();
+        BinaryFTraceCPUSectionIterator top = getTopStream();
 
         /*
-         * If the queue was empty.
+         * If the tree was empty.
          */
         if (top == null) {
             return false;
@@ -326,9 +308,9 @@ public class BinaryFTraceReader implements AutoCloseable {
         switch (top.readNextEvent()) {
         case OK: {
             /*
-             * Add it back in the queue.
+             * Replay its time stamp in the tree.
              */
-            fPrio.add(top);
+            fTree.replaceTopKey(top.getCurrentTimeStamp());
             /*
              * We're in OK, there's a guaranteed top#getCurrentEvent() unless
              * another thread does something bad.
@@ -338,13 +320,15 @@ public class BinaryFTraceReader implements AutoCloseable {
             break;
         }
         case FINISH:
+            fTree.removeTop();
             break;
         case ERROR:
         default:
             // something bad happened
+            fTree.removeTop();
         }
         /*
-         * If there is no reader in the queue, it means the trace reader reached
+         * If there is no reader in the tree, it means the trace reader reached
          * the end of the trace.
          */
         return hasMoreEvents();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -26,6 +26,7 @@ import static org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.eve
 import java.io.IOException;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -93,7 +94,7 @@ public abstract class AbstractBinaryFTraceFileParser {
      * @throws IOException
      *             If an error occur while reading the file
      */
-    protected static ByteOrder getFileEndianess(BinaryFTraceByteBuffer buffer) throws IOException {
+    protected static ByteOrder getFileEndianess(IBinaryFTraceByteBuffer buffer) throws IOException {
         int endianess = buffer.getNextBytes(1)[0];
         ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
         if (endianess == 0) {
@@ -117,7 +118,7 @@ public abstract class AbstractBinaryFTraceFileParser {
      *             If an error occur while reading the long value size from the
      *             trace
      */
-    protected static int getLongValueSize(BinaryFTraceByteBuffer buffer) throws TmfTraceException, IOException {
+    protected static int getLongValueSize(IBinaryFTraceByteBuffer buffer) throws TmfTraceException, IOException {
         int longValueSize = buffer.getNextBytes(1)[0];
 
         if (longValueSize != 4 && longValueSize != 8) {
@@ -137,7 +138,7 @@ public abstract class AbstractBinaryFTraceFileParser {
      * @throws IOException
      *             If an error occurred while reading the host page size value
      */
-    protected static int getHostPageSize(BinaryFTraceByteBuffer buffer) throws IOException {
+    protected static int getHostPageSize(IBinaryFTraceByteBuffer buffer) throws IOException {
         return buffer.getNextInt();
     }
 
@@ -413,11 +414,13 @@ public abstract class AbstractBinaryFTraceFileParser {
                     .build();
 
             // Add the page to the list and set the next page
-            listPages.add(0, currentPage);
+            listPages.add(currentPage);
             nextPage = currentPage;
             pageStartingOffset = pageStartingOffset - pageSize;
         }
 
+        // The pages were added from the last one
+        Collections.reverse(listPages);
         return listPages;
     }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -25,7 +25,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.Bin
  *
  * @author Hoang Thuan Pham
  */
-public class BinaryFTraceByteBuffer implements AutoCloseable {
+public class BinaryFTraceByteBuffer implements IBinaryFTraceByteBuffer {
     private static final int BUFFER_SIZE = 4096;
 
     private final RandomAccessFile fTraceFile;
@@ -54,6 +54,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      *
      * @return The current byte order of the buffer
      */
+    @Override
     public ByteOrder getByteOrder() {
         return fByteOrder;
     }
@@ -64,6 +65,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @param byteOrder
      *            The new byte order for the buffer
      */
+    @Override
     public void setByteOrder(ByteOrder byteOrder) {
         this.fByteOrder = byteOrder;
     }
@@ -104,6 +106,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             An error occur while reading data from the buffer
      */
+    @Override
     public byte[] getNextBytes(int byteCount) throws IOException {
         byte[] bytesArray = new byte[byteCount];
 
@@ -129,6 +132,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             Cannot read data from the buffer
      */
+    @Override
     public String getNextString() throws IOException {
         StringBuilder strBuilder = new StringBuilder();
 
@@ -165,6 +169,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             Cannot read data from the buffer
      */
+    @Override
     public String getNextBytesAsString(long byteCount) throws IOException {
         StringBuilder strBuilder = new StringBuilder();
         long remainingByte = byteCount;
@@ -191,6 +196,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             Cannot read data from the buffer
      */
+    @Override
     public int getNextInt() throws IOException {
         byte[] byteArray = getNextBytes(BinaryFTraceDataType.INT.getSize());
 
@@ -205,6 +211,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             Cannot read data from the buffer
      */
+    @Override
     public double getNextDouble() throws IOException {
         byte[] byteArray = getNextBytes(8);
         ByteBuffer wrapped = ByteBuffer.wrap(byteArray).order(fByteOrder);
@@ -218,6 +225,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             Cannot read data from the buffer
      */
+    @Override
     public long getNextLong() throws IOException {
         byte[] byteArray = getNextBytes(8);
         ByteBuffer wrapped = ByteBuffer.wrap(byteArray).order(fByteOrder);
@@ -231,6 +239,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             Cannot read data from the buffer
      */
+    @Override
     public short getNextShort() throws IOException {
         byte[] byteArray = getNextBytes(2);
         ByteBuffer wrapped = ByteBuffer.wrap(byteArray).order(fByteOrder);
@@ -245,6 +254,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             Cannot move the pointer to the value of the offset parameter
      */
+    @Override
     public void movePointerToOffset(long offset) throws IOException {
         fByteBuffer.clear();
         fTraceFile.seek(offset);
@@ -256,6 +266,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      *
      * @return The current offset of the file pointer
      */
+    @Override
     public long getCurrentOffset() {
         return fCurrentOffset;
     }
@@ -267,6 +278,7 @@ public class BinaryFTraceByteBuffer implements AutoCloseable {
      * @throws IOException
      *             If an error occurred while reading the file size
      */
+    @Override
     public long getFileSize() throws IOException {
         return fTraceFile.length();
     }
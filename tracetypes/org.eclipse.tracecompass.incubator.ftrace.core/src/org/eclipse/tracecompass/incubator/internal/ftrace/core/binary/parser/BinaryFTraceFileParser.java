@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Ericsson
+ * Copyright (c) 2022, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -42,6 +42,12 @@ import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
     private static final String UNSECURE_TRACE_ERROR_MESSAGE = "Buffer overrun stopped"; //$NON-NLS-1$
 
+    /**
+     * System property to read the headers with a {@link BinaryFTraceByteBuffer}
+     * instead of a {@link BinaryFTraceMappedByteBuffer} when set to false
+     */
+    public static final String MAPPED_BUFFER_PROPERTY = "org.eclipse.tracecompass.incubator.ftrace.binary.mappedBuffer"; //$NON-NLS-1$
+
     /**
      * Constructor
      */
@@ -49,7 +55,24 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         // Do nothing
     }
 
-    private static void validate(BinaryFTraceByteBuffer buffer, long bytesToRead) throws TmfTraceException, IOException {
+    /**
+     * Open a buffer to read the headers of a file, memory mapped unless
+     * disabled with the {@link #MAPPED_BUFFER_PROPERTY} system property
+     *
+     * @param path
+     *            The path to the file
+     * @return The buffer, at the beginning of the file
+     * @throws IOException
+     *             Cannot open the file
+     */
+    public static IBinaryFTraceByteBuffer createBuffer(String path) throws IOException {
+        if (Boolean.parseBoolean(System.getProperty(MAPPED_BUFFER_PROPERTY, Boolean.TRUE.toString()))) {
+            return new BinaryFTraceMappedByteBuffer(path);
+        }
+        return new BinaryFTraceByteBuffer(path);
+    }
+
+    private static void validate(IBinaryFTraceByteBuffer buffer, long bytesToRead) throws TmfTraceException, IOException {
         /*
          * Validate if read reading bytesToRead amount of bytes will go over the
          * file size limit. There is no need to wrap IOException to
@@ -81,14 +104,14 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
      *             Cannot open or parse the file
      */
     public static BinaryFTraceVersionHeader getFtraceVersionHeader(String path) throws TmfTraceException {
-        try (BinaryFTraceByteBuffer buffer = new BinaryFTraceByteBuffer(path)) {
+        try (IBinaryFTraceByteBuffer buffer = createBuffer(path)) {
             return getFtraceVersionHeader(buffer);
         } catch (IOException e) {
             throw new TmfTraceException("Cannot open trace file", e); //$NON-NLS-1$
         }
     }
 
-    private static BinaryFTraceVersionHeader getFtraceVersionHeader(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    private static BinaryFTraceVersionHeader getFtraceVersionHeader(IBinaryFTraceByteBuffer buffer) throws TmfTraceException {
         try {
             validate(buffer, BinaryFTraceHeaderElementSize.getMagicValueSectionSize());
 
@@ -111,7 +134,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
      *             Cannot open or parse the file
      */
     public static BinaryFTraceHeaderInfo parse(String path) throws TmfTraceException {
-        try (BinaryFTraceByteBuffer buffer = new BinaryFTraceByteBuffer(path)) {
+        try (IBinaryFTraceByteBuffer buffer = createBuffer(path)) {
 
             BinaryFTraceHeaderInfoBuilder builder = new BinaryFTraceHeaderInfoBuilder();
             builder.filePath(path);
@@ -162,7 +185,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         }
     }
 
-    private static List<BinaryFTraceFormatField> parseHeaderPage(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static List<BinaryFTraceFormatField> parseHeaderPage(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.getHeaderPageSectionHeaderSize());
         buffer.getNextBytesAsString(12); // Skipping the section name
         long headerPageSize = buffer.getNextLong();
@@ -172,7 +195,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractHeaderPageContent(headerPageContent);
     }
 
-    private static BinaryFTraceHeaderEvent parseHeaderEvent(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static BinaryFTraceHeaderEvent parseHeaderEvent(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.getHeaderEventSectionHeaderSize());
         buffer.getNextBytesAsString(13); // Skipping the section header
         long headerEventSize = buffer.getNextLong();
@@ -182,7 +205,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractHeaderEventContent(strHeaderEventInfo);
     }
 
-    private static Map<Integer, BinaryFTraceEventFormat> parseTraceEventsFormat(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static Map<Integer, BinaryFTraceEventFormat> parseTraceEventsFormat(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         ArrayList<String> eventFormats = new ArrayList<>();
 
         validate(buffer, BinaryFTraceHeaderElementSize.EVENT_COUNT);
@@ -199,7 +222,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractTraceEventsFormat(eventFormats);
     }
 
-    private static List<BinaryFTraceEventSystem> parseEventSystemsAndFormats(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static List<BinaryFTraceEventSystem> parseEventSystemsAndFormats(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         HashMap<String, List<String>> eventSystemData = new HashMap<>();
 
         validate(buffer, BinaryFTraceHeaderElementSize.EVENT_SYSTEM_COUNT);
@@ -226,7 +249,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractEventSystemsAndFormats(eventSystemData);
     }
 
-    private static Map<String, BinaryFTraceFunctionAddressNameMapping> parseFunctionMapping(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static Map<String, BinaryFTraceFunctionAddressNameMapping> parseFunctionMapping(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.SMALL_SECTION_SIZE);
         int dataSize = buffer.getNextInt();
 
@@ -235,7 +258,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractFunctionMappingContent(strMappings);
     }
 
-    private static Map<String, String> parseTracePrintKInfo(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static Map<String, String> parseTracePrintKInfo(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.SMALL_SECTION_SIZE);
         int dataSize = buffer.getNextInt();
 
@@ -244,7 +267,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractPrintKContent(strMappings);
     }
 
-    private static Map<Integer, String> parseProcessToFunctionNameMapping(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static Map<Integer, String> parseProcessToFunctionNameMapping(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.LARGE_SECTION_SIZE);
         long dataSize = buffer.getNextLong();
 
@@ -253,7 +276,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractFunctionNameMapping(strMappings);
     }
 
-    private static List<BinaryFTraceFileCPU> parseFlyRecordSection(BinaryFTraceByteBuffer buffer, int cpuCount, int pageSize) throws IOException, TmfTraceException {
+    private static List<BinaryFTraceFileCPU> parseFlyRecordSection(IBinaryFTraceByteBuffer buffer, int cpuCount, int pageSize) throws IOException, TmfTraceException {
         // Validate that the size of the CPU information section is valid
         validate(buffer, (long) cpuCount * (BinaryFTraceHeaderElementSize.CPU_SECTION_OFFSET + BinaryFTraceHeaderElementSize.CPU_SECTION_SIZE));
 
@@ -281,7 +304,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return parseCPUPageHeader(buffer, cpuSectionStartingOffset, cpuSectionSize, pageSize);
     }
 
-    private static List<BinaryFTraceFileCPU> parseCPUPageHeader(BinaryFTraceByteBuffer buffer, long[] cpuSectionStartingOffset, long[] cpuSectionSize, int pageSize) throws IOException, TmfTraceException {
+    private static List<BinaryFTraceFileCPU> parseCPUPageHeader(IBinaryFTraceByteBuffer buffer, long[] cpuSectionStartingOffset, long[] cpuSectionSize, int pageSize) throws IOException, TmfTraceException {
         Map<Integer, List<Long>> mapTimeStamp = new HashMap<>();
         Map<Integer, List<Long>> mapFlag = new HashMap<>();
         Map<Integer, List<Long>> mapStartingOffset = new HashMap<>();
@@ -317,7 +340,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return initializeCPUs(mapTimeStamp, mapFlag, cpuSectionStartingOffset, cpuSectionSize, pageSize);
     }
 
-    private static List<BinaryFTraceOption> parseOptionsSection(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static List<BinaryFTraceOption> parseOptionsSection(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         ArrayList<Short> optionTypes = new ArrayList<>();
         ArrayList<String> optionData = new ArrayList<>();
 
@@ -340,7 +363,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractOptionsSection(optionTypes, optionData);
     }
 
-    private static int parseCPUCount(BinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
+    private static int parseCPUCount(IBinaryFTraceByteBuffer buffer) throws IOException, TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.SMALL_SECTION_SIZE);
         return buffer.getNextInt();
     }
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only reader for FTrace files that maps the file in memory.
+ *
+ * The data is read in place at absolute offsets of the file, so reading the
+ * numbers allocates nothing and moving the pointer costs nothing. The file is
+ * mapped by regions, one at a time, each region overlapping the next one by
+ * the size of the largest number so that a number is always read from a
+ * single region.
+ */
+public class BinaryFTraceMappedByteBuffer implements IBinaryFTraceByteBuffer {
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+    private static final int REGION_OVERLAP = Long.BYTES;
+
+    private final FileChannel fFileChannel;
+    private final long fFileSize;
+    private ByteOrder fByteOrder = ByteOrder.BIG_ENDIAN;
+    private long fCurrentOffset;
+
+    private ByteBuffer fRegion;
+    private long fRegionStart;
+    private byte[] fStringBytes = new byte[256];
+
+    /**
+     * Constructor
+     *
+     * @param path
+     *            The path to the file
+     * @throws IOException
+     *             Exception thrown when the file cannot be opened
+     */
+    public BinaryFTraceMappedByteBuffer(String path) throws IOException {
+        fFileChannel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        fFileSize = fFileChannel.size();
+        fRegion = ByteBuffer.allocate(0);
+        fRegionStart = 0;
+        fCurrentOffset = 0;
+    }
+
+    @Override
+    public ByteOrder getByteOrder() {
+        return fByteOrder;
+    }
+
+    @Override
+    public void setByteOrder(ByteOrder byteOrder) {
+        fByteOrder = byteOrder;
+        fRegion.order(byteOrder);
+    }
+
+    @Override
+    public void close() throws IOException {
+        fRegion = ByteBuffer.allocate(0);
+        fFileChannel.close();
+    }
+
+    /**
+     * Get the index in the mapped region of data at an offset of the file,
+     * mapping the region that contains it if needed
+     *
+     * @param offset
+     *            The offset of the data in the file
+     * @param size
+     *            The size of the data, at most the overlap of the regions
+     * @return The index of the data in the current region
+     * @throws IOException
+     *             If the region cannot be mapped
+     */
+    private int getIndex(long offset, int size) throws IOException {
+        if (offset < 0 || offset + size > fFileSize) {
+            throw new BufferUnderflowException();
+        }
+        if (offset < fRegionStart || offset + size > fRegionStart + fRegion.limit()) {
+            long regionStart = offset - offset % REGION_SIZE;
+            long regionSize = Math.min(REGION_SIZE + REGION_OVERLAP, fFileSize - regionStart);
+            fRegion = fFileChannel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionSize).order(fByteOrder);
+            fRegionStart = regionStart;
+        }
+        return (int) (offset - fRegionStart);
+    }
+
+    /**
+     * Get the byte at an offset of the file
+     *
+     * @param offset
+     *            The offset in the file
+     * @return The byte
+     * @throws IOException
+     *             Cannot read data from the file
+     */
+    public byte getByte(long offset) throws IOException {
+        int index = getIndex(offset, Byte.BYTES);
+        return fRegion.get(index);
+    }
+
+    /**
+     * Get the short at an offset of the file, in the byte order of the buffer
+     *
+     * @param offset
+     *            The offset in the file
+     * @return The short
+     * @throws IOException
+     *             Cannot read data from the file
+     */
+    public short getShort(long offset) throws IOException {
+        int index = getIndex(offset, Short.BYTES);
+        return fRegion.getShort(index);
+    }
+
+    /**
+     * Get the integer at an offset of the file, in the byte order of the
+     * buffer
+     *
+     * @param offset
+     *            The offset in the file
+     * @return The integer
+     * @throws IOException
+     *             Cannot read data from the file
+     */
+    public int getInt(long offset) throws IOException {
+        int index = getIndex(offset, Integer.BYTES);
+        return fRegion.getInt(index);
+    }
+
+    /**
+     * Get the long at an offset of the file, in the byte order of the buffer
+     *
+     * @param offset
+     *            The offset in the file
+     * @return The long
+     * @throws IOException
+     *             Cannot read data from the file
+     */
+    public long getLong(long offset) throws IOException {
+        int index = getIndex(offset, Long.BYTES);
+        return fRegion.getLong(index);
+    }
+
+    /**
+     * Get the double at an offset of the file, in the byte order of the buffer
+     *
+     * @param offset
+     *            The offset in the file
+     * @return The double
+     * @throws IOException
+     *             Cannot read data from the file
+     */
+    public double getDouble(long offset) throws IOException {
+        int index = getIndex(offset, Double.BYTES);
+        return fRegion.getDouble(index);
+    }
+
+    /**
+     * Copy bytes at an offset of the file to an array
+     *
+     * @param offset
+     *            The offset in the file
+     * @param bytes
+     *            The array to copy the bytes to
+     * @param start
+     *            The index of the first byte to copy in the array
+     * @param length
+     *            The number of bytes to copy
+     * @throws IOException
+     *             Cannot read data from the file
+     */
+    public void getBytes(long offset, byte[] bytes, int start, int length) throws IOException {
+        int copied = 0;
+        while (copied < length) {
+            int index = getIndex(offset + copied, Byte.BYTES);
+            int count = Math.min(length - copied, fRegion.limit() - index);
+            // The position of the region is only used by this bulk copy
+            fRegion.position(index);
+            fRegion.get(bytes, start + copied, count);
+            copied += count;
+        }
+    }
+
+    /**
+     * Get the string at an offset of the file. The string ends at the first
+     * null terminating character (\0), or the first non ASCII character.
+     *
+     * @param offset
+     *            The offset in the file
+     * @return The string, without its terminating character
+     * @throws IOException
+     *             Cannot read data from the file
+     */
+    public String getString(long offset) throws IOException {
+        int length = 0;
+        byte value = getByte(offset);
+        while (value > 0) {
+            if (length == fStringBytes.length) {
+                byte[] stringBytes = new byte[length * 2];
+                System.arraycopy(fStringBytes, 0, stringBytes, 0, length);
+                fStringBytes = stringBytes;
+            }
+            fStringBytes[length++] = value;
+            value = getByte(offset + length);
+        }
+        return new String(fStringBytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public byte[] getNextBytes(int byteCount) throws IOException {
+        byte[] bytesArray = new byte[byteCount];
+        getBytes(fCurrentOffset, bytesArray, 0, byteCount);
+        fCurrentOffset += byteCount;
+        return bytesArray;
+    }
+
+    @Override
+    public String getNextString() throws IOException {
+        String returnString = getString(fCurrentOffset);
+        fCurrentOffset += (returnString.length() + BinaryFTraceHeaderElementSize.STRING_TERMINATOR);
+        return returnString;
+    }
+
+    @Override
+    public String getNextBytesAsString(long byteCount) throws IOException {
+        return new String(getNextBytes((int) byteCount));
+    }
+
+    @Override
+    public int getNextInt() throws IOException {
+        int value = getInt(fCurrentOffset);
+        fCurrentOffset += Integer.BYTES;
+        return value;
+    }
+
+    @Override
+    public double getNextDouble() throws IOException {
+        double value = getDouble(fCurrentOffset);
+        fCurrentOffset += Double.BYTES;
+        return value;
+    }
+
+    @Override
+    public long getNextLong() throws IOException {
+        long value = getLong(fCurrentOffset);
+        fCurrentOffset += Long.BYTES;
+        return value;
+    }
+
+    @Override
+    public short getNextShort() throws IOException {
+        short value = getShort(fCurrentOffset);
+        fCurrentOffset += Short.BYTES;
+        return value;
+    }
+
+    @Override
+    public void movePointerToOffset(long offset) throws IOException {
+        fCurrentOffset = offset;
+    }
+
+    @Override
+    public long getCurrentOffset() {
+        return fCurrentOffset;
+    }
+
+    @Override
+    public long getFileSize() throws IOException {
+        return fFileSize;
+    }
+}
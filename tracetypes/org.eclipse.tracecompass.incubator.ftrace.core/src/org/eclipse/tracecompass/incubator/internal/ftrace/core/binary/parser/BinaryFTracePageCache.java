@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
+
+/**
+ * A cache of the memory mapped CPU pages of a binary FTrace file, shared by
+ * all the iterators of the trace.
+ *
+ * The file is mapped by large regions, each mapped once, the first time one of
+ * its pages is read. A page is a read-only view of its region, so reading the
+ * pages and the event payloads needs no file handle nor copy from the file. The
+ * regions overlap so that a page that starts in a region always ends in it.
+ * The file is only open while a region is mapped, the mappings stay valid
+ * until the cache is garbage collected.
+ *
+ * The cache also keeps the seek checkpoints of the pages, built by the page
+ * iterators the first time they seek in a page.
+ */
+public class BinaryFTracePageCache {
+    /*
+     * Size of a mapped region, a multiple of the usual page sizes so that
+     * regions start at a page boundary
+     */
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    /*
+     * Additional bytes mapped at the end of each region, for the pages that
+     * start at the end of a region and the reads just past the end of a page
+     */
+    private static final long REGION_OVERLAP = 64L * 1024;
+
+    private final String fPath;
+    private final ByteOrder fByteOrder;
+    private final Map<Long, ByteBuffer> fRegions = new HashMap<>();
+    private final Map<Long, ByteBuffer> fLargePages = new HashMap<>();
+    private final Map<Long, long[]> fSeekCheckpoints = new ConcurrentHashMap<>();
+    private long fFileSize = -1;
+
+    /**
+     * Constructor
+     *
+     * @param path
+     *            The path to the file
+     * @param byteOrder
+     *            The byte order of the data of the file
+     */
+    public BinaryFTracePageCache(String path, ByteOrder byteOrder) {
+        fPath = path;
+        fByteOrder = byteOrder;
+    }
+
+    /**
+     * Get a view of the file that starts at the first byte of a page. The view
+     * contains at least the whole page, unless the file is truncated, and may
+     * extend past the end of the page. Each view has its own position, so
+     * views of a same page can be used by many threads.
+     *
+     * @param page
+     *            The page to read
+     * @return A read-only buffer whose index 0 is the start of the page, in the
+     *         byte order of the file
+     * @throws IOException
+     *             If the file cannot be mapped
+     */
+    public ByteBuffer getPage(BinaryFTraceCPUDataPage page) throws IOException {
+        long pageStart = page.getPageStartingOffset();
+        long regionStart = pageStart - pageStart % REGION_SIZE;
+        ByteBuffer region;
+        if (pageStart + page.getSize() <= regionStart + REGION_SIZE + REGION_OVERLAP) {
+            region = getRegion(fRegions, regionStart, REGION_SIZE + REGION_OVERLAP);
+        } else {
+            // A page larger than the overlap, map it on its own
+            regionStart = pageStart;
+            region = getRegion(fLargePages, regionStart, page.getSize() + REGION_OVERLAP);
+        }
+        ByteBuffer view = region.duplicate();
+        view.position((int) Math.min(pageStart - regionStart, view.limit()));
+        return view.slice().order(fByteOrder);
+    }
+
+    /**
+     * Get the seek checkpoints of a page
+     *
+     * @param page
+     *            The page
+     * @return The checkpoints, or null if they were not built yet
+     */
+    public long @Nullable [] getSeekCheckpoints(BinaryFTraceCPUDataPage page) {
+        return fSeekCheckpoints.get(page.getPageStartingOffset());
+    }
+
+    /**
+     * Keep the seek checkpoints of a page
+     *
+     * @param page
+     *            The page
+     * @param checkpoints
+     *            The checkpoints of the page
+     */
+    public void setSeekCheckpoints(BinaryFTraceCPUDataPage page, long[] checkpoints) {
+        fSeekCheckpoints.put(page.getPageStartingOffset(), checkpoints);
+    }
+
+    private synchronized ByteBuffer getRegion(Map<Long, ByteBuffer> regions, long regionStart, long size) throws IOException {
+        ByteBuffer region = regions.get(regionStart);
+        if (region == null) {
+            try (FileChannel channel = FileChannel.open(Paths.get(fPath), StandardOpenOption.READ)) {
+                if (fFileSize < 0) {
+                    fFileSize = channel.size();
+                }
+                long mappedSize = Math.max(0, Math.min(size, fFileSize - regionStart));
+                region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, mappedSize);
+            }
+            regions.put(regionStart, region);
+        }
+        return region;
+    }
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+/**
+ * A sequential reader of a binary FTrace file, used to parse the headers of
+ * the file. Each read starts at the current offset and moves it after the
+ * data read.
+ */
+public interface IBinaryFTraceByteBuffer extends AutoCloseable {
+
+    /**
+     * Get the byte order of the byte buffer
+     *
+     * @return The current byte order of the buffer
+     */
+    ByteOrder getByteOrder();
+
+    /**
+     * Set the byte order of the byte buffer
+     *
+     * @param byteOrder
+     *            The new byte order for the buffer
+     */
+    void setByteOrder(ByteOrder byteOrder);
+
+    /**
+     * Close the file
+     *
+     * @throws IOException
+     *             Cannot close the file
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Get the next n amount of bytes
+     *
+     * @param byteCount
+     *            The number of byte to read from the buffer
+     * @return A byte array containing the data read from the buffer
+     * @throws IOException
+     *             An error occur while reading data from the buffer
+     */
+    byte[] getNextBytes(int byteCount) throws IOException;
+
+    /**
+     * Read the buffer and treat data as a string. The string ends when the we
+     * encounter a null terminating character (\0)
+     *
+     * @return The string read from the file
+     * @throws IOException
+     *             Cannot read data from the buffer
+     */
+    String getNextString() throws IOException;
+
+    /**
+     * Get the next n bytes as a string
+     *
+     * @param byteCount
+     *            Number of bytes to read
+     * @return The string obtained by parsing n number of bytes
+     * @throws IOException
+     *             Cannot read data from the buffer
+     */
+    String getNextBytesAsString(long byteCount) throws IOException;
+
+    /**
+     * Get the next integer in the buffer stream
+     *
+     * @return The next integer in the buffer
+     * @throws IOException
+     *             Cannot read data from the buffer
+     */
+    int getNextInt() throws IOException;
+
+    /**
+     * Get the next double in the buffer stream
+     *
+     * @return The next double in the buffer
+     * @throws IOException
+     *             Cannot read data from the buffer
+     */
+    double getNextDouble() throws IOException;
+
+    /**
+     * Get the next long in the buffer stream
+     *
+     * @return The next long in the buffer stream
+     * @throws IOException
+     *             Cannot read data from the buffer
+     */
+    long getNextLong() throws IOException;
+
+    /**
+     * Get the next short in the buffer stream
+     *
+     * @return The next short in the buffer stream
+     * @throws IOException
+     *             Cannot read data from the buffer
+     */
+    short getNextShort() throws IOException;
+
+    /**
+     * Move the byte buffer pointer to a specific offset in the file
+     *
+     * @param offset
+     *            The new offset of the file
+     * @throws IOException
+     *             Cannot move the pointer to the value of the offset parameter
+     */
+    void movePointerToOffset(long offset) throws IOException;
+
+    /**
+     * Get the current offset location of the pointer of the byte buffer
+     *
+     * @return The current offset of the file pointer
+     */
+    long getCurrentOffset();
+
+    /**
+     * Get the size of the file that is currently being read
+     *
+     * @return The file size
+     * @throws IOException
+     *             If an error occurred while reading the file size
+     */
+    long getFileSize() throws IOException;
+}
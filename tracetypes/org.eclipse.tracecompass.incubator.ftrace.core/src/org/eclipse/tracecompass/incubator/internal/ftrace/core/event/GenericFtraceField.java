@@ -96,6 +96,31 @@ public class GenericFtraceField {
         fTs = ts;
     }
 
+    /**
+     * Constructor, with the fields as arrays of names and values, to build the
+     * content without a map of the fields
+     *
+     * @param name   event name
+     * @param cpu    the cpu number
+     * @param ts     the timestamp in ns
+     * @param pid    the process id
+     * @param tid    the threadId
+     * @param fieldNames the names of the event fields (arguments), all different
+     * @param fieldValues the values of the event fields, in the order of the names
+     */
+    public GenericFtraceField(String name, Integer cpu, Long ts, @Nullable Integer pid, @Nullable Integer tid, String[] fieldNames, Object[] fieldValues) {
+        fName = name;
+        fCpu = cpu;
+        fPid = pid;
+        fTid = tid;
+        ITmfEventField[] array = new ITmfEventField[fieldNames.length];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = new TmfEventField(fieldNames[i], fieldValues[i], null);
+        }
+        fContent = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, null, array);
+        fTs = ts;
+    }
+
     /**
      * Parse a line from an ftrace ouput file
      *
@@ -103,14 +128,30 @@ public class GenericFtraceField {
      * @return An event field
      */
     public static @Nullable GenericFtraceField parseLine(String line) {
+        GenericFtraceLineScanner scanner = GenericFtraceLineScanner.scan(line);
+        if (scanner == null) {
+            return parseLineWithPattern(line);
+        }
+        String name = scanner.getName().trim();
+        String separator = scanner.getSeparator().trim();
+        name = eventNameRewrite(name, separator);
+        Map<@NonNull String, @NonNull Object> fields = new HashMap<>();
+        parseAttributes(name, scanner.getData(), fields);
+        return createField(name, scanner.getPid(), scanner.getTgid(), scanner.getCpu(), scanner.getTimestamp(), fields);
+    }
+
+    /**
+     * Parse a line from an ftrace ouput file with the regular expressions of
+     * the event line and of its fields. This is the reference of
+     * {@link #parseLine(String)}, which only uses them for the lines that its
+     * scanner does not handle.
+     *
+     * @param line The string to parse
+     * @return An event field
+     */
+    public static @Nullable GenericFtraceField parseLineWithPattern(String line) {
         Matcher matcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
         if (matcher.matches()) {
-            Integer pid = Integer.parseInt(matcher.group(IGenericFtraceConstants.FTRACE_PID_GROUP));
-            Integer tid = pid;
-            Integer cpu = Integer.parseInt(matcher.group(IGenericFtraceConstants.FTRACE_CPU_GROUP));
-            Double timestampInSec = Double.parseDouble(matcher.group(IGenericFtraceConstants.FTRACE_TIMESTAMP_GROUP));
-            Long timestampInNano = (long) (timestampInSec * SECONDS_TO_NANO);
-
             String name = matcher.group(IGenericFtraceConstants.FTRACE_NAME_GROUP);
             name = name.trim();
 
@@ -121,19 +162,6 @@ public class GenericFtraceField {
 
             name = eventNameRewrite(name, separator);
 
-            /*
-             * There's no distinction between pid and tid in scheduling events. However,when there's a mismatch
-             * between the tgid and the pid, we know the event happened on a thread and that
-             * the tgid is the actual pid, and the pid the tid.
-             */
-            String tgid = matcher.group(IGenericFtraceConstants.FTRACE_TGID_GROUP);
-            if (tgid != null) {
-                Integer tgidNumeric = Integer.parseInt(tgid);
-                if (!tgidNumeric.equals(pid)) {
-                    pid = tgidNumeric;
-                }
-            }
-
             Map<@NonNull String, @NonNull Object> fields = new HashMap<>();
 
             if (attributes != null && !attributes.isEmpty()) {
@@ -145,7 +173,7 @@ public class GenericFtraceField {
                     if (key != null) {
                         int start = keyvalMatcher.start();
                         String value = attributes.substring(0, start);
-                        putKeyValueField(name, fields, key, value);
+                        putKeyValueFieldWithPattern(name, fields, key, value);
                     }
                     valStart = keyvalMatcher.end();
                     key = keyvalMatcher.group(KEYVAL_KEY_GROUP);
@@ -155,28 +183,175 @@ public class GenericFtraceField {
                 }
 
                 if (key != null && valStart > 0) {
-                    putKeyValueField(name, fields, key, attributes);
+                    putKeyValueFieldWithPattern(name, fields, key, attributes);
                 }
 
-                /*
-                 * If anything else fails, but we have discovered sort of a valid event
-                 * attributes lets just add the unparsed attributes with key "data".
-                 */
-                if (fields.isEmpty()) {
-                    key = "data"; //$NON-NLS-1$
-                    if (name.equals(IGenericFtraceConstants.FTRACE_EXIT_SYSCALL)) {
-                        key = "ret"; //$NON-NLS-1$
-                    }
-                    fields.put(key, decodeString(attributes));
-                }
+                putUnparsedAttributes(name, attributes, fields);
             }
 
-            return new GenericFtraceField(name, cpu, timestampInNano, pid, tid, fields);
+            return createField(name, matcher.group(IGenericFtraceConstants.FTRACE_PID_GROUP), matcher.group(IGenericFtraceConstants.FTRACE_TGID_GROUP),
+                    matcher.group(IGenericFtraceConstants.FTRACE_CPU_GROUP), matcher.group(IGenericFtraceConstants.FTRACE_TIMESTAMP_GROUP), fields);
         }
         return null;
     }
 
+    private static GenericFtraceField createField(String name, String pidGroup, @Nullable String tgid, String cpuGroup, String timestampGroup, Map<String, Object> fields) {
+        Integer pid = Integer.parseInt(pidGroup);
+        Integer tid = pid;
+        Integer cpu = Integer.parseInt(cpuGroup);
+        Double timestampInSec = Double.parseDouble(timestampGroup);
+        Long timestampInNano = (long) (timestampInSec * SECONDS_TO_NANO);
+
+        /*
+         * There's no distinction between pid and tid in scheduling events. However,when there's a mismatch
+         * between the tgid and the pid, we know the event happened on a thread and that
+         * the tgid is the actual pid, and the pid the tid.
+         */
+        if (tgid != null) {
+            Integer tgidNumeric = Integer.parseInt(tgid);
+            if (!tgidNumeric.equals(pid)) {
+                pid = tgidNumeric;
+            }
+        }
+
+        return new GenericFtraceField(name, cpu, timestampInNano, pid, tid, fields);
+    }
+
+    /**
+     * Parse the "key=value" or "key: value" attributes of an event, like
+     * {@link #KEYVAL_KEY_PATTERN} and {@link #KEYVAL_KEY_PATTERN_MAP} do: a key
+     * is a run of key characters followed by '=', or the part of such a run up
+     * to its last ':'. Once a separator is found, the next keys must use the
+     * same separator.
+     */
+    private static void parseAttributes(String name, String attributes, Map<@NonNull String, @NonNull Object> fields) {
+        if (attributes.isEmpty()) {
+            return;
+        }
+        int valStart = 0;
+        String key = null;
+        char separator = 0;
+        int separatorIndex = findSeparator(attributes, 0, separator);
+        while (separatorIndex >= 0) {
+            int keyStart = separatorIndex;
+            while (keyStart > valStart && isKeyChar(attributes.charAt(keyStart - 1))) {
+                keyStart--;
+            }
+            if (key != null) {
+                putKeyValueField(name, fields, key, attributes.substring(valStart, keyStart));
+            }
+            key = attributes.substring(keyStart, separatorIndex);
+            separator = attributes.charAt(separatorIndex);
+            valStart = separatorIndex + 1;
+            separatorIndex = findSeparator(attributes, valStart, separator);
+        }
+        String rest = attributes.substring(valStart);
+        if (key != null) {
+            putKeyValueField(name, fields, key, rest);
+        }
+        putUnparsedAttributes(name, rest, fields);
+    }
+
+    /**
+     * Find the separator of the next key of the attributes
+     *
+     * @param attributes
+     *            the attributes
+     * @param from
+     *            the start of the search, where a key can start
+     * @param separator
+     *            the separator of the previous key, 0 if there is none
+     * @return the index of the separator, -1 if there is no other key
+     */
+    private static int findSeparator(String attributes, int from, char separator) {
+        int length = attributes.length();
+        int i = from;
+        while (i < length) {
+            int runStart = i;
+            int lastColon = -1;
+            while (i < length && isKeyChar(attributes.charAt(i))) {
+                if (attributes.charAt(i) == ':' && i > runStart) {
+                    lastColon = i;
+                }
+                i++;
+            }
+            if (separator != ':' && i > runStart && i < length && attributes.charAt(i) == '=') {
+                return i;
+            }
+            if (separator != '=' && lastColon >= 0) {
+                return lastColon;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Whether a character can be part of a key, like [^\s=\[\],]
+     */
+    private static boolean isKeyChar(char c) {
+        return !GenericFtraceLineScanner.isSpace(c) && c != '=' && c != '[' && c != ']' && c != ',';
+    }
+
+    /**
+     * If no field was found, add the unparsed attributes with key "data", or
+     * key "ret" for the syscall exits.
+     */
+    private static void putUnparsedAttributes(String name, String attributes, Map<@NonNull String, @NonNull Object> fields) {
+        /*
+         * If anything else fails, but we have discovered sort of a valid event
+         * attributes lets just add the unparsed attributes with key "data".
+         */
+        if (fields.isEmpty()) {
+            String key = "data"; //$NON-NLS-1$
+            if (name.equals(IGenericFtraceConstants.FTRACE_EXIT_SYSCALL)) {
+                key = "ret"; //$NON-NLS-1$
+            }
+            fields.put(key, decodeString(attributes));
+        }
+    }
+
+    /**
+     * Put the field of a key and of its value, without a regular expression
+     * for the usual values
+     */
     private static void putKeyValueField(String name, Map<@NonNull String, @NonNull Object> fields, String key, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c == ':' && i + 1 < length && value.charAt(i + 1) == '[') || c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                putKeyValueFieldWithPattern(name, fields, key, value);
+                return;
+            }
+        }
+        /*
+         * Like KEYVAL_VALUE_PATTERN: the value is the text after the leading
+         * spaces, up to the next bracket or comma.
+         */
+        int start = 0;
+        while (start < length && GenericFtraceLineScanner.isSpace(value.charAt(start))) {
+            start++;
+        }
+        String actualValue;
+        if (start < length && !isValueDelimiter(value.charAt(start))) {
+            int end = start + 1;
+            while (end < length && !isValueDelimiter(value.charAt(end))) {
+                end++;
+            }
+            actualValue = value.substring(start, end).trim();
+        } else if (start > 0) {
+            actualValue = ""; //$NON-NLS-1$
+        } else {
+            actualValue = value.trim();
+        }
+        putValue(name, fields, key, actualValue);
+    }
+
+    private static boolean isValueDelimiter(char c) {
+        return c == '[' || c == ']' || c == ',';
+    }
+
+    private static void putKeyValueFieldWithPattern(String name, Map<@NonNull String, @NonNull Object> fields, String key, String value) {
         String actualValue;
         Matcher valMatcher = KEYVAL_VALUE_PATTERN.matcher(value);
         if (!KEYVAL_VALUE_DOCKER_BYPASS.matcher(value).find() && valMatcher.matches()) {
@@ -184,6 +359,10 @@ public class GenericFtraceField {
         } else {
             actualValue = value.trim();
         }
+        putValue(name, fields, key, actualValue);
+    }
+
+    private static void putValue(String name, Map<@NonNull String, @NonNull Object> fields, String key, String actualValue) {
         if (!actualValue.trim().isEmpty()) {
             // This is a temporary solution. Refactor suggestions
             // are welcome.
@@ -201,7 +380,6 @@ public class GenericFtraceField {
             }
         }
     }
-
     private static Object decodeString(String val) {
         try {
             if (val.startsWith("0x") || val.startsWith("0X")) { //$NON-NLS-1$ //$NON-NLS-2$
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.event;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A hand written scanner of the ftrace event lines, that finds the same groups
+ * as {@link IGenericFtraceConstants#FTRACE_PATTERN} without a regular
+ * expression.
+ *
+ * The scanner only handles the lines where the groups found by the pattern are
+ * certain: the CPU is the last bracket of the line and the line has no
+ * character that the pattern treats as a line terminator. It returns null for
+ * the other lines, which are left to the pattern.
+ */
+@NonNullByDefault
+final class GenericFtraceLineScanner {
+
+    private final String fPid;
+    private final @Nullable String fTgid;
+    private final String fCpu;
+    private final String fTimestamp;
+    private final String fName;
+    private final String fSeparator;
+    private final String fData;
+
+    private GenericFtraceLineScanner(String pid, @Nullable String tgid, String cpu, String timestamp, String name, String separator, String data) {
+        fPid = pid;
+        fTgid = tgid;
+        fCpu = cpu;
+        fTimestamp = timestamp;
+        fName = name;
+        fSeparator = separator;
+        fData = data;
+    }
+
+    /**
+     * Scan a line
+     *
+     * @param line
+     *            The line to scan
+     * @return The groups of the line, or null if the line must be matched with
+     *         the pattern
+     */
+    public static @Nullable GenericFtraceLineScanner scan(String line) {
+        int length = line.length();
+        int cpuStart = -1;
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (c == '[') {
+                cpuStart = i;
+            } else if (isLineTerminator(c)) {
+                return null;
+            }
+        }
+        if (cpuStart < 0) {
+            return null;
+        }
+
+        // [cpu]
+        int cpuEnd = skipDigits(line, cpuStart + 1);
+        if (cpuEnd == cpuStart + 1 || cpuEnd >= length || line.charAt(cpuEnd) != ']') {
+            return null;
+        }
+
+        // comm-pid, with an optional (tgid), before the CPU
+        int i = cpuStart;
+        while (i > 0 && isSpace(line.charAt(i - 1))) {
+            i--;
+        }
+        if (i == cpuStart || i == 0) {
+            return null;
+        }
+        String tgid = null;
+        if (line.charAt(i - 1) == ')') {
+            int tgidEnd = i - 1;
+            int tgidStart = tgidEnd;
+            while (tgidStart > 0 && isDigit(line.charAt(tgidStart - 1))) {
+                tgidStart--;
+            }
+            int open = tgidStart - 1;
+            while (open >= 0 && line.charAt(open) != '(' && !isDigit(line.charAt(open))) {
+                open--;
+            }
+            if (open < 0 || line.charAt(open) != '(') {
+                return null;
+            }
+            if (tgidStart < tgidEnd) {
+                tgid = line.substring(tgidStart, tgidEnd);
+            }
+            i = open;
+            int spaces = i;
+            while (i > 0 && isSpace(line.charAt(i - 1))) {
+                i--;
+            }
+            if (i == spaces) {
+                return null;
+            }
+        }
+        int pidEnd = i;
+        while (i > 0 && isDigit(line.charAt(i - 1))) {
+            i--;
+        }
+        if (i == pidEnd || i == 0 || line.charAt(i - 1) != '-') {
+            return null;
+        }
+        String pid = line.substring(i, pidEnd);
+
+        // [cpu] flags timestamp: or [cpu] timestamp:
+        int tokenStart = skipSpaces(line, cpuEnd + 1);
+        if (tokenStart == cpuEnd + 1) {
+            return null;
+        }
+        int tokenEnd = tokenStart;
+        while (tokenEnd < length && !isSpace(line.charAt(tokenEnd))) {
+            tokenEnd++;
+        }
+        int timestampStart = skipSpaces(line, tokenEnd);
+        if (timestampStart > tokenEnd) {
+            GenericFtraceLineScanner scanner = scanEvent(line, pid, tgid, line.substring(cpuStart + 1, cpuEnd), timestampStart);
+            if (scanner != null) {
+                return scanner;
+            }
+        }
+        return scanEvent(line, pid, tgid, line.substring(cpuStart + 1, cpuEnd), tokenStart);
+    }
+
+    /**
+     * Scan the part of the line from the timestamp, like
+     * "149.136514: sched_switch: prev_comm=..."
+     */
+    private static @Nullable GenericFtraceLineScanner scanEvent(String line, String pid, @Nullable String tgid, String cpu, int timestampStart) {
+        int length = line.length();
+        int i = skipDigits(line, timestampStart);
+        if (i == timestampStart) {
+            return null;
+        }
+        if (i < length && line.charAt(i) == '.') {
+            int decimals = skipDigits(line, i + 1);
+            if (decimals == i + 1) {
+                return null;
+            }
+            i = decimals;
+        }
+        int timestampEnd = i;
+        if (i + 1 >= length || line.charAt(i) != ':' || line.charAt(i + 1) != ' ') {
+            return null;
+        }
+
+        // name
+        int nameStart = i + 2;
+        i = nameStart;
+        while (i < length && isWordChar(line.charAt(i))) {
+            i++;
+        }
+        if (i == nameStart || i == length) {
+            return null;
+        }
+        int nameEnd = i;
+
+        // separator
+        char c = line.charAt(i);
+        if (c == ':') {
+            i = skipSpaces(line, i + 1);
+            if (i == nameEnd + 1) {
+                return null;
+            }
+        } else if (c == '(') {
+            i++;
+        } else {
+            i = skipSpaces(line, i);
+            if (i == nameEnd || !line.startsWith(IGenericFtraceConstants.FTRACE_EXIT_SYSCALL_SEPARATOR, i)) {
+                return null;
+            }
+            int arrowEnd = i + IGenericFtraceConstants.FTRACE_EXIT_SYSCALL_SEPARATOR.length();
+            i = skipSpaces(line, arrowEnd);
+            if (i == arrowEnd) {
+                return null;
+            }
+        }
+        int dataStart = i;
+
+        // data, without a closing parenthesis except at the end
+        int dataEnd = line.indexOf(')', dataStart);
+        if (dataEnd < 0) {
+            dataEnd = length;
+        } else if (dataEnd != length - 1) {
+            return null;
+        }
+
+        return new GenericFtraceLineScanner(pid, tgid, cpu, line.substring(timestampStart, timestampEnd),
+                line.substring(nameStart, nameEnd), line.substring(nameEnd, dataStart), line.substring(dataStart, dataEnd));
+    }
+
+    /**
+     * Whether a character is a line terminator for the '.' of a pattern
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Whether a character matches the \s of a pattern
+     */
+    static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+    }
+
+    private static int skipDigits(String line, int start) {
+        int i = start;
+        while (i < line.length() && isDigit(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipSpaces(String line, int start) {
+        int i = start;
+        while (i < line.length() && isSpace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return the pid group
+     */
+    public String getPid() {
+        return fPid;
+    }
+
+    /**
+     * @return the tgid group, null if there is none
+     */
+    public @Nullable String getTgid() {
+        return fTgid;
+    }
+
+    /**
+     * @return the cpu group
+     */
+    public String getCpu() {
+        return fCpu;
+    }
+
+    /**
+     * @return the timestamp group
+     */
+    public String getTimestamp() {
+        return fTimestamp;
+    }
+
+    /**
+     * @return the name group
+     */
+    public String getName() {
+        return fName;
+    }
+
+    /**
+     * @return the separator group
+     */
+    public String getSeparator() {
+        return fSeparator;
+    }
+
+    /**
+     * @return the data group
+     */
+    public String getData() {
+        return fData;
+    }
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.trace;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A read-only {@link RandomAccessFile} that reads the file by blocks. Its
+ * {@link #readBufferedLine()} decodes a line from the block in one step,
+ * instead of one byte at a time like the final
+ * {@link RandomAccessFile#readLine()}.
+ *
+ * Only the methods that read or move the file pointer are buffered, the file
+ * channel must not be used to read this file.
+ */
+class BufferedLineRandomAccessFile extends RandomAccessFile {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final byte[] fBuffer = new byte[BUFFER_SIZE];
+    /** Offset in the file of the first byte of the buffer */
+    private long fBufferStart = 0;
+    /** Number of bytes of the file in the buffer */
+    private int fBufferLength = 0;
+    /** Position of the file pointer in the buffer */
+    private int fPosition = 0;
+
+    /**
+     * Constructor
+     *
+     * @param file
+     *            the file to read
+     * @throws FileNotFoundException
+     *             if the file cannot be opened for reading
+     */
+    public BufferedLineRandomAccessFile(File file) throws FileNotFoundException {
+        super(file, "r"); //$NON-NLS-1$
+    }
+
+    /**
+     * Make sure the buffer has a byte at the file pointer
+     *
+     * @return false at the end of the file
+     */
+    private boolean fill() throws IOException {
+        if (fPosition < fBufferLength) {
+            return true;
+        }
+        // The position of the underlying file is the end of the buffer
+        fBufferStart += fBufferLength;
+        fBufferLength = 0;
+        fPosition = 0;
+        int read = super.read(fBuffer, 0, BUFFER_SIZE);
+        if (read <= 0) {
+            return false;
+        }
+        fBufferLength = read;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return fBuffer[fPosition++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+        return read(b, 0, b.length);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int read = Math.min(len, fBufferLength - fPosition);
+        System.arraycopy(fBuffer, fPosition, b, off, read);
+        fPosition += read;
+        return read;
+    }
+
+    @Override
+    public long getFilePointer() throws IOException {
+        return fBufferStart + fPosition;
+    }
+
+    @Override
+    public void seek(long pos) throws IOException {
+        if (pos >= fBufferStart && pos <= fBufferStart + fBufferLength) {
+            fPosition = (int) (pos - fBufferStart);
+            return;
+        }
+        super.seek(pos);
+        fBufferStart = pos;
+        fBufferLength = 0;
+        fPosition = 0;
+    }
+
+    /**
+     * Read the next line, like {@link RandomAccessFile#readLine()}: the line
+     * ends with "\n", "\r" or "\r\n" and each byte is a character.
+     *
+     * @return the next line, or null at the end of the file
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public @Nullable String readBufferedLine() throws IOException {
+        if (!fill()) {
+            return null;
+        }
+        StringBuilder builder = null;
+        while (true) {
+            int start = fPosition;
+            int end = start;
+            byte[] buffer = fBuffer;
+            int length = fBufferLength;
+            while (end < length && buffer[end] != '\n' && buffer[end] != '\r') {
+                end++;
+            }
+            String part = new String(buffer, start, end - start, StandardCharsets.ISO_8859_1);
+            if (end < length) {
+                fPosition = end + 1;
+                if (buffer[end] == '\r' && fill() && fBuffer[fPosition] == '\n') {
+                    fPosition++;
+                }
+                return builder == null ? part : builder.append(part).toString();
+            }
+            // The line continues in the next block
+            if (builder == null) {
+                builder = new StringBuilder(part.length() * 2);
+            }
+            builder.append(part);
+            fPosition = end;
+            if (!fill()) {
+                return builder.toString();
+            }
+        }
+    }
+}
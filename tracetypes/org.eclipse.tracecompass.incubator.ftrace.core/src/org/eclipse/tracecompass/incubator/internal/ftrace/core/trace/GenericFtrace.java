@@ -24,7 +24,6 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.layout.GenericFtr
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
-import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
@@ -65,6 +64,8 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
 
     private RandomAccessFile fFileInput;
 
+    private @Nullable GenericFtraceParallelParser fParallelParser;
+
     /**
      * @param line
      *            Trace line to be parsed. This method can be overridden by
@@ -83,8 +84,9 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
         super.initTrace(resource, path, type);
         try {
             fFile = new File(path);
-            fFileInput = new BufferedRandomAccessFile(fFile, "r"); //$NON-NLS-1$
+            fFileInput = new BufferedLineRandomAccessFile(fFile);
             fFileStart = getFileStart();
+            setParallelParser(fFile);
         } catch (IOException e) {
             throw new TmfTraceException(e.getMessage(), e);
         }
@@ -99,16 +101,17 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
      */
     protected long getFileStart() throws IOException {
         long start = 0;
-        String line = fFileInput.readLine();
+        String line = readLine(fFileInput);
         while (line != null && line.trim().startsWith("#")) { //$NON-NLS-1$
             start = fFileInput.getFilePointer();
-            line = fFileInput.readLine();
+            line = readLine(fFileInput);
         }
         return start;
     }
 
     @Override
     public synchronized void dispose() {
+        setParallelParser(null);
         setFileInput(null);
         super.dispose();
 
@@ -157,14 +160,14 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
         if (location == null) {
             fileInput.seek(fFileStart);
             long lineStartOffset = fileInput.getFilePointer();
-            String line = fileInput.readLine();
+            String line = readLine(fileInput);
             if (line == null) {
                 return context;
             }
             Matcher matcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
             while (!matcher.matches()) {
                 lineStartOffset = fileInput.getFilePointer();
-                line = fileInput.readLine();
+                line = readLine(fileInput);
                 if (line == null) {
                     break;
                 }
@@ -208,7 +211,17 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
         }
         if (locationInfo != null) {
             try {
-                if (!locationInfo.equals(fileInput.getFilePointer())) {
+                boolean sequential = locationInfo.equals(fileInput.getFilePointer());
+                GenericFtraceParallelParser parallelParser = fParallelParser;
+                if (parallelParser != null && fileInput == fFileInput) {
+                    GenericFtraceParallelParser.ParsedLine parsedLine = parallelParser.read(locationInfo, sequential);
+                    if (parsedLine != null) {
+                        fileInput.seek(parsedLine.getNextLineStart());
+                        GenericFtraceField field = parsedLine.getField();
+                        return field != null ? new GenericFtraceEvent(this, rank, field) : null;
+                    }
+                }
+                if (!sequential) {
                     fileInput.seek(locationInfo);
                 }
 
@@ -217,7 +230,7 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
                 // events
                 String nextLine;
                 do {
-                    nextLine = fileInput.readLine();
+                    nextLine = readLine(fileInput);
                 } while (nextLine != null && nextLine.startsWith(IGenericFtraceConstants.FTRACE_COMMENT_CHAR));
 
                 GenericFtraceField field = parseLine(nextLine);
@@ -270,6 +283,23 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
         return GenericFtraceEventLayout.getInstance();
     }
 
+    /**
+     * Read the next line of a file input, in one step if the file input is
+     * buffered by lines
+     *
+     * @param fileInput
+     *            the file input
+     * @return the next line, or null at the end of the file
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    protected static @Nullable String readLine(RandomAccessFile fileInput) throws IOException {
+        if (fileInput instanceof BufferedLineRandomAccessFile) {
+            return ((BufferedLineRandomAccessFile) fileInput).readBufferedLine();
+        }
+        return fileInput.readLine();
+    }
+
     /**
      * Get the fTrace file input
      *
@@ -288,6 +318,22 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
         fFileInput = newFileInput;
     }
 
+    /**
+     * Replace the parser of the lines ahead of the sequential reads, if it is
+     * enabled by {@link GenericFtraceParallelParser#PARALLEL_PARSING_PROPERTY}
+     *
+     * @param file
+     *            the file of the new parser, null to only close the current
+     *            one
+     */
+    private void setParallelParser(@Nullable File file) {
+        GenericFtraceParallelParser parallelParser = fParallelParser;
+        if (parallelParser != null) {
+            parallelParser.close();
+        }
+        fParallelParser = (file != null && GenericFtraceParallelParser.isEnabled()) ? new GenericFtraceParallelParser(this, file) : null;
+    }
+
     /**
      * Get the fTrace file
      *
@@ -308,7 +354,8 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
     protected void setFile(File file) throws TmfTraceException {
         fFile = file;
         try {
-            setFileInput(new BufferedRandomAccessFile(file, "r")); //$NON-NLS-1$
+            setFileInput(new BufferedLineRandomAccessFile(file));
+            setParallelParser(file);
         } catch (IOException e) {
             throw new TmfTraceException(e.getMessage(), e);
         }
@@ -0,0 +1,383 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceField;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.IGenericFtraceConstants;
+
+/**
+ * Parses the lines of a text ftrace ahead of a sequential read, like the one
+ * of the indexing. The file is split in chunks that end at a line end, and the
+ * lines of the next chunks are parsed by a pool of threads while the events of
+ * the current chunk are read.
+ *
+ * A chunk has the same lines as the ones read from one of its line starts by
+ * the trace, so an event is the same whether it is read from the chunk or from
+ * the file. When a line is not in the chunks, the trace reads it from the file.
+ *
+ * This class is not thread-safe: it is used by the thread that reads the
+ * events of the trace.
+ */
+public class GenericFtraceParallelParser implements AutoCloseable {
+
+    /**
+     * The system property that enables the parallel parsing of the text
+     * traces
+     */
+    public static final String PARALLEL_PARSING_PROPERTY = "org.eclipse.tracecompass.incubator.ftrace.parallelParsing"; //$NON-NLS-1$
+
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int LINE_END_SEARCH_SIZE = 4096;
+    /** Number of sequential reads before the parsing of the next chunks */
+    private static final int SEQUENTIAL_READS_THRESHOLD = 1024;
+
+    /**
+     * A parsed line
+     */
+    static final class ParsedLine {
+        private final long fNextLineStart;
+        private final @Nullable GenericFtraceField fField;
+
+        private ParsedLine(long nextLineStart, @Nullable GenericFtraceField field) {
+            fNextLineStart = nextLineStart;
+            fField = field;
+        }
+
+        /**
+         * @return the offset of the line after this one
+         */
+        public long getNextLineStart() {
+            return fNextLineStart;
+        }
+
+        /**
+         * @return the field of the line, null if the line is not an event
+         */
+        public @Nullable GenericFtraceField getField() {
+            return fField;
+        }
+    }
+
+    /**
+     * The parsed lines of a chunk of the file
+     */
+    private static final class Chunk {
+        private final long fStart;
+        private final long fEnd;
+        private final long[] fLineStarts;
+        private final long[] fNextLineStarts;
+        private final @Nullable GenericFtraceField[] fFields;
+        /** Whether a line is a comment */
+        private final boolean[] fComments;
+        /** Whether the parsing of a line failed with an exception */
+        private final boolean[] fFailures;
+        /** Whether the field of a line was read, and released */
+        private final boolean[] fConsumed;
+        private final int fCount;
+
+        private Chunk(long start, long end, long[] lineStarts, long[] nextLineStarts, @Nullable GenericFtraceField[] fields, boolean[] comments, boolean[] failures, int count) {
+            fStart = start;
+            fEnd = end;
+            fLineStarts = lineStarts;
+            fNextLineStarts = nextLineStarts;
+            fFields = fields;
+            fComments = comments;
+            fFailures = failures;
+            fConsumed = new boolean[count];
+            fCount = count;
+        }
+    }
+
+    private final GenericFtrace fTrace;
+    private final File fFile;
+    private final Deque<Future<Chunk>> fChunks = new ArrayDeque<>();
+    private @Nullable FileChannel fChannel = null;
+    private @Nullable ExecutorService fExecutor = null;
+    private @Nullable Chunk fCurrentChunk = null;
+    private long fFileLength = 0;
+    private long fNextChunkStart = 0;
+    private int fSequentialReads = 0;
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            the trace, that parses the lines
+     * @param file
+     *            the file of the trace
+     */
+    public GenericFtraceParallelParser(GenericFtrace trace, File file) {
+        fTrace = trace;
+        fFile = file;
+    }
+
+    /**
+     * Whether the parallel parsing of the text traces is enabled
+     *
+     * @return true if it is enabled
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(PARALLEL_PARSING_PROPERTY);
+    }
+
+    /**
+     * Get the parsed event line at a location, skipping the comments like the
+     * trace does
+     *
+     * @param location
+     *            the offset of the line
+     * @param sequential
+     *            whether the location is the file position after the
+     *            previous read
+     * @return the parsed line, or null if the trace must read the line from
+     *         the file
+     */
+    public @Nullable ParsedLine read(long location, boolean sequential) {
+        if (!sequential) {
+            fSequentialReads = 0;
+            cancel();
+            return null;
+        }
+        if (fCurrentChunk == null && fChunks.isEmpty()) {
+            if (++fSequentialReads < SEQUENTIAL_READS_THRESHOLD) {
+                return null;
+            }
+            if (!start(location)) {
+                return null;
+            }
+        }
+        try {
+            Chunk chunk = getChunk(location);
+            if (chunk == null) {
+                cancel();
+                return null;
+            }
+            int index = Arrays.binarySearch(chunk.fLineStarts, 0, chunk.fCount, location);
+            if (index < 0) {
+                cancel();
+                return null;
+            }
+            while (index < chunk.fCount && chunk.fComments[index]) {
+                index++;
+            }
+            if (index == chunk.fCount || chunk.fFailures[index] || chunk.fConsumed[index]) {
+                /*
+                 * The trace reads the next chunk, the exception or a line read
+                 * again after a seek back in the chunk
+                 */
+                return null;
+            }
+            GenericFtraceField field = chunk.fFields[index];
+            chunk.fFields[index] = null;
+            chunk.fConsumed[index] = true;
+            return new ParsedLine(chunk.fNextLineStarts[index], field);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | IOException e) {
+            Activator.getInstance().logError("Error parsing chunk of file: " + fFile, e); //$NON-NLS-1$
+        }
+        cancel();
+        return null;
+    }
+
+    private boolean start(long location) {
+        try {
+            FileChannel channel = fChannel;
+            if (channel == null) {
+                channel = FileChannel.open(fFile.toPath(), StandardOpenOption.READ);
+                fChannel = channel;
+            }
+            fFileLength = channel.size();
+            if (fExecutor == null) {
+                fExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                    Thread thread = new Thread(runnable, "Ftrace parallel parser"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            fNextChunkStart = location;
+            submitChunks();
+            return true;
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error opening file: " + fFile, e); //$NON-NLS-1$
+            return false;
+        }
+    }
+
+    /**
+     * Get the chunk of a location, and release the previous chunks
+     */
+    private @Nullable Chunk getChunk(long location) throws InterruptedException, ExecutionException, IOException {
+        Chunk chunk = fCurrentChunk;
+        while (chunk == null || location >= chunk.fEnd) {
+            Future<Chunk> next = fChunks.poll();
+            if (next == null) {
+                fCurrentChunk = null;
+                return null;
+            }
+            submitChunks();
+            chunk = next.get();
+            fCurrentChunk = chunk;
+        }
+        return location >= chunk.fStart ? chunk : null;
+    }
+
+    /**
+     * Submit the parsing of the next chunks, to keep two chunks per thread
+     */
+    private void submitChunks() throws IOException {
+        ExecutorService executor = fExecutor;
+        FileChannel channel = fChannel;
+        if (executor == null || channel == null) {
+            return;
+        }
+        int maxChunks = 2 * Runtime.getRuntime().availableProcessors();
+        while (fChunks.size() < maxChunks && fNextChunkStart < fFileLength) {
+            long start = fNextChunkStart;
+            long end = findLineEnd(channel, start + CHUNK_SIZE);
+            fChunks.add(executor.submit(() -> parseChunk(channel, start, end)));
+            fNextChunkStart = end;
+        }
+    }
+
+    /**
+     * Find the start of the first line that starts after a position
+     */
+    private long findLineEnd(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(LINE_END_SEARCH_SIZE);
+        long offset = position;
+        while (offset < fFileLength) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    return offset + i + 1;
+                }
+                if (b == '\r') {
+                    long next = offset + i + 1;
+                    if (i + 1 < read) {
+                        return buffer.get(i + 1) == '\n' ? next + 1 : next;
+                    }
+                    ByteBuffer nextByte = ByteBuffer.allocate(1);
+                    return channel.read(nextByte, next) == 1 && nextByte.get(0) == '\n' ? next + 1 : next;
+                }
+            }
+            offset += read;
+        }
+        return fFileLength;
+    }
+
+    /**
+     * Parse the lines of a chunk, in a thread of the pool
+     */
+    private Chunk parseChunk(FileChannel channel, long start, long end) throws IOException {
+        int length = (int) (end - start);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) <= 0) {
+                break;
+            }
+        }
+        byte[] bytes = buffer.array();
+        length = buffer.position();
+
+        int capacity = 1024;
+        long[] lineStarts = new long[capacity];
+        long[] nextLineStarts = new long[capacity];
+        GenericFtraceField[] fields = new GenericFtraceField[capacity];
+        boolean[] comments = new boolean[capacity];
+        boolean[] failures = new boolean[capacity];
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            int lineStart = i;
+            while (i < length && bytes[i] != '\n' && bytes[i] != '\r') {
+                i++;
+            }
+            String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.ISO_8859_1);
+            if (i < length) {
+                i += (bytes[i] == '\r' && i + 1 < length && bytes[i + 1] == '\n') ? 2 : 1;
+            }
+            if (count == capacity) {
+                capacity *= 2;
+                lineStarts = Arrays.copyOf(lineStarts, capacity);
+                nextLineStarts = Arrays.copyOf(nextLineStarts, capacity);
+                fields = Arrays.copyOf(fields, capacity);
+                comments = Arrays.copyOf(comments, capacity);
+                failures = Arrays.copyOf(failures, capacity);
+            }
+            lineStarts[count] = start + lineStart;
+            nextLineStarts[count] = start + i;
+            if (line.startsWith(IGenericFtraceConstants.FTRACE_COMMENT_CHAR)) {
+                comments[count] = true;
+            } else {
+                try {
+                    fields[count] = fTrace.parseLine(line);
+                } catch (RuntimeException e) {
+                    failures[count] = true;
+                }
+            }
+            count++;
+        }
+        return new Chunk(start, start + length, lineStarts, nextLineStarts, fields, comments, failures, count);
+    }
+
+    /**
+     * Cancel the parsing of the chunks
+     */
+    private void cancel() {
+        for (Future<Chunk> chunk : fChunks) {
+            chunk.cancel(true);
+        }
+        fChunks.clear();
+        fCurrentChunk = null;
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        ExecutorService executor = fExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+            fExecutor = null;
+        }
+        FileChannel channel = fChannel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                Activator.getInstance().logError("Error closing file: " + fFile, e); //$NON-NLS-1$
+            }
+            fChannel = null;
+        }
+    }
+}
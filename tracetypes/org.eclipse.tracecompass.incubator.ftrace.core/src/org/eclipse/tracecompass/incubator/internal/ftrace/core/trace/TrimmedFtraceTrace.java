@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Ericsson
+ * Copyright (c) 2021, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -16,7 +16,6 @@ import java.io.RandomAccessFile;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
 
 /**
@@ -40,14 +39,14 @@ public class TrimmedFtraceTrace extends FtraceTrace {
     @Override
     protected long getFileStart() throws IOException {
         long start = 0;
-        try (RandomAccessFile fileInput = new BufferedRandomAccessFile(getFile(), "r")) { //$NON-NLS-1$
-            fileInput.readLine();
-            String line = fileInput.readLine();
+        try (RandomAccessFile fileInput = new BufferedLineRandomAccessFile(getFile())) {
+            readLine(fileInput);
+            String line = readLine(fileInput);
             while (line != null) {
                 if (line.trim().startsWith("#")) { //$NON-NLS-1$
                     start = fileInput.getFilePointer();
                 }
-                line = fileInput.readLine();
+                line = readLine(fileInput);
             }
         }
         return start;
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests.perf;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+
+/**
+ * Copy of the representation of the Open Tracing fields before they were
+ * stored in flat arrays: a map of {@link TmfEventField}s and the tag maps,
+ * all built by the constructor. It is the reference of the
+ * {@link OpenTracingFieldAllocationBenchmark}.
+ */
+class BaselineOpenTracingField {
+
+    private final ITmfEventField fContent;
+    private final @Nullable Map<String, Object> fTags;
+    private final @Nullable Map<String, Object> fProcessTags;
+
+    /**
+     * Constructor, as the OpenTracingField constructor was
+     *
+     * @param fields
+     *            span fields (arguments)
+     */
+    public BaselineOpenTracingField(Map<String, Object> fields) {
+        ITmfEventField[] array = fields.entrySet().stream()
+                .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
+                .toArray(ITmfEventField[]::new);
+        fContent = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
+        @SuppressWarnings("null")
+        Map<@NonNull String, @NonNull Object> tags = fields.entrySet().stream()
+                .filter(entry -> {
+                    return entry.getKey().startsWith(IOpenTracingConstants.TAGS + '/');
+                })
+                .collect(Collectors.toMap(entry -> entry.getKey().substring(5), Entry::getValue));
+        fTags = tags.isEmpty() ? null : tags;
+        @SuppressWarnings("null")
+        Map<@NonNull String, @NonNull Object> processTags = fields.entrySet().stream()
+                .filter(entry -> {
+                    return entry.getKey().startsWith(IOpenTracingConstants.PROCESS_TAGS + '/');
+                })
+                .collect(Collectors.toMap(entry -> entry.getKey().substring(12), Entry::getValue));
+        fProcessTags = processTags.isEmpty() ? null : processTags;
+    }
+
+    /**
+     * Get the event content
+     *
+     * @return the event content
+     */
+    public ITmfEventField getContent() {
+        return fContent;
+    }
+
+    /**
+     * Get the span tags
+     *
+     * @return a map of the tags and their field names
+     */
+    public @Nullable Map<String, Object> getTags() {
+        return fTags;
+    }
+
+    /**
+     * Get the span process tags
+     *
+     * @return a map of the process tags and their field names
+     */
+    public @Nullable Map<String, Object> getProcessTags() {
+        return fProcessTags;
+    }
+}
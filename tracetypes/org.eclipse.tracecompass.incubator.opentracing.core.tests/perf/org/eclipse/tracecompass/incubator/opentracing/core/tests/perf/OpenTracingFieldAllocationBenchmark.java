@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests.perf;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingSpanParser;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.junit.Test;
+
+/**
+ * Benchmarks the allocations of building the span fields and reading them the
+ * way the SpanLifeStateProvider does, with the flat arrays and lazy content
+ * of {@link OpenTracingField} and with the map of event fields that every span
+ * used to build, see {@link BaselineOpenTracingField}. Both paths build the
+ * fields from the same values, already parsed, so only the representations
+ * are compared.
+ * <p>
+ * When the JVM supports measuring the bytes allocated by the benchmark thread,
+ * the lazy content must allocate less than the baseline.
+ */
+public class OpenTracingFieldAllocationBenchmark {
+
+    private static final String TEST_BASELINE = "Read span fields, baseline content";
+    private static final String TEST_LAZY = "Read span fields, lazy content";
+
+    private static final int LOOP_COUNT = 10;
+    private static final int NB_SPANS = 100000;
+
+    /**
+     * The values of a parsed span, to build its fields
+     */
+    private static final class SpanValues {
+        private final String fName;
+        private final String fSpanId;
+        private final long fStartTime;
+        private final long fDuration;
+        private final String fProcessName;
+        private final List<String> fKeys = new ArrayList<>();
+        private final List<Object> fValues = new ArrayList<>();
+
+        public SpanValues(OpenTracingField field) {
+            fName = field.getName();
+            fSpanId = field.getSpanId();
+            fStartTime = field.getStartTime();
+            fDuration = field.getDuration();
+            fProcessName = field.getProcessName();
+            for (ITmfEventField subField : field.getContent().getFields()) {
+                fKeys.add(subField.getName());
+                fValues.add(Objects.requireNonNull(subField.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Run the benchmark for both representations on the same synthetic spans
+     */
+    @Test
+    public void runAllocationBenchmark() {
+        Map<String, String> processes = new HashMap<>();
+        for (int i = 1; i <= OpenTracingParserBenchmark.NB_PROCESSES; i++) {
+            processes.put("p" + i, OpenTracingParserBenchmark.getProcess(i));
+        }
+        OpenTracingSpanParser parser = new OpenTracingSpanParser(processes);
+        List<SpanValues> spans = new ArrayList<>();
+        for (int i = 1; i <= NB_SPANS; i++) {
+            spans.add(new SpanValues(Objects.requireNonNull(parser.parse(OpenTracingParserBenchmark.getSpan(i)))));
+        }
+
+        Performance perf = Performance.getDefault();
+        PerformanceMeter baselinePm = Objects.requireNonNull(perf.createPerformanceMeter(OpenTracingParserBenchmark.TEST_ID + TEST_BASELINE));
+        perf.tagAsSummary(baselinePm, TEST_BASELINE, Dimension.CPU_TIME);
+        PerformanceMeter lazyPm = Objects.requireNonNull(perf.createPerformanceMeter(OpenTracingParserBenchmark.TEST_ID + TEST_LAZY));
+        perf.tagAsSummary(lazyPm, TEST_LAZY, Dimension.CPU_TIME);
+
+        long baselineBytes = 0;
+        long lazyBytes = 0;
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            long before = getAllocatedBytes();
+            baselinePm.start();
+            for (SpanValues span : spans) {
+                Map<String, Object> fields = new HashMap<>();
+                for (int j = 0; j < span.fKeys.size(); j++) {
+                    fields.put(span.fKeys.get(j), span.fValues.get(j));
+                }
+                readStateProviderFields(new BaselineOpenTracingField(fields).getContent());
+            }
+            baselinePm.stop();
+            baselineBytes += getAllocatedBytes() - before;
+
+            before = getAllocatedBytes();
+            lazyPm.start();
+            for (SpanValues span : spans) {
+                OpenTracingField.Builder builder = new OpenTracingField.Builder();
+                for (int j = 0; j < span.fKeys.size(); j++) {
+                    builder.put(span.fKeys.get(j), span.fValues.get(j));
+                }
+                OpenTracingField field = builder.build(span.fName, span.fSpanId, span.fStartTime, span.fDuration, span.fProcessName);
+                readStateProviderFields(field.getContent());
+            }
+            lazyPm.stop();
+            lazyBytes += getAllocatedBytes() - before;
+        }
+        baselinePm.commit();
+        lazyPm.commit();
+
+        if (getAllocatedBytes() >= 0) {
+            assertTrue("Lazy content allocates " + lazyBytes + " bytes, baseline content " + baselineBytes, lazyBytes < baselineBytes);
+        }
+    }
+
+    /**
+     * Read the fields that the SpanLifeStateProvider reads for each span
+     */
+    private static void readStateProviderFields(ITmfEventField content) {
+        assertNotNull(content.getFieldValue(Long.class, IOpenTracingConstants.DURATION));
+        assertNotNull(content.getFieldValue(String.class, IOpenTracingConstants.TRACE_ID));
+        content.getFieldValue(String.class, IOpenTracingConstants.TAGS + "/error");
+        assertNotNull(content.getFieldValue(String.class, IOpenTracingConstants.PROCESS_NAME));
+        assertNotNull(content.getFieldValue(String.class, IOpenTracingConstants.SPAN_ID));
+        content.getFieldValue(String.class, IOpenTracingConstants.REFERENCES + "/CHILD_OF");
+        content.getFieldValue(Map.class, IOpenTracingConstants.LOGS);
+    }
+
+    /**
+     * Get the number of bytes allocated by the current thread, with the
+     * HotSpot extension of the thread MX bean
+     *
+     * @return the number of bytes, or -1 if it cannot be measured
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        for (Class<?> itf : bean.getClass().getInterfaces()) {
+            if (itf.getName().equals("com.sun.management.ThreadMXBean")) {
+                try {
+                    Method method = itf.getMethod("getThreadAllocatedBytes", long.class);
+                    return (long) method.invoke(bean, Thread.currentThread().getId());
+                } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests.perf;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingSpanParser;
+import org.junit.Test;
+
+/**
+ * Benchmarks the parsing of Open Tracing spans, comparing the JSON tree parser
+ * of {@link OpenTracingField} with the streaming {@link OpenTracingSpanParser}
+ */
+public class OpenTracingParserBenchmark {
+
+    /**
+     * Test ID for the open tracing benchmarks
+     */
+    public static final String TEST_ID = "org.eclipse.tracecompass.incubator#OpenTracing#";
+    private static final String TEST_TREE_PARSER = "Parse spans, JSON tree";
+    private static final String TEST_STREAMING_PARSER = "Parse spans, streaming";
+
+    private static final int LOOP_COUNT = 10;
+    private static final int NB_SPANS = 100000;
+    static final int NB_PROCESSES = 8;
+
+    static String getProcess(int i) {
+        return "{\"serviceName\":\"service" + i + "\",\"tags\":[{\"key\":\"hostname\",\"type\":\"string\",\"value\":\"host" + i + "\"},"
+                + "{\"key\":\"ip\",\"type\":\"string\",\"value\":\"10.0.0." + i + "\"},{\"key\":\"jaeger.version\",\"type\":\"string\",\"value\":\"Go-2.30.0\"}]}";
+    }
+
+    static String getSpan(int i) {
+        return "{\"traceID\":\"" + Integer.toHexString(i / 100) + "\",\"spanID\":\"" + Integer.toHexString(i) + "\",\"flags\":1,\"operationName\":\"op" + (i % 20) + "\","
+                + "\"references\":[{\"refType\":\"CHILD_OF\",\"traceID\":\"" + Integer.toHexString(i / 100) + "\",\"spanID\":\"" + Integer.toHexString(i - 1) + "\"}],"
+                + "\"startTime\":" + (1527684461626000L + i) + ",\"duration\":" + (i % 1000) + ","
+                + "\"tags\":[{\"key\":\"span.kind\",\"type\":\"string\",\"value\":\"client\"},{\"key\":\"http.status_code\",\"type\":\"int64\",\"value\":200},"
+                + "{\"key\":\"http.url\",\"type\":\"string\",\"value\":\"http://localhost:8081/format?id=" + i + "\"},{\"key\":\"http.method\",\"type\":\"string\",\"value\":\"GET\"}],"
+                + "\"logs\":[{\"timestamp\":" + (1527684461626000L + i) + ",\"fields\":[{\"key\":\"event\",\"type\":\"string\",\"value\":\"string-format\"},"
+                + "{\"key\":\"value\",\"type\":\"string\",\"value\":\"Hello\"}]}],"
+                + "\"processID\":\"p" + (i % NB_PROCESSES + 1) + "\",\"warnings\":null}";
+    }
+
+    /**
+     * Run the benchmark for both parsers on the same synthetic spans
+     */
+    @Test
+    public void runParserBenchmark() {
+        Map<String, String> processes = new HashMap<>();
+        for (int i = 1; i <= NB_PROCESSES; i++) {
+            processes.put("p" + i, getProcess(i));
+        }
+        List<String> spans = new ArrayList<>();
+        for (int i = 1; i <= NB_SPANS; i++) {
+            spans.add(getSpan(i));
+        }
+
+        Performance perf = Performance.getDefault();
+        PerformanceMeter treePm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + TEST_TREE_PARSER));
+        perf.tagAsSummary(treePm, TEST_TREE_PARSER, Dimension.CPU_TIME);
+        PerformanceMeter streamingPm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + TEST_STREAMING_PARSER));
+        perf.tagAsSummary(streamingPm, TEST_STREAMING_PARSER, Dimension.CPU_TIME);
+
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            treePm.start();
+            for (String span : spans) {
+                // This is what the trace used to do for each span
+                String process = processes.get(OpenTracingField.getProcess(span));
+                assertNotNull(OpenTracingField.parseJson(span, process));
+            }
+            treePm.stop();
+
+            streamingPm.start();
+            OpenTracingSpanParser parser = new OpenTracingSpanParser(processes);
+            for (String span : spans) {
+                assertNotNull(parser.parse(span));
+            }
+            streamingPm.stop();
+        }
+        treePm.commit();
+        streamingPm.commit();
+    }
+}
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.JaegerTraceSplitter;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.JaegerTraceSplitter.TraceSummary;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.JaegerTracesFetcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test the streaming split of Jaeger responses and the paged fetch of Jaeger
+ * traces, with a local stub of the Jaeger traces API
+ */
+public class JaegerTracesFetcherTest {
+
+    private static final String TRACE_PATH = "traces/multiple_services.json";
+    private static final String TRACES_PATH = "/api/traces";
+    private static final int PAGE_SIZE = 50;
+    private static final int NB_THREADS = 4;
+
+    private HttpServer fServer;
+    private File fFolder;
+    private int fNbServerTraces;
+    private boolean fOffsetSupported;
+    private final List<Integer> fRequestedOffsets = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Start the stub server
+     *
+     * @throws IOException
+     *             server or folder error
+     */
+    @Before
+    public void setUp() throws IOException {
+        fFolder = Files.createTempDirectory("jaeger").toFile();
+        fServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        fServer.createContext(TRACES_PATH, this::handleTraces);
+        fServer.setExecutor(Executors.newFixedThreadPool(NB_THREADS));
+        fServer.start();
+    }
+
+    /**
+     * Stop the stub server and delete the trace files
+     */
+    @After
+    public void tearDown() {
+        fServer.stop(0);
+        File[] files = fFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        fFolder.delete();
+    }
+
+    /**
+     * Answer a traces request with the traces at the requested offset, or the
+     * first traces if the offset is not supported, like Jaeger does
+     */
+    private void handleTraces(HttpExchange exchange) throws IOException {
+        int limit = 20;
+        int offset = 0;
+        String query = exchange.getRequestURI().getQuery();
+        for (String parameter : query.split("&")) {
+            String[] keyValue = parameter.split("=");
+            if (keyValue[0].equals("limit")) {
+                limit = Integer.parseInt(keyValue[1]);
+            } else if (keyValue[0].equals("offset")) {
+                offset = Integer.parseInt(keyValue[1]);
+            }
+        }
+        fRequestedOffsets.add(offset);
+        if (!fOffsetSupported) {
+            offset = 0;
+        }
+        JsonArray data = new JsonArray();
+        for (int i = offset; i < Math.min(offset + limit, fNbServerTraces); i++) {
+            data.add(createTrace(i));
+        }
+        JsonObject response = new JsonObject();
+        response.add("data", data);
+        response.addProperty("total", 0);
+        response.addProperty("limit", 0);
+        response.addProperty("offset", offset);
+        byte[] bytes = new Gson().toJson(response).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    private static JsonObject createTrace(int index) {
+        String traceId = String.format("%016x", index + 1);
+        JsonArray spans = new JsonArray();
+        for (int i = 0; i <= index % 3; i++) {
+            JsonObject span = new JsonObject();
+            span.addProperty("traceID", traceId);
+            span.addProperty("spanID", String.format("%016x", i + 1));
+            span.addProperty("operationName", "op" + index + '-' + i);
+            span.addProperty("startTime", 1527684461617640L + i);
+            span.addProperty("duration", 100 + i);
+            span.add("references", new JsonArray());
+            span.add("tags", new JsonArray());
+            span.add("logs", new JsonArray());
+            span.addProperty("processID", "p1");
+            span.add("warnings", null);
+            spans.add(span);
+        }
+        JsonObject process = new JsonObject();
+        process.addProperty("serviceName", "service" + index);
+        process.add("tags", new JsonArray());
+        JsonObject processes = new JsonObject();
+        processes.add("p1", process);
+        JsonObject trace = new JsonObject();
+        trace.addProperty("traceID", traceId);
+        trace.add("spans", spans);
+        trace.add("processes", processes);
+        trace.add("warnings", null);
+        return trace;
+    }
+
+    private String getTracesUrl() {
+        return "http://localhost:" + fServer.getAddress().getPort() + TRACES_PATH + "?service=test&limit=20";
+    }
+
+    private static JaegerTracesFetcher createFetcher() {
+        return new JaegerTracesFetcher(url -> new URL(url).openStream(), PAGE_SIZE, NB_THREADS);
+    }
+
+    /**
+     * Check that the fetched traces are unique and have their file, with the
+     * layout of a Jaeger response with a single trace
+     */
+    private void assertTraceFiles(List<TraceSummary> traces, int nbTraces) throws IOException {
+        assertEquals(nbTraces, traces.size());
+        Set<String> traceIds = new HashSet<>();
+        for (TraceSummary trace : traces) {
+            assertTrue(traceIds.add(trace.getTraceId()));
+            int index = Integer.parseInt(trace.getTraceId(), 16) - 1;
+            assertTrue(index < fNbServerTraces);
+            assertEquals("op" + index + "-0", trace.getRootName());
+            assertEquals(index % 3 + 1, trace.getNbSpans());
+            assertEquals(ImmutableList.of("service" + index), trace.getServices());
+            File file = new File(fFolder, trace.getFileName());
+            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            assertTrue(content.startsWith("{\"data\":[{\"traceID\":\"" + trace.getTraceId() + "\",\"spans\":["));
+        }
+        String[] files = fFolder.list();
+        assertEquals(nbTraces, files == null ? 0 : files.length);
+    }
+
+    /**
+     * Test splitting a traces file, the split trace is the same as the
+     * original one
+     *
+     * @throws IOException
+     *             file error
+     */
+    @Test
+    public void testSplit() throws IOException {
+        List<TraceSummary> traces = new ArrayList<>();
+        try (Reader reader = new BufferedReader(new FileReader(TRACE_PATH))) {
+            assertEquals(0, new JaegerTraceSplitter(fFolder).split(reader, traceId -> true, traces::add));
+        }
+        assertEquals(1, traces.size());
+        TraceSummary trace = traces.get(0);
+        assertEquals("410a7dbc6d6cfeb6", trace.getTraceId());
+        assertEquals("410a7dbc6d6cfeb6.json", trace.getFileName());
+        assertEquals(5, trace.getNbSpans());
+        assertEquals(3, trace.getServices().size());
+
+        Gson gson = new Gson();
+        JsonObject original;
+        JsonObject split;
+        try (Reader reader = new FileReader(TRACE_PATH)) {
+            original = gson.fromJson(reader, JsonObject.class);
+        }
+        try (Reader reader = new FileReader(new File(fFolder, trace.getFileName()))) {
+            split = gson.fromJson(reader, JsonObject.class);
+        }
+        assertEquals(gson.toJson(original.get("data")), gson.toJson(split.get("data")));
+        assertNull(split.get("errors"));
+        assertNull(split.get("total"));
+        assertNull(split.get("limit"));
+        assertNull(split.get("offset"));
+    }
+
+    /**
+     * Test that the traces rejected by the filter are not written
+     *
+     * @throws IOException
+     *             file error
+     */
+    @Test
+    public void testSplitFiltered() throws IOException {
+        try (Reader reader = new BufferedReader(new FileReader(TRACE_PATH))) {
+            new JaegerTraceSplitter(fFolder).split(reader, traceId -> false, trace -> fail());
+        }
+        String[] files = fFolder.list();
+        assertEquals(0, files == null ? 0 : files.length);
+    }
+
+    /**
+     * Test fetching the traces by pages from a backend that supports the
+     * offset
+     *
+     * @throws IOException
+     *             request or file error
+     */
+    @Test
+    public void testPagedFetch() throws IOException {
+        fNbServerTraces = 500;
+        fOffsetSupported = true;
+        List<TraceSummary> landed = Collections.synchronizedList(new ArrayList<>());
+        List<TraceSummary> traces = createFetcher().fetch(getTracesUrl(), 230, fFolder, landed::add, null);
+        assertTraceFiles(traces, 230);
+        assertEquals(new HashSet<>(traces), new HashSet<>(landed));
+        assertEquals(ImmutableList.of(0, 50, 100, 150, 200), sorted(fRequestedOffsets));
+    }
+
+    /**
+     * Test fetching more traces than the backend has, the pages after the last
+     * one are not requested once it is known
+     *
+     * @throws IOException
+     *             request or file error
+     */
+    @Test
+    public void testPagedFetchEnd() throws IOException {
+        fNbServerTraces = 70;
+        fOffsetSupported = true;
+        List<TraceSummary> traces = createFetcher().fetch(getTracesUrl(), 200, fFolder, trace -> {
+        }, null);
+        assertTraceFiles(traces, 70);
+        assertFalse(fRequestedOffsets.contains(100));
+    }
+
+    /**
+     * Test fetching the traces from a backend that ignores the offset, like
+     * Jaeger, the traces are fetched again in one request without duplicates
+     *
+     * @throws IOException
+     *             request or file error
+     */
+    @Test
+    public void testOffsetIgnored() throws IOException {
+        fNbServerTraces = 500;
+        fOffsetSupported = false;
+        List<TraceSummary> traces = createFetcher().fetch(getTracesUrl(), 180, fFolder, trace -> {
+        }, null);
+        assertTraceFiles(traces, 180);
+        assertEquals(3, fRequestedOffsets.size());
+    }
+
+    private static List<Integer> sorted(List<Integer> list) {
+        List<Integer> copy = new ArrayList<>(list);
+        Collections.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.OpenTracingProcesses;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the extraction and the persistence of the processes of a Jaeger trace
+ */
+public class OpenTracingProcessesTest {
+
+    private static final String TRACE_PATH = "traces/multiple_services.json";
+
+    /**
+     * Test extracting the processes from the original trace file
+     *
+     * @throws IOException
+     *             file error
+     */
+    @Test
+    public void testExtract() throws IOException {
+        Map<String, String> processes = OpenTracingProcesses.extract(TRACE_PATH);
+        assertEquals(ImmutableSet.of("p1", "p2", "p3"), processes.keySet());
+        assertTrue(processes.get("p2").contains("\"serviceName\":\"formatter\""));
+    }
+
+    /**
+     * Test writing the processes to a supplementary file and reading them back
+     *
+     * @throws IOException
+     *             file error
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        Map<String, String> processes = OpenTracingProcesses.extract(TRACE_PATH);
+        File dir = Files.createTempDirectory("opentracing").toFile();
+        File file = OpenTracingProcesses.getSupplementaryFile(dir.getAbsolutePath(), TRACE_PATH);
+        try {
+            assertEquals("multiple_servicesProcesses.json", file.getName());
+            OpenTracingProcesses.write(file, processes);
+            assertEquals(processes, OpenTracingProcesses.read(file));
+        } finally {
+            file.delete();
+            dir.delete();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingSpanParser;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.junit.Test;
+
+/**
+ * Test that the streaming span parser gives the same result as the JSON tree
+ * parser of {@link OpenTracingField}
+ */
+public class OpenTracingSpanParserTest {
+
+    private static final String PROCESS = "{\"serviceName\":\"hello-world\",\"tags\":[{\"key\":\"hostname\",\"type\":\"string\",\"value\":\"mystery\"},{\"key\":\"ip\",\"type\":\"string\",\"value\":\"127.0.1.1\"}]}";
+
+    private static final String SPAN = "{\"traceID\":\"410a7dbc6d6cfeb6\",\"spanID\":\"2e44971368c185a6\",\"flags\":1,\"operationName\":\"formatString\","
+            + "\"references\":[{\"refType\":\"CHILD_OF\",\"traceID\":\"410a7dbc6d6cfeb6\",\"spanID\":\"410a7dbc6d6cfeb6\"}],"
+            + "\"startTime\":1527684461626000,\"duration\":283459,"
+            + "\"tags\":[{\"key\":\"span.kind\",\"type\":\"string\",\"value\":\"client\"},{\"key\":\"http.status_code\",\"type\":\"int64\",\"value\":200},"
+            + "{\"key\":\"error\",\"type\":\"bool\",\"value\":true},{\"key\":\"payload\",\"type\":\"string\",\"value\":{\"a\":[1,2]}}],"
+            + "\"logs\":[{\"timestamp\":1527684461910000,\"fields\":[{\"key\":\"event\",\"type\":\"string\",\"value\":\"string-format\"}]}],"
+            + "\"processID\":\"p1\",\"warnings\":null}";
+
+    private static final String UNNAMED_SPAN = "{\"traceID\":\"410a7dbc6d6cfeb6\",\"spanID\":\"2e44971368c185a6\",\"operationName\":\"\","
+            + "\"startTime\":1527684461626000,\"duration\":283459,"
+            + "\"tags\":[{\"key\":\"operationName\",\"type\":\"string\",\"value\":\"fromTag\"}],\"processID\":\"p2\"}";
+
+    private static Map<String, String> getProcesses() {
+        Map<String, String> processes = new HashMap<>();
+        processes.put("p1", PROCESS);
+        return processes;
+    }
+
+    private static void assertSameField(OpenTracingField expected, OpenTracingField actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getSpanId(), actual.getSpanId());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getDuration(), actual.getDuration());
+        assertEquals(expected.getProcessName(), actual.getProcessName());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getProcessTags(), actual.getProcessTags());
+        assertEquals(expected.getContent(), actual.getContent());
+    }
+
+    /**
+     * Test a complete span, with references, tags, logs and process
+     */
+    @Test
+    public void testSpan() {
+        OpenTracingField expected = OpenTracingField.parseJson(SPAN, PROCESS);
+        OpenTracingField actual = new OpenTracingSpanParser(getProcesses()).parse(SPAN);
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertSameField(expected, actual);
+    }
+
+    /**
+     * Test a span that takes its name from its tags and has an unknown process
+     */
+    @Test
+    public void testUnnamedSpan() {
+        OpenTracingField expected = OpenTracingField.parseJson(UNNAMED_SPAN, null);
+        OpenTracingField actual = new OpenTracingSpanParser(getProcesses()).parse(UNNAMED_SPAN);
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals("fromTag", actual.getName());
+        assertSameField(expected, actual);
+    }
+
+    /**
+     * Test that invalid spans are rejected
+     */
+    @Test
+    public void testInvalidSpan() {
+        OpenTracingSpanParser parser = new OpenTracingSpanParser(getProcesses());
+        assertNull(parser.parse("{\"traceID\":\"410a7dbc6d6cfeb6\",\"spanID\":\"2e44971368c185a6\"}"));
+        assertNull(parser.parse("{\"operationName\":\"op\",\"spanID\":\"2e44971368c185a6\"}"));
+        assertNull(parser.parse("{\"operationName\":\"op\""));
+    }
+
+    /**
+     * Test that the tag field names are shared between spans
+     */
+    @Test
+    public void testInternedKeys() {
+        OpenTracingSpanParser parser = new OpenTracingSpanParser(getProcesses());
+        OpenTracingField first = parser.parse(SPAN);
+        OpenTracingField second = parser.parse(SPAN);
+        assertNotNull(first);
+        assertNotNull(second);
+        ITmfEventField firstStatus = first.getContent().getField("tags/http.status_code");
+        ITmfEventField secondStatus = second.getContent().getField("tags/http.status_code");
+        assertNotNull(firstStatus);
+        assertNotNull(secondStatus);
+        assertEquals("200", firstStatus.getValue());
+        assertSame(firstStatus.getName(), secondStatus.getName());
+    }
+
+    /**
+     * Test the fields built with the flat array builder, where the last value
+     * of a field name wins
+     */
+    @Test
+    public void testBuilder() {
+        OpenTracingField.Builder builder = new OpenTracingField.Builder();
+        builder.put("tags/error", "false");
+        builder.put("duration", 10L);
+        builder.put("tags/error", "true");
+        assertEquals("true", builder.get("tags/error"));
+        OpenTracingField field = builder.build("op", "span", 0L, 10L, "process");
+
+        ITmfEventField content = field.getContent();
+        assertEquals("true", content.getFieldValue(String.class, "tags/error"));
+        assertEquals(Long.valueOf(10L), content.getFieldValue(Long.class, "duration"));
+        assertNull(content.getFieldValue(String.class, "duration"));
+        assertNull(content.getFieldValue(String.class, "unknown"));
+        assertEquals(2, content.getFields().size());
+        ITmfEventField error = content.getField("tags/error");
+        assertNotNull(error);
+        assertEquals("true", error.getValue());
+
+        Map<String, Object> tags = field.getTags();
+        assertNotNull(tags);
+        assertEquals("true", tags.get("error"));
+        assertNull(field.getProcessTags());
+    }
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp.OtlpJsonDecoder;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp.OtlpSpan;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp.OtlpTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.junit.Test;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Test reading OTLP traces, in the JSON and the protobuf encodings
+ */
+public class OtlpTraceTest {
+
+    private static final String JSON_PATH = "traces/otlp/otlp.json";
+    private static final String PROTOBUF_PATH = "traces/otlp/otlp.pb";
+    private static final long BASE_TIME = 1700000000000000000L;
+    private static final String FOLLOWS_FROM = IOpenTracingConstants.REFERENCES + "/FOLLOWS_FROM";
+
+    /**
+     * Test the validation of the OTLP trace type
+     */
+    @Test
+    public void testValidate() {
+        ITmfTrace trace = new OtlpTrace();
+        try {
+            assertTrue(trace.validate(null, JSON_PATH).isOK());
+            assertTrue(trace.validate(null, PROTOBUF_PATH).isOK());
+            assertFalse(trace.validate(null, "traces/simple.json").isOK());
+        } finally {
+            trace.dispose();
+        }
+    }
+
+    /**
+     * Test reading a JSON trace, with many requests in the same file
+     *
+     * @throws TmfTraceException
+     *             should not happen
+     */
+    @Test
+    public void testJson() throws TmfTraceException {
+        testTrace(JSON_PATH);
+    }
+
+    /**
+     * Test reading a protobuf trace
+     *
+     * @throws TmfTraceException
+     *             should not happen
+     */
+    @Test
+    public void testProtobuf() throws TmfTraceException {
+        testTrace(PROTOBUF_PATH);
+    }
+
+    /**
+     * Test the conversion of a span to an Open Tracing event
+     *
+     * @throws TmfTraceException
+     *             should not happen
+     */
+    @Test
+    public void testEvent() throws TmfTraceException {
+        ITmfTrace trace = new OtlpTrace();
+        try {
+            trace.initTrace(null, JSON_PATH, ITmfEvent.class);
+            ITmfContext context = trace.seekEvent(3);
+            ITmfEvent event = trace.getNext(context);
+            assertNotNull(event);
+            assertEquals("SQL SELECT", event.getName());
+            ITmfEventField content = event.getContent();
+            assertEquals("0af7651916cd43dd8448eb211c80319c", content.getFieldValue(String.class, IOpenTracingConstants.TRACE_ID));
+            assertEquals("53995c3f42cd8ad8", content.getFieldValue(String.class, IOpenTracingConstants.SPAN_ID));
+            assertEquals("00f067aa0ba902b7", content.getFieldValue(String.class, IOpenTracingConstants.REFERENCES + "/CHILD_OF"));
+            assertEquals("customer", content.getFieldValue(String.class, IOpenTracingConstants.PROCESS_NAME));
+            assertEquals(Long.valueOf(1800000L), content.getFieldValue(Long.class, IOpenTracingConstants.DURATION));
+            assertEquals("mysql", content.getFieldValue(String.class, IOpenTracingConstants.TAGS + "/db.system"));
+            assertEquals("true", content.getFieldValue(String.class, IOpenTracingConstants.TAGS + "/error"));
+            assertEquals("client", content.getFieldValue(String.class, IOpenTracingConstants.TAGS + "/span.kind"));
+        } finally {
+            trace.dispose();
+        }
+    }
+
+    /**
+     * Test that every link of a span is a <code>FOLLOWS_FROM</code> reference
+     * of the Open Tracing event, in the span file of the trace and from the
+     * decoder
+     *
+     * @throws TmfTraceException
+     *             should not happen
+     * @throws IOException
+     *             should not happen
+     */
+    @Test
+    public void testLinks() throws TmfTraceException, IOException {
+        ITmfTrace trace = new OtlpTrace();
+        try {
+            trace.initTrace(null, JSON_PATH, ITmfEvent.class);
+            ITmfEvent event = trace.getNext(trace.seekEvent(4));
+            assertNotNull(event);
+            assertEquals("cache get", event.getName());
+            ITmfEventField content = event.getContent();
+            assertEquals("e457b5a2e4d86bd1", content.getFieldValue(String.class, FOLLOWS_FROM));
+            assertEquals("e457b5a2e4d86bd1", content.getFieldValue(String.class, FOLLOWS_FROM + "/0"));
+            assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", content.getFieldValue(String.class, FOLLOWS_FROM + "/0/traceID"));
+            assertNull(content.getFieldValue(String.class, FOLLOWS_FROM + "/1"));
+        } finally {
+            trace.dispose();
+        }
+
+        String request = "{\"resourceSpans\":[{\"scopeSpans\":[{\"spans\":[{\"traceId\":\"0af7651916cd43dd8448eb211c80319c\",\"spanId\":\"b7ad6b7169203331\","
+                + "\"name\":\"batch\",\"startTimeUnixNano\":\"1000\",\"endTimeUnixNano\":\"2000\",\"links\":["
+                + "{\"traceId\":\"4BF92F3577B34DA6A3CE929D0E0E4736\",\"spanId\":\"E457B5A2E4D86BD1\"},"
+                + "{\"traceId\":\"0af7651916cd43dd8448eb211c80319c\",\"spanId\":\"00f067aa0ba902b7\"},"
+                + "{\"traceId\":\"5b8efff798038103d269b633813fc60c\",\"spanId\":\"eee19b7ec3c1b174\"}]}]}]}]}";
+        List<OtlpSpan> spans = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new StringReader(request))) {
+            new OtlpJsonDecoder(spans::add).decodeRequest(reader, new NullProgressMonitor());
+        }
+        assertEquals(1, spans.size());
+        assertEquals(3, spans.get(0).getLinks().size());
+        ITmfEventField content = spans.get(0).toOpenTracingField().getContent();
+        assertEquals("e457b5a2e4d86bd1", content.getFieldValue(String.class, FOLLOWS_FROM));
+        assertEquals("e457b5a2e4d86bd1", content.getFieldValue(String.class, FOLLOWS_FROM + "/0"));
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", content.getFieldValue(String.class, FOLLOWS_FROM + "/0/traceID"));
+        assertEquals("00f067aa0ba902b7", content.getFieldValue(String.class, FOLLOWS_FROM + "/1"));
+        assertEquals("0af7651916cd43dd8448eb211c80319c", content.getFieldValue(String.class, FOLLOWS_FROM + "/1/traceID"));
+        assertEquals("eee19b7ec3c1b174", content.getFieldValue(String.class, FOLLOWS_FROM + "/2"));
+        assertEquals("5b8efff798038103d269b633813fc60c", content.getFieldValue(String.class, FOLLOWS_FROM + "/2/traceID"));
+        assertNull(content.getFieldValue(String.class, IOpenTracingConstants.REFERENCES + "/CHILD_OF"));
+    }
+
+    private static void testTrace(String path) throws TmfTraceException {
+        ITmfTrace trace = new OtlpTrace();
+        try {
+            IStatus validate = trace.validate(null, path);
+            assertTrue(validate.getMessage(), validate.isOK());
+            trace.initTrace(null, path, ITmfEvent.class);
+            ITmfContext context = trace.seekEvent(0.0);
+            ITmfEvent event = trace.getNext(context);
+            long count = 0;
+            long prevTs = -1;
+            while (event != null) {
+                count++;
+                @NonNull
+                ITmfTimestamp currentTime = event.getTimestamp();
+                assertTrue("Monotonic events", currentTime.toNanos() >= prevTs);
+                prevTs = currentTime.toNanos();
+                event = trace.getNext(context);
+            }
+            assertEquals(5, count);
+            assertEquals(5, trace.getNbEvents());
+            assertEquals(BASE_TIME + 500000, trace.getStartTime().toNanos());
+            assertEquals(BASE_TIME + 9000000, trace.getEndTime().toNanos());
+
+            // Seek with the index of the span file
+            context = trace.seekEvent(TmfTimestamp.fromNanos(BASE_TIME + 2000000));
+            assertEquals(2, context.getRank());
+            event = trace.getNext(context);
+            assertNotNull(event);
+            assertEquals("HTTP GET customer", event.getName());
+            context = trace.seekEvent(TmfTimestamp.fromNanos(BASE_TIME + 10000000));
+            assertEquals(5, context.getRank());
+        } finally {
+            trace.dispose();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.analysis.spanlife.SpanLifeAnalysis;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.analysis.spanlife.SpanLifeDataProvider;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.analysis.spanlife.SpanLifeEntryModel;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.analysis.spanlife.SpanLifeEntryModel.LogEvent;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.OpenTracingTrace;
+import org.eclipse.tracecompass.internal.tmf.core.model.filters.FetchParametersUtils;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.model.filters.SelectionTimeQueryFilter;
+import org.eclipse.tracecompass.tmf.core.model.filters.TimeQueryFilter;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphEntryModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.tree.TmfTreeModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse.Status;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceOpenedSignal;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+import org.junit.Test;
+
+/**
+ * Span life analysis test
+ */
+@SuppressWarnings("restriction")
+public class SpanLifeAnalysisTest {
+
+    private static final String SPAN_LIFE_PATH = "traces/span_life.json";
+    private static final String LATE_CHILD_PATH = "traces/late_child.json";
+    private static final int NB_SHARDS = 3;
+    private static final int NB_TIMES = 4000;
+
+    /**
+     * Model of the data provider, with the entries and rows keyed by the path
+     * of the entry names, as the entry IDs depend on the build
+     */
+    private static final class SpanLifeModel {
+        private final Map<String, String> fEntries = new HashMap<>();
+        private final Map<Long, String> fPaths = new HashMap<>();
+        private final Map<String, List<String>> fRows = new HashMap<>();
+        private int fNbShardsWithTraces = 0;
+    }
+
+    /**
+     * Test that the partitioned build shows the same entries and rows as the
+     * default build, with the traces spread over many shards
+     *
+     * @throws TmfTraceException
+     *             trace open failed
+     */
+    @Test
+    public void testShards() throws TmfTraceException {
+        SpanLifeModel expected = buildModel(SPAN_LIFE_PATH, 1);
+        SpanLifeModel actual = buildModel(SPAN_LIFE_PATH, NB_SHARDS);
+        assertTrue(actual.fNbShardsWithTraces > 1);
+        // The trace, 8 trace IDs and 4 spans per trace ID
+        assertEquals(41, expected.fEntries.size());
+        assertEquals(expected.fEntries, actual.fEntries);
+        assertEquals(expected.fRows, actual.fRows);
+    }
+
+    /**
+     * Test that a span starting after the end of its parent is shown under its
+     * parent in the default mode, where the spans of a trace are never evicted
+     *
+     * @throws TmfTraceException
+     *             trace open failed
+     */
+    @Test
+    public void testLateChild() throws TmfTraceException {
+        SpanLifeModel model = buildModel(LATE_CHILD_PATH, 1);
+        String parentPath = getPath(model, "parent/0000000000000001/false");
+        String childPath = getPath(model, "child/0000000000000002/false");
+        assertEquals(parentPath + '>' + "child/0000000000000002/false", childPath);
+    }
+
+    /**
+     * Test that a span starting after the end of its parent is shown at the
+     * root of its trace in the partitioned mode, where the spans of a trace
+     * are evicted once the time of the events passes their end
+     *
+     * @throws TmfTraceException
+     *             trace open failed
+     */
+    @Test
+    public void testLateChildShards() throws TmfTraceException {
+        SpanLifeModel model = buildModel(LATE_CHILD_PATH, NB_SHARDS);
+        String parentPath = getPath(model, "parent/0000000000000001/false");
+        String childPath = getPath(model, "child/0000000000000002/false");
+        String tracePath = parentPath.substring(0, parentPath.lastIndexOf('>'));
+        assertEquals(tracePath + '>' + "child/0000000000000002/false", childPath);
+        assertEquals(model.fEntries.keySet(), buildModel(LATE_CHILD_PATH, 1).fEntries.keySet().stream()
+                .map(path -> path.equals(tracePath + ">parent/0000000000000001/false>child/0000000000000002/false") ? childPath : path)
+                .collect(Collectors.toSet()));
+    }
+
+    private static String getPath(SpanLifeModel model, String name) {
+        for (String path : model.fEntries.keySet()) {
+            if (path.endsWith('>' + name)) {
+                return path;
+            }
+        }
+        throw new AssertionError("No entry " + name + " in " + model.fEntries.keySet());
+    }
+
+    /**
+     * Build the span life analysis of a trace with a number of shards and get
+     * the model of its data provider
+     */
+    private static SpanLifeModel buildModel(String path, int nbShards) throws TmfTraceException {
+        System.setProperty(SpanLifeAnalysis.SHARDS_PROPERTY, Integer.toString(nbShards));
+        OpenTracingTrace trace = new OpenTracingTrace();
+        try {
+            trace.initTrace(null, path, ITmfEvent.class);
+            trace.readStart();
+            trace.traceOpened(new TmfTraceOpenedSignal(SpanLifeAnalysisTest.class, trace, null));
+            SpanLifeAnalysis module = TmfTraceUtils.getAnalysisModuleOfClass(trace, SpanLifeAnalysis.class, SpanLifeAnalysis.ID);
+            assertNotNull(module);
+            module.schedule();
+            assertTrue(module.waitForCompletion());
+            assertEquals(nbShards > 1 ? nbShards : 0, module.getShardStateSystems().size());
+            SpanLifeDataProvider dataProvider = new SpanLifeDataProvider(trace, module);
+
+            TmfModelResponse<@NonNull TmfTreeModel<@NonNull TimeGraphEntryModel>> tree = dataProvider.fetchTree(
+                    FetchParametersUtils.timeQueryToMap(new TimeQueryFilter(0, Long.MAX_VALUE, 2)), new NullProgressMonitor());
+            assertEquals(Status.COMPLETED, tree.getStatus());
+            TmfTreeModel<@NonNull TimeGraphEntryModel> treeModel = tree.getModel();
+            assertNotNull(treeModel);
+            SpanLifeModel model = getModel(treeModel.getEntries());
+
+            // The rows of the traces and spans, under the root entry
+            TimeGraphEntryModel root = treeModel.getEntries().get(0);
+            List<Long> ids = new ArrayList<>(model.fPaths.keySet());
+            ids.remove(Long.valueOf(root.getId()));
+            TmfModelResponse<@NonNull TimeGraphModel> rows = dataProvider.fetchRowModel(FetchParametersUtils.selectionTimeQueryToMap(
+                    new SelectionTimeQueryFilter(root.getStartTime(), root.getEndTime(), NB_TIMES, ids)), new NullProgressMonitor());
+            assertEquals(Status.COMPLETED, rows.getStatus());
+            TimeGraphModel rowModel = rows.getModel();
+            assertNotNull(rowModel);
+            for (ITimeGraphRowModel row : rowModel.getRows()) {
+                List<String> states = new ArrayList<>();
+                for (ITimeGraphState state : row.getStates()) {
+                    // The null states end with the state system of the shard
+                    if (state.getLabel() != null) {
+                        states.add(state.getStartTime() + "+" + state.getDuration() + ' ' + state.getLabel());
+                    }
+                }
+                model.fRows.put(model.fPaths.get(row.getEntryID()), states);
+            }
+            for (ITmfStateSystem shard : module.getShardStateSystems()) {
+                if (!shard.getSubAttributes(ITmfStateSystem.ROOT_ATTRIBUTE, false).isEmpty()) {
+                    model.fNbShardsWithTraces++;
+                }
+            }
+            return model;
+        } finally {
+            System.clearProperty(SpanLifeAnalysis.SHARDS_PROPERTY);
+            trace.dispose();
+            deleteSupplementaryFiles(trace);
+        }
+    }
+
+    private static SpanLifeModel getModel(List<@NonNull TimeGraphEntryModel> entries) {
+        Map<Long, TimeGraphEntryModel> entriesById = new HashMap<>();
+        for (TimeGraphEntryModel entry : entries) {
+            entriesById.put(entry.getId(), entry);
+        }
+        SpanLifeModel model = new SpanLifeModel();
+        for (TimeGraphEntryModel entry : entries) {
+            StringBuilder path = new StringBuilder(entry.getName());
+            TimeGraphEntryModel parent = entriesById.get(entry.getParentId());
+            while (parent != null) {
+                path.insert(0, parent.getName() + '>');
+                parent = entriesById.get(parent.getParentId());
+            }
+            String entryPath = path.toString();
+            model.fEntries.put(entryPath, getDescription(entry));
+            model.fPaths.put(entry.getId(), entryPath);
+        }
+        return model;
+    }
+
+    /**
+     * Describe the span information of an entry, without its ID and times
+     */
+    private static String getDescription(TimeGraphEntryModel entry) {
+        if (!(entry instanceof SpanLifeEntryModel)) {
+            return entry.getName();
+        }
+        SpanLifeEntryModel spanEntry = (SpanLifeEntryModel) entry;
+        StringBuilder description = new StringBuilder(spanEntry.getProcessName()).append(' ').append(spanEntry.getErrorTag());
+        for (LogEvent log : spanEntry.getLogs()) {
+            description.append(' ').append(log.getTime()).append(':').append(log.getType());
+        }
+        return description.toString();
+    }
+
+    private static void deleteSupplementaryFiles(ITmfTrace trace) {
+        File suppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+        File[] files = suppDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@
 package org.eclipse.tracecompass.incubator.internal.opentracing.core;
 
 import org.eclipse.tracecompass.common.core.TraceCompassActivator;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.JaegerRestUtils;
 
 /**
  * Activator
@@ -43,6 +44,7 @@ public class Activator extends TraceCompassActivator {
 
     @Override
     protected void stopActions() {
+        JaegerRestUtils.closeClient();
     }
 
 }
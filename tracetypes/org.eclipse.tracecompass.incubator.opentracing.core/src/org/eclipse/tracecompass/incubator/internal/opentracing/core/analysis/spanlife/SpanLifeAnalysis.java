@@ -11,15 +11,37 @@
 
 package org.eclipse.tracecompass.incubator.internal.opentracing.core.analysis.spanlife;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.Activator;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.IStateHistoryBackend;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
 import org.eclipse.tracecompass.tmf.core.statesystem.ITmfStateProvider;
 import org.eclipse.tracecompass.tmf.core.statesystem.TmfStateSystemAnalysisModule;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+
+import com.google.common.collect.Iterables;
 
 /**
  * Spans life tracker
+ * <p>
+ * When the {@link #SHARDS_PROPERTY} system property is greater than 1, the
+ * analysis is partitioned: the traces are split by trace ID between that many
+ * shards, each built on its own thread in its own state system. The shard
+ * state systems are returned by {@link #getShardStateSystems()} and merged by
+ * the {@link SpanLifeDataProvider}.
  *
  * @author Katherine Nadeau
  */
@@ -30,17 +52,139 @@ public class SpanLifeAnalysis extends TmfStateSystemAnalysisModule {
      */
     public static final String ID = "org.eclipse.tracecompass.incubator.opentracing.analysis.spanlife"; //$NON-NLS-1$
 
+    /**
+     * System property with the number of shards of the partitioned mode
+     */
+    public static final String SHARDS_PROPERTY = "org.eclipse.tracecompass.incubator.opentracing.spanlife.shards"; //$NON-NLS-1$
+
+    private static final String HT_EXTENSION = ".ht"; //$NON-NLS-1$
+    private static final int QUEUE_SIZE = 10000;
+
+    private final int fNbShards;
+    private volatile List<ITmfStateSystem> fShardStateSystems = Collections.emptyList();
+    private @Nullable List<ITmfStateSystemBuilder> fShardBuilders = null;
+    private @Nullable SpanLifeStateProvider fPartitionedProvider = null;
+
     /**
      * Constructor
      */
     public SpanLifeAnalysis() {
         setId(ID);
+        fNbShards = Math.max(1, Integer.getInteger(SHARDS_PROPERTY, 1));
+    }
+
+    /**
+     * Get the state systems of the shards, in the partitioned mode
+     *
+     * @return the state systems, empty if the analysis is not partitioned or
+     *         not executed yet
+     */
+    public List<ITmfStateSystem> getShardStateSystems() {
+        return fShardStateSystems;
     }
 
     @Override
     protected @NonNull ITmfStateProvider createStateProvider() {
-        ITmfTrace trace = getTrace();
-        return new SpanLifeStateProvider(Objects.requireNonNull(trace));
+        ITmfTrace trace = Objects.requireNonNull(getTrace());
+        List<ITmfStateSystemBuilder> shardBuilders = fShardBuilders;
+        if (shardBuilders != null) {
+            SpanLifeStateProvider provider = new SpanLifeStateProvider(trace, shardBuilders, this::cancel);
+            fPartitionedProvider = provider;
+            return provider;
+        }
+        return new SpanLifeStateProvider(trace);
     }
 
+    @Override
+    protected @NonNull String getSsFileName() {
+        if (fNbShards > 1) {
+            // Keep the state system of each mode in its own file
+            return getId() + ".shards" + fNbShards + HT_EXTENSION; //$NON-NLS-1$
+        }
+        return super.getSsFileName();
+    }
+
+    @Override
+    protected boolean executeAnalysis(@Nullable IProgressMonitor monitor) {
+        if (fNbShards > 1) {
+            openShards(Objects.requireNonNull(getTrace()));
+        }
+        boolean result = super.executeAnalysis(monitor);
+        SpanLifeStateProvider provider = fPartitionedProvider;
+        fPartitionedProvider = null;
+        if (provider != null && provider.areShardsIncomplete()) {
+            // The provider removed the shard files, they are built again next time
+            disposeShards();
+            return false;
+        }
+        return result;
+    }
+
+    /**
+     * Open the state systems of the shards if they were built with the state
+     * system of this analysis, otherwise create new ones to build, and make
+     * sure that the state system of this analysis is built again with them.
+     */
+    private void openShards(ITmfTrace trace) {
+        disposeShards();
+        String directory = TmfTraceManager.getSupplementaryFileDir(trace);
+        File ssFile = new File(directory + getSsFileName());
+        List<File> shardFiles = new ArrayList<>();
+        for (int i = 0; i < fNbShards; i++) {
+            shardFiles.add(new File(directory + getShardId(i) + HT_EXTENSION));
+        }
+        if (ssFile.exists()) {
+            List<ITmfStateSystem> shards = new ArrayList<>();
+            try {
+                for (int i = 0; i < fNbShards; i++) {
+                    IStateHistoryBackend backend = StateHistoryBackendFactory.createHistoryTreeBackendExistingFile(
+                            getShardId(i), shardFiles.get(i), SpanLifeStateProvider.VERSION);
+                    shards.add(StateSystemFactory.newStateSystem(backend, false));
+                }
+                fShardStateSystems = Collections.unmodifiableList(shards);
+                return;
+            } catch (IOException e) {
+                // Missing, incomplete or outdated shard, build everything again
+                shards.forEach(ITmfStateSystem::dispose);
+                ssFile.delete();
+            }
+        }
+        List<ITmfStateSystemBuilder> builders = new ArrayList<>();
+        try {
+            for (int i = 0; i < fNbShards; i++) {
+                File shardFile = shardFiles.get(i);
+                shardFile.delete();
+                IStateHistoryBackend backend = StateHistoryBackendFactory.createHistoryTreeBackendNewFile(
+                        getShardId(i), shardFile, SpanLifeStateProvider.VERSION, trace.getStartTime().toNanos(), QUEUE_SIZE);
+                builders.add(StateSystemFactory.newStateSystem(backend));
+            }
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error creating the span life shards, the analysis is not partitioned", e); //$NON-NLS-1$
+            builders.forEach(ITmfStateSystemBuilder::removeFiles);
+            return;
+        }
+        fShardBuilders = builders;
+        fShardStateSystems = Collections.unmodifiableList(new ArrayList<>(builders));
+    }
+
+    private String getShardId(int shard) {
+        return getId() + ".shard" + shard + '-' + fNbShards; //$NON-NLS-1$
+    }
+
+    @Override
+    public @NonNull Iterable<@NonNull ITmfStateSystem> getStateSystems() {
+        return Iterables.concat(super.getStateSystems(), fShardStateSystems);
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        disposeShards();
+    }
+
+    private void disposeShards() {
+        fShardStateSystems.forEach(ITmfStateSystem::dispose);
+        fShardStateSystems = Collections.emptyList();
+        fShardBuilders = null;
+    }
 }
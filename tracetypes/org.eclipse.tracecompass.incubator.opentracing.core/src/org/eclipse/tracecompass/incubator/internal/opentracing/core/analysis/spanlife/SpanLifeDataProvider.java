@@ -70,6 +70,11 @@ import com.google.common.collect.TreeMultimap;
 
 /**
  * Data provider that will show the object lifespans.
+ * <p>
+ * When the analysis is partitioned, the entries of the state systems of all
+ * the shards are shown under the same root. The entries of a shard are then
+ * keyed by their quark times the number of shards, plus the index of the
+ * shard, to keep the keys unique.
  *
  * @author Katherine Nadeau
  *
@@ -93,6 +98,25 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
      */
     public static final String SUFFIX = ".dataprovider"; //$NON-NLS-1$
 
+    /**
+     * State system of a shard, with its index to key its entries
+     */
+    private static final class ShardStateSystem {
+        private final ITmfStateSystem fSs;
+        private final int fShard;
+        private final int fNbShards;
+
+        public ShardStateSystem(ITmfStateSystem ss, int shard, int nbShards) {
+            fSs = ss;
+            fShard = shard;
+            fNbShards = nbShards;
+        }
+
+        public int getKey(int quark) {
+            return quark * fNbShards + fShard;
+        }
+    }
+
     /**
      * Constructor
      *
@@ -128,16 +152,20 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
         if (ss == null || quarks.size() != 1 || !getAnalysisModule().isQueryable(hoverTime)) {
             return new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
         }
+        List<ITmfStateSystem> stateSystems = getSpanStateSystems(ss);
+        int key = quarks.iterator().next();
+        ss = stateSystems.get(Math.floorMod(key, stateSystems.size()));
+        int quark = Math.floorDiv(key, stateSystems.size());
 
         int traceLogsQuark = ITmfStateSystem.INVALID_ATTRIBUTE;
         try {
-            String traceId = ss.getFullAttributePathArray(quarks.iterator().next())[0];
+            String traceId = ss.getFullAttributePathArray(quark)[0];
             traceLogsQuark = ss.getQuarkRelative(ss.getQuarkAbsolute(traceId), IOpenTracingConstants.LOGS);
         } catch (AttributeNotFoundException e) {
             return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
         }
 
-        int spanLogQuark = getLogQuark(ss, ss.getAttributeName(quarks.iterator().next()), ss.getSubAttributes(traceLogsQuark, false));
+        int spanLogQuark = getLogQuark(ss, ss.getAttributeName(quark), ss.getSubAttributes(traceLogsQuark, false));
 
         try {
             Map<@NonNull String, @NonNull String> retMap = new HashMap<>();
@@ -167,6 +195,19 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
         }
     }
 
+    /**
+     * Get the state systems with the spans
+     *
+     * @param ss
+     *            the state system of the analysis
+     * @return the state systems of the shards if the analysis is partitioned,
+     *         the state system of the analysis otherwise
+     */
+    private List<ITmfStateSystem> getSpanStateSystems(ITmfStateSystem ss) {
+        List<ITmfStateSystem> shards = getAnalysisModule().getShardStateSystems();
+        return shards.isEmpty() ? Collections.singletonList(ss) : shards;
+    }
+
     @Override
     public @NonNull String getId() {
         return getAnalysisModule().getId() + SUFFIX;
@@ -178,13 +219,27 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
                 Comparator.comparing(ITmfStateInterval::getStartTime));
         SelectionTimeQueryFilter filter = FetchParametersUtils.createSelectionTimeQuery(parameters);
         Map<@NonNull Long, @NonNull Integer> entries = getSelectedEntries(filter);
-        Collection<Long> times = getTimes(filter, ss.getStartTime(), ss.getCurrentEndTime());
-        /* Do the actual query */
-        for (ITmfStateInterval interval : ss.query2D(entries.values(), times)) {
-            if (monitor != null && monitor.isCanceled()) {
-                return new TimeGraphModel(Collections.emptyList());
+        List<ITmfStateSystem> stateSystems = getSpanStateSystems(ss);
+        int nbShards = stateSystems.size();
+        for (int shard = 0; shard < nbShards; shard++) {
+            ITmfStateSystem shardSs = stateSystems.get(shard);
+            List<Integer> quarks = new ArrayList<>();
+            for (int key : entries.values()) {
+                if (Math.floorMod(key, nbShards) == shard) {
+                    quarks.add(Math.floorDiv(key, nbShards));
+                }
+            }
+            if (quarks.isEmpty()) {
+                continue;
+            }
+            Collection<Long> times = getTimes(filter, shardSs.getStartTime(), shardSs.getCurrentEndTime());
+            /* Do the actual query */
+            for (ITmfStateInterval interval : shardSs.query2D(quarks, times)) {
+                if (monitor != null && monitor.isCanceled()) {
+                    return new TimeGraphModel(Collections.emptyList());
+                }
+                intervals.put(interval.getAttribute() * nbShards + shard, interval);
             }
-            intervals.put(interval.getAttribute(), interval);
         }
         Map<@NonNull Integer, @NonNull Predicate<@NonNull Multimap<@NonNull String, @NonNull Object>>> predicates = new HashMap<>();
         Multimap<@NonNull Integer, @NonNull String> regexesMap = DataProviderParameterUtils.extractRegexFilter(parameters);
@@ -219,17 +274,28 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
     @Override
     protected @NonNull TmfTreeModel<@NonNull TimeGraphEntryModel> getTree(@NonNull ITmfStateSystem ss, Map<String, Object> parameters, @Nullable IProgressMonitor monitor) throws StateSystemDisposedException {
         Builder<@NonNull TimeGraphEntryModel> builder = new Builder<>();
+        List<ITmfStateSystem> stateSystems = getSpanStateSystems(ss);
+        long startTime = ss.getStartTime();
+        long endTime = ss.getCurrentEndTime();
+        for (ITmfStateSystem shardSs : stateSystems) {
+            startTime = Math.min(startTime, shardSs.getStartTime());
+            endTime = Math.max(endTime, shardSs.getCurrentEndTime());
+        }
         long rootId = getId(ITmfStateSystem.ROOT_ATTRIBUTE);
-        builder.add(new TimeGraphEntryModel(rootId, -1, Collections.singletonList(String.valueOf(getTrace().getName())), ss.getStartTime(), ss.getCurrentEndTime()));
+        builder.add(new TimeGraphEntryModel(rootId, -1, Collections.singletonList(String.valueOf(getTrace().getName())), startTime, endTime));
 
-        for (int traceQuark : ss.getSubAttributes(ITmfStateSystem.ROOT_ATTRIBUTE, false)) {
-            addTrace(ss, builder, traceQuark, rootId);
+        for (int shard = 0; shard < stateSystems.size(); shard++) {
+            ShardStateSystem shardSs = new ShardStateSystem(stateSystems.get(shard), shard, stateSystems.size());
+            for (int traceQuark : shardSs.fSs.getSubAttributes(ITmfStateSystem.ROOT_ATTRIBUTE, false)) {
+                addTrace(shardSs, builder, traceQuark, rootId);
+            }
         }
 
         return new TmfTreeModel<>(Collections.emptyList(), builder.build());
     }
 
-    private void addTrace(ITmfStateSystem ss, Builder<@NonNull TimeGraphEntryModel> builder, int quark, long parentId) {
+    private void addTrace(ShardStateSystem shardSs, Builder<@NonNull TimeGraphEntryModel> builder, int quark, long parentId) {
+        ITmfStateSystem ss = shardSs.fSs;
         List<@NonNull Integer> logsQuarks;
         try {
             int logsQuark = ss.getQuarkRelative(quark, IOpenTracingConstants.LOGS);
@@ -245,22 +311,23 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
             return;
         }
 
-        long traceQuarkId = getId(quark);
+        long traceQuarkId = getId(shardSs.getKey(quark));
         builder.add(new TimeGraphEntryModel(traceQuarkId, parentId, Collections.singletonList(ss.getAttributeName(quark)), ss.getStartTime(), ss.getCurrentEndTime()));
 
         int ustSpansQuark;
         try {
             ustSpansQuark = ss.getQuarkRelative(quark, SpanLifeStateProvider.UST_ATTRIBUTE);
         } catch (AttributeNotFoundException e) {
-            addChildren(ss, builder, openTracingSpansQuark, traceQuarkId, logsQuarks);
+            addChildren(shardSs, builder, openTracingSpansQuark, traceQuarkId, logsQuarks);
             return;
         }
-        addUstChildren(ss, builder, openTracingSpansQuark, ustSpansQuark, traceQuarkId, logsQuarks);
+        addUstChildren(shardSs, builder, openTracingSpansQuark, ustSpansQuark, traceQuarkId, logsQuarks);
     }
 
-    private void addChildren(ITmfStateSystem ss, Builder<@NonNull TimeGraphEntryModel> builder, int quark, long parentId, List<Integer> logsQuarks) {
+    private void addChildren(ShardStateSystem shardSs, Builder<@NonNull TimeGraphEntryModel> builder, int quark, long parentId, List<Integer> logsQuarks) {
+        ITmfStateSystem ss = shardSs.fSs;
         for (Integer child : ss.getSubAttributes(quark, false)) {
-            long childId = getId(child);
+            long childId = getId(shardSs.getKey(child));
             String childName = ss.getAttributeName(child);
             if (!childName.equals(IOpenTracingConstants.LOGS)) {
                 List<LogEvent> logs = new ArrayList<>();
@@ -275,12 +342,13 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
                 } catch (IndexOutOfBoundsException | TimeRangeException | StateSystemDisposedException e) {
                 }
                 builder.add(new SpanLifeEntryModel(childId, parentId, Collections.singletonList(getSpanName(childName)), ss.getStartTime(), ss.getCurrentEndTime(), logs, getErrorTag(childName), getProcessName(childName)));
-                addChildren(ss, builder, child, childId, logsQuarks);
+                addChildren(shardSs, builder, child, childId, logsQuarks);
             }
         }
     }
 
-    private void addUstChildren(ITmfStateSystem ss, Builder<@NonNull TimeGraphEntryModel> builder, int openTracingQuark, int ustQuark, long parentId, List<Integer> logsQuarks) {
+    private void addUstChildren(ShardStateSystem shardSs, Builder<@NonNull TimeGraphEntryModel> builder, int openTracingQuark, int ustQuark, long parentId, List<Integer> logsQuarks) {
+        ITmfStateSystem ss = shardSs.fSs;
         for (Integer child : ss.getSubAttributes(openTracingQuark, false)) {
             String childName = ss.getAttributeName(child);
 
@@ -303,9 +371,25 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
             } catch (AttributeNotFoundException e) {
                 return;
             }
-            long childId = getId(ustSpan);
+            long childId = getId(shardSs.getKey(ustSpan));
             builder.add(new SpanLifeEntryModel(childId, parentId, Collections.singletonList(getSpanName(childName)), ss.getStartTime(), ss.getCurrentEndTime(), logs, getErrorTag(childName), getProcessName(childName)));
-            addUstChildren(ss, builder, child, ustQuark, childId, logsQuarks);
+            addUstChildren(shardSs, builder, child, ustQuark, childId, logsQuarks);
+        }
+    }
+
+    /**
+     * Get the log quark of a span, in the logs of the trace of the span
+     */
+    private static int getSpanLogQuark(ITmfStateSystem ss, int quark) {
+        try {
+            int traceQuark = ss.getQuarkAbsolute(ss.getFullAttributePathArray(quark)[0]);
+            if (traceQuark == quark) {
+                return ITmfStateSystem.INVALID_ATTRIBUTE;
+            }
+            int traceLogsQuark = ss.getQuarkRelative(traceQuark, IOpenTracingConstants.LOGS);
+            return getLogQuark(ss, ss.getAttributeName(quark), ss.getSubAttributes(traceLogsQuark, false));
+        } catch (AttributeNotFoundException | IndexOutOfBoundsException e) {
+            return ITmfStateSystem.INVALID_ATTRIBUTE;
         }
     }
 
@@ -366,8 +450,11 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
         if (ss == null) {
             return new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
         }
-        List<Integer> quarks = ss.getQuarks("*", IOpenTracingConstants.LOGS); //$NON-NLS-1$
-        if (quarks.isEmpty()) {
+        boolean hasLogs = false;
+        for (ITmfStateSystem spanSs : getSpanStateSystems(ss)) {
+            hasLogs |= !spanSs.getQuarks("*", IOpenTracingConstants.LOGS).isEmpty(); //$NON-NLS-1$
+        }
+        if (!hasLogs) {
             return new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
         }
         return new TmfModelResponse<>(new AnnotationCategoriesModel(Arrays.asList(IOpenTracingConstants.LOGS)), Status.COMPLETED, IOpenTracingConstants.LOGS);
@@ -391,33 +478,31 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
         if (ss == null || quarks.isEmpty()) {
             return new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
         }
+        List<ITmfStateSystem> stateSystems = getSpanStateSystems(ss);
+        int nbShards = stateSystems.size();
         Map<Integer, Long> lookup = new HashMap<>();
         for (Entry<Long, Integer> entry : entries.entrySet()) {
             lookup.put(entry.getValue(), entry.getKey());
         }
 
-        int traceQuark = ITmfStateSystem.INVALID_ATTRIBUTE;
-        int traceLogsQuark = ITmfStateSystem.INVALID_ATTRIBUTE;
-        try {
-            String traceId = ss.getFullAttributePathArray(quarks.iterator().next())[0];
-            traceQuark = ss.getQuarkAbsolute(traceId);
-            traceLogsQuark = ss.getQuarkRelative(traceQuark, IOpenTracingConstants.LOGS);
-        } catch (AttributeNotFoundException e) {
-            return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
-        }
-
+        // The log quarks of the selected spans, for each shard
         Map<Integer, Long> spanLookup = new HashMap<>();
-        List<Integer> spanLogQuarks = new ArrayList<>();
-        quarks.remove(traceQuark);
-        for (int quark : quarks) {
-            int spanLogQuark = getLogQuark(ss, ss.getAttributeName(quark), ss.getSubAttributes(traceLogsQuark, false));
+        List<List<Integer>> spanLogQuarks = new ArrayList<>();
+        boolean hasLogs = false;
+        for (int shard = 0; shard < nbShards; shard++) {
+            spanLogQuarks.add(new ArrayList<>());
+        }
+        for (int key : quarks) {
+            int shard = Math.floorMod(key, nbShards);
+            int spanLogQuark = getSpanLogQuark(stateSystems.get(shard), Math.floorDiv(key, nbShards));
             if (spanLogQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
-                spanLogQuarks.add(spanLogQuark);
-                Long value = lookup.get(quark);
-                spanLookup.put(spanLogQuark, Objects.requireNonNull(value));
+                spanLogQuarks.get(shard).add(spanLogQuark);
+                Long value = lookup.get(key);
+                spanLookup.put(spanLogQuark * nbShards + shard, Objects.requireNonNull(value));
+                hasLogs = true;
             }
         }
-        if (spanLogQuarks.isEmpty()) {
+        if (!hasLogs) {
             return new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
         }
         List<Annotation> annotations = new ArrayList<>();
@@ -428,16 +513,18 @@ public class SpanLifeDataProvider extends AbstractTimeGraphDataProvider<@NonNull
                 StyleProperties.SYMBOL_TYPE, SymbolType.INVERTED_TRIANGLE));
         try {
             long[] timesRequested = filter.getTimesRequested();
-            for (int logQuark : spanLogQuarks) {
-                QuarkIterator iter = new StateSystemUtils.QuarkIterator(ss, logQuark, timesRequested[0], timesRequested[timesRequested.length - 1]);
-                while (iter.hasNext()) {
-                    ITmfStateInterval interval = iter.next();
-                    if (interval.getValue() != null) {
-                        Long entryId = spanLookup.get(interval.getAttribute());
-                        if (entryId == null) {
-                            entryId = -1L;
+            for (int shard = 0; shard < nbShards; shard++) {
+                for (int logQuark : spanLogQuarks.get(shard)) {
+                    QuarkIterator iter = new StateSystemUtils.QuarkIterator(stateSystems.get(shard), logQuark, timesRequested[0], timesRequested[timesRequested.length - 1]);
+                    while (iter.hasNext()) {
+                        ITmfStateInterval interval = iter.next();
+                        if (interval.getValue() != null) {
+                            Long entryId = spanLookup.get(interval.getAttribute() * nbShards + shard);
+                            if (entryId == null) {
+                                entryId = -1L;
+                            }
+                            annotations.add(new Annotation(interval.getStartTime(), interval.getEndTime() - interval.getStartTime(), entryId, "", style));
                         }
-                        annotations.add(new Annotation(interval.getStartTime(), interval.getEndTime() - interval.getStartTime(), entryId, "", style));
                     }
                 }
             }
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.analysis.spanlife;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+
+/**
+ * Builds the span life attributes of a set of traces in a state system. The
+ * spans of a trace never interact with the spans of another trace, so the
+ * traces can be split by trace ID between many shards, each with its own state
+ * system.
+ * <p>
+ * The spans of a trace are kept to find the parent of the following spans.
+ * When the traces are evicted, in the partitioned mode, they are only kept
+ * until the time of the events passes the end of all the spans of the trace. A
+ * span that starts after its parent ended and was evicted is then shown at the
+ * root of its trace, like a span whose parent is not in the trace.
+ * <p>
+ * A shard is not thread safe, its events must be handled by a single thread,
+ * in timestamp order.
+ */
+class SpanLifeShard {
+
+    private static final String OPEN_TRACING_SPAN = "OpenTracingSpan"; //$NON-NLS-1$
+    private static final String UST_START_SPAN = "jaeger_ust:start_span"; //$NON-NLS-1$
+    private static final String UST_END_SPAN = "jaeger_ust:end_span"; //$NON-NLS-1$
+    private static final String UST_TRACE_ID = "trace_id_low"; //$NON-NLS-1$
+
+    /**
+     * End time of the spans of a trace, when it was queued for eviction
+     */
+    private static final class TraceEnd {
+        private final long fTime;
+        private final String fTraceId;
+
+        public TraceEnd(long time, String traceId) {
+            fTime = time;
+            fTraceId = traceId;
+        }
+    }
+
+    private final ITmfStateSystemBuilder fSs;
+    private final boolean fEvictTraces;
+    private final Map<String, BiConsumer<ITmfEvent, String>> fHandlers = new HashMap<>();
+    /* Span ID to span quark, for each trace ID */
+    private final Map<String, Map<String, Integer>> fSpanMaps = new HashMap<>();
+    /* End time of the spans of each trace in the span maps */
+    private final Map<String, Long> fTraceEnds = new HashMap<>();
+    private final PriorityQueue<TraceEnd> fEvictionQueue = new PriorityQueue<>(Comparator.comparingLong(traceEnd -> traceEnd.fTime));
+    private long fEndTime = Long.MIN_VALUE;
+
+    /**
+     * Constructor
+     *
+     * @param ss
+     *            the state system to build
+     * @param evictTraces
+     *            whether the spans of a trace are dropped once the time of the
+     *            events passes their end, to bound the memory used
+     */
+    public SpanLifeShard(ITmfStateSystemBuilder ss, boolean evictTraces) {
+        fSs = ss;
+        fEvictTraces = evictTraces;
+        fHandlers.put(OPEN_TRACING_SPAN, this::handleSpan);
+        fHandlers.put(UST_START_SPAN, this::handleStart);
+        fHandlers.put(UST_END_SPAN, this::handleEnd);
+    }
+
+    /**
+     * Get the trace ID of an event, used to choose the shard of the event
+     *
+     * @param event
+     *            the event
+     * @return the trace ID, or null if the event is not handled by the shards
+     */
+    public static @Nullable String getTraceId(ITmfEvent event) {
+        String type = event.getType().getName();
+        if (OPEN_TRACING_SPAN.equals(type)) {
+            return event.getContent().getFieldValue(String.class, IOpenTracingConstants.TRACE_ID);
+        }
+        if (UST_START_SPAN.equals(type) || UST_END_SPAN.equals(type)) {
+            String traceId = event.getContent().getFieldValue(String.class, UST_TRACE_ID);
+            return traceId == null ? null : Long.toHexString(Long.decode(traceId));
+        }
+        return null;
+    }
+
+    /**
+     * Get the state system built by this shard
+     *
+     * @return the state system builder
+     */
+    public ITmfStateSystemBuilder getStateSystem() {
+        return fSs;
+    }
+
+    /**
+     * Get the number of traces whose spans are kept to find the parent of the
+     * next spans
+     *
+     * @return the number of traces
+     */
+    public int getNbActiveTraces() {
+        return fSpanMaps.size();
+    }
+
+    /**
+     * Handle an event
+     *
+     * @param event
+     *            the event, with a timestamp greater or equal to the one of
+     *            the previous event
+     */
+    public void handleEvent(ITmfEvent event) {
+        String traceId = getTraceId(event);
+        if (traceId == null) {
+            return;
+        }
+        BiConsumer<ITmfEvent, String> handler = fHandlers.get(event.getType().getName());
+        if (handler != null) {
+            long timestamp = event.getTimestamp().toNanos();
+            if (fEvictTraces) {
+                evictTraces(timestamp);
+            }
+            updateEndTime(timestamp);
+            handler.accept(event, traceId);
+        }
+    }
+
+    /**
+     * Close the history of the state system
+     *
+     * @param endTime
+     *            the time of the last event of the trace, the history ends at
+     *            this time or at the end of the last span, whichever is last
+     */
+    public void close(long endTime) {
+        fSpanMaps.clear();
+        fTraceEnds.clear();
+        fEvictionQueue.clear();
+        fSs.closeHistory(Math.max(endTime, fEndTime));
+    }
+
+    private void updateEndTime(long time) {
+        fEndTime = Math.max(fEndTime, time);
+    }
+
+    private void evictTraces(long timestamp) {
+        TraceEnd traceEnd = fEvictionQueue.peek();
+        while (traceEnd != null && traceEnd.fTime < timestamp) {
+            fEvictionQueue.poll();
+            Long end = fTraceEnds.get(traceEnd.fTraceId);
+            // Entries for a trace whose end moved since are stale, skip them
+            if (end != null && end == traceEnd.fTime) {
+                fTraceEnds.remove(traceEnd.fTraceId);
+                fSpanMaps.remove(traceEnd.fTraceId);
+            }
+            traceEnd = fEvictionQueue.peek();
+        }
+    }
+
+    private void addSpan(String traceId, String spanId, int spanQuark, long endTime) {
+        fSpanMaps.computeIfAbsent(traceId, id -> new HashMap<>()).put(spanId, spanQuark);
+        if (!fEvictTraces) {
+            return;
+        }
+        Long traceEnd = fTraceEnds.get(traceId);
+        if (traceEnd == null || traceEnd < endTime) {
+            fTraceEnds.put(traceId, endTime);
+            fEvictionQueue.add(new TraceEnd(endTime, traceId));
+        }
+    }
+
+    private void handleSpan(ITmfEvent event, String traceId) {
+        ITmfStateSystemBuilder ss = fSs;
+        long timestamp = event.getTimestamp().toNanos();
+        Long duration = event.getContent().getFieldValue(Long.class, IOpenTracingConstants.DURATION);
+        if (duration == null) {
+            return;
+        }
+
+        int traceQuark = ss.getQuarkAbsoluteAndAdd(traceId);
+
+        int openTracingSpansQuark = ss.getQuarkRelativeAndAdd(traceQuark, SpanLifeStateProvider.OPEN_TRACING_ATTRIBUTE);
+
+        Boolean errorTag = Boolean.parseBoolean(event.getContent().getFieldValue(String.class, IOpenTracingConstants.TAGS + "/error")); //$NON-NLS-1$
+        String processName = event.getContent().getFieldValue(String.class, IOpenTracingConstants.PROCESS_NAME);
+
+        int spanQuark;
+        String name = String.valueOf(TmfTraceUtils.resolveAspectOfNameForEvent(event.getTrace(), "Name", event)); //$NON-NLS-1$
+        String spanId = event.getContent().getFieldValue(String.class, IOpenTracingConstants.SPAN_ID);
+        String refId = event.getContent().getFieldValue(String.class, IOpenTracingConstants.REFERENCES + "/CHILD_OF"); //$NON-NLS-1$
+        if (refId == null) {
+            spanQuark = ss.getQuarkRelativeAndAdd(openTracingSpansQuark, name + '/' + spanId + '/' + errorTag + '/' + processName);
+        } else {
+            Map<String, Integer> spanMap = fSpanMaps.get(traceId);
+            Integer parentQuark = spanMap == null ? null : spanMap.get(refId);
+            if (parentQuark == null) {
+                // We don't have the parent span, just start this span at root
+                parentQuark = openTracingSpansQuark;
+            }
+            spanQuark = ss.getQuarkRelativeAndAdd(parentQuark, name + '/' + spanId + '/' + errorTag + '/' + processName);
+        }
+
+        ss.modifyAttribute(timestamp, name, spanQuark);
+
+        Map<Long, Map<String, String>> logs = event.getContent().getFieldValue(Map.class, IOpenTracingConstants.LOGS);
+        if (logs != null) {
+            // We put all the logs in the state system under the LOGS attribute
+            Integer logsQuark = ss.getQuarkRelativeAndAdd(traceQuark, IOpenTracingConstants.LOGS);
+            for (Map.Entry<Long, Map<String, String>> log : logs.entrySet()) {
+                List<String> logString = new ArrayList<>();
+                for (Map.Entry<String, String> entry : log.getValue().entrySet()) {
+                    logString.add(entry.getKey() + ':' + entry.getValue());
+                }
+                // One attribute for each span where each state value is the logs at the
+                // timestamp
+                // corresponding to the start time of the state
+                Integer logQuark = ss.getQuarkRelativeAndAdd(logsQuark, String.valueOf(spanId));
+                Long logTimestamp = log.getKey();
+                ss.modifyAttribute(logTimestamp, String.join("~", logString), logQuark); //$NON-NLS-1$
+                ss.modifyAttribute(logTimestamp + 1, (Object) null, logQuark);
+                updateEndTime(logTimestamp + 1);
+            }
+        }
+
+        long endTime = timestamp + duration;
+        ss.modifyAttribute(endTime, (Object) null, spanQuark);
+        updateEndTime(endTime);
+        if (spanId != null) {
+            addSpan(traceId, spanId, spanQuark, endTime);
+        }
+    }
+
+    private void handleStart(ITmfEvent event, String traceId) {
+        ITmfStateSystemBuilder ss = fSs;
+        int traceQuark = ss.getQuarkAbsoluteAndAdd(traceId);
+
+        int ustSpansQuark = ss.getQuarkRelativeAndAdd(traceQuark, SpanLifeStateProvider.UST_ATTRIBUTE);
+
+        String spanId = event.getContent().getFieldValue(String.class, "span_id"); //$NON-NLS-1$
+        spanId = Long.toHexString(Long.decode(spanId));
+        int spanQuark = ss.getQuarkRelativeAndAdd(ustSpansQuark, spanId);
+
+        long timestamp = event.getTimestamp().toNanos();
+        String name = event.getContent().getFieldValue(String.class, "op_name"); //$NON-NLS-1$
+        ss.modifyAttribute(timestamp, name, spanQuark);
+    }
+
+    private void handleEnd(ITmfEvent event, String traceId) {
+        ITmfStateSystemBuilder ss = fSs;
+        int traceQuark = ss.getQuarkAbsoluteAndAdd(traceId);
+
+        int ustSpansQuark = ss.getQuarkRelativeAndAdd(traceQuark, SpanLifeStateProvider.UST_ATTRIBUTE);
+
+        String spanId = event.getContent().getFieldValue(String.class, "span_id"); //$NON-NLS-1$
+        spanId = Long.toHexString(Long.decode(spanId));
+        int spanQuark = ss.getQuarkRelativeAndAdd(ustSpansQuark, spanId);
+
+        long timestamp = event.getTimestamp().toNanos();
+        ss.modifyAttribute(timestamp, (Object) null, spanQuark);
+    }
+}
@@ -12,22 +12,31 @@
 package org.eclipse.tracecompass.incubator.internal.opentracing.core.analysis.spanlife;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.function.BiConsumer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import org.eclipse.jdt.annotation.NonNull;
-import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.Activator;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.statesystem.AbstractTmfStateProvider;
 import org.eclipse.tracecompass.tmf.core.statesystem.ITmfStateProvider;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
-import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
 
 /**
  * Span life state provider
+ * <p>
+ * In the partitioned mode, the traces are split by trace ID between shards,
+ * each building its own state system on its own thread, and the state system
+ * of this provider is left empty. The spans of a trace are then dropped once
+ * the time of the events passes their end, so a span starting after the end
+ * of its parent is shown at the root of its trace. See
+ * {@link SpanLifeAnalysis}. If the events cannot be passed to the shards, the
+ * build is cancelled and the shards are removed, so they are built again the
+ * next time the analysis is executed.
  *
  * @author Katherine Nadeau
  *
@@ -44,9 +53,74 @@ public class SpanLifeStateProvider extends AbstractTmfStateProvider {
      */
     public static final String UST_ATTRIBUTE = "ustSpans"; //$NON-NLS-1$
 
-    private final Map<String, Integer> fSpanMap;
+    /**
+     * Version of the state systems built by this provider
+     */
+    static final int VERSION = 4;
+
+    private static final int BATCH_SIZE = 256;
+    private static final int QUEUE_SIZE = 64;
+
+    /**
+     * Thread handling the events of a shard, by batches
+     */
+    private static final class ShardWorker implements Runnable {
+        private final SpanLifeShard fShard;
+        private final BlockingQueue<List<ITmfEvent>> fQueue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        private final Thread fThread;
+        private List<ITmfEvent> fBatch = new ArrayList<>(BATCH_SIZE);
+
+        public ShardWorker(SpanLifeShard shard, String name) {
+            fShard = shard;
+            fThread = new Thread(this, name);
+        }
+
+        public void add(ITmfEvent event) throws InterruptedException {
+            fBatch.add(event);
+            if (fBatch.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        public void flush() throws InterruptedException {
+            if (!fBatch.isEmpty()) {
+                fQueue.put(fBatch);
+                fBatch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<ITmfEvent> batch = fQueue.take();
+                // An empty batch is the end of the events
+                while (!batch.isEmpty()) {
+                    for (ITmfEvent event : batch) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            // The build was cancelled
+                            return;
+                        }
+                        try {
+                            fShard.handleEvent(event);
+                        } catch (RuntimeException e) {
+                            Activator.getInstance().logError("Error handling event " + event + " in " + fThread.getName(), e); //$NON-NLS-1$ //$NON-NLS-2$
+                        }
+                    }
+                    batch = fQueue.take();
+                }
+            } catch (InterruptedException e) {
+                // The build was cancelled
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 
-    private final Map<String, BiConsumer<ITmfEvent, ITmfStateSystemBuilder>> fHandlers;
+    private final List<ITmfStateSystemBuilder> fShardStateSystems;
+    private final List<ShardWorker> fWorkers = new ArrayList<>();
+    private final Runnable fCancel;
+    private volatile boolean fShardsIncomplete = false;
+    private @Nullable SpanLifeShard fShard = null;
+    private long fLastTimestamp = Long.MIN_VALUE;
 
     /**
      * Constructor
@@ -55,19 +129,41 @@ public class SpanLifeStateProvider extends AbstractTmfStateProvider {
      *            the trace to follow
      */
     public SpanLifeStateProvider(ITmfTrace trace) {
+        this(trace, Collections.emptyList(), () -> {
+            // Nothing to cancel, the events are not passed to shards
+        });
+    }
+
+    /**
+     * Constructor for the partitioned mode
+     *
+     * @param trace
+     *            the trace to follow
+     * @param shardStateSystems
+     *            the state systems of the shards, the events of a trace go to
+     *            the shard at the index of the hash of its trace ID. If there
+     *            are none, the spans are in the state system of this provider.
+     * @param cancel
+     *            cancels the build of the analysis, if the events cannot be
+     *            passed to the shards
+     */
+    public SpanLifeStateProvider(ITmfTrace trace, List<ITmfStateSystemBuilder> shardStateSystems, Runnable cancel) {
         super(trace, SpanLifeAnalysis.ID);
-        fSpanMap = new HashMap<>();
-        fHandlers = new HashMap<>();
-        fHandlers.put("OpenTracingSpan", this::handleSpan); //$NON-NLS-1$
-        fHandlers.put("jaeger_ust:start_span", this::handleStart); //$NON-NLS-1$
-        fHandlers.put("jaeger_ust:end_span", this::handleEnd); //$NON-NLS-1$
+        fShardStateSystems = shardStateSystems;
+        fCancel = cancel;
     }
 
     @Override
     public int getVersion() {
-        return 3;
+        return VERSION;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The new instance is never partitioned, as it cannot share the state
+     * systems of the shards.
+     */
     @Override
     public @NonNull ITmfStateProvider getNewInstance() {
         return new SpanLifeStateProvider(getTrace());
@@ -75,101 +171,109 @@ public class SpanLifeStateProvider extends AbstractTmfStateProvider {
 
     @Override
     protected void eventHandle(@NonNull ITmfEvent event) {
-        ITmfStateSystemBuilder ss = getStateSystemBuilder();
-        if (ss == null) {
+        fLastTimestamp = event.getTimestamp().toNanos();
+        if (fShardStateSystems.isEmpty()) {
+            SpanLifeShard shard = fShard;
+            if (shard == null) {
+                ITmfStateSystemBuilder ss = getStateSystemBuilder();
+                if (ss == null) {
+                    return;
+                }
+                shard = new SpanLifeShard(ss, false);
+                fShard = shard;
+            }
+            shard.handleEvent(event);
+            return;
+        }
+        String traceId = SpanLifeShard.getTraceId(event);
+        if (traceId == null || fShardsIncomplete) {
             return;
         }
-        BiConsumer<ITmfEvent, ITmfStateSystemBuilder> handler = fHandlers.get(event.getType().getName());
-        if (handler != null) {
-            handler.accept(event, ss);
+        List<ShardWorker> workers = getWorkers();
+        try {
+            workers.get(Math.floorMod(traceId.hashCode(), workers.size())).add(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelShards(e);
         }
     }
 
-    private void handleSpan(ITmfEvent event, ITmfStateSystemBuilder ss) {
-        long timestamp = event.getTimestamp().toNanos();
-        Long duration = event.getContent().getFieldValue(Long.class, IOpenTracingConstants.DURATION);
-        if (duration == null) {
-            return;
+    /**
+     * Whether the shards miss events because the build was interrupted
+     *
+     * @return true if the shards are incomplete
+     */
+    public boolean areShardsIncomplete() {
+        return fShardsIncomplete;
+    }
+
+    /**
+     * Stop the partitioned build once an event could not be passed to its
+     * shard, as the shards would otherwise silently miss all the next events
+     */
+    private void cancelShards(InterruptedException e) {
+        fShardsIncomplete = true;
+        Activator.getInstance().logError("Interrupted while passing the events of " + getTrace().getName() + " to the span life shards, the build is cancelled", e); //$NON-NLS-1$ //$NON-NLS-2$
+        for (ShardWorker worker : fWorkers) {
+            worker.fThread.interrupt();
         }
+        fCancel.run();
+    }
 
-        String traceId = event.getContent().getFieldValue(String.class, IOpenTracingConstants.TRACE_ID);
-        int traceQuark = ss.getQuarkAbsoluteAndAdd(traceId);
-
-        int openTracingSpansQuark = ss.getQuarkRelativeAndAdd(traceQuark, OPEN_TRACING_ATTRIBUTE);
-
-        Boolean errorTag = Boolean.parseBoolean(event.getContent().getFieldValue(String.class, IOpenTracingConstants.TAGS + "/error")); //$NON-NLS-1$
-        String processName = event.getContent().getFieldValue(String.class, IOpenTracingConstants.PROCESS_NAME);
-
-        int spanQuark;
-        String name = String.valueOf(TmfTraceUtils.resolveAspectOfNameForEvent(event.getTrace(), "Name", event)); //$NON-NLS-1$
-        String spanId = event.getContent().getFieldValue(String.class, IOpenTracingConstants.SPAN_ID);
-        String refId = event.getContent().getFieldValue(String.class, IOpenTracingConstants.REFERENCES + "/CHILD_OF"); //$NON-NLS-1$
-        if (refId == null) {
-            spanQuark = ss.getQuarkRelativeAndAdd(openTracingSpansQuark, name + '/' + spanId + '/' + errorTag + '/' + processName);
-        } else {
-            Integer parentQuark = fSpanMap.get(refId);
-            if (parentQuark == null) {
-                // We don't have the parent span, just start this span at root
-                parentQuark = openTracingSpansQuark;
+    private List<ShardWorker> getWorkers() {
+        if (fWorkers.isEmpty()) {
+            for (int i = 0; i < fShardStateSystems.size(); i++) {
+                ShardWorker worker = new ShardWorker(new SpanLifeShard(fShardStateSystems.get(i), true), "Span life shard " + i + " of " + getTrace().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+                fWorkers.add(worker);
+                worker.fThread.start();
             }
-            spanQuark = ss.getQuarkRelativeAndAdd(parentQuark, name + '/' + spanId + '/' + errorTag + '/' + processName);
         }
+        return fWorkers;
+    }
 
-        ss.modifyAttribute(timestamp, name, spanQuark);
-
-        Map<Long, Map<String, String>> logs = event.getContent().getFieldValue(Map.class, IOpenTracingConstants.LOGS);
-        if (logs != null) {
-            // We put all the logs in the state system under the LOGS attribute
-            Integer logsQuark = ss.getQuarkRelativeAndAdd(traceQuark, IOpenTracingConstants.LOGS);
-            for (Map.Entry<Long, Map<String, String>> log : logs.entrySet()) {
-                List<String> logString = new ArrayList<>();
-                for (Map.Entry<String, String> entry : log.getValue().entrySet()) {
-                    logString.add(entry.getKey() + ':' + entry.getValue());
-                }
-                // One attribute for each span where each state value is the logs at the
-                // timestamp
-                // corresponding to the start time of the state
-                Integer logQuark = ss.getQuarkRelativeAndAdd(logsQuark, spanId);
-                Long logTimestamp = log.getKey();
-                ss.modifyAttribute(logTimestamp, String.join("~", logString), logQuark); //$NON-NLS-1$
-                ss.modifyAttribute(logTimestamp + 1, (Object) null, logQuark);
+    @Override
+    public void done() {
+        if (fShardStateSystems.isEmpty() || fShardsIncomplete) {
+            return;
+        }
+        /* Wait for the shards to handle their last events before closing them */
+        List<ShardWorker> workers = getWorkers();
+        try {
+            for (ShardWorker worker : workers) {
+                worker.flush();
+                worker.fQueue.put(Collections.emptyList());
+            }
+            for (ShardWorker worker : workers) {
+                worker.fThread.join();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelShards(e);
+            return;
         }
-
-        ss.modifyAttribute(timestamp + duration, (Object) null, spanQuark);
-        if (spanId != null) {
-            fSpanMap.put(spanId, spanQuark);
+        long endTime = Math.max(fLastTimestamp, getStartTime());
+        for (ShardWorker worker : workers) {
+            worker.fShard.close(endTime);
         }
     }
 
-    private void handleStart(ITmfEvent event, ITmfStateSystemBuilder ss) {
-        String traceId = event.getContent().getFieldValue(String.class, "trace_id_low"); //$NON-NLS-1$
-        traceId = Long.toHexString(Long.decode(traceId));
-        int traceQuark = ss.getQuarkAbsoluteAndAdd(traceId);
-
-        int ustSpansQuark = ss.getQuarkRelativeAndAdd(traceQuark, UST_ATTRIBUTE);
-
-        String spanId = event.getContent().getFieldValue(String.class, "span_id"); //$NON-NLS-1$
-        spanId = Long.toHexString(Long.decode(spanId));
-        int spanQuark = ss.getQuarkRelativeAndAdd(ustSpansQuark, spanId);
-
-        long timestamp = event.getTimestamp().toNanos();
-        String name = event.getContent().getFieldValue(String.class, "op_name"); //$NON-NLS-1$
-        ss.modifyAttribute(timestamp, name, spanQuark);
-    }
-
-    private void handleEnd(ITmfEvent event, ITmfStateSystemBuilder ss) {
-        String traceId = event.getContent().getFieldValue(String.class, "trace_id_low"); //$NON-NLS-1$
-        traceId = Long.toHexString(Long.decode(traceId));
-        int traceQuark = ss.getQuarkAbsoluteAndAdd(traceId);
-
-        int ustSpansQuark = ss.getQuarkRelativeAndAdd(traceQuark, UST_ATTRIBUTE);
-
-        String spanId = event.getContent().getFieldValue(String.class, "span_id"); //$NON-NLS-1$
-        spanId = Long.toHexString(Long.decode(spanId));
-        int spanQuark = ss.getQuarkRelativeAndAdd(ustSpansQuark, spanId);
-
-        long timestamp = event.getTimestamp().toNanos();
-        ss.modifyAttribute(timestamp, (Object) null, spanQuark);
+    @Override
+    public void dispose() {
+        super.dispose();
+        // Stop the shards if the last events were not handled
+        for (ShardWorker worker : fWorkers) {
+            worker.fThread.interrupt();
+        }
+        if (fShardsIncomplete) {
+            try {
+                for (ShardWorker worker : fWorkers) {
+                    worker.fThread.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Remove the incomplete shards, so they are not opened again
+            fShardStateSystems.forEach(ITmfStateSystemBuilder::removeFiles);
+        }
     }
 }
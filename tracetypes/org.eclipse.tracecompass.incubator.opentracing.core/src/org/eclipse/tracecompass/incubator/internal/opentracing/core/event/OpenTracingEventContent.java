@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.event;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+
+/**
+ * Root content of an Open Tracing event, backed by the flat key and value
+ * arrays of an {@link OpenTracingField}. Reading a field value, what the
+ * analyses do, is a scan of the keys. The value map and the sub-fields are
+ * only built when they are requested, for example to display the event.
+ */
+final class OpenTracingEventContent extends TmfEventField {
+
+    private final String[] fKeys;
+    private final Object[] fValues;
+    private final int fSize;
+
+    private volatile @Nullable Map<String, Object> fValueMap = null;
+    private volatile @Nullable Map<String, ITmfEventField> fSubFields = null;
+
+    /**
+     * Constructor
+     *
+     * @param keys
+     *            the field names, a name can appear more than once, the last
+     *            value wins
+     * @param values
+     *            the field values
+     * @param size
+     *            the number of fields in the arrays
+     */
+    OpenTracingEventContent(String[] keys, Object[] values, int size) {
+        super(ITmfEventField.ROOT_FIELD_ID, null, null);
+        fKeys = keys;
+        fValues = values;
+        fSize = size;
+    }
+
+    /**
+     * Get the value of a field without building the sub-fields
+     *
+     * @param name
+     *            the field name
+     * @return the value, or null if there is no such field
+     */
+    @Nullable
+    Object get(String name) {
+        // Scan backwards so that the last value of a name wins, like a map
+        for (int i = fSize - 1; i >= 0; i--) {
+            String key = fKeys[i];
+            if (key == name || key.equals(name)) {
+                return fValues[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public <T> @Nullable T getFieldValue(Class<T> type, String... fieldName) {
+        if (fieldName.length != 1) {
+            return super.getFieldValue(type, fieldName);
+        }
+        Object value = get(fieldName[0]);
+        if (value == null || !type.isAssignableFrom(value.getClass())) {
+            return null;
+        }
+        return type.cast(value);
+    }
+
+    @Override
+    public Object getValue() {
+        Map<String, Object> valueMap = fValueMap;
+        if (valueMap == null) {
+            valueMap = new HashMap<>();
+            for (int i = 0; i < fSize; i++) {
+                valueMap.put(fKeys[i], fValues[i]);
+            }
+            valueMap = Collections.unmodifiableMap(valueMap);
+            fValueMap = valueMap;
+        }
+        return valueMap;
+    }
+
+    @Override
+    public String getFormattedValue() {
+        return getValue().toString();
+    }
+
+    private Map<String, ITmfEventField> getSubFields() {
+        Map<String, ITmfEventField> subFields = fSubFields;
+        if (subFields == null) {
+            subFields = new LinkedHashMap<>();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> valueMap = (Map<String, Object>) getValue();
+            for (Entry<String, Object> entry : valueMap.entrySet()) {
+                subFields.put(entry.getKey(), new TmfEventField(entry.getKey(), entry.getValue(), null));
+            }
+            subFields = Collections.unmodifiableMap(subFields);
+            fSubFields = subFields;
+        }
+        return subFields;
+    }
+
+    @Override
+    public Collection<String> getFieldNames() {
+        return getSubFields().keySet();
+    }
+
+    @Override
+    public Collection<? extends ITmfEventField> getFields() {
+        return getSubFields().values();
+    }
+
+    @Override
+    public @Nullable ITmfEventField getField(String... path) {
+        if (path.length == 0) {
+            return this;
+        }
+        ITmfEventField field = getSubFields().get(path[0]);
+        for (int i = 1; i < path.length && field != null; i++) {
+            field = field.getField(path[i]);
+        }
+        return field;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName(), getValue());
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof OpenTracingEventContent)) {
+            return false;
+        }
+        return getValue().equals(((OpenTracingEventContent) obj).getValue());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (ITmfEventField field : getFields()) {
+            if (sb.length() > 0) {
+                sb.append(", "); //$NON-NLS-1$
+            }
+            sb.append(field.toString());
+        }
+        return sb.toString();
+    }
+}
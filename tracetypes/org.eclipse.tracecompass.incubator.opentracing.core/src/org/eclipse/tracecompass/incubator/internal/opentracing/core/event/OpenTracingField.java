@@ -11,16 +11,15 @@
 
 package org.eclipse.tracecompass.incubator.internal.opentracing.core.event;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
-import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 
 import com.google.gson.Gson;
@@ -35,15 +34,26 @@ import com.google.gson.JsonObject;
  */
 public class OpenTracingField {
 
+    private static final String TAG_PREFIX = IOpenTracingConstants.TAGS + '/';
+    private static final String PROCESS_TAG_PREFIX = IOpenTracingConstants.PROCESS_TAGS + '/';
+
     private final String fOperationName;
-    private final ITmfEventField fContent;
+    private final String[] fKeys;
+    private final Object[] fValues;
+    private final int fSize;
     private final String fSpanId;
     private final Long fStartTime;
     private final Long fDuration;
-    private final @Nullable Map<String, Object> fTags;
-    private final @Nullable Map<String, Object> fProcessTags;
     private String fProcessName;
 
+    /*
+     * Built on first access, most analyses only read a few fields with
+     * getFieldValue
+     */
+    private volatile @Nullable ITmfEventField fContent = null;
+    private volatile @Nullable Map<String, Object> fTags = null;
+    private volatile @Nullable Map<String, Object> fProcessTags = null;
+
     private static final Gson G_SON = new Gson();
 
     /**
@@ -228,30 +238,101 @@ public class OpenTracingField {
      */
     private OpenTracingField(String name, Map<String, Object> fields, String spanId, Long startTime, Long duration, String processName) {
         fOperationName = name;
-        ITmfEventField[] array = fields.entrySet().stream()
-                .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
-                .toArray(ITmfEventField[]::new);
-        fContent = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
+        fSize = fields.size();
+        fKeys = new String[fSize];
+        fValues = new Object[fSize];
+        int i = 0;
+        for (Entry<String, Object> entry : fields.entrySet()) {
+            fKeys[i] = entry.getKey();
+            fValues[i] = entry.getValue();
+            i++;
+        }
+        fSpanId = spanId;
+        fStartTime = startTime;
+        fDuration = duration;
+        fProcessName = processName;
+    }
+
+    private OpenTracingField(String name, String[] keys, Object[] values, int size, String spanId, long startTime, long duration, String processName) {
+        fOperationName = name;
+        fKeys = keys;
+        fValues = values;
+        fSize = size;
         fSpanId = spanId;
         fStartTime = startTime;
         fDuration = duration;
-        @SuppressWarnings("null")
-        Map<@NonNull String, @NonNull Object> tags = fields.entrySet().stream()
-                .filter(entry -> {
-                    return entry.getKey().startsWith(IOpenTracingConstants.TAGS + '/');
-                })
-                .collect(Collectors.toMap(entry -> entry.getKey().substring(5), Entry::getValue));
-        fTags = tags.isEmpty() ? null : tags;
-        @SuppressWarnings("null")
-        Map<@NonNull String, @NonNull Object> processTags = fields.entrySet().stream()
-                .filter(entry -> {
-                    return entry.getKey().startsWith(IOpenTracingConstants.PROCESS_TAGS + '/');
-                })
-                .collect(Collectors.toMap(entry -> entry.getKey().substring(12), Entry::getValue));
-        fProcessTags = processTags.isEmpty() ? null : processTags;
         fProcessName = processName;
     }
 
+    /**
+     * Builder of the fields of a span, that stores them in flat arrays instead
+     * of a map. A builder builds a single field.
+     */
+    public static class Builder {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private String[] fBuilderKeys = new String[INITIAL_CAPACITY];
+        private Object[] fBuilderValues = new Object[INITIAL_CAPACITY];
+        private int fBuilderSize = 0;
+
+        /**
+         * Add a field. If a field with the same name was already added, this
+         * value replaces it.
+         *
+         * @param key
+         *            the field name
+         * @param value
+         *            the field value
+         * @return this builder
+         */
+        public Builder put(String key, Object value) {
+            if (fBuilderSize == fBuilderKeys.length) {
+                fBuilderKeys = Arrays.copyOf(fBuilderKeys, fBuilderSize * 2);
+                fBuilderValues = Arrays.copyOf(fBuilderValues, fBuilderSize * 2);
+            }
+            fBuilderKeys[fBuilderSize] = key;
+            fBuilderValues[fBuilderSize] = value;
+            fBuilderSize++;
+            return this;
+        }
+
+        /**
+         * Get the value of a field added to this builder
+         *
+         * @param key
+         *            the field name
+         * @return the last value added with that name, or null
+         */
+        public @Nullable Object get(String key) {
+            for (int i = fBuilderSize - 1; i >= 0; i--) {
+                if (fBuilderKeys[i].equals(key)) {
+                    return fBuilderValues[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Build the field
+         *
+         * @param name
+         *            operation name
+         * @param spanId
+         *            the span id
+         * @param startTime
+         *            the span start time
+         * @param duration
+         *            the span duration
+         * @param processName
+         *            the span process name
+         * @return the field
+         */
+        public OpenTracingField build(String name, String spanId, long startTime, long duration, String processName) {
+            return new OpenTracingField(name, fBuilderKeys, fBuilderValues, fBuilderSize, spanId, startTime, duration, processName);
+        }
+    }
+
     /**
      * Get the operation name
      *
@@ -267,7 +348,12 @@ public class OpenTracingField {
      * @return the event content
      */
     public ITmfEventField getContent() {
-        return fContent;
+        ITmfEventField content = fContent;
+        if (content == null) {
+            content = new OpenTracingEventContent(fKeys, fValues, fSize);
+            fContent = content;
+        }
+        return content;
     }
 
     /**
@@ -303,7 +389,12 @@ public class OpenTracingField {
      * @return a map of the tags and their field names
      */
     public @Nullable Map<String, Object> getTags() {
-        return fTags;
+        Map<String, Object> tags = fTags;
+        if (tags == null) {
+            tags = getPrefixedFields(TAG_PREFIX);
+            fTags = tags;
+        }
+        return tags.isEmpty() ? null : tags;
     }
 
     /**
@@ -313,7 +404,23 @@ public class OpenTracingField {
      */
     @Nullable
     public Map<String, Object> getProcessTags() {
-        return fProcessTags;
+        Map<String, Object> processTags = fProcessTags;
+        if (processTags == null) {
+            processTags = getPrefixedFields(PROCESS_TAG_PREFIX);
+            fProcessTags = processTags;
+        }
+        return processTags.isEmpty() ? null : processTags;
+    }
+
+    private Map<String, Object> getPrefixedFields(String prefix) {
+        Map<String, Object> fields = new HashMap<>();
+        for (int i = 0; i < fSize; i++) {
+            String key = fKeys[i];
+            if (key.startsWith(prefix)) {
+                fields.put(key.substring(prefix.length()), fValues[i]);
+            }
+        }
+        return fields;
     }
 
     /**
@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.event;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Streaming parser for Open Tracing spans. Contrary to
+ * {@link OpenTracingField#parseJson(String, String)}, the span is read in a
+ * single pass, token by token, without building an intermediate JSON tree. The
+ * process of the span is resolved from its processID while reading and the
+ * decoded processes are cached, so the process JSON is parsed only once per
+ * trace.
+ *
+ * Field names that are built from a prefix and a key (for instance
+ * <code>tags/http.status_code</code>) are interned so that all the spans of a
+ * trace share the same key instances.
+ */
+public class OpenTracingSpanParser {
+
+    private static final Gson G_SON = new Gson();
+
+    private final Map<String, String> fProcesses;
+    private final Map<String, OpenTracingProcess> fDecodedProcesses = new ConcurrentHashMap<>();
+    private final Map<String, String> fTagKeys = new ConcurrentHashMap<>();
+    private final Map<String, String> fReferenceKeys = new ConcurrentHashMap<>();
+    private final Map<String, String> fProcessTagKeys = new ConcurrentHashMap<>();
+    private final Map<String, String> fLogKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Decoded process: its name and its tags, with the field names already
+     * prefixed
+     */
+    private static final class OpenTracingProcess {
+        private final String fName;
+        private final String[] fTagKeys;
+        private final Object[] fTagValues;
+
+        private OpenTracingProcess(String name, Map<String, Object> tags) {
+            fName = name;
+            fTagKeys = tags.keySet().toArray(new String[tags.size()]);
+            fTagValues = new Object[fTagKeys.length];
+            for (int i = 0; i < fTagKeys.length; i++) {
+                fTagValues[i] = tags.get(fTagKeys[i]);
+            }
+        }
+    }
+
+    private static final OpenTracingProcess NO_PROCESS = new OpenTracingProcess("", Collections.emptyMap()); //$NON-NLS-1$
+
+    /**
+     * Constructor
+     *
+     * @param processes
+     *            the processes of the trace, the key is the process ID and the
+     *            value is the JSON string of the process
+     */
+    public OpenTracingSpanParser(Map<String, String> processes) {
+        fProcesses = processes;
+    }
+
+    /**
+     * Parse a JSON span string
+     *
+     * @param fieldsString
+     *            the span string
+     * @return an event field, or <code>null</code> if the string is not a
+     *         valid span
+     */
+    public @Nullable OpenTracingField parse(String fieldsString) {
+        try (JsonReader reader = new JsonReader(new StringReader(fieldsString))) {
+            return readSpan(reader);
+        } catch (IOException | IllegalStateException | NumberFormatException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    private @Nullable OpenTracingField readSpan(JsonReader reader) throws IOException {
+        String name = null;
+        String traceId = null;
+        String spanId = null;
+        int flags = Integer.MIN_VALUE;
+        long startTime = Long.MIN_VALUE;
+        long duration = Long.MIN_VALUE;
+        String processId = null;
+        OpenTracingField.Builder builder = new OpenTracingField.Builder();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (field) {
+            case IOpenTracingConstants.OPERATION_NAME:
+                name = readString(reader);
+                break;
+            case IOpenTracingConstants.TRACE_ID:
+                traceId = readString(reader);
+                break;
+            case IOpenTracingConstants.SPAN_ID:
+                spanId = readString(reader);
+                break;
+            case IOpenTracingConstants.FLAGS:
+                flags = reader.nextInt();
+                break;
+            case IOpenTracingConstants.START_TIME:
+                startTime = reader.nextLong();
+                break;
+            case IOpenTracingConstants.DURATION:
+                duration = reader.nextLong();
+                break;
+            case IOpenTracingConstants.PROCESS_ID:
+                processId = readString(reader);
+                break;
+            case IOpenTracingConstants.REFERENCES:
+                readReferences(reader, builder);
+                break;
+            case IOpenTracingConstants.TAGS:
+                readKeyValues(reader, builder::put, fTagKeys, IOpenTracingConstants.TAGS);
+                break;
+            case IOpenTracingConstants.LOGS:
+                builder.put(IOpenTracingConstants.LOGS, readLogs(reader));
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+
+        if (name == null) {
+            return null;
+        }
+        if (name.isEmpty()) {
+            // See if there is a tag for operation name
+            Object nameTag = builder.get(IOpenTracingConstants.TAGS + '/' + IOpenTracingConstants.OPERATION_NAME);
+            if (nameTag != null) {
+                name = String.valueOf(nameTag);
+            }
+        }
+        if (traceId == null || spanId == null) {
+            return null;
+        }
+        startTime = TmfTimestamp.fromMicros(startTime).toNanos();
+        duration = TmfTimestamp.fromMicros(duration).toNanos();
+
+        builder.put(IOpenTracingConstants.OPERATION_NAME, name);
+        builder.put(IOpenTracingConstants.TRACE_ID, traceId);
+        builder.put(IOpenTracingConstants.SPAN_ID, spanId);
+        if (flags != Integer.MIN_VALUE) {
+            builder.put(IOpenTracingConstants.FLAGS, flags);
+        }
+        builder.put(IOpenTracingConstants.START_TIME, startTime);
+        builder.put(IOpenTracingConstants.DURATION, duration);
+
+        OpenTracingProcess process = getProcess(processId == null ? "" : processId); //$NON-NLS-1$
+        for (int i = 0; i < process.fTagKeys.length; i++) {
+            builder.put(process.fTagKeys[i], process.fTagValues[i]);
+        }
+        builder.put(IOpenTracingConstants.PROCESS_NAME, process.fName);
+
+        return builder.build(name, spanId, startTime, duration, process.fName);
+    }
+
+    private void readReferences(JsonReader reader, OpenTracingField.Builder builder) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String refType = null;
+            String refSpanId = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String field = reader.nextName();
+                if (IOpenTracingConstants.REFERENCE_TYPE.equals(field)) {
+                    refType = readString(reader);
+                } else if (IOpenTracingConstants.SPAN_ID.equals(field)) {
+                    refSpanId = readValue(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (refType == null || refSpanId == null) {
+                throw new IllegalStateException("Malformed reference"); //$NON-NLS-1$
+            }
+            builder.put(intern(fReferenceKeys, IOpenTracingConstants.REFERENCES, refType), refSpanId);
+        }
+        reader.endArray();
+    }
+
+    private Map<Long, Map<String, String>> readLogs(JsonReader reader) throws IOException {
+        Map<Long, Map<String, String>> timestampList = new HashMap<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            long timestamp = Long.MIN_VALUE;
+            Map<String, String> fieldsList = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String field = reader.nextName();
+                if (IOpenTracingConstants.TIMESTAMP.equals(field) && reader.peek() != JsonToken.NULL) {
+                    timestamp = reader.nextLong();
+                } else if (IOpenTracingConstants.FIELDS.equals(field) && reader.peek() != JsonToken.NULL) {
+                    fieldsList = new HashMap<>();
+                    readKeyValues(reader, fieldsList::put, fLogKeys, null);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (fieldsList == null) {
+                throw new IllegalStateException("Log without fields"); //$NON-NLS-1$
+            }
+            timestampList.put(TmfTimestamp.fromMicros(timestamp).toNanos(), fieldsList);
+        }
+        reader.endArray();
+        return timestampList;
+    }
+
+    /**
+     * Read an array of key/value objects and pass them to the consumer, with
+     * the key prefixed by the given prefix
+     */
+    private void readKeyValues(JsonReader reader, BiConsumer<String, String> consumer, Map<String, String> keyCache, @Nullable String prefix) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String key = null;
+            String value = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String field = reader.nextName();
+                if (IOpenTracingConstants.KEY.equals(field)) {
+                    key = readString(reader);
+                } else if (IOpenTracingConstants.VALUE.equals(field)) {
+                    value = readValue(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (key == null || value == null) {
+                throw new IllegalStateException("Malformed key/value pair"); //$NON-NLS-1$
+            }
+            consumer.accept(intern(keyCache, prefix, key), value);
+        }
+        reader.endArray();
+    }
+
+    private OpenTracingProcess getProcess(String processId) {
+        OpenTracingProcess process = fDecodedProcesses.get(processId);
+        if (process != null) {
+            return process;
+        }
+        String processField = fProcesses.get(processId);
+        process = NO_PROCESS;
+        if (processField != null) {
+            try (JsonReader reader = new JsonReader(new StringReader(processField))) {
+                process = readProcess(reader);
+            } catch (IOException | IllegalStateException | JsonParseException e) {
+                process = NO_PROCESS;
+            }
+        }
+        fDecodedProcesses.put(processId, process);
+        return process;
+    }
+
+    private OpenTracingProcess readProcess(JsonReader reader) throws IOException {
+        String name = null;
+        Map<String, Object> tags = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (IOpenTracingConstants.SERVICE_NAME.equals(field) && reader.peek() != JsonToken.NULL) {
+                name = readString(reader);
+            } else if (IOpenTracingConstants.TAGS.equals(field) && reader.peek() != JsonToken.NULL) {
+                readKeyValues(reader, tags::put, fProcessTagKeys, IOpenTracingConstants.PROCESS_TAGS);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (name == null) {
+            return NO_PROCESS;
+        }
+        return new OpenTracingProcess(name, tags);
+    }
+
+    private static String intern(Map<String, String> cache, @Nullable String prefix, String key) {
+        if (prefix == null) {
+            return cache.computeIfAbsent(key, k -> k);
+        }
+        return cache.computeIfAbsent(key, k -> prefix + '/' + k);
+    }
+
+    /**
+     * Read a string the way {@link JsonElement#getAsString()} would
+     */
+    private static String readString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return String.valueOf(reader.nextBoolean());
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * Read a value as a string: primitives are read as strings, other values
+     * are serialized back to JSON
+     */
+    private static String readValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+        case STRING:
+        case NUMBER:
+            return reader.nextString();
+        case BOOLEAN:
+            return String.valueOf(reader.nextBoolean());
+        case NULL:
+        case BEGIN_ARRAY:
+        case BEGIN_OBJECT: {
+            // Assign before converting, otherwise String.valueOf(char[]) is
+            // inferred for the generic result
+            JsonElement element = G_SON.fromJson(reader, JsonElement.class);
+            return String.valueOf(element);
+        }
+        case END_ARRAY:
+        case END_DOCUMENT:
+        case END_OBJECT:
+        case NAME:
+        default:
+            throw new IllegalStateException("Unexpected token " + reader.peek()); //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,457 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Streaming decoder for OTLP traces in the JSON encoding. A file can contain
+ * one or many <code>ExportTraceServiceRequest</code> objects, one after the
+ * other, as written by the OpenTelemetry collector file exporter. The spans
+ * are decoded one resource at a time, without building a JSON tree.
+ */
+public class OtlpJsonDecoder {
+
+    private static final String RESOURCE_SPANS = "resourceSpans"; //$NON-NLS-1$
+    private static final String RESOURCE = "resource"; //$NON-NLS-1$
+    private static final String SCOPE_SPANS = "scopeSpans"; //$NON-NLS-1$
+    private static final String INSTRUMENTATION_LIBRARY_SPANS = "instrumentationLibrarySpans"; //$NON-NLS-1$
+    private static final String SCOPE = "scope"; //$NON-NLS-1$
+    private static final String INSTRUMENTATION_LIBRARY = "instrumentationLibrary"; //$NON-NLS-1$
+    private static final String SPANS = "spans"; //$NON-NLS-1$
+    private static final String ATTRIBUTES = "attributes"; //$NON-NLS-1$
+    private static final String TRACE_ID = "traceId"; //$NON-NLS-1$
+    private static final String SPAN_ID = "spanId"; //$NON-NLS-1$
+    private static final String PARENT_SPAN_ID = "parentSpanId"; //$NON-NLS-1$
+    private static final String NAME = "name"; //$NON-NLS-1$
+    private static final String VERSION = "version"; //$NON-NLS-1$
+    private static final String KIND = "kind"; //$NON-NLS-1$
+    private static final String START_TIME = "startTimeUnixNano"; //$NON-NLS-1$
+    private static final String END_TIME = "endTimeUnixNano"; //$NON-NLS-1$
+    private static final String TIME = "timeUnixNano"; //$NON-NLS-1$
+    private static final String EVENTS = "events"; //$NON-NLS-1$
+    private static final String LINKS = "links"; //$NON-NLS-1$
+    private static final String STATUS = "status"; //$NON-NLS-1$
+    private static final String CODE = "code"; //$NON-NLS-1$
+    private static final String MESSAGE = "message"; //$NON-NLS-1$
+    private static final String KEY = "key"; //$NON-NLS-1$
+    private static final String VALUE = "value"; //$NON-NLS-1$
+    private static final String VALUES = "values"; //$NON-NLS-1$
+    private static final String STRING_VALUE = "stringValue"; //$NON-NLS-1$
+    private static final String BOOL_VALUE = "boolValue"; //$NON-NLS-1$
+    private static final String INT_VALUE = "intValue"; //$NON-NLS-1$
+    private static final String DOUBLE_VALUE = "doubleValue"; //$NON-NLS-1$
+    private static final String BYTES_VALUE = "bytesValue"; //$NON-NLS-1$
+    private static final String ARRAY_VALUE = "arrayValue"; //$NON-NLS-1$
+    private static final String KVLIST_VALUE = "kvlistValue"; //$NON-NLS-1$
+
+    private static final String[] SPAN_KINDS = { "SPAN_KIND_UNSPECIFIED", "SPAN_KIND_INTERNAL", "SPAN_KIND_SERVER", "SPAN_KIND_CLIENT", "SPAN_KIND_PRODUCER", "SPAN_KIND_CONSUMER" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+    private static final String[] STATUS_CODES = { "STATUS_CODE_UNSET", "STATUS_CODE_OK", "STATUS_CODE_ERROR" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private final Consumer<OtlpSpan> fConsumer;
+
+    /**
+     * Constructor
+     *
+     * @param consumer
+     *            the consumer of the decoded spans
+     */
+    public OtlpJsonDecoder(Consumer<OtlpSpan> consumer) {
+        fConsumer = consumer;
+    }
+
+    /**
+     * Decode all the requests of a file
+     *
+     * @param file
+     *            the file to decode
+     * @param monitor
+     *            the progress monitor, the work is counted in kilobytes
+     * @throws IOException
+     *             if the file cannot be read or is not a valid OTLP file
+     */
+    public void decode(File file, IProgressMonitor monitor) throws IOException {
+        try (FileInputStream input = new FileInputStream(file);
+                JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)))) {
+            FileChannel channel = input.getChannel();
+            // Accept many requests in the same file
+            reader.setLenient(true);
+            long position = 0;
+            while (reader.peek() != JsonToken.END_DOCUMENT) {
+                if (monitor.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                decodeRequest(reader, monitor);
+                long next = channel.position();
+                monitor.worked((int) (next / 1024 - position / 1024));
+                position = next;
+            }
+        } catch (IllegalStateException | NumberFormatException | JsonParseException e) {
+            throw new IOException("Invalid OTLP JSON file " + file, e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Decode one <code>ExportTraceServiceRequest</code> object
+     *
+     * @param reader
+     *            the JSON reader, positioned before the request object
+     * @param monitor
+     *            the progress monitor, used for cancellation
+     * @throws IOException
+     *             if the request cannot be read
+     */
+    public void decodeRequest(JsonReader reader, IProgressMonitor monitor) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (RESOURCE_SPANS.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (monitor.isCanceled()) {
+                        throw new OperationCanceledException();
+                    }
+                    decodeResourceSpans(reader);
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private void decodeResourceSpans(JsonReader reader) throws IOException {
+        OtlpResource resource = null;
+        List<OtlpSpan> spans = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if (RESOURCE.equals(name)) {
+                resource = new OtlpResource(decodeAttributesObject(reader));
+            } else if (SCOPE_SPANS.equals(name) || INSTRUMENTATION_LIBRARY_SPANS.equals(name)) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    decodeScopeSpans(reader, spans);
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        // The resource may come after the spans in the JSON object
+        for (OtlpSpan span : spans) {
+            if (resource != null) {
+                span.fResource = resource;
+            }
+            fConsumer.accept(span);
+        }
+    }
+
+    private static void decodeScopeSpans(JsonReader reader, List<OtlpSpan> spans) throws IOException {
+        String scopeName = ""; //$NON-NLS-1$
+        String scopeVersion = ""; //$NON-NLS-1$
+        int first = spans.size();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if (SCOPE.equals(name) || INSTRUMENTATION_LIBRARY.equals(name)) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String field = reader.nextName();
+                    if (NAME.equals(field) && reader.peek() == JsonToken.STRING) {
+                        scopeName = reader.nextString();
+                    } else if (VERSION.equals(field) && reader.peek() == JsonToken.STRING) {
+                        scopeVersion = reader.nextString();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else if (SPANS.equals(name)) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    spans.add(decodeSpan(reader));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        for (int i = first; i < spans.size(); i++) {
+            OtlpSpan span = spans.get(i);
+            span.fScopeName = scopeName;
+            span.fScopeVersion = scopeVersion;
+        }
+    }
+
+    private static OtlpSpan decodeSpan(JsonReader reader) throws IOException {
+        OtlpSpan span = new OtlpSpan();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+            case TRACE_ID:
+                span.fTraceId = reader.nextString().toLowerCase();
+                break;
+            case SPAN_ID:
+                span.fSpanId = reader.nextString().toLowerCase();
+                break;
+            case PARENT_SPAN_ID:
+                span.fParentSpanId = reader.nextString().toLowerCase();
+                break;
+            case NAME:
+                span.fName = reader.nextString();
+                break;
+            case KIND:
+                span.fKind = readEnum(reader, SPAN_KINDS);
+                break;
+            case START_TIME:
+                span.fStartTime = Long.parseUnsignedLong(reader.nextString());
+                break;
+            case END_TIME:
+                span.fEndTime = Long.parseUnsignedLong(reader.nextString());
+                break;
+            case ATTRIBUTES:
+                decodeKeyValues(reader, span.fAttributes);
+                break;
+            case EVENTS:
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    span.fEvents.add(decodeEvent(reader));
+                }
+                reader.endArray();
+                break;
+            case LINKS:
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    span.fLinks.add(decodeLink(reader));
+                }
+                reader.endArray();
+                break;
+            case STATUS:
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String field = reader.nextName();
+                    if (CODE.equals(field) && reader.peek() != JsonToken.NULL) {
+                        span.fStatusCode = readEnum(reader, STATUS_CODES);
+                    } else if (MESSAGE.equals(field) && reader.peek() == JsonToken.STRING) {
+                        span.fStatusMessage = reader.nextString();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+        return span;
+    }
+
+    private static OtlpSpan.Event decodeEvent(JsonReader reader) throws IOException {
+        long time = 0;
+        String name = ""; //$NON-NLS-1$
+        Map<String, String> attributes = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if (TIME.equals(field)) {
+                time = Long.parseUnsignedLong(reader.nextString());
+            } else if (NAME.equals(field)) {
+                name = reader.nextString();
+            } else if (ATTRIBUTES.equals(field)) {
+                decodeKeyValues(reader, attributes);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new OtlpSpan.Event(time, name, attributes);
+    }
+
+    private static OtlpSpan.Link decodeLink(JsonReader reader) throws IOException {
+        String traceId = ""; //$NON-NLS-1$
+        String spanId = ""; //$NON-NLS-1$
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (TRACE_ID.equals(field) && reader.peek() == JsonToken.STRING) {
+                traceId = reader.nextString().toLowerCase();
+            } else if (SPAN_ID.equals(field) && reader.peek() == JsonToken.STRING) {
+                spanId = reader.nextString().toLowerCase();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new OtlpSpan.Link(traceId, spanId);
+    }
+
+    /**
+     * Read an enum, that can be encoded either as its integer value or as its
+     * name
+     */
+    private static int readEnum(JsonReader reader, String[] names) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            return reader.nextInt();
+        }
+        String value = reader.nextString();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(value)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Decode an object that contains an attributes array, like a resource
+     */
+    private static Map<String, String> decodeAttributesObject(JsonReader reader) throws IOException {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (ATTRIBUTES.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                decodeKeyValues(reader, attributes);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return attributes;
+    }
+
+    private static void decodeKeyValues(JsonReader reader, Map<String, String> attributes) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String key = ""; //$NON-NLS-1$
+            JsonElement value = new JsonPrimitive(""); //$NON-NLS-1$
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String field = reader.nextName();
+                if (KEY.equals(field) && reader.peek() == JsonToken.STRING) {
+                    key = reader.nextString();
+                } else if (VALUE.equals(field) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    value = decodeAnyValue(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            attributes.put(key, value.isJsonPrimitive() ? value.getAsString() : value.toString());
+        }
+        reader.endArray();
+    }
+
+    private static JsonElement decodeAnyValue(JsonReader reader) throws IOException {
+        JsonElement value = new JsonPrimitive(""); //$NON-NLS-1$
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (field) {
+            case STRING_VALUE:
+            case BYTES_VALUE:
+                value = new JsonPrimitive(reader.nextString());
+                break;
+            case BOOL_VALUE:
+                value = new JsonPrimitive(reader.peek() == JsonToken.BOOLEAN ? reader.nextBoolean() : Boolean.parseBoolean(reader.nextString()));
+                break;
+            case INT_VALUE:
+                value = new JsonPrimitive(Long.parseLong(reader.nextString()));
+                break;
+            case DOUBLE_VALUE:
+                value = new JsonPrimitive(Double.parseDouble(reader.nextString()));
+                break;
+            case ARRAY_VALUE: {
+                JsonArray array = new JsonArray();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (VALUES.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            array.add(decodeAnyValue(reader));
+                        }
+                        reader.endArray();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                value = array;
+                break;
+            }
+            case KVLIST_VALUE: {
+                Map<String, String> values = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (VALUES.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        decodeKeyValues(reader, values);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                JsonObject object = new JsonObject();
+                values.forEach(object::addProperty);
+                value = object;
+                break;
+            }
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+}
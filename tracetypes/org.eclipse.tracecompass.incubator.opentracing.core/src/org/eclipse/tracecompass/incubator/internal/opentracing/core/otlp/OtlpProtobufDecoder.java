@@ -0,0 +1,526 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Decoder for OTLP traces in the protobuf encoding. The protobuf wire format
+ * is decoded directly, only the fields of
+ * <code>ExportTraceServiceRequest</code> that are needed by the trace are
+ * read and the others are skipped.
+ *
+ * A file can contain either a single request, or a sequence of requests each
+ * preceded by its size as a big endian 32-bit integer, as written by the
+ * OpenTelemetry collector file exporter. The requests are decoded one at a
+ * time, so only one batch is in memory at once.
+ */
+public class OtlpProtobufDecoder {
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+    private static final int WIRE_FIXED32 = 5;
+
+    /** Tag of the first field of a request: resource_spans, length delimited */
+    private static final int REQUEST_FIRST_TAG = (1 << 3) | WIRE_LENGTH_DELIMITED;
+
+    private static final int RESOURCE_SPANS_SCOPE_SPANS = 2;
+    private static final int RESOURCE_SPANS_INSTRUMENTATION_LIBRARY_SPANS = 1000;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+    private final Consumer<OtlpSpan> fConsumer;
+    private ByteBuffer fBuffer = ByteBuffer.allocate(0);
+
+    /**
+     * Constructor
+     *
+     * @param consumer
+     *            the consumer of the decoded spans
+     */
+    public OtlpProtobufDecoder(Consumer<OtlpSpan> consumer) {
+        fConsumer = consumer;
+    }
+
+    /**
+     * Check whether a file looks like an OTLP protobuf file
+     *
+     * @param file
+     *            the file to check
+     * @return true if the file starts with a request, framed or not
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static boolean isProtobuf(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 1).order(ByteOrder.BIG_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the header
+            }
+            if (header.position() < 1) {
+                return false;
+            }
+            if ((header.get(0) & 0xff) == REQUEST_FIRST_TAG) {
+                return true;
+            }
+            return header.position() == header.capacity() && isFramed(header.getInt(0), header.get(Integer.BYTES), channel.size());
+        }
+    }
+
+    private static boolean isFramed(int size, byte firstByte, long fileSize) {
+        return size > 0 && size <= fileSize - Integer.BYTES && (firstByte & 0xff) == REQUEST_FIRST_TAG;
+    }
+
+    /**
+     * Decode all the requests of a file
+     *
+     * @param file
+     *            the file to decode
+     * @param monitor
+     *            the progress monitor, the work is counted in kilobytes
+     * @throws IOException
+     *             if the file cannot be read or is not a valid OTLP file
+     */
+    public void decode(File file, IProgressMonitor monitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 1).order(ByteOrder.BIG_ENDIAN);
+            readFully(channel, header, 0);
+            if (!isFramed(header.getInt(0), header.get(Integer.BYTES), fileSize)) {
+                // A single request
+                if (fileSize > Integer.MAX_VALUE) {
+                    throw new IOException("Unframed OTLP file too large: " + file); //$NON-NLS-1$
+                }
+                decodeRequest(readMessage(channel, 0, (int) fileSize));
+                monitor.worked((int) (fileSize / 1024));
+                return;
+            }
+            long position = 0;
+            while (position + Integer.BYTES <= fileSize) {
+                if (monitor.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                header.clear();
+                header.limit(Integer.BYTES);
+                readFully(channel, header, position);
+                int size = header.getInt(0);
+                if (size < 0 || position + Integer.BYTES + size > fileSize) {
+                    throw new IOException("Invalid OTLP message size " + size + " at " + position); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+                decodeRequest(readMessage(channel, position + Integer.BYTES, size));
+                long next = position + Integer.BYTES + size;
+                monitor.worked((int) (next / 1024 - position / 1024));
+                position = next;
+            }
+        }
+    }
+
+    private ByteBuffer readMessage(FileChannel channel, long position, int size) throws IOException {
+        if (fBuffer.capacity() < size) {
+            fBuffer = ByteBuffer.allocate(size);
+        }
+        fBuffer.clear();
+        fBuffer.limit(size);
+        readFully(channel, fBuffer, position);
+        fBuffer.flip();
+        return fBuffer;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, pos);
+            if (read < 0) {
+                throw new IOException("Unexpected end of OTLP file"); //$NON-NLS-1$
+            }
+            pos += read;
+        }
+    }
+
+    /**
+     * Decode an <code>ExportTraceServiceRequest</code>
+     *
+     * @param buffer
+     *            the buffer containing the request, from its position to its
+     *            limit
+     * @throws IOException
+     *             if the request is invalid
+     */
+    public void decodeRequest(ByteBuffer buffer) throws IOException {
+        // Fixed size fields are little endian
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int end = buffer.limit();
+            while (buffer.position() < end) {
+                int tag = readVarint32(buffer);
+                if (tag == REQUEST_FIRST_TAG) {
+                    int length = readLength(buffer);
+                    decodeResourceSpans(buffer, buffer.position() + length);
+                } else {
+                    skipField(buffer, tag);
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Invalid OTLP protobuf message", e); //$NON-NLS-1$
+        }
+    }
+
+    private void decodeResourceSpans(ByteBuffer buffer, int end) throws IOException {
+        OtlpResource resource = null;
+        List<OtlpSpan> spans = new ArrayList<>();
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            int field = tag >>> 3;
+            if (field == 1 && (tag & 7) == WIRE_LENGTH_DELIMITED) {
+                int length = readLength(buffer);
+                resource = new OtlpResource(decodeKeyValues(buffer, buffer.position() + length, 1));
+            } else if ((field == RESOURCE_SPANS_SCOPE_SPANS || field == RESOURCE_SPANS_INSTRUMENTATION_LIBRARY_SPANS) && (tag & 7) == WIRE_LENGTH_DELIMITED) {
+                int length = readLength(buffer);
+                decodeScopeSpans(buffer, buffer.position() + length, spans);
+            } else {
+                skipField(buffer, tag);
+            }
+        }
+        checkEnd(buffer, end);
+        // The resource is usually first, but the protobuf format does not
+        // guarantee it
+        for (OtlpSpan span : spans) {
+            if (resource != null) {
+                span.fResource = resource;
+            }
+            fConsumer.accept(span);
+        }
+    }
+
+    private void decodeScopeSpans(ByteBuffer buffer, int end, List<OtlpSpan> spans) throws IOException {
+        String scopeName = ""; //$NON-NLS-1$
+        String scopeVersion = ""; //$NON-NLS-1$
+        int first = spans.size();
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            int field = tag >>> 3;
+            if (field == 1 && (tag & 7) == WIRE_LENGTH_DELIMITED) {
+                int scopeEnd = readLength(buffer) + buffer.position();
+                while (buffer.position() < scopeEnd) {
+                    int scopeTag = readVarint32(buffer);
+                    if (scopeTag == ((1 << 3) | WIRE_LENGTH_DELIMITED)) {
+                        scopeName = readString(buffer);
+                    } else if (scopeTag == ((2 << 3) | WIRE_LENGTH_DELIMITED)) {
+                        scopeVersion = readString(buffer);
+                    } else {
+                        skipField(buffer, scopeTag);
+                    }
+                }
+                checkEnd(buffer, scopeEnd);
+            } else if (field == 2 && (tag & 7) == WIRE_LENGTH_DELIMITED) {
+                int length = readLength(buffer);
+                spans.add(decodeSpan(buffer, buffer.position() + length));
+            } else {
+                skipField(buffer, tag);
+            }
+        }
+        checkEnd(buffer, end);
+        for (int i = first; i < spans.size(); i++) {
+            OtlpSpan span = spans.get(i);
+            span.fScopeName = scopeName;
+            span.fScopeVersion = scopeVersion;
+        }
+    }
+
+    private static OtlpSpan decodeSpan(ByteBuffer buffer, int end) throws IOException {
+        OtlpSpan span = new OtlpSpan();
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            switch (tag) {
+            case (1 << 3) | WIRE_LENGTH_DELIMITED:
+                span.fTraceId = readHex(buffer);
+                break;
+            case (2 << 3) | WIRE_LENGTH_DELIMITED:
+                span.fSpanId = readHex(buffer);
+                break;
+            case (4 << 3) | WIRE_LENGTH_DELIMITED:
+                span.fParentSpanId = readHex(buffer);
+                break;
+            case (5 << 3) | WIRE_LENGTH_DELIMITED:
+                span.fName = readString(buffer);
+                break;
+            case (6 << 3) | WIRE_VARINT:
+                span.fKind = (int) readVarint64(buffer);
+                break;
+            case (7 << 3) | WIRE_FIXED64:
+                span.fStartTime = buffer.getLong();
+                break;
+            case (8 << 3) | WIRE_FIXED64:
+                span.fEndTime = buffer.getLong();
+                break;
+            case (9 << 3) | WIRE_LENGTH_DELIMITED:
+                decodeKeyValue(buffer, readLength(buffer) + buffer.position(), span.fAttributes);
+                break;
+            case (11 << 3) | WIRE_LENGTH_DELIMITED:
+                span.fEvents.add(decodeEvent(buffer, readLength(buffer) + buffer.position()));
+                break;
+            case (13 << 3) | WIRE_LENGTH_DELIMITED:
+                span.fLinks.add(decodeLink(buffer, readLength(buffer) + buffer.position()));
+                break;
+            case (15 << 3) | WIRE_LENGTH_DELIMITED:
+                decodeStatus(buffer, readLength(buffer) + buffer.position(), span);
+                break;
+            default:
+                skipField(buffer, tag);
+                break;
+            }
+        }
+        checkEnd(buffer, end);
+        return span;
+    }
+
+    private static OtlpSpan.Event decodeEvent(ByteBuffer buffer, int end) throws IOException {
+        long time = 0;
+        String name = ""; //$NON-NLS-1$
+        Map<String, String> attributes = new LinkedHashMap<>();
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            if (tag == ((1 << 3) | WIRE_FIXED64)) {
+                time = buffer.getLong();
+            } else if (tag == ((2 << 3) | WIRE_LENGTH_DELIMITED)) {
+                name = readString(buffer);
+            } else if (tag == ((3 << 3) | WIRE_LENGTH_DELIMITED)) {
+                decodeKeyValue(buffer, readLength(buffer) + buffer.position(), attributes);
+            } else {
+                skipField(buffer, tag);
+            }
+        }
+        checkEnd(buffer, end);
+        return new OtlpSpan.Event(time, name, attributes);
+    }
+
+    private static OtlpSpan.Link decodeLink(ByteBuffer buffer, int end) throws IOException {
+        String traceId = ""; //$NON-NLS-1$
+        String spanId = ""; //$NON-NLS-1$
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            if (tag == ((1 << 3) | WIRE_LENGTH_DELIMITED)) {
+                traceId = readHex(buffer);
+            } else if (tag == ((2 << 3) | WIRE_LENGTH_DELIMITED)) {
+                spanId = readHex(buffer);
+            } else {
+                skipField(buffer, tag);
+            }
+        }
+        checkEnd(buffer, end);
+        return new OtlpSpan.Link(traceId, spanId);
+    }
+
+    private static void decodeStatus(ByteBuffer buffer, int end, OtlpSpan span) throws IOException {
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            if (tag == ((2 << 3) | WIRE_LENGTH_DELIMITED)) {
+                span.fStatusMessage = readString(buffer);
+            } else if (tag == ((3 << 3) | WIRE_VARINT)) {
+                span.fStatusCode = (int) readVarint64(buffer);
+            } else {
+                skipField(buffer, tag);
+            }
+        }
+        checkEnd(buffer, end);
+    }
+
+    /**
+     * Decode the repeated key/value field with the given number of a message
+     */
+    private static Map<String, String> decodeKeyValues(ByteBuffer buffer, int end, int fieldNumber) throws IOException {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        int keyValueTag = (fieldNumber << 3) | WIRE_LENGTH_DELIMITED;
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            if (tag == keyValueTag) {
+                decodeKeyValue(buffer, readLength(buffer) + buffer.position(), attributes);
+            } else {
+                skipField(buffer, tag);
+            }
+        }
+        checkEnd(buffer, end);
+        return attributes;
+    }
+
+    private static void decodeKeyValue(ByteBuffer buffer, int end, Map<String, String> attributes) throws IOException {
+        String key = ""; //$NON-NLS-1$
+        String value = ""; //$NON-NLS-1$
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            if (tag == ((1 << 3) | WIRE_LENGTH_DELIMITED)) {
+                key = readString(buffer);
+            } else if (tag == ((2 << 3) | WIRE_LENGTH_DELIMITED)) {
+                JsonElement element = decodeAnyValue(buffer, readLength(buffer) + buffer.position());
+                value = element.isJsonPrimitive() ? element.getAsString() : element.toString();
+            } else {
+                skipField(buffer, tag);
+            }
+        }
+        checkEnd(buffer, end);
+        attributes.put(key, value);
+    }
+
+    private static JsonElement decodeAnyValue(ByteBuffer buffer, int end) throws IOException {
+        JsonElement value = new JsonPrimitive(""); //$NON-NLS-1$
+        while (buffer.position() < end) {
+            int tag = readVarint32(buffer);
+            switch (tag) {
+            case (1 << 3) | WIRE_LENGTH_DELIMITED:
+                value = new JsonPrimitive(readString(buffer));
+                break;
+            case (2 << 3) | WIRE_VARINT:
+                value = new JsonPrimitive(readVarint64(buffer) != 0);
+                break;
+            case (3 << 3) | WIRE_VARINT:
+                value = new JsonPrimitive(readVarint64(buffer));
+                break;
+            case (4 << 3) | WIRE_FIXED64:
+                value = new JsonPrimitive(Double.longBitsToDouble(buffer.getLong()));
+                break;
+            case (5 << 3) | WIRE_LENGTH_DELIMITED: {
+                int arrayEnd = readLength(buffer) + buffer.position();
+                JsonArray array = new JsonArray();
+                while (buffer.position() < arrayEnd) {
+                    int valueTag = readVarint32(buffer);
+                    if (valueTag == ((1 << 3) | WIRE_LENGTH_DELIMITED)) {
+                        array.add(decodeAnyValue(buffer, readLength(buffer) + buffer.position()));
+                    } else {
+                        skipField(buffer, valueTag);
+                    }
+                }
+                checkEnd(buffer, arrayEnd);
+                value = array;
+                break;
+            }
+            case (6 << 3) | WIRE_LENGTH_DELIMITED: {
+                int listEnd = readLength(buffer) + buffer.position();
+                JsonObject object = new JsonObject();
+                decodeKeyValues(buffer, listEnd, 1).forEach(object::addProperty);
+                value = object;
+                break;
+            }
+            case (7 << 3) | WIRE_LENGTH_DELIMITED: {
+                byte[] bytes = new byte[readLength(buffer)];
+                buffer.get(bytes);
+                value = new JsonPrimitive(Base64.getEncoder().encodeToString(bytes));
+                break;
+            }
+            default:
+                skipField(buffer, tag);
+                break;
+            }
+        }
+        checkEnd(buffer, end);
+        return value;
+    }
+
+    // ------------------------------------------------------------------------
+    // Wire format
+    // ------------------------------------------------------------------------
+
+    private static void checkEnd(ByteBuffer buffer, int end) throws IOException {
+        if (buffer.position() != end) {
+            throw new IOException("Protobuf message overflows its length at " + buffer.position()); //$NON-NLS-1$
+        }
+    }
+
+    private static long readVarint64(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint at " + buffer.position()); //$NON-NLS-1$
+    }
+
+    private static int readVarint32(ByteBuffer buffer) throws IOException {
+        return (int) readVarint64(buffer);
+    }
+
+    private static int readLength(ByteBuffer buffer) throws IOException {
+        int length = readVarint32(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid length " + length + " at " + buffer.position()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return length;
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = readLength(buffer);
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static String readHex(ByteBuffer buffer) throws IOException {
+        int length = readLength(buffer);
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            int b = buffer.get() & 0xff;
+            chars[2 * i] = HEX_DIGITS[b >>> 4];
+            chars[2 * i + 1] = HEX_DIGITS[b & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static void skipField(ByteBuffer buffer, int tag) throws IOException {
+        switch (tag & 7) {
+        case WIRE_VARINT:
+            readVarint64(buffer);
+            break;
+        case WIRE_FIXED64:
+            buffer.position(buffer.position() + Long.BYTES);
+            break;
+        case WIRE_LENGTH_DELIMITED:
+            buffer.position(readLength(buffer) + buffer.position());
+            break;
+        case WIRE_FIXED32:
+            buffer.position(buffer.position() + Integer.BYTES);
+            break;
+        default:
+            throw new IOException("Unsupported protobuf wire type " + (tag & 7) + " at " + buffer.position()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * An OpenTelemetry resource, the entity producing the spans. It is the
+ * equivalent of a Jaeger process.
+ */
+public class OtlpResource {
+
+    /**
+     * The attribute containing the service name of the resource
+     */
+    public static final String SERVICE_NAME = "service.name"; //$NON-NLS-1$
+
+    private final Map<String, String> fAttributes;
+
+    /**
+     * Constructor
+     *
+     * @param attributes
+     *            the resource attributes, with their values as strings
+     */
+    public OtlpResource(Map<String, String> attributes) {
+        fAttributes = attributes;
+    }
+
+    /**
+     * Get the service name of this resource
+     *
+     * @return the service name, or an empty string if the resource has no
+     *         service name
+     */
+    public String getServiceName() {
+        String name = fAttributes.get(SERVICE_NAME);
+        return name == null ? "" : name; //$NON-NLS-1$
+    }
+
+    /**
+     * Get the attributes of this resource
+     *
+     * @return the attributes
+     */
+    public Map<String, String> getAttributes() {
+        return fAttributes;
+    }
+
+    @Override
+    public int hashCode() {
+        return fAttributes.hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return Objects.equals(fAttributes, ((OtlpResource) obj).fAttributes);
+    }
+
+    @Override
+    public String toString() {
+        return "OtlpResource " + fAttributes; //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.Activator;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+
+/**
+ * Job decoding an OTLP trace file, in the JSON or the protobuf encoding, and
+ * writing its spans sorted by start time in a span file.
+ */
+public class OtlpSortingJob extends Job {
+
+    private final File fTraceFile;
+    private final File fSpanFile;
+
+    /**
+     * Constructor
+     *
+     * @param traceFile
+     *            the OTLP trace file
+     * @param spanFile
+     *            the span file to write
+     */
+    public OtlpSortingJob(File traceFile, File spanFile) {
+        super("Sorting OTLP trace " + traceFile.getName()); //$NON-NLS-1$
+        fTraceFile = traceFile;
+        fSpanFile = spanFile;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        SubMonitor subMonitor = SubMonitor.convert(monitor, getName(), (int) Math.min(Integer.MAX_VALUE, fTraceFile.length() / 1024 + 1));
+        try (OtlpSpanFileWriter writer = new OtlpSpanFileWriter(fSpanFile)) {
+            if (TmfTraceUtils.isText(fTraceFile)) {
+                new OtlpJsonDecoder(writer).decode(fTraceFile, subMonitor);
+            } else {
+                new OtlpProtobufDecoder(writer).decode(fTraceFile, subMonitor);
+            }
+            writer.finish();
+        } catch (OperationCanceledException e) {
+            return Status.CANCEL_STATUS;
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error sorting OTLP trace " + fTraceFile, e); //$NON-NLS-1$
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error sorting OTLP trace " + fTraceFile, e); //$NON-NLS-1$
+        } catch (UncheckedIOException e) {
+            Activator.getInstance().logError("Error sorting OTLP trace " + fTraceFile, e.getCause()); //$NON-NLS-1$
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error sorting OTLP trace " + fTraceFile, e.getCause()); //$NON-NLS-1$
+        } finally {
+            subMonitor.done();
+        }
+        return Status.OK_STATUS;
+    }
+}
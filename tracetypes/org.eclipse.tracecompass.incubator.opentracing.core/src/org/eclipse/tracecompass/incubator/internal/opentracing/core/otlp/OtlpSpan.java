@@ -0,0 +1,461 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
+
+/**
+ * An OpenTelemetry span, as decoded from an OTLP
+ * <code>ExportTraceServiceRequest</code>. The span can be serialized to and
+ * read back from the sorted span file of an {@link OtlpTrace}, and converted
+ * to the {@link OpenTracingField} used by the open tracing analyses.
+ */
+public class OtlpSpan {
+
+    private static final String[] SPAN_KINDS = { "", "internal", "server", "client", "producer", "consumer" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+    private static final String[] STATUS_CODES = { "UNSET", "OK", "ERROR" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    /** Status code of a span in error */
+    public static final int STATUS_CODE_ERROR = 2;
+
+    private static final String CHILD_OF = "CHILD_OF"; //$NON-NLS-1$
+    private static final String FOLLOWS_FROM_KEY = IOpenTracingConstants.REFERENCES + "/FOLLOWS_FROM"; //$NON-NLS-1$
+    private static final String FOLLOWS_FROM_PREFIX = FOLLOWS_FROM_KEY + '/';
+    private static final String TAG_PREFIX = IOpenTracingConstants.TAGS + '/';
+    private static final String PROCESS_TAG_PREFIX = IOpenTracingConstants.PROCESS_TAGS + '/';
+    private static final String EVENT_KEY = "event"; //$NON-NLS-1$
+
+    /**
+     * An event of a span, converted to an open tracing log
+     */
+    public static class Event {
+        private final long fTime;
+        private final String fName;
+        private final Map<String, String> fAttributes;
+
+        /**
+         * Constructor
+         *
+         * @param time
+         *            the event time, in nanoseconds
+         * @param name
+         *            the event name
+         * @param attributes
+         *            the event attributes
+         */
+        public Event(long time, String name, Map<String, String> attributes) {
+            fTime = time;
+            fName = name;
+            fAttributes = attributes;
+        }
+
+        /**
+         * @return the event time, in nanoseconds
+         */
+        public long getTime() {
+            return fTime;
+        }
+
+        /**
+         * @return the event name
+         */
+        public String getName() {
+            return fName;
+        }
+
+        /**
+         * @return the event attributes
+         */
+        public Map<String, String> getAttributes() {
+            return fAttributes;
+        }
+    }
+
+    /**
+     * A link from a span to another span, possibly from another trace
+     */
+    public static class Link {
+        private final String fTraceId;
+        private final String fSpanId;
+
+        /**
+         * Constructor
+         *
+         * @param traceId
+         *            the linked trace ID, in hexadecimal
+         * @param spanId
+         *            the linked span ID, in hexadecimal
+         */
+        public Link(String traceId, String spanId) {
+            fTraceId = traceId;
+            fSpanId = spanId;
+        }
+
+        /**
+         * @return the linked trace ID
+         */
+        public String getTraceId() {
+            return fTraceId;
+        }
+
+        /**
+         * @return the linked span ID
+         */
+        public String getSpanId() {
+            return fSpanId;
+        }
+    }
+
+    String fTraceId = ""; //$NON-NLS-1$
+    String fSpanId = ""; //$NON-NLS-1$
+    String fParentSpanId = ""; //$NON-NLS-1$
+    String fName = ""; //$NON-NLS-1$
+    int fKind;
+    long fStartTime;
+    long fEndTime;
+    int fStatusCode;
+    String fStatusMessage = ""; //$NON-NLS-1$
+    String fScopeName = ""; //$NON-NLS-1$
+    String fScopeVersion = ""; //$NON-NLS-1$
+    Map<String, String> fAttributes = new LinkedHashMap<>();
+    List<Event> fEvents = new ArrayList<>();
+    List<Link> fLinks = new ArrayList<>();
+    OtlpResource fResource = new OtlpResource(Collections.emptyMap());
+
+    /**
+     * @return the trace ID, in hexadecimal
+     */
+    public String getTraceId() {
+        return fTraceId;
+    }
+
+    /**
+     * @return the span ID, in hexadecimal
+     */
+    public String getSpanId() {
+        return fSpanId;
+    }
+
+    /**
+     * @return the parent span ID, in hexadecimal, or an empty string for a
+     *         root span
+     */
+    public String getParentSpanId() {
+        return fParentSpanId;
+    }
+
+    /**
+     * @return the span name
+     */
+    public String getName() {
+        return fName;
+    }
+
+    /**
+     * @return the span start time, in nanoseconds
+     */
+    public long getStartTime() {
+        return fStartTime;
+    }
+
+    /**
+     * @return the span end time, in nanoseconds
+     */
+    public long getEndTime() {
+        return fEndTime;
+    }
+
+    /**
+     * @return the span status code, 0 for unset, 1 for ok and 2 for error
+     */
+    public int getStatusCode() {
+        return fStatusCode;
+    }
+
+    /**
+     * @return the span attributes
+     */
+    public Map<String, String> getAttributes() {
+        return fAttributes;
+    }
+
+    /**
+     * @return the span events
+     */
+    public List<Event> getEvents() {
+        return fEvents;
+    }
+
+    /**
+     * @return the span links
+     */
+    public List<Link> getLinks() {
+        return fLinks;
+    }
+
+    /**
+     * @return the resource that produced this span
+     */
+    public OtlpResource getResource() {
+        return fResource;
+    }
+
+    /**
+     * Convert this span to an open tracing field, using the same conventions
+     * as Jaeger: the attributes are tags, the events are logs, the resource is
+     * the process and the parent span is a <code>CHILD_OF</code> reference.
+     * <p>
+     * The links are <code>FOLLOWS_FROM</code> references: like in a Jaeger
+     * span, <code>references/FOLLOWS_FROM</code> is the span ID of the first
+     * link, and every link <i>i</i> is also kept as
+     * <code>references/FOLLOWS_FROM/</code><i>i</i> with its span ID and
+     * <code>references/FOLLOWS_FROM/</code><i>i</i><code>/traceID</code> with
+     * its trace ID, as a link can be to another trace.
+     *
+     * @return the open tracing field
+     */
+    public OpenTracingField toOpenTracingField() {
+        OpenTracingField.Builder builder = new OpenTracingField.Builder();
+        builder.put(IOpenTracingConstants.OPERATION_NAME, fName);
+        builder.put(IOpenTracingConstants.TRACE_ID, fTraceId);
+        builder.put(IOpenTracingConstants.SPAN_ID, fSpanId);
+        long duration = fEndTime - fStartTime;
+        builder.put(IOpenTracingConstants.START_TIME, fStartTime);
+        builder.put(IOpenTracingConstants.DURATION, duration);
+        if (!fParentSpanId.isEmpty()) {
+            builder.put(IOpenTracingConstants.REFERENCES + '/' + CHILD_OF, fParentSpanId);
+        }
+        if (!fLinks.isEmpty()) {
+            builder.put(FOLLOWS_FROM_KEY, fLinks.get(0).getSpanId());
+            for (int i = 0; i < fLinks.size(); i++) {
+                Link link = fLinks.get(i);
+                builder.put(FOLLOWS_FROM_PREFIX + i, link.getSpanId());
+                builder.put(FOLLOWS_FROM_PREFIX + i + '/' + IOpenTracingConstants.TRACE_ID, link.getTraceId());
+            }
+        }
+
+        for (Entry<String, String> attribute : fAttributes.entrySet()) {
+            builder.put(TAG_PREFIX + attribute.getKey(), attribute.getValue());
+        }
+        if (fKind > 0 && fKind < SPAN_KINDS.length) {
+            builder.put(TAG_PREFIX + "span.kind", SPAN_KINDS[fKind]); //$NON-NLS-1$
+        }
+        if (fStatusCode > 0 && fStatusCode < STATUS_CODES.length) {
+            builder.put(TAG_PREFIX + "otel.status_code", STATUS_CODES[fStatusCode]); //$NON-NLS-1$
+        }
+        if (fStatusCode == STATUS_CODE_ERROR) {
+            builder.put(TAG_PREFIX + "error", String.valueOf(true)); //$NON-NLS-1$
+        }
+        if (!fStatusMessage.isEmpty()) {
+            builder.put(TAG_PREFIX + "otel.status_description", fStatusMessage); //$NON-NLS-1$
+        }
+        if (!fScopeName.isEmpty()) {
+            builder.put(TAG_PREFIX + "otel.scope.name", fScopeName); //$NON-NLS-1$
+        }
+        if (!fScopeVersion.isEmpty()) {
+            builder.put(TAG_PREFIX + "otel.scope.version", fScopeVersion); //$NON-NLS-1$
+        }
+
+        if (!fEvents.isEmpty()) {
+            Map<Long, Map<String, String>> logs = new HashMap<>();
+            for (Event event : fEvents) {
+                Map<String, String> log = new HashMap<>(event.getAttributes());
+                log.put(EVENT_KEY, event.getName());
+                logs.put(event.getTime(), log);
+            }
+            builder.put(IOpenTracingConstants.LOGS, logs);
+        }
+
+        String processName = fResource.getServiceName();
+        for (Entry<String, String> attribute : fResource.getAttributes().entrySet()) {
+            if (!OtlpResource.SERVICE_NAME.equals(attribute.getKey())) {
+                builder.put(PROCESS_TAG_PREFIX + attribute.getKey(), attribute.getValue());
+            }
+        }
+        builder.put(IOpenTracingConstants.PROCESS_NAME, processName);
+        return builder.build(fName, fSpanId, fStartTime, duration, processName);
+    }
+
+    // ------------------------------------------------------------------------
+    // Serialization
+    // ------------------------------------------------------------------------
+
+    /**
+     * Write this span, except its start time which is written separately as
+     * the sort key, and its resource which is written as an index in the
+     * resource table.
+     *
+     * @param output
+     *            the output
+     * @param resourceId
+     *            the index of the resource of this span
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    void write(DataOutput output, int resourceId) throws IOException {
+        output.writeLong(fEndTime);
+        output.writeInt(resourceId);
+        writeString(output, fTraceId);
+        writeString(output, fSpanId);
+        writeString(output, fParentSpanId);
+        writeString(output, fName);
+        output.writeByte(fKind);
+        output.writeByte(fStatusCode);
+        writeString(output, fStatusMessage);
+        writeString(output, fScopeName);
+        writeString(output, fScopeVersion);
+        writeMap(output, fAttributes);
+        output.writeInt(fEvents.size());
+        for (Event event : fEvents) {
+            output.writeLong(event.getTime());
+            writeString(output, event.getName());
+            writeMap(output, event.getAttributes());
+        }
+        output.writeInt(fLinks.size());
+        for (Link link : fLinks) {
+            writeString(output, link.getTraceId());
+            writeString(output, link.getSpanId());
+        }
+    }
+
+    /**
+     * Read a span written with {@link #write(DataOutput, int)}
+     *
+     * @param input
+     *            the input
+     * @param startTime
+     *            the start time of the span, read separately
+     * @param resources
+     *            the resource table
+     * @return the span
+     * @throws IOException
+     *             if the input cannot be read or is invalid
+     */
+    static OtlpSpan read(DataInput input, long startTime, List<OtlpResource> resources) throws IOException {
+        OtlpSpan span = new OtlpSpan();
+        span.fStartTime = startTime;
+        span.fEndTime = input.readLong();
+        int resourceId = input.readInt();
+        if (resourceId < 0 || resourceId >= resources.size()) {
+            throw new IOException("Invalid resource index " + resourceId); //$NON-NLS-1$
+        }
+        span.fResource = resources.get(resourceId);
+        span.fTraceId = readString(input);
+        span.fSpanId = readString(input);
+        span.fParentSpanId = readString(input);
+        span.fName = readString(input);
+        span.fKind = input.readByte();
+        span.fStatusCode = input.readByte();
+        span.fStatusMessage = readString(input);
+        span.fScopeName = readString(input);
+        span.fScopeVersion = readString(input);
+        span.fAttributes = readMap(input);
+        int nbEvents = input.readInt();
+        for (int i = 0; i < nbEvents; i++) {
+            long time = input.readLong();
+            String name = readString(input);
+            span.fEvents.add(new Event(time, name, readMap(input)));
+        }
+        int nbLinks = input.readInt();
+        for (int i = 0; i < nbLinks; i++) {
+            String traceId = readString(input);
+            span.fLinks.add(new Link(traceId, readString(input)));
+        }
+        return span;
+    }
+
+    /**
+     * Write a string as its UTF-8 length followed by its bytes. Contrary to
+     * {@link DataOutput#writeUTF(String)}, the string can be longer than 64k.
+     *
+     * @param output
+     *            the output
+     * @param value
+     *            the string to write
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    static void writeString(DataOutput output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Read a string written with {@link #writeString(DataOutput, String)}
+     *
+     * @param input
+     *            the input
+     * @return the string
+     * @throws IOException
+     *             if the input cannot be read
+     */
+    static String readString(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length); //$NON-NLS-1$
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write a map of strings
+     *
+     * @param output
+     *            the output
+     * @param map
+     *            the map to write
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    static void writeMap(DataOutput output, Map<String, String> map) throws IOException {
+        output.writeInt(map.size());
+        for (Entry<String, String> entry : map.entrySet()) {
+            writeString(output, entry.getKey());
+            writeString(output, entry.getValue());
+        }
+    }
+
+    /**
+     * Read a map written with {@link #writeMap(DataOutput, Map)}
+     *
+     * @param input
+     *            the input
+     * @return the map
+     * @throws IOException
+     *             if the input cannot be read
+     */
+    static Map<String, String> readMap(DataInput input) throws IOException {
+        int size = input.readInt();
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = readString(input);
+            map.put(key, readString(input));
+        }
+        return map;
+    }
+}
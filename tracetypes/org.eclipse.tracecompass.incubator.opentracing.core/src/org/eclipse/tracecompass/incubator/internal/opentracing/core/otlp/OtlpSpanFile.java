@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
+
+/**
+ * Reader of the sorted span file written by {@link OtlpSpanFileWriter}. The
+ * spans are read by rank: reading the next span is a sequential read, other
+ * ranks are reached with the block index, by skipping at most one block of
+ * records.
+ */
+public class OtlpSpanFile implements Closeable {
+
+    private final RandomAccessFile fFile;
+    private final long fNbSpans;
+    private final int fBlockSize;
+    private final long[] fBlockTimes;
+    private final long[] fBlockOffsets;
+    private final List<OtlpResource> fResources = new ArrayList<>();
+
+    /** Rank of the span at the current position of the file */
+    private long fRank;
+
+    /**
+     * Open a span file
+     *
+     * @param file
+     *            the span file
+     * @throws IOException
+     *             if the file cannot be read or is not a valid span file
+     */
+    public OtlpSpanFile(File file) throws IOException {
+        fFile = new BufferedRandomAccessFile(file, "r"); //$NON-NLS-1$
+        try {
+            if (fFile.length() < OtlpSpanFileWriter.HEADER_SIZE || fFile.readInt() != OtlpSpanFileWriter.MAGIC) {
+                throw new IOException("Not an OTLP span file " + file); //$NON-NLS-1$
+            }
+            int version = fFile.readInt();
+            if (version != OtlpSpanFileWriter.VERSION) {
+                throw new IOException("Unsupported OTLP span file version " + version); //$NON-NLS-1$
+            }
+            fNbSpans = fFile.readLong();
+            long indexOffset = fFile.readLong();
+            long resourcesOffset = fFile.readLong();
+
+            fFile.seek(resourcesOffset);
+            int nbResources = fFile.readInt();
+            for (int i = 0; i < nbResources; i++) {
+                fResources.add(new OtlpResource(OtlpSpan.readMap(fFile)));
+            }
+
+            fFile.seek(indexOffset);
+            fBlockSize = fFile.readInt();
+            int nbBlocks = fFile.readInt();
+            if (fBlockSize <= 0 || nbBlocks < 0 || (long) nbBlocks * fBlockSize < fNbSpans) {
+                throw new IOException("Invalid OTLP span file index " + file); //$NON-NLS-1$
+            }
+            fBlockTimes = new long[nbBlocks];
+            fBlockOffsets = new long[nbBlocks];
+            for (int i = 0; i < nbBlocks; i++) {
+                fBlockTimes[i] = fFile.readLong();
+                fBlockOffsets[i] = fFile.readLong();
+            }
+            fFile.seek(OtlpSpanFileWriter.HEADER_SIZE);
+            fRank = 0;
+        } catch (IOException e) {
+            fFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of spans in the file
+     *
+     * @return the number of spans
+     */
+    public long getNbSpans() {
+        return fNbSpans;
+    }
+
+    /**
+     * Read the span at a given rank
+     *
+     * @param rank
+     *            the rank of the span
+     * @return the span, or null if the rank is after the last span
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public synchronized @Nullable OtlpSpan getSpan(long rank) throws IOException {
+        if (rank < 0 || rank >= fNbSpans) {
+            return null;
+        }
+        seekRank(rank);
+        // Invalidate the position until the record is fully read
+        fRank = -1;
+        long startTime = fFile.readLong();
+        int length = fFile.readInt();
+        long next = fFile.getFilePointer() + length;
+        OtlpSpan span = OtlpSpan.read(fFile, startTime, fResources);
+        if (fFile.getFilePointer() != next) {
+            throw new IOException("Invalid span record at rank " + rank); //$NON-NLS-1$
+        }
+        fRank = rank + 1;
+        return span;
+    }
+
+    /**
+     * Find the rank of the first span that starts at or after a timestamp
+     *
+     * @param timestamp
+     *            the timestamp, in nanoseconds
+     * @return the rank of the span, or the number of spans if all the spans
+     *         start before the timestamp
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public synchronized long findRank(long timestamp) throws IOException {
+        // Last block that starts strictly before the timestamp, so that spans
+        // with the same start time spread on many blocks are not missed
+        int low = 0;
+        int high = fBlockTimes.length - 1;
+        int block = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (fBlockTimes[mid] < timestamp) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (block < 0) {
+            return 0;
+        }
+        long rank = (long) block * fBlockSize;
+        seekRank(rank);
+        fRank = -1;
+        while (rank < fNbSpans) {
+            long startTime = fFile.readLong();
+            int length = fFile.readInt();
+            if (startTime >= timestamp) {
+                fFile.seek(fFile.getFilePointer() - Long.BYTES - Integer.BYTES);
+                break;
+            }
+            fFile.skipBytes(length);
+            rank++;
+        }
+        fRank = rank;
+        return rank;
+    }
+
+    /**
+     * Position the file at the start of the record of a rank
+     */
+    private void seekRank(long rank) throws IOException {
+        long block = rank / fBlockSize;
+        long current = fRank;
+        if (current < 0 || current > rank || current / fBlockSize != block) {
+            fFile.seek(fBlockOffsets[(int) block]);
+            current = block * fBlockSize;
+        }
+        while (current < rank) {
+            fFile.readLong();
+            fFile.skipBytes(fFile.readInt());
+            current++;
+        }
+        fRank = rank;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        fFile.close();
+    }
+}
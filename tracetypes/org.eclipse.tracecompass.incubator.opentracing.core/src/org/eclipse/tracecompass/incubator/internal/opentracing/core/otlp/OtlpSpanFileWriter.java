@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Writer of the sorted span file of an OTLP trace. The spans are received in
+ * any order, serialized right away and sorted by start time in runs that are
+ * spilled to temporary files when they get too big. The runs are then merged
+ * into the final file, so the whole trace never needs to fit in memory.
+ * <p>
+ * The file layout is:
+ * <ul>
+ * <li>a header: magic, version, number of spans, index offset and resources
+ * offset</li>
+ * <li>the span records, sorted by start time: start time, body length and
+ * body</li>
+ * <li>the resource table</li>
+ * <li>the block index: block size, number of blocks and, for each block of
+ * {@link #BLOCK_SIZE} spans, the start time and offset of its first span</li>
+ * </ul>
+ *
+ * @see OtlpSpanFile
+ */
+public class OtlpSpanFileWriter implements Consumer<OtlpSpan>, Closeable {
+
+    /** Magic number of the span file, "OTLP" */
+    static final int MAGIC = 0x4F544C50;
+    /** Version of the span file layout */
+    static final int VERSION = 1;
+    /** Size of the header, in bytes */
+    static final int HEADER_SIZE = 32;
+    /** Number of spans per block of the index */
+    static final int BLOCK_SIZE = 1024;
+
+    private static final int DEFAULT_RUN_SIZE = 50000;
+    private static final Comparator<Record> RECORD_ORDER = Comparator.comparingLong((Record r) -> r.fStartTime).thenComparingLong(r -> r.fSequence);
+
+    private static final class Record {
+        private final long fStartTime;
+        private final long fSequence;
+        private final byte[] fBody;
+
+        private Record(long startTime, long sequence, byte[] body) {
+            fStartTime = startTime;
+            fSequence = sequence;
+            fBody = body;
+        }
+    }
+
+    private final File fTarget;
+    private final int fRunSize;
+    private final Map<OtlpResource, Integer> fResourceIds = new HashMap<>();
+    private final List<OtlpResource> fResources = new ArrayList<>();
+    private final List<Record> fBuffer = new ArrayList<>();
+    private final List<File> fRuns = new ArrayList<>();
+    private final ByteArrayOutputStream fBodyBytes = new ByteArrayOutputStream();
+    private final DataOutputStream fBodyOutput = new DataOutputStream(fBodyBytes);
+    private long fSequence = 0;
+
+    /**
+     * Constructor
+     *
+     * @param target
+     *            the span file to write
+     */
+    public OtlpSpanFileWriter(File target) {
+        this(target, DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param target
+     *            the span file to write
+     * @param runSize
+     *            the maximum number of spans kept in memory before they are
+     *            spilled to a temporary file
+     */
+    public OtlpSpanFileWriter(File target, int runSize) {
+        fTarget = target;
+        fRunSize = Math.max(1, runSize);
+    }
+
+    /**
+     * Add a span to the file. This method is meant to be used as the consumer
+     * of the OTLP decoders, it wraps I/O errors in
+     * {@link UncheckedIOException}.
+     */
+    @Override
+    public void accept(OtlpSpan span) {
+        try {
+            add(span);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Add a span to the file
+     *
+     * @param span
+     *            the span
+     * @throws IOException
+     *             if a run cannot be spilled to disk
+     */
+    public void add(OtlpSpan span) throws IOException {
+        Integer resourceId = fResourceIds.get(span.getResource());
+        if (resourceId == null) {
+            resourceId = fResources.size();
+            fResourceIds.put(span.getResource(), resourceId);
+            fResources.add(span.getResource());
+        }
+        fBodyBytes.reset();
+        span.write(fBodyOutput, resourceId);
+        fBuffer.add(new Record(span.getStartTime(), fSequence++, fBodyBytes.toByteArray()));
+        if (fBuffer.size() >= fRunSize) {
+            spill();
+        }
+    }
+
+    /**
+     * Write the sorted span file. The file is first written next to the target
+     * and then renamed, so a partial file is never left behind.
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void finish() throws IOException {
+        File temp = new File(fTarget.getPath() + ".tmp"); //$NON-NLS-1$
+        boolean moved = false;
+        try {
+            long[] header;
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16))) {
+                header = writeFile(output);
+            }
+            try (RandomAccessFile file = new RandomAccessFile(temp, "rw")) { //$NON-NLS-1$
+                file.writeInt(MAGIC);
+                file.writeInt(VERSION);
+                for (long value : header) {
+                    file.writeLong(value);
+                }
+            }
+            Files.move(temp.toPath(), fTarget.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+        } finally {
+            if (!moved) {
+                temp.delete();
+            }
+        }
+        close();
+    }
+
+    /**
+     * Delete the temporary run files
+     */
+    @Override
+    public void close() {
+        fBuffer.clear();
+        for (File run : fRuns) {
+            run.delete();
+        }
+        fRuns.clear();
+    }
+
+    private void spill() throws IOException {
+        fBuffer.sort(RECORD_ORDER);
+        File run = File.createTempFile("otlp-run", ".bin", fTarget.getAbsoluteFile().getParentFile()); //$NON-NLS-1$ //$NON-NLS-2$
+        fRuns.add(run);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run)))) {
+            for (Record record : fBuffer) {
+                writeRecord(output, record);
+                output.writeLong(record.fSequence);
+            }
+        }
+        fBuffer.clear();
+    }
+
+    /**
+     * Write the file, leaving room for the header
+     *
+     * @return the number of spans, the index offset and the resources offset
+     */
+    private long[] writeFile(DataOutputStream output) throws IOException {
+        List<Long> blockTimes = new ArrayList<>();
+        List<Long> blockOffsets = new ArrayList<>();
+        long nbSpans = 0;
+        // DataOutputStream.size() is an int, count the offset separately for
+        // files larger than 2GB
+        long offset = HEADER_SIZE;
+        output.write(new byte[HEADER_SIZE]);
+        try (RunMerger merger = new RunMerger()) {
+            Record record = merger.next();
+            while (record != null) {
+                if (nbSpans % BLOCK_SIZE == 0) {
+                    blockTimes.add(record.fStartTime);
+                    blockOffsets.add(offset);
+                }
+                writeRecord(output, record);
+                offset += Long.BYTES + Integer.BYTES + record.fBody.length;
+                nbSpans++;
+                record = merger.next();
+            }
+        }
+        long resourcesOffset = offset;
+        fBodyBytes.reset();
+        fBodyOutput.writeInt(fResources.size());
+        for (OtlpResource resource : fResources) {
+            OtlpSpan.writeMap(fBodyOutput, resource.getAttributes());
+        }
+        fBodyBytes.writeTo(output);
+        long indexOffset = resourcesOffset + fBodyBytes.size();
+        output.writeInt(BLOCK_SIZE);
+        output.writeInt(blockTimes.size());
+        for (int i = 0; i < blockTimes.size(); i++) {
+            output.writeLong(blockTimes.get(i));
+            output.writeLong(blockOffsets.get(i));
+        }
+        return new long[] { nbSpans, indexOffset, resourcesOffset };
+    }
+
+    private static void writeRecord(DataOutputStream output, Record record) throws IOException {
+        output.writeLong(record.fStartTime);
+        output.writeInt(record.fBody.length);
+        output.write(record.fBody);
+    }
+
+    /**
+     * K-way merge of the spilled runs and of the records still in memory
+     */
+    private class RunMerger implements Closeable {
+
+        private final List<DataInputStream> fInputs = new ArrayList<>();
+        private final PriorityQueue<RunHead> fHeads = new PriorityQueue<>(Comparator.comparing((RunHead h) -> h.fRecord, RECORD_ORDER));
+        private int fBufferIndex = 0;
+
+        public RunMerger() throws IOException {
+            fBuffer.sort(RECORD_ORDER);
+            for (File run : fRuns) {
+                DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(run), 1 << 16));
+                fInputs.add(input);
+                Record record = readRunRecord(input);
+                if (record != null) {
+                    fHeads.add(new RunHead(record, input));
+                }
+            }
+            if (!fBuffer.isEmpty()) {
+                fHeads.add(new RunHead(fBuffer.get(fBufferIndex++), null));
+            }
+        }
+
+        public @Nullable Record next() throws IOException {
+            RunHead head = fHeads.poll();
+            if (head == null) {
+                return null;
+            }
+            Record record = head.fRecord;
+            DataInputStream input = head.fInput;
+            Record next = null;
+            if (input != null) {
+                next = readRunRecord(input);
+            } else if (fBufferIndex < fBuffer.size()) {
+                next = fBuffer.get(fBufferIndex++);
+            }
+            if (next != null) {
+                head.fRecord = next;
+                fHeads.add(head);
+            }
+            return record;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (DataInputStream input : fInputs) {
+                input.close();
+            }
+        }
+    }
+
+    private static final class RunHead {
+        private Record fRecord;
+        private final @Nullable DataInputStream fInput;
+
+        private RunHead(Record record, @Nullable DataInputStream input) {
+            fRecord = record;
+            fInput = input;
+        }
+    }
+
+    private static @Nullable Record readRunRecord(DataInputStream input) throws IOException {
+        long startTime;
+        try {
+            startTime = input.readLong();
+        } catch (EOFException e) {
+            return null;
+        }
+        byte[] body = new byte[input.readInt()];
+        input.readFully(body);
+        return new Record(startTime, input.readLong(), body);
+    }
+}
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.otlp;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingAspects;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.project.model.ITmfPropertiesProvider;
+import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
+import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
+
+import com.google.common.collect.Lists;
+
+/**
+ * OpenTelemetry trace, in the OTLP JSON or protobuf encoding. The spans are
+ * decoded once and written, sorted by start time, in a supplementary span
+ * file that is then read by rank. The events are the same as the ones of the
+ * Open Tracing traces, so the Open Tracing analyses apply to this trace.
+ */
+public class OtlpTrace extends TmfTrace implements ITmfPropertiesProvider {
+
+    private static final int MAX_CONFIDENCE = 100;
+    private static final int PROTOBUF_CONFIDENCE = 10;
+    private static final int JSON_PEEK_SIZE = 4096;
+    private static final String RESOURCE_SPANS = "\"resourceSpans\""; //$NON-NLS-1$
+    private static final String SPAN_FILE_EXTENSION = ".otlp.spans"; //$NON-NLS-1$
+
+    private final @NonNull Iterable<@NonNull ITmfEventAspect<?>> fEventAspects;
+    private final Map<String, String> fProperties = new LinkedHashMap<>();
+    private @Nullable OtlpSpanFile fSpanFile;
+    private long fCurrentRank = 0;
+
+    /**
+     * Constructor
+     */
+    @SuppressWarnings("null")
+    public OtlpTrace() {
+        fEventAspects = Lists.newArrayList(OpenTracingAspects.getAspects());
+    }
+
+    @Override
+    public void initTrace(IResource resource, String path, Class<? extends ITmfEvent> type) throws TmfTraceException {
+        super.initTrace(resource, path, type);
+        File traceFile = new File(path);
+        File spanFile = new File(TmfTraceManager.getSupplementaryFileDir(this) + traceFile.getName() + SPAN_FILE_EXTENSION);
+        if (spanFile.exists()) {
+            try {
+                fSpanFile = new OtlpSpanFile(spanFile);
+            } catch (IOException e) {
+                // Invalid or outdated span file, sort the trace again
+                spanFile.delete();
+            }
+        }
+        if (fSpanFile == null) {
+            sortTrace(traceFile, spanFile);
+            try {
+                fSpanFile = new OtlpSpanFile(spanFile);
+            } catch (IOException e) {
+                throw new TmfTraceException(e.getMessage(), e);
+            }
+        }
+        fProperties.put("Type", "OTLP"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            fProperties.put("Encoding", TmfTraceUtils.isText(traceFile) ? "JSON" : "Protobuf"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        } catch (IOException e) {
+            // Leave the encoding out of the properties
+        }
+    }
+
+    private static void sortTrace(File traceFile, File spanFile) throws TmfTraceException {
+        Job sortJob = new OtlpSortingJob(traceFile, spanFile);
+        sortJob.schedule();
+        while (sortJob.getResult() == null) {
+            try {
+                sortJob.join();
+            } catch (InterruptedException e) {
+                throw new TmfTraceException(e.getMessage(), e);
+            }
+        }
+        IStatus result = sortJob.getResult();
+        if (!result.isOK()) {
+            throw new TmfTraceException("Job failed " + result.getMessage()); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public IStatus validate(IProject project, String path) {
+        File file = new File(path);
+        if (!file.exists()) {
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "File not found: " + path); //$NON-NLS-1$
+        }
+        if (!file.isFile()) {
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Not a file. It's a directory: " + path); //$NON-NLS-1$
+        }
+        try {
+            if (TmfTraceUtils.isText(file)) {
+                byte[] buffer = new byte[JSON_PEEK_SIZE];
+                int read;
+                try (InputStream input = new FileInputStream(file)) {
+                    read = input.readNBytes(buffer, 0, buffer.length);
+                }
+                if (new String(buffer, 0, read, StandardCharsets.UTF_8).contains(RESOURCE_SPANS)) {
+                    return new TraceValidationStatus(MAX_CONFIDENCE, Activator.PLUGIN_ID);
+                }
+            } else if (OtlpProtobufDecoder.isProtobuf(file)) {
+                return new TraceValidationStatus(PROTOBUF_CONFIDENCE, Activator.PLUGIN_ID);
+            }
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error validating file: " + path, e); //$NON-NLS-1$
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "IOException validating file: " + path, e); //$NON-NLS-1$
+        }
+        return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Not an OTLP trace"); //$NON-NLS-1$
+    }
+
+    @Override
+    public synchronized void dispose() {
+        OtlpSpanFile spanFile = fSpanFile;
+        if (spanFile != null) {
+            try {
+                spanFile.close();
+            } catch (IOException e) {
+                Activator.getInstance().logError("Error closing the span file of trace " + getPath(), e); //$NON-NLS-1$
+            }
+            fSpanFile = null;
+        }
+        super.dispose();
+    }
+
+    @Override
+    public Iterable<@NonNull ITmfEventAspect<?>> getEventAspects() {
+        return fEventAspects;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        return fProperties;
+    }
+
+    @Override
+    public ITmfLocation getCurrentLocation() {
+        return new TmfLongLocation(fCurrentRank);
+    }
+
+    @Override
+    public double getLocationRatio(@Nullable ITmfLocation location) {
+        OtlpSpanFile spanFile = fSpanFile;
+        if (spanFile == null || spanFile.getNbSpans() == 0 || location == null || !(location.getLocationInfo() instanceof Long)) {
+            return 0;
+        }
+        return ((Long) location.getLocationInfo()).doubleValue() / spanFile.getNbSpans();
+    }
+
+    @Override
+    public ITmfContext seekEvent(@Nullable ITmfLocation location) {
+        long rank = 0;
+        if (location != null && location.getLocationInfo() instanceof Long) {
+            rank = (Long) location.getLocationInfo();
+        }
+        return seekRank(rank);
+    }
+
+    @Override
+    public ITmfContext seekEvent(double ratio) {
+        OtlpSpanFile spanFile = fSpanFile;
+        if (spanFile == null) {
+            return new TmfContext(new TmfLongLocation(0L), 0);
+        }
+        return seekRank((long) (ratio * spanFile.getNbSpans()));
+    }
+
+    @Override
+    public synchronized ITmfContext seekEvent(long rank) {
+        return seekRank(rank);
+    }
+
+    /**
+     * Seek by timestamp with the index of the span file, there is no need to
+     * read the events from a checkpoint.
+     */
+    @Override
+    public synchronized ITmfContext seekEvent(@Nullable ITmfTimestamp timestamp) {
+        OtlpSpanFile spanFile = fSpanFile;
+        if (timestamp == null || spanFile == null) {
+            return seekRank(0);
+        }
+        try {
+            return seekRank(spanFile.findRank(timestamp.toNanos()));
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error seeking timestamp " + timestamp + " in trace " + getPath(), e); //$NON-NLS-1$ //$NON-NLS-2$
+            return seekRank(0);
+        }
+    }
+
+    private static ITmfContext seekRank(long rank) {
+        long validRank = Math.max(0, rank);
+        return new TmfContext(new TmfLongLocation(validRank), validRank);
+    }
+
+    @Override
+    public @Nullable ITmfEvent parseEvent(@Nullable ITmfContext context) {
+        OtlpSpanFile spanFile = fSpanFile;
+        if (context == null || spanFile == null || !(context.getLocation() instanceof TmfLongLocation)) {
+            return null;
+        }
+        long rank = ((TmfLongLocation) context.getLocation()).getLocationInfo();
+        try {
+            OtlpSpan span = spanFile.getSpan(rank);
+            if (span == null) {
+                return null;
+            }
+            fCurrentRank = rank + 1;
+            return new OpenTracingEvent(this, rank, span.toOpenTracingField());
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error parsing event", e); //$NON-NLS-1$
+        }
+        return null;
+    }
+
+    @Override
+    protected synchronized void updateAttributes(final ITmfContext context, final @NonNull ITmfEvent event) {
+        ITmfTimestamp timestamp = event.getTimestamp();
+        Long duration = event.getContent().getFieldValue(Long.class, IOpenTracingConstants.DURATION);
+        ITmfTimestamp endTime = duration != null ? TmfTimestamp.fromNanos(timestamp.toNanos() + duration) : timestamp;
+        if (getStartTime().equals(TmfTimestamp.BIG_BANG) || (getStartTime().compareTo(timestamp) > 0)) {
+            setStartTime(timestamp);
+        }
+        if (getEndTime().equals(TmfTimestamp.BIG_CRUNCH) || (getEndTime().compareTo(endTime) < 0)) {
+            setEndTime(endTime);
+        }
+        if (context.hasValidRank()) {
+            long rank = context.getRank();
+            if (getNbEvents() <= rank) {
+                setNbEvents(rank + 1);
+            }
+            if (getIndexer() != null) {
+                getIndexer().updateIndex(context, timestamp);
+            }
+        }
+    }
+}
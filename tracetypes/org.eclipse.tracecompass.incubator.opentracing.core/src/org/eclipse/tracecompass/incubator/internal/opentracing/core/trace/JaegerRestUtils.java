@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2021 Ericsson
+ * Copyright (c) 2018, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -11,6 +11,7 @@
 
 package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
 
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
@@ -72,10 +73,38 @@ public class JaegerRestUtils {
     private static final String SERVICE_NAME = "service"; //$NON-NLS-1$
     private static final String SEARCH_START_TIME = "start"; //$NON-NLS-1$
     private static final String TAGS = "tags"; //$NON-NLS-1$
+    private static final String OFFSET = "offset"; //$NON-NLS-1$
+
+    private static Client sfClient = null;
 
     private JaegerRestUtils() {
     }
 
+    /**
+     * Get the client shared by all the requests, so that the connections of
+     * the client are reused between the requests
+     */
+    private static synchronized Client getClient() {
+        Client client = sfClient;
+        if (client == null) {
+            client = ClientBuilder.newClient();
+            sfClient = client;
+        }
+        return client;
+    }
+
+    /**
+     * Close the client shared by the requests and its connections. A new
+     * client is created by the next request.
+     */
+    public static synchronized void closeClient() {
+        Client client = sfClient;
+        sfClient = null;
+        if (client != null) {
+            client.close();
+        }
+    }
+
     /**
      * Fetch the available services from Jaeger, used to create the URL to fetch
      * traces
@@ -145,6 +174,24 @@ public class JaegerRestUtils {
         return uriBuilder.build().toString();
     }
 
+    /**
+     * Build the URL of a page of the traces of a traces URL
+     *
+     * @param tracesUrl
+     *            The traces URL (built from buildTracesUrl)
+     * @param limit
+     *            Maximum number of traces of the page
+     * @param offset
+     *            Number of traces before the page
+     * @return The built URL
+     */
+    public static String buildTracesPageUrl(String tracesUrl, int limit, int offset) {
+        return UriBuilder.fromUri(tracesUrl)
+                .replaceQueryParam(NB_TRACES_LIMIT, limit)
+                .replaceQueryParam(OFFSET, offset)
+                .build().toString();
+    }
+
     /**
      * Fetch the traces from Jaeger
      *
@@ -157,9 +204,33 @@ public class JaegerRestUtils {
         return jaegerGet(url);
     }
 
+    /**
+     * Open the response of a request to Jaeger, to read it as it is received
+     * instead of all at once
+     *
+     * @param url
+     *            The complete URL
+     * @return The stream of the response, to close by the caller, or null if
+     *         there is a problem with the connection or the request failed
+     */
+    public static InputStream openJaegerStream(String url) {
+        WebTarget resource = getClient().target(url);
+        Builder request = resource.request();
+        request.accept(MediaType.APPLICATION_JSON);
+        try {
+            Response response = request.get();
+            if (Response.Status.fromStatusCode(response.getStatus()) != Response.Status.OK) {
+                response.close();
+                return null;
+            }
+            return response.readEntity(InputStream.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     private static String jaegerGet(String url) {
-        Client client = ClientBuilder.newClient();
-        WebTarget resource = client.target(url);
+        WebTarget resource = getClient().target(url);
         Builder request = resource.request();
         request.accept(MediaType.APPLICATION_JSON);
         try {
@@ -177,11 +248,12 @@ public class JaegerRestUtils {
      * @return True if the connection can be establish
      */
     public static boolean jaegerCheckConnection(String url) {
-        Client client = ClientBuilder.newClient();
-        WebTarget resource = client.target(url);
+        WebTarget resource = getClient().target(url);
         Builder request = resource.request();
         try {
-            int status = request.get().getStatus();
+            Response response = request.get();
+            int status = response.getStatus();
+            response.close();
             return Response.Status.fromStatusCode(status) == Response.Status.OK;
         } catch (Exception e) {
             return false;
@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Splits a Jaeger traces file or query response into one file per trace while
+ * reading it. The JSON tokens of each trace are copied straight to the trace
+ * file, so only one token is in memory at a time, whatever the size of the
+ * response.
+ *
+ * Each trace file is named after the trace ID and has the same layout as a
+ * Jaeger response with a single trace, as expected by
+ * {@link OpenTracingTrace}.
+ */
+public class JaegerTraceSplitter {
+
+    private static final String DATA_KEY = "data"; //$NON-NLS-1$
+    private static final String OFFSET_KEY = "offset"; //$NON-NLS-1$
+    private static final String ERRORS_KEY = "errors"; //$NON-NLS-1$
+    private static final String SPANS_KEY = "spans"; //$NON-NLS-1$
+    private static final String PROCESSES_KEY = "processes"; //$NON-NLS-1$
+    private static final String JSON_EXTENSION = ".json"; //$NON-NLS-1$
+    private static final String TEMP_PREFIX = "jaeger"; //$NON-NLS-1$
+    private static final String TEMP_EXTENSION = ".tmp"; //$NON-NLS-1$
+
+    /**
+     * Summary of a trace read by the splitter
+     */
+    public static class TraceSummary {
+        private final String fTraceId;
+        private final String fFileName;
+        private final @Nullable String fRootName;
+        private final int fNbSpans;
+        private final List<String> fServices;
+
+        private TraceSummary(String traceId, String fileName, @Nullable String rootName, int nbSpans, List<String> services) {
+            fTraceId = traceId;
+            fFileName = fileName;
+            fRootName = rootName;
+            fNbSpans = nbSpans;
+            fServices = Collections.unmodifiableList(services);
+        }
+
+        /**
+         * Get the trace ID
+         *
+         * @return the trace ID
+         */
+        public String getTraceId() {
+            return fTraceId;
+        }
+
+        /**
+         * Get the name of the trace file, in the folder of the splitter
+         *
+         * @return the file name
+         */
+        public String getFileName() {
+            return fFileName;
+        }
+
+        /**
+         * Get the operation name of the first span of the trace
+         *
+         * @return the operation name, or null if there are no spans
+         */
+        public @Nullable String getRootName() {
+            return fRootName;
+        }
+
+        /**
+         * Get the number of spans of the trace
+         *
+         * @return the number of spans
+         */
+        public int getNbSpans() {
+            return fNbSpans;
+        }
+
+        /**
+         * Get the service names of the processes of the trace
+         *
+         * @return the service names
+         */
+        public List<String> getServices() {
+            return fServices;
+        }
+    }
+
+    private final File fFolder;
+
+    /**
+     * Constructor
+     *
+     * @param folder
+     *            the folder where to write the trace files, it is created if
+     *            it does not exist
+     */
+    public JaegerTraceSplitter(File folder) {
+        fFolder = folder;
+    }
+
+    /**
+     * Split a Jaeger traces file or response
+     *
+     * @param input
+     *            the JSON input, it is not closed
+     * @param traceFilter
+     *            tells whether a trace, by ID, is written. It is called once
+     *            per trace, after the trace was read.
+     * @param consumer
+     *            called with each trace file once it is complete
+     * @return the offset of the response, -1 if it has none
+     * @throws IOException
+     *             if the input cannot be read or is not a Jaeger response, or
+     *             if a trace file cannot be written
+     */
+    public int split(Reader input, Predicate<String> traceFilter, Consumer<TraceSummary> consumer) throws IOException {
+        if (!fFolder.isDirectory() && !fFolder.mkdirs()) {
+            throw new IOException("Cannot create the folder " + fFolder); //$NON-NLS-1$
+        }
+        int offset = -1;
+        try {
+            JsonReader reader = new JsonReader(input);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (DATA_KEY.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        TraceSummary summary = splitTrace(reader, traceFilter);
+                        if (summary != null) {
+                            consumer.accept(summary);
+                        }
+                    }
+                    reader.endArray();
+                } else if (OFFSET_KEY.equals(name) && reader.peek() == JsonToken.NUMBER) {
+                    offset = reader.nextInt();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException | JsonParseException e) {
+            throw new IOException(e);
+        }
+        return offset;
+    }
+
+    private @Nullable TraceSummary splitTrace(JsonReader reader, Predicate<String> traceFilter) throws IOException {
+        File tempFile = File.createTempFile(TEMP_PREFIX, TEMP_EXTENSION, fFolder);
+        String traceId = null;
+        String rootName = null;
+        int nbSpans = 0;
+        List<String> services = new ArrayList<>();
+        try {
+            try (Writer fileWriter = new BufferedWriter(Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8));
+                    JsonWriter writer = new JsonWriter(fileWriter)) {
+                // Like the Gson serializer, leave out the null members
+                writer.setSerializeNulls(false);
+                writer.beginObject();
+                writer.name(DATA_KEY);
+                writer.beginArray();
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    writer.name(name);
+                    if (IOpenTracingConstants.TRACE_ID.equals(name) && reader.peek() == JsonToken.STRING) {
+                        traceId = reader.nextString();
+                        writer.value(traceId);
+                    } else if (SPANS_KEY.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        reader.beginArray();
+                        writer.beginArray();
+                        while (reader.hasNext()) {
+                            if (nbSpans++ == 0) {
+                                rootName = copyObject(reader, writer, IOpenTracingConstants.OPERATION_NAME);
+                            } else {
+                                copy(reader, writer);
+                            }
+                        }
+                        reader.endArray();
+                        writer.endArray();
+                    } else if (PROCESSES_KEY.equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        reader.beginObject();
+                        writer.beginObject();
+                        while (reader.hasNext()) {
+                            writer.name(reader.nextName());
+                            String service = copyObject(reader, writer, IOpenTracingConstants.SERVICE_NAME);
+                            if (service != null) {
+                                services.add(service);
+                            }
+                        }
+                        reader.endObject();
+                        writer.endObject();
+                    } else {
+                        copy(reader, writer);
+                    }
+                }
+                reader.endObject();
+                writer.endObject();
+                writer.endArray();
+                /*
+                 * The paging members of the response (total, limit, offset)
+                 * do not apply to a single trace and may only come after the
+                 * data, so they are left out
+                 */
+                writer.name(ERRORS_KEY).nullValue();
+                writer.endObject();
+            }
+            if (traceId == null || !traceFilter.test(traceId)) {
+                return null;
+            }
+            String fileName = traceId + JSON_EXTENSION;
+            Files.move(tempFile.toPath(), new File(fFolder, fileName).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return new TraceSummary(traceId, fileName, rootName, nbSpans, services);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    /**
+     * Copy a value and return the string value of one of its members if it is
+     * an object
+     */
+    private static @Nullable String copyObject(JsonReader reader, JsonWriter writer, String member) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            copy(reader, writer);
+            return null;
+        }
+        String value = null;
+        reader.beginObject();
+        writer.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            writer.name(name);
+            if (member.equals(name) && reader.peek() == JsonToken.STRING) {
+                value = reader.nextString();
+                writer.value(value);
+            } else {
+                copy(reader, writer);
+            }
+        }
+        reader.endObject();
+        writer.endObject();
+        return value;
+    }
+
+    private static void copy(JsonReader reader, JsonWriter writer) throws IOException {
+        switch (reader.peek()) {
+        case BEGIN_ARRAY:
+            reader.beginArray();
+            writer.beginArray();
+            while (reader.hasNext()) {
+                copy(reader, writer);
+            }
+            reader.endArray();
+            writer.endArray();
+            break;
+        case BEGIN_OBJECT:
+            reader.beginObject();
+            writer.beginObject();
+            while (reader.hasNext()) {
+                writer.name(reader.nextName());
+                copy(reader, writer);
+            }
+            reader.endObject();
+            writer.endObject();
+            break;
+        case STRING:
+            writer.value(reader.nextString());
+            break;
+        case NUMBER:
+            // Keep the number as it is written
+            writer.jsonValue(reader.nextString());
+            break;
+        case BOOLEAN:
+            writer.value(reader.nextBoolean());
+            break;
+        case NULL:
+            reader.nextNull();
+            writer.nullValue();
+            break;
+        case END_ARRAY:
+        case END_OBJECT:
+        case NAME:
+        case END_DOCUMENT:
+        default:
+            throw new IOException("Unexpected JSON token " + reader.peek() + " at " + reader.getPath()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.JaegerTraceSplitter.TraceSummary;
+
+/**
+ * Fetches traces from the Jaeger traces API into one file per trace.
+ * <p>
+ * The traces are requested by pages, with the limit and offset parameters,
+ * on a few threads at once. Each response is split into trace files while it
+ * is received, so neither a response nor a trace is ever fully in memory, and
+ * each trace file is given to the caller as soon as it is written.
+ * <p>
+ * Backends that ignore the offset parameter answer every page with the first
+ * traces: this is detected with the offset of the second page response, and
+ * the traces are then fetched with a single request instead.
+ */
+public class JaegerTracesFetcher {
+
+    /**
+     * Default maximum number of traces per request
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Default number of concurrent requests
+     */
+    public static final int DEFAULT_NB_THREADS = 4;
+
+    /**
+     * Opens the response of a request
+     */
+    @FunctionalInterface
+    public interface IStreamOpener {
+        /**
+         * Open the response of a request
+         *
+         * @param url
+         *            the URL of the request
+         * @return the response, or null if the request failed
+         * @throws IOException
+         *             if the request failed
+         */
+        @Nullable InputStream open(String url) throws IOException;
+    }
+
+    /**
+     * Traces of the response to one request
+     */
+    private static final class Page {
+        private final int fOffset;
+        private final int fLimit;
+        private final List<TraceSummary> fTraces = new ArrayList<>();
+        private int fNbTraces = 0;
+        private int fResponseOffset = -1;
+
+        public Page(int offset, int limit) {
+            fOffset = offset;
+            fLimit = limit;
+        }
+
+        public boolean isLast() {
+            return fNbTraces < fLimit;
+        }
+    }
+
+    private final IStreamOpener fOpener;
+    private final int fPageSize;
+    private final int fNbThreads;
+
+    /**
+     * Constructor, to fetch the traces from Jaeger with the default page size
+     * and number of threads
+     */
+    public JaegerTracesFetcher() {
+        this(JaegerRestUtils::openJaegerStream, DEFAULT_PAGE_SIZE, DEFAULT_NB_THREADS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param opener
+     *            opens the response of a request
+     * @param pageSize
+     *            maximum number of traces per request
+     * @param nbThreads
+     *            number of concurrent requests
+     */
+    public JaegerTracesFetcher(IStreamOpener opener, int pageSize, int nbThreads) {
+        fOpener = opener;
+        fPageSize = Math.max(1, pageSize);
+        fNbThreads = Math.max(1, nbThreads);
+    }
+
+    /**
+     * Fetch the traces of a traces URL
+     *
+     * @param tracesUrl
+     *            the traces URL (built from
+     *            {@link JaegerRestUtils#buildTracesUrl}), its limit and offset
+     *            are replaced for each request
+     * @param limit
+     *            maximum number of traces to fetch
+     * @param folder
+     *            the folder where to write the trace files
+     * @param consumer
+     *            called with each trace file as soon as it is written, by one
+     *            thread at a time
+     * @param monitor
+     *            the progress monitor to cancel the fetch, can be null
+     * @return the fetched traces, in the order of the responses
+     * @throws IOException
+     *             if a request failed or a trace file cannot be written
+     * @throws OperationCanceledException
+     *             if the monitor was cancelled
+     */
+    public List<TraceSummary> fetch(String tracesUrl, int limit, File folder, Consumer<TraceSummary> consumer, @Nullable IProgressMonitor monitor) throws IOException {
+        JaegerTraceSplitter splitter = new JaegerTraceSplitter(folder);
+        Set<String> traceIds = ConcurrentHashMap.newKeySet();
+        int nbPages = (limit + fPageSize - 1) / fPageSize;
+        if (nbPages <= 1 || fNbThreads == 1) {
+            return fetchPage(splitter, tracesUrl, 0, limit, traceIds, consumer, monitor).fTraces;
+        }
+
+        List<Page> pages = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(fNbThreads, nbPages));
+        try {
+            /*
+             * The first two pages tell whether the backend supports the offset
+             * and whether there are more traces
+             */
+            Future<Page> first = executor.submit(() -> fetchPage(splitter, tracesUrl, 0, fPageSize, traceIds, consumer, monitor));
+            Future<Page> second = executor.submit(() -> fetchPage(splitter, tracesUrl, fPageSize, Math.min(fPageSize, limit - fPageSize), traceIds, consumer, monitor));
+            pages.add(getPage(first));
+            Page secondPage = getPage(second);
+            pages.add(secondPage);
+            if (secondPage.fResponseOffset != secondPage.fOffset) {
+                // The offset is ignored, the duplicate traces are skipped
+                pages.add(fetchPage(splitter, tracesUrl, 0, limit, traceIds, consumer, monitor));
+            } else if (!pages.get(0).isLast() && !secondPage.isLast()) {
+                AtomicInteger nbPagesLeft = new AtomicInteger(nbPages);
+                List<Future<Page>> futures = new ArrayList<>();
+                for (int i = 2; i < nbPages; i++) {
+                    int index = i;
+                    int offset = i * fPageSize;
+                    int pageLimit = Math.min(fPageSize, limit - offset);
+                    futures.add(executor.submit(() -> {
+                        if (index >= nbPagesLeft.get()) {
+                            // A previous page was the last one
+                            return new Page(offset, 0);
+                        }
+                        Page page = fetchPage(splitter, tracesUrl, offset, pageLimit, traceIds, consumer, monitor);
+                        if (page.isLast()) {
+                            nbPagesLeft.accumulateAndGet(index + 1, Math::min);
+                        }
+                        return page;
+                    }));
+                }
+                for (Future<Page> future : futures) {
+                    pages.add(getPage(future));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<TraceSummary> traces = new ArrayList<>();
+        for (Page page : pages) {
+            traces.addAll(page.fTraces);
+        }
+        return traces;
+    }
+
+    private Page fetchPage(JaegerTraceSplitter splitter, String tracesUrl, int offset, int limit, Set<String> traceIds, Consumer<TraceSummary> consumer, @Nullable IProgressMonitor monitor) throws IOException {
+        checkCanceled(monitor);
+        Page page = new Page(offset, limit);
+        String url = JaegerRestUtils.buildTracesPageUrl(tracesUrl, limit, offset);
+        try (InputStream stream = fOpener.open(url)) {
+            if (stream == null) {
+                throw new IOException("Cannot fetch the traces from " + url); //$NON-NLS-1$
+            }
+            page.fResponseOffset = splitter.split(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)), traceId -> {
+                checkCanceled(monitor);
+                page.fNbTraces++;
+                return traceIds.add(traceId);
+            }, summary -> {
+                page.fTraces.add(summary);
+                synchronized (consumer) {
+                    consumer.accept(summary);
+                }
+            });
+        }
+        return page;
+    }
+
+    private static Page getPage(Future<Page> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void checkCanceled(@Nullable IProgressMonitor monitor) {
+        if (monitor != null && monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Utility class to read the process table of a Jaeger trace. The processes are
+ * extracted from the original trace file with a streaming reader that stops as
+ * soon as the <code>processes</code> object of the first trace has been read,
+ * then they are saved in a small supplementary file so that reopening the
+ * trace never has to go through the original file again.
+ *
+ * The supplementary file contains a JSON array with a single object mapping
+ * the process IDs to the processes, like the one previously written by
+ * {@link OpenTracingSortingJob}.
+ */
+public final class OpenTracingProcesses {
+
+    private static final String DATA_KEY = "data"; //$NON-NLS-1$
+    private static final String PROCESSES_KEY = "processes"; //$NON-NLS-1$
+    private static final String JSON_EXTENSION = ".json"; //$NON-NLS-1$
+    private static final String PROCESSES_SUFFIX = "Processes.json"; //$NON-NLS-1$
+
+    private static final Gson G_SON = new Gson();
+
+    private OpenTracingProcesses() {
+    }
+
+    /**
+     * Get the supplementary file that contains the processes of a trace
+     *
+     * @param dir
+     *            the supplementary files directory of the trace
+     * @param path
+     *            the path of the original trace file
+     * @return the processes file, it may not exist yet
+     */
+    public static File getSupplementaryFile(String dir, String path) {
+        String name = new File(path).getName();
+        if (name.endsWith(JSON_EXTENSION)) {
+            name = name.substring(0, name.length() - JSON_EXTENSION.length());
+        }
+        return new File(dir, name + PROCESSES_SUFFIX);
+    }
+
+    /**
+     * Extract the processes from an original Jaeger trace file. Only the
+     * beginning of the file, up to the end of the processes object of the
+     * first trace, is read and the spans are skipped without being parsed.
+     *
+     * @param path
+     *            the path of the original trace file
+     * @return the processes, the key is the process ID and the value is the
+     *         JSON string of the process. The map is empty if the file has no
+     *         processes.
+     * @throws IOException
+     *             if the file cannot be read or is not valid JSON
+     */
+    public static Map<String, String> extract(String path) throws IOException {
+        try (BufferedReader fileReader = Files.newBufferedReader(new File(path).toPath(), StandardCharsets.UTF_8);
+                JsonReader reader = new JsonReader(fileReader)) {
+            return extract(reader);
+        } catch (IllegalStateException | JsonParseException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Extract the processes from a Jaeger trace JSON stream. The stream is
+     * left right after the processes object of the first trace.
+     *
+     * @param reader
+     *            the JSON reader, positioned before the root object
+     * @return the processes, the key is the process ID and the value is the
+     *         JSON string of the process
+     * @throws IOException
+     *             if the stream cannot be read
+     */
+    public static Map<String, String> extract(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!DATA_KEY.equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            if (!reader.hasNext()) {
+                break;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (PROCESSES_KEY.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    return readProcesses(reader);
+                }
+                reader.skipValue();
+            }
+            break;
+        }
+        return new LinkedHashMap<>();
+    }
+
+    /**
+     * Read the processes from a supplementary file
+     *
+     * @param file
+     *            the supplementary file, as written by
+     *            {@link #write(File, Map)}
+     * @return the processes
+     * @throws IOException
+     *             if the file cannot be read or is not valid
+     */
+    public static Map<String, String> read(File file) throws IOException {
+        try (Reader fileReader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+                JsonReader reader = new JsonReader(fileReader)) {
+            if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+            }
+            return readProcesses(reader);
+        } catch (IllegalStateException | JsonParseException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Write the processes to a supplementary file
+     *
+     * @param file
+     *            the file to write
+     * @param processes
+     *            the processes, the key is the process ID and the value is the
+     *            JSON string of the process
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public static void write(File file, Map<String, String> processes) throws IOException {
+        try (BufferedWriter fileWriter = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+                JsonWriter writer = new JsonWriter(fileWriter)) {
+            writer.beginArray();
+            writer.beginObject();
+            for (Entry<String, String> process : processes.entrySet()) {
+                writer.name(process.getKey()).jsonValue(process.getValue());
+            }
+            writer.endObject();
+            writer.endArray();
+        }
+    }
+
+    private static Map<String, String> readProcesses(JsonReader reader) throws IOException {
+        Map<String, String> processes = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String processId = reader.nextName();
+            JsonElement process = G_SON.fromJson(reader, JsonElement.class);
+            processes.put(processId, G_SON.toJson(process));
+        }
+        reader.endObject();
+        return processes;
+    }
+}
@@ -12,7 +12,6 @@
 package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.util.HashMap;
@@ -32,6 +31,7 @@ import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenT
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingAspects;
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingEvent;
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingField;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingSpanParser;
 import org.eclipse.tracecompass.internal.provisional.jsontrace.core.trace.JsonTrace;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfLostEvent;
@@ -48,10 +48,6 @@ import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
 import com.google.common.collect.Lists;
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.stream.JsonReader;
 
 /**
  * Open Tracing trace. Can read jaeger unsorted or sorted JSON traces.
@@ -63,6 +59,7 @@ public class OpenTracingTrace extends JsonTrace {
 
     private final @NonNull Iterable<@NonNull ITmfEventAspect<?>> fEventAspects;
     private final Map<String, String> fProcesses;
+    private final OpenTracingSpanParser fParser;
 
     /**
      * Constructor
@@ -71,6 +68,7 @@ public class OpenTracingTrace extends JsonTrace {
     public OpenTracingTrace() {
         fEventAspects = Lists.newArrayList(OpenTracingAspects.getAspects());
         fProcesses = new HashMap<>();
+        fParser = new OpenTracingSpanParser(fProcesses);
     }
 
     @Override
@@ -104,25 +102,30 @@ public class OpenTracingTrace extends JsonTrace {
     }
 
     /**
-     * Save the processes list
+     * Save the processes list. The processes are read from the supplementary
+     * processes file if it exists, otherwise they are extracted from the trace
+     * file and the supplementary file is created.
      *
      * @param path
      *            trace file path
      */
     public void registerProcesses(String path) {
-        try (FileReader fileReader = new FileReader(path)) {
-            try (JsonReader reader = new JsonReader(fileReader);) {
-                Gson gson = new Gson();
-                JsonObject object = gson.fromJson(reader, JsonObject.class);
-                JsonElement trace = object.get("data").getAsJsonArray().get(0); //$NON-NLS-1$
-                JsonObject processes = trace.getAsJsonObject().get("processes").getAsJsonObject(); //$NON-NLS-1$
-                for (int i = 1; i <= processes.size(); i++) {
-                    String processName = "p" + i; //$NON-NLS-1$
-                    fProcesses.put(processName, gson.toJson(processes.get(processName)));
-                }
+        File processFile = OpenTracingProcesses.getSupplementaryFile(TmfTraceManager.getSupplementaryFileDir(this), path);
+        try {
+            if (processFile.exists()) {
+                fProcesses.putAll(OpenTracingProcesses.read(processFile));
+                return;
             }
         } catch (IOException e) {
-            // Nothing
+            // The supplementary file is invalid, extract the processes again
+            processFile.delete();
+        }
+        try {
+            Map<String, String> processes = OpenTracingProcesses.extract(path);
+            fProcesses.putAll(processes);
+            OpenTracingProcesses.write(processFile, processes);
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error reading the processes of trace " + path, e); //$NON-NLS-1$
         }
     }
 
@@ -230,8 +233,7 @@ public class OpenTracingTrace extends JsonTrace {
                 }
                 String nextJson = readNextEventString(() -> fFileInput.read());
                 if (nextJson != null) {
-                    String process = fProcesses.get(OpenTracingField.getProcess(nextJson));
-                    OpenTracingField field = OpenTracingField.parseJson(nextJson, process);
+                    OpenTracingField field = fParser.parse(nextJson);
                     if (field == null) {
                         return null;
                     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2021 Ericsson
+ * Copyright (c) 2018, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -13,15 +13,12 @@ package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.function.BiPredicate;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-
 /**
  * Operator to split jaeger traces into multiple files and import them
  *
@@ -30,19 +27,16 @@ import com.google.gson.JsonObject;
  */
 public class SplitImportTracesOperation {
 
-    private static final String DATA_KEY = "data"; //$NON-NLS-1$
-    private static final String TRACE_ID = "traceID"; //$NON-NLS-1$
-    private static final String TOTAL_KEY = "total"; //$NON-NLS-1$
-    private static final String LIMIT_KEY = "limit"; //$NON-NLS-1$
-    private static final String OFFSET_KEY = "offset"; //$NON-NLS-1$
-    private static final String ERRORS_KEY = "errors"; //$NON-NLS-1$
+    private static final String JSON_EXTENSION = ".json"; //$NON-NLS-1$
 
     /**
-     * Takes a JsonObject of multiple jaeger traces and import the selected
-     * traces it contains
+     * Reads a JSON document of multiple jaeger traces and import the selected
+     * traces it contains. The traces are written to their files as they are
+     * read, without reading the whole document in memory.
      *
-     * @param jsonObject
-     *            Complete json object of the traces file
+     * @param reader
+     *            Reader of the json document of the traces file, it is not
+     *            closed
      * @param selectedTracesId
      *            List of trace id's to import or null to import all
      * @param newFolderPath
@@ -54,53 +48,53 @@ public class SplitImportTracesOperation {
      * @return true if the operation has not found any issue, false if an
      *         exception arisen or the predicate failed
      */
-    public static boolean splitAndImport(JsonObject jsonObject, List<String> selectedTracesId, String newFolderPath, BiPredicate<String, String> predicate) {
-
-        Gson gson = new Gson();
-        JsonArray array = jsonObject.get(DATA_KEY).getAsJsonArray();
-        JsonElement total = jsonObject.get(TOTAL_KEY);
-        JsonElement limit = jsonObject.get(LIMIT_KEY);
-        JsonElement offset = jsonObject.get(OFFSET_KEY);
-        JsonElement errors = jsonObject.get(ERRORS_KEY);
-        boolean splitAndImportWithoutIssues = true;
+    public static boolean splitAndImport(Reader reader, List<String> selectedTracesId, String newFolderPath, BiPredicate<String, String> predicate) {
+        boolean[] splitAndImportWithoutIssues = { true };
+        JaegerTraceSplitter splitter = new JaegerTraceSplitter(new File(newFolderPath));
+        try {
+            splitter.split(reader, traceId -> selectedTracesId == null || selectedTracesId.contains(traceId), trace -> {
+                /*
+                 * Handle the file that has just been written. Usually it is an
+                 * import action.
+                 */
+                splitAndImportWithoutIssues[0] = predicate.test(newFolderPath, trace.getFileName()) || splitAndImportWithoutIssues[0];
+            });
+        } catch (IOException e) {
+            splitAndImportWithoutIssues[0] = false;
+        }
+        return splitAndImportWithoutIssues[0];
+    }
 
+    /**
+     * Moves trace files that were already split, for example by a
+     * {@link JaegerTracesFetcher}, to the import folder and import them
+     *
+     * @param sourceFolderPath
+     *            Absolute path of the folder of the split trace files
+     * @param selectedTracesId
+     *            List of trace id's to import
+     * @param newFolderPath
+     *            Absolute path indicating where the imported traces will be
+     *            stored
+     * @param predicate
+     *            Function that should be executed for each jaeger trace after
+     *            it has been moved
+     * @return true if the operation has not found any issue, false if an
+     *         exception arisen or the predicate failed
+     */
+    public static boolean importTraceFiles(String sourceFolderPath, List<String> selectedTracesId, String newFolderPath, BiPredicate<String, String> predicate) {
+        boolean importWithoutIssues = true;
         new File(newFolderPath).mkdir();
-
-        // We create a new file for every selected trace in the traces file
-        for (int i = 0; i < array.size(); i++) {
-            String traceId = array.get(i).getAsJsonObject().get(TRACE_ID).getAsString();
-
-            if (selectedTracesId == null || selectedTracesId.contains(traceId)) {
-                String fileName = traceId + ".json"; //$NON-NLS-1$
-                File subTrace = new File(newFolderPath + '/' + fileName);
-
-                try {
-                    subTrace.createNewFile();
-
-                    JsonObject newObject = new JsonObject();
-                    JsonArray data = new JsonArray();
-                    data.add(array.get(i));
-                    newObject.add(DATA_KEY, data);
-                    newObject.add(TOTAL_KEY, total);
-                    newObject.add(LIMIT_KEY, limit);
-                    newObject.add(OFFSET_KEY, offset);
-                    newObject.add(ERRORS_KEY, errors);
-                    try (PrintWriter tempWriter = new PrintWriter(subTrace)) {
-                        tempWriter.print(gson.toJson(newObject));
-                    }
-
-                    /*
-                     * Handle the file that has just been downloaded. Usually it
-                     * is an import action.
-                     */
-                    splitAndImportWithoutIssues = predicate.test(newFolderPath, fileName) || splitAndImportWithoutIssues;
-
-                } catch (IOException e) {
-                    splitAndImportWithoutIssues = false;
-                }
+        for (String traceId : selectedTracesId) {
+            String fileName = traceId + JSON_EXTENSION;
+            try {
+                Files.move(new File(sourceFolderPath, fileName).toPath(), new File(newFolderPath, fileName).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                importWithoutIssues = predicate.test(newFolderPath, fileName) || importWithoutIssues;
+            } catch (IOException e) {
+                importWithoutIssues = false;
             }
         }
-        return splitAndImportWithoutIssues;
+        return importWithoutIssues;
     }
 
 }
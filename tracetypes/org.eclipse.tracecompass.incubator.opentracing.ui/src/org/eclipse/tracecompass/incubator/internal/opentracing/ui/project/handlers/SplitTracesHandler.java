@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2021 Ericsson
+ * Copyright (c) 2018, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -11,6 +11,7 @@
 
 package org.eclipse.tracecompass.incubator.internal.opentracing.ui.project.handlers;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
@@ -47,9 +48,8 @@ import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.handlers.HandlerUtil;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Handler used to separate multiple open tracing traces in a same .json file
@@ -87,19 +87,34 @@ public class SplitTracesHandler extends AbstractHandler {
             return false;
         }
 
-        int arraySize = 0;
-
         try (FileReader fileReader = new FileReader(traceElem.getLocation().getPath())) {
-            try (JsonReader reader = new JsonReader(fileReader)) {
-                Gson gson = new Gson();
-                JsonObject object = gson.fromJson(reader, JsonObject.class);
-                arraySize = object.get(DATA_KEY).getAsJsonArray().size();
+            try (JsonReader reader = new JsonReader(new BufferedReader(fileReader))) {
+                return hasMultipleTraces(reader);
             }
-        } catch (IOException e) {
+        } catch (IOException | IllegalStateException e) {
             return false;
         }
+    }
 
-        return arraySize > 1;
+    /**
+     * Tell whether the data array has more than one trace, stopping at the
+     * second one instead of reading the whole file
+     */
+    private static boolean hasMultipleTraces(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (DATA_KEY.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                int arraySize = 0;
+                while (reader.hasNext() && arraySize <= 1) {
+                    reader.skipValue();
+                    arraySize++;
+                }
+                return arraySize > 1;
+            }
+            reader.skipValue();
+        }
+        return false;
     }
 
     @Override
@@ -126,13 +141,9 @@ public class SplitTracesHandler extends AbstractHandler {
 
         // We read, split and import the new traces
         try (FileReader fileReader = new FileReader(traceElem.getLocation().getPath())) {
-            try (JsonReader reader = new JsonReader(fileReader)) {
-                Gson gson = new Gson();
-                JsonObject object = gson.fromJson(reader, JsonObject.class);
-                String newFolderPath = destinationFolder.getLocation().getPath() + newTracesDestination;
-                SplitImportTracesOperation.splitAndImport(object, null, newFolderPath,
-                        (tracesFolder, traceFile) -> SplitTracesHandler.refreshAndSetTraceType(tracesFolder, traceFile));
-            }
+            String newFolderPath = destinationFolder.getLocation().getPath() + newTracesDestination;
+            SplitImportTracesOperation.splitAndImport(new BufferedReader(fileReader), null, newFolderPath,
+                    (tracesFolder, traceFile) -> SplitTracesHandler.refreshAndSetTraceType(tracesFolder, traceFile));
         } catch (IOException e) {
         }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2021 Ericsson
+ * Copyright (c) 2018, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -11,11 +11,19 @@
 
 package org.eclipse.tracecompass.incubator.internal.opentracing.ui.project.wizards;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.viewers.IStructuredSelection;
@@ -30,6 +38,7 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Table;
@@ -37,12 +46,12 @@ import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.JaegerRestUtils;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.JaegerTraceSplitter.TraceSummary;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.JaegerTracesFetcher;
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.SplitImportTracesOperation;
 import org.eclipse.tracecompass.incubator.internal.opentracing.ui.project.handlers.SplitTracesHandler;
 import org.eclipse.tracecompass.tmf.ui.project.model.TmfTraceFolder;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 /**
@@ -60,18 +69,15 @@ public class FetchJaegerTracesWizardPage extends WizardPage {
     private static final Long[] DEFAULT_LOOKBACKS_SECONDS = {3600L, 7200L, 10800L, 21600L, 43200L, 86400L, 172800L};
 
     private static final String NANOSECONDS_PADDING = "000"; //$NON-NLS-1$
-    private static final String JAEGER_DATA_KEY = "data"; //$NON-NLS-1$
-    private static final String JAEGER_SPANS_KEY = "spans"; //$NON-NLS-1$
-    private static final String JAEGER_TRACE_ID_KEY = "traceID"; //$NON-NLS-1$
-    private static final String JAEGER_SPAN_NAME_KEY = "operationName"; //$NON-NLS-1$
-    private static final String JAEGER_PROCESSES_KEY = "processes"; //$NON-NLS-1$
-    private static final String JAEGER_SERVICE_KEY = "serviceName"; //$NON-NLS-1$
+    private static final String STAGING_FOLDER_PREFIX = "jaegerTraces"; //$NON-NLS-1$
 
 
     private Table fTracesTable;
     private String fTraceFolderName;
     private TmfTraceFolder fTmfTraceFolder;
-    private JsonObject fJaegerJsonTrace;
+    /* The fetched traces, already split in the staging folder */
+    private List<TraceSummary> fJaegerTraces = Collections.emptyList();
+    private File fStagingFolder;
 
     /**
      * Constructor.
@@ -230,32 +236,25 @@ public class FetchJaegerTracesWizardPage extends WizardPage {
                 String tags = buildTagsString(targetTagsText.getText());
                 String requestUrl = JaegerRestUtils.buildTracesUrl(targetUrlText.getText(), Long.toString(endTime) + NANOSECONDS_PADDING, traceNumberLimitText.getText(), lookbackCombo.getText(),
                         targetMaxDurationText.getText(), targetMinDurationText.getText(), serviceCombo.getText(), Long.toString(startTime) + NANOSECONDS_PADDING, tags);
-                String jaegerTraces = JaegerRestUtils.fetchJaegerTraces(requestUrl);
-                if (jaegerTraces == null) {
+                int limit;
+                try {
+                    limit = Integer.parseInt(traceNumberLimitText.getText().trim());
+                } catch (NumberFormatException ex) {
+                    limit = Integer.parseInt(DEFAULT_LIMIT);
+                }
+                fTracesTable.removeAll();
+                tracesInfoGroup.setText(Messages.FetchJaegerTracesWizardPage_tracesGroup);
+                List<TraceSummary> tracesArray = fetchTraces(requestUrl, limit);
+                if (tracesArray == null) {
                     setPageComplete(false);
                     setErrorMessage(Messages.FetchJaegerTracesWizardPage_errorFetchTraces);
                     return;
                 }
-                Gson gson = new Gson();
-                JsonObject tracesObject = gson.fromJson(jaegerTraces, JsonObject.class);
-                JsonArray tracesArray = tracesObject.get(JAEGER_DATA_KEY).getAsJsonArray();
-                fTracesTable.removeAll();
                 tracesInfoGroup.setText(Messages.FetchJaegerTracesWizardPage_tracesGroup + " ("+ tracesArray.size() + ')'); //$NON-NLS-1$
-                if (tracesArray.size() > 0) {
-                    for (int i = 0; i < tracesArray.size(); i++) {
-                        TableItem traceItem = new TableItem(fTracesTable, SWT.NONE);
-                        JsonObject trace = tracesArray.get(i).getAsJsonObject();
-                        JsonArray spans = trace.get(JAEGER_SPANS_KEY).getAsJsonArray();
-                        traceItem.setText(0, spans.get(0).getAsJsonObject().get(JAEGER_SPAN_NAME_KEY).getAsString());
-                        traceItem.setText(1, Integer.toString(spans.size()));
-                        traceItem.setText(2, StringUtils.join(fetchTraceServices(trace), ", ")); //$NON-NLS-1$
-                        traceItem.setText(3, trace.get(JAEGER_TRACE_ID_KEY).getAsString());
-                        traceItem.setChecked(true);
-                        for(TableColumn column : fTracesTable.getColumns()) {
-                            column.pack();
-                        }
+                if (!tracesArray.isEmpty()) {
+                    for (TableColumn column : fTracesTable.getColumns()) {
+                        column.pack();
                     }
-                    fJaegerJsonTrace = tracesObject;
                     updatePageCompletion();
                 } else {
                     setPageComplete(false);
@@ -332,7 +331,7 @@ public class FetchJaegerTracesWizardPage extends WizardPage {
             IPath destinationFolderPath = fTmfTraceFolder.getPath().append(fTraceFolderName);
             String destinationSubPath = destinationFolderPath.makeRelativeTo(tracesFolder.getPath()).toOSString();
             String newFolderPath = tracesFolder.getLocation().getPath() + destinationSubPath;
-            SplitImportTracesOperation.splitAndImport(fJaegerJsonTrace, checkedTraceIds,
+            SplitImportTracesOperation.importTraceFiles(fStagingFolder.getAbsolutePath(), checkedTraceIds,
                     newFolderPath, (tFolder, tFile) -> SplitTracesHandler.refreshAndSetTraceType(tFolder, tFile));
             return true;
         }
@@ -352,7 +351,7 @@ public class FetchJaegerTracesWizardPage extends WizardPage {
 
     private void updatePageCompletion() {
         setErrorMessage(null);
-        if (fJaegerJsonTrace == null || fJaegerJsonTrace.get(JAEGER_DATA_KEY).getAsJsonArray().size() == 0) {
+        if (fJaegerTraces.isEmpty()) {
             setPageComplete(false);
             return;
         }
@@ -386,12 +385,92 @@ public class FetchJaegerTracesWizardPage extends WizardPage {
         return tags;
     }
 
-    private static String[] fetchTraceServices(JsonObject trace) {
-        JsonObject servicesArray = trace.get(JAEGER_PROCESSES_KEY).getAsJsonObject();
-        String[] services = new String[servicesArray.size()];
-        for (int i = 0; i < servicesArray.size(); i++) {
-            services[i] = servicesArray.get("p" + (i + 1)).getAsJsonObject().get(JAEGER_SERVICE_KEY).getAsString(); //$NON-NLS-1$
+    /**
+     * Fetch the traces into a new staging folder, split in one file per trace,
+     * to import the selected ones on finish. The fetch runs in the wizard
+     * container and each trace is added to the table as soon as its file is
+     * written.
+     *
+     * @return the fetched traces, or null if the traces cannot be fetched or
+     *         the fetch was cancelled
+     */
+    private @Nullable List<TraceSummary> fetchTraces(String requestUrl, int limit) {
+        deleteStagingFolder();
+        fJaegerTraces = Collections.emptyList();
+        File stagingFolder;
+        try {
+            stagingFolder = Files.createTempDirectory(STAGING_FOLDER_PREFIX).toFile();
+        } catch (IOException e) {
+            return null;
         }
-        return services;
+        fStagingFolder = stagingFolder;
+        Display display = fTracesTable.getDisplay();
+        List<TraceSummary> traces = new ArrayList<>();
+        try {
+            getContainer().run(true, true, monitor -> {
+                monitor.beginTask(Messages.FetchJaegerTracesWizardPage_fetchTracesTask, IProgressMonitor.UNKNOWN);
+                try {
+                    traces.addAll(new JaegerTracesFetcher().fetch(requestUrl, limit, stagingFolder, trace -> {
+                        /*
+                         * Wait for the row to be added, so that all the rows
+                         * are there once the fetch returns
+                         */
+                        display.syncExec(() -> addTraceItem(trace));
+                        monitor.subTask(trace.getTraceId());
+                    }, monitor));
+                } catch (IOException e) {
+                    throw new InvocationTargetException(e);
+                } catch (OperationCanceledException e) {
+                    throw new InterruptedException();
+                } finally {
+                    monitor.done();
+                }
+            });
+        } catch (InvocationTargetException e) {
+            deleteStagingFolder();
+            return null;
+        } catch (InterruptedException e) {
+            // The fetch was cancelled, the rows already added are dropped
+            fTracesTable.removeAll();
+            deleteStagingFolder();
+            return null;
+        }
+        fJaegerTraces = traces;
+        return traces;
+    }
+
+    private void addTraceItem(TraceSummary trace) {
+        if (fTracesTable.isDisposed()) {
+            return;
+        }
+        TableItem traceItem = new TableItem(fTracesTable, SWT.NONE);
+        String rootName = trace.getRootName();
+        traceItem.setText(0, rootName == null ? StringUtils.EMPTY : rootName);
+        traceItem.setText(1, Integer.toString(trace.getNbSpans()));
+        traceItem.setText(2, StringUtils.join(trace.getServices(), ", ")); //$NON-NLS-1$
+        traceItem.setText(3, trace.getTraceId());
+        traceItem.setChecked(true);
+    }
+
+    private void deleteStagingFolder() {
+        File stagingFolder = fStagingFolder;
+        fStagingFolder = null;
+        if (stagingFolder == null) {
+            return;
+        }
+        File[] files = stagingFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        stagingFolder.delete();
+    }
+
+    @Override
+    public void dispose() {
+        // The traces that were not imported are not needed anymore
+        deleteStagingFolder();
+        super.dispose();
     }
 }
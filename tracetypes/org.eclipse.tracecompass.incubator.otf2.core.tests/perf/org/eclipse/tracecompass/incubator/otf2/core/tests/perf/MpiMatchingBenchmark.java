@@ -0,0 +1,240 @@
+/**********************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.otf2.core.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.mpi.CollectiveOperationIdentifiers;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.mpi.MessageIdentifiers;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.mpi.PendingCollectiveOperations;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.mpi.PendingMessages;
+import org.junit.Test;
+
+/**
+ * Benchmarks the matching of the MPI messages and collective operations of
+ * the OTF2 communicators analysis, on synthetic event streams of 64 to 1024
+ * ranks with many messages and operations in flight: each rank has a message
+ * in flight to every other rank. The matching with the
+ * queues of {@link PendingMessages} and {@link PendingCollectiveOperations} is
+ * compared to the search in lists of the pending messages and operations.
+ */
+public class MpiMatchingBenchmark {
+
+    private static final String TEST_ID = "org.eclipse.tracecompass.incubator#OTF2#";
+    private static final String TEST_QUEUES = "MPI matching with queues (%d ranks)";
+    private static final String TEST_LISTS = "MPI matching with lists (%d ranks)";
+
+    private static final int[] RANK_COUNTS = { 64, 256, 1024 };
+    private static final int COMMUNICATOR = 0;
+    private static final int OPERATION_CODE = 3;
+    private static final int ROOT = 0;
+    /** Number of messages sent to each peer before they are received */
+    private static final int MESSAGE_COUNT = 2;
+    /** Number of collective operations of a rank in flight */
+    private static final int OPERATION_COUNT = 16;
+    private static final int LOOP_COUNT = 5;
+    private static final long SEED = 42;
+
+    /**
+     * An event of the stream: a send, a receive or a call to a collective
+     * operation
+     */
+    private static final class Event {
+        private final boolean fCollective;
+        private final boolean fSend;
+        private final int fSrc;
+        private final int fDest;
+        private final int fTag;
+        private final long fTimestamp;
+
+        private Event(boolean collective, boolean send, int src, int dest, int tag, long timestamp) {
+            fCollective = collective;
+            fSend = send;
+            fSrc = src;
+            fDest = dest;
+            fTag = tag;
+            fTimestamp = timestamp;
+        }
+    }
+
+    /**
+     * Run the benchmarks for all the numbers of ranks
+     */
+    @Test
+    public void runMatchingBenchmark() {
+        for (int rankCount : RANK_COUNTS) {
+            List<Event> events = createEvents(rankCount);
+            long expected = matchWithLists(events, rankCount);
+            benchmark(events, rankCount, true, expected);
+            benchmark(events, rankCount, false, expected);
+        }
+    }
+
+    /**
+     * Create the events: each rank sends messages to the other ranks, then
+     * the messages are received, then the ranks call collective operations in
+     * a random order.
+     */
+    private static List<Event> createEvents(int rankCount) {
+        Random random = new Random(SEED);
+        List<Event> events = new ArrayList<>();
+        long timestamp = 0;
+        // Each rank sends messages to all the other ranks, like an all to all
+        for (int src = 0; src < rankCount; src++) {
+            for (int dest = 0; dest < rankCount; dest++) {
+                for (int tag = 0; dest != src && tag < MESSAGE_COUNT; tag++) {
+                    events.add(new Event(false, true, src, dest, tag, timestamp++));
+                }
+            }
+        }
+        /*
+         * The receives are in a random order, the messages of a sender,
+         * receiver and tag being received in the order they were sent
+         */
+        List<Event> receives = new ArrayList<>(events);
+        Collections.shuffle(receives, random);
+        Map<List<Integer>, Deque<Event>> sends = new HashMap<>();
+        for (Event send : events) {
+            sends.computeIfAbsent(Arrays.asList(send.fSrc, send.fDest, send.fTag), key -> new ArrayDeque<>()).add(send);
+        }
+        for (Event receive : receives) {
+            Event send = Objects.requireNonNull(sends.get(Arrays.asList(receive.fSrc, receive.fDest, receive.fTag)).poll());
+            events.add(new Event(false, false, send.fSrc, send.fDest, send.fTag, timestamp++));
+        }
+        // Collective operations, called by the ranks in a random order
+        List<Integer> calls = new ArrayList<>();
+        for (int rank = 0; rank < rankCount; rank++) {
+            for (int i = 0; i < OPERATION_COUNT; i++) {
+                calls.add(rank);
+            }
+        }
+        Collections.shuffle(calls, random);
+        for (int rank : calls) {
+            events.add(new Event(true, false, rank, ROOT, 0, timestamp++));
+        }
+        return events;
+    }
+
+    private static void benchmark(List<Event> events, int rankCount, boolean queues, long expected) {
+        Performance perf = Performance.getDefault();
+        String name = String.format(queues ? TEST_QUEUES : TEST_LISTS, rankCount);
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + name));
+        perf.tagAsSummary(pm, name, Dimension.CPU_TIME);
+
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            pm.start();
+            long result = queues ? matchWithQueues(events, rankCount) : matchWithLists(events, rankCount);
+            pm.stop();
+            assertEquals(expected, result);
+        }
+        pm.commit();
+    }
+
+    /**
+     * Match the events like the communicators analysis does
+     *
+     * @return the sum of the timestamps of the matched sends and of the
+     *         starts of the completed collective operations
+     */
+    private static long matchWithQueues(List<Event> events, int rankCount) {
+        List<PendingMessages> sentMessages = new ArrayList<>();
+        List<Long> locations = new ArrayList<>();
+        for (int rank = 0; rank < rankCount; rank++) {
+            sentMessages.add(new PendingMessages());
+            locations.add((long) rank);
+        }
+        PendingCollectiveOperations operations = new PendingCollectiveOperations();
+        long result = 0;
+        for (Event event : events) {
+            if (event.fCollective) {
+                long id = event.fSrc;
+                CollectiveOperationIdentifiers operation = operations.poll(OPERATION_CODE, event.fDest, id);
+                if (operation != null) {
+                    operation.locationCalledOperation(id, event.fTimestamp);
+                } else {
+                    operation = new CollectiveOperationIdentifiers(OPERATION_CODE, event.fDest, new HashSet<>(locations));
+                    operation.locationCalledOperation(id, event.fTimestamp);
+                    operations.add(operation);
+                }
+                if (operation.isOperationDone()) {
+                    result += Collections.min(operation.getEnterTimestamps());
+                }
+            } else if (event.fSend) {
+                sentMessages.get(event.fSrc).add(new MessageIdentifiers(COMMUNICATOR, event.fSrc, event.fDest, event.fTag, event.fTimestamp));
+            } else {
+                MessageIdentifiers sent = sentMessages.get(event.fSrc).remove(new MessageIdentifiers(COMMUNICATOR, event.fSrc, event.fDest, event.fTag));
+                assertNotNull(sent);
+                result += sent.getBeginTimestamp();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Match the events by searching the pending messages and operations in
+     * lists
+     */
+    private static long matchWithLists(List<Event> events, int rankCount) {
+        List<List<MessageIdentifiers>> sentMessages = new ArrayList<>();
+        List<Long> locations = new ArrayList<>();
+        for (int rank = 0; rank < rankCount; rank++) {
+            sentMessages.add(new ArrayList<>());
+            locations.add((long) rank);
+        }
+        List<CollectiveOperationIdentifiers> operations = new ArrayList<>();
+        long result = 0;
+        for (Event event : events) {
+            if (event.fCollective) {
+                long id = event.fSrc;
+                CollectiveOperationIdentifiers associated = null;
+                for (CollectiveOperationIdentifiers operation : operations) {
+                    if (operation.isAssociatedOperation(OPERATION_CODE, event.fDest, id)) {
+                        associated = operation;
+                        break;
+                    }
+                }
+                if (associated == null) {
+                    associated = new CollectiveOperationIdentifiers(OPERATION_CODE, event.fDest, new ArrayList<>(locations));
+                    operations.add(associated);
+                }
+                associated.locationCalledOperation(id, event.fTimestamp);
+                if (associated.isOperationDone()) {
+                    result += Collections.min(associated.getEnterTimestamps());
+                    operations.remove(associated);
+                }
+            } else if (event.fSend) {
+                sentMessages.get(event.fSrc).add(new MessageIdentifiers(COMMUNICATOR, event.fSrc, event.fDest, event.fTag, event.fTimestamp));
+            } else {
+                List<MessageIdentifiers> messages = sentMessages.get(event.fSrc);
+                int index = messages.indexOf(new MessageIdentifiers(COMMUNICATOR, event.fSrc, event.fDest, event.fTag));
+                result += messages.remove(index).getBeginTimestamp();
+            }
+        }
+        return result;
+    }
+}
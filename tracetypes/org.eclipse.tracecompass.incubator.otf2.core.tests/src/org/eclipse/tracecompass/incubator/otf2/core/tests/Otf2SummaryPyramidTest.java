@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.otf2.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.summarytimeline.Otf2SummaryPyramid;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the time bucket pyramid of the summary timeline
+ */
+public class Otf2SummaryPyramidTest {
+
+    private static final long START = 1000;
+    /*
+     * The buckets of the finest level are (END - START) / MAX_BUCKETS + 1 = 13
+     * ns wide, and the last one is cut by the end of the state system
+     */
+    private static final long END = START + 100000;
+    private static final long WIDTH = 13;
+    private static final double DELTA = 1e-9;
+
+    private ITmfStateSystemBuilder fSs;
+    private int fChanging;
+    private int fPartial;
+    private int fText;
+    private File fFile;
+
+    /**
+     * Build a state system with an attribute changing often, an attribute
+     * with a value on part of the time range and an attribute with a text
+     * value
+     *
+     * @throws IOException
+     *             if the pyramid file cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        ITmfStateSystemBuilder ss = buildStateSystem(END);
+        fChanging = ss.optQuarkAbsolute("changing");
+        fPartial = ss.optQuarkAbsolute("partial");
+        fText = ss.optQuarkAbsolute("text");
+        fSs = ss;
+        fFile = File.createTempFile("summaryPyramid", ".dat");
+    }
+
+    /**
+     * Dispose the state system and delete the pyramid file
+     */
+    @After
+    public void tearDown() {
+        fSs.dispose();
+        fFile.delete();
+    }
+
+    private static ITmfStateSystemBuilder buildStateSystem(long end, String... otherAttributes) {
+        ITmfStateSystemBuilder ss = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend("test", START));
+        int changing = ss.getQuarkAbsoluteAndAdd("changing");
+        int partial = ss.getQuarkAbsoluteAndAdd("partial");
+        int text = ss.getQuarkAbsoluteAndAdd("text");
+        for (String attribute : otherAttributes) {
+            ss.getQuarkAbsoluteAndAdd(attribute);
+        }
+        for (long time = START; time < end; time += 777) {
+            ss.modifyAttribute(time, (int) ((time / 777) % 5), changing);
+        }
+        ss.modifyAttribute(START + 30001, 4L, partial);
+        ss.modifyAttribute(START + 45000, 1.5, partial);
+        ss.modifyAttribute(START + 60000, (Object) null, partial);
+        ss.modifyAttribute(START, "text", text);
+        ss.closeHistory(end);
+        return ss;
+    }
+
+    /**
+     * Test the choice of the level from the time between the samples
+     *
+     * @throws StateSystemDisposedException
+     *             should not happen
+     */
+    @Test
+    public void testLevel() throws StateSystemDisposedException {
+        Otf2SummaryPyramid pyramid = build();
+        assertEquals(-1, pyramid.getLevel(Collections.singletonList(START)));
+        assertEquals(-1, pyramid.getLevel(getTimes(WIDTH - 1)));
+        assertEquals(0, pyramid.getLevel(getTimes(WIDTH)));
+        assertEquals(0, pyramid.getLevel(getTimes(2 * WIDTH - 1)));
+        assertEquals(1, pyramid.getLevel(getTimes(2 * WIDTH)));
+        assertEquals(3, pyramid.getLevel(getTimes(8 * WIDTH + 5)));
+        // The buckets of 53248 ns would be larger than half the resolution
+        assertEquals(12, pyramid.getLevel(Arrays.asList(START, END)));
+    }
+
+    /**
+     * Test the averages of the finest level against the values of the state
+     * system, including the last bucket that is cut by the end of the state
+     * system and the times out of the state system
+     *
+     * @throws StateSystemDisposedException
+     *             should not happen
+     */
+    @Test
+    public void testFinestLevel() throws StateSystemDisposedException {
+        Otf2SummaryPyramid pyramid = build();
+        List<Long> times = getTimes(WIDTH);
+        assertEquals(0, pyramid.getLevel(times));
+        times.add(END);
+        testAverages(pyramid, 0, times);
+
+        // The last bucket only has the 5 ns up to the end of the state system
+        long lastBucketStart = START + (END - START) / WIDTH * WIDTH;
+        assertEquals(5, END - lastBucketStart + 1);
+        assertEquals(getAverage(fChanging, lastBucketStart, END), pyramid.getAverages(fChanging, 0, Collections.singletonList(END))[0], DELTA);
+
+        double[] outside = pyramid.getAverages(fChanging, 0, Arrays.asList(START - 1, END + 1, Long.MAX_VALUE));
+        assertArrayEquals(new double[] { 0, 0, 0 }, outside, DELTA);
+    }
+
+    /**
+     * Test the averages of coarser levels against the values of the state
+     * system
+     *
+     * @throws StateSystemDisposedException
+     *             should not happen
+     */
+    @Test
+    public void testCoarseLevels() throws StateSystemDisposedException {
+        Otf2SummaryPyramid pyramid = build();
+        for (int level = 1; level <= 4; level++) {
+            List<Long> times = getTimes(WIDTH << level);
+            assertEquals(level, pyramid.getLevel(times));
+            times.add(END);
+            testAverages(pyramid, level, times);
+        }
+    }
+
+    /**
+     * Test that a saved pyramid is loaded with the same averages
+     *
+     * @throws StateSystemDisposedException
+     *             should not happen
+     * @throws IOException
+     *             if the file cannot be written or read
+     */
+    @Test
+    public void testSaveLoad() throws StateSystemDisposedException, IOException {
+        Otf2SummaryPyramid pyramid = build();
+        pyramid.save(fFile);
+        Otf2SummaryPyramid loaded = Otf2SummaryPyramid.load(fFile, fSs);
+        assertNotNull(loaded);
+        for (int level = 0; level <= 2; level++) {
+            List<Long> times = getTimes(WIDTH << level);
+            for (int quark : Arrays.asList(fChanging, fPartial, fText)) {
+                assertArrayEquals(pyramid.getAverages(quark, level, times), loaded.getAverages(quark, level, times), DELTA);
+            }
+        }
+    }
+
+    /**
+     * Test that a pyramid is not loaded for another state system, nor from a
+     * file that is not a pyramid
+     *
+     * @throws StateSystemDisposedException
+     *             should not happen
+     * @throws IOException
+     *             if the file cannot be written or read
+     */
+    @Test
+    public void testLoadMismatch() throws StateSystemDisposedException, IOException {
+        build().save(fFile);
+
+        ITmfStateSystemBuilder longer = buildStateSystem(END + 1);
+        try {
+            assertNull(Otf2SummaryPyramid.load(fFile, longer));
+        } finally {
+            longer.dispose();
+        }
+
+        ITmfStateSystemBuilder moreAttributes = buildStateSystem(END, "other");
+        try {
+            assertNull(Otf2SummaryPyramid.load(fFile, moreAttributes));
+        } finally {
+            moreAttributes.dispose();
+        }
+
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(fFile.toPath()))) {
+            out.writeInt(0);
+            out.writeInt(1);
+        }
+        assertNull(Otf2SummaryPyramid.load(fFile, fSs));
+    }
+
+    private Otf2SummaryPyramid build() throws StateSystemDisposedException {
+        Otf2SummaryPyramid pyramid = Otf2SummaryPyramid.build(fSs, null);
+        assertNotNull(pyramid);
+        return pyramid;
+    }
+
+    /**
+     * Check the averages of a level at some times against the values of the
+     * state system over the bucket of each time
+     */
+    private void testAverages(Otf2SummaryPyramid pyramid, int level, List<Long> times) throws StateSystemDisposedException {
+        long width = WIDTH << level;
+        double[] changing = pyramid.getAverages(fChanging, level, times);
+        double[] partial = pyramid.getAverages(fPartial, level, times);
+        double[] text = pyramid.getAverages(fText, level, times);
+        for (int i = 0; i < times.size(); i++) {
+            long bucketStart = START + (times.get(i) - START) / width * width;
+            long bucketEnd = Math.min(bucketStart + width - 1, END);
+            assertEquals(getAverage(fChanging, bucketStart, bucketEnd), changing[i], DELTA);
+            assertEquals(getAverage(fPartial, bucketStart, bucketEnd), partial[i], DELTA);
+            assertEquals(0, text[i], DELTA);
+        }
+    }
+
+    /**
+     * Get the average numeric value of an attribute between two times, from
+     * the intervals of the state system
+     */
+    private double getAverage(int quark, long start, long end) throws StateSystemDisposedException {
+        double sum = 0;
+        for (ITmfStateInterval interval : fSs.query2D(Collections.singletonList(quark), start, end)) {
+            Object value = interval.getValue();
+            if (value instanceof Number) {
+                long overlap = Math.min(interval.getEndTime(), end) - Math.max(interval.getStartTime(), start) + 1;
+                sum += ((Number) value).doubleValue() * overlap;
+            }
+        }
+        return sum / (end - start + 1);
+    }
+
+    /**
+     * Get the times from the start of the state system with a resolution
+     */
+    private static List<Long> getTimes(long resolution) {
+        List<Long> times = new ArrayList<>();
+        for (long time = START; time <= END; time += resolution) {
+            times.add(time);
+        }
+        return times;
+    }
+}
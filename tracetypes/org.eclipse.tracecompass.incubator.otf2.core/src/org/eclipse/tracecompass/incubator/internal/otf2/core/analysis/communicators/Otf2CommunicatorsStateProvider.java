@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,8 @@ import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2Field
 import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2GlobalDefinitions;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.mpi.CollectiveOperationIdentifiers;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.mpi.MessageIdentifiers;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.mpi.PendingCollectiveOperations;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.mpi.PendingMessages;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.trace.Location;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -113,7 +116,7 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
         private boolean fInCommunication;
         private boolean fInIRecvRequest;
         private int fRank;
-        private final List<MessageIdentifiers> fSentMessages;
+        private final PendingMessages fSentMessages;
         private final Map<Long, Long> fRequestIdBeginTimestamp;
         private final Deque<IRecvRequest> fIRecvRequests;
         private final Deque<StateSystemUpdateTriplet> fPendingStateSystemUpdates;
@@ -126,7 +129,7 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
             fInCommunication = false;
             fInIRecvRequest = false;
             fRank = UNKNOWN_RANK;
-            fSentMessages = new ArrayList<>();
+            fSentMessages = new PendingMessages();
             fRequestIdBeginTimestamp = new HashMap<>();
             fIRecvRequests = new LinkedList<>();
             fPendingStateSystemUpdates = new LinkedList<>();
@@ -337,8 +340,10 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
             }
             // Searches for the associated sent message
             MessageIdentifiers message = new MessageIdentifiers(communicator.fId, srcRank, destRank, messageTag);
-            int messageIndex = srcLocation.fSentMessages.indexOf(message);
-            MessageIdentifiers sentMessage = srcLocation.fSentMessages.remove(messageIndex);
+            MessageIdentifiers sentMessage = srcLocation.fSentMessages.remove(message);
+            if (sentMessage == null) {
+                return;
+            }
 
             Long recvBeginTimestamp = fLatestEnteredTimestamp;
             /*
@@ -397,52 +402,36 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
             fCurrentCommunicator = communicator;
             fRank = getRank(id, communicator.fId);
             /*
-             * The associated collective operation is searched in the list of
-             * ongoing collective operations in the associated communicator
+             * The associated collective operation is searched in the ongoing
+             * collective operations in the associated communicator
              */
-            for (CollectiveOperationIdentifiers collectiveOperation : communicator.fCollectiveOperations) {
+            CollectiveOperationIdentifiers collectiveOperation = communicator.fCollectiveOperations.poll(operationCode, root, id);
+            if (collectiveOperation != null) {
+                collectiveOperation.locationCalledOperation(id, fLatestEnteredTimestamp);
+            } else {
                 /*
-                 * If the communication is found, the state of the communication
-                 * and of the communicator are updated
+                 * This code is reached if no associated operation was found :
+                 * it means this location is the first one to call it
                  */
-                if (collectiveOperation.isAssociatedOperation(operationCode, root, id)) {
-                    collectiveOperation.locationCalledOperation(id, fLatestEnteredTimestamp);
-                    /*
-                     * We store the change for the communicator : one less
-                     * location is expected to use the communicator at this
-                     * timestamp
-                     */
-                    communicator.incrementPendingThreads(event.getTimestamp().toNanos(), -1L);
-                    if (collectiveOperation.isOperationDone()) {
-                        /*
-                         * If the communication is done then we search for the
-                         * moment were the first location started the
-                         * communication : from this moment, the same number of
-                         * locations as the number of locations in the
-                         * communicator were expected to use this communicator
-                         * and it is needed to store this change
-                         */
-                        communicator.incrementPendingThreads(Collections.min(collectiveOperation.getEnterTimestamps()), communicator.fLocations.size());
-                        communicator.fCollectiveOperations.remove(collectiveOperation);
-                    }
-                    return;
-                }
-
+                collectiveOperation = new CollectiveOperationIdentifiers(operationCode, root, new HashSet<>(communicator.fLocations));
+                collectiveOperation.locationCalledOperation(id, fLatestEnteredTimestamp);
+                communicator.fCollectiveOperations.add(collectiveOperation);
             }
 
             /*
-             * This code is reached if no associated operation was found : it
-             * means
+             * We store the change for the communicator : one less location is
+             * expected to use the communicator at this timestamp
              */
-            CollectiveOperationIdentifiers collectiveOperation = new CollectiveOperationIdentifiers(operationCode, root, new ArrayList<>(communicator.fLocations));
-            communicator.fCollectiveOperations.add(collectiveOperation);
-            collectiveOperation.locationCalledOperation(id, fLatestEnteredTimestamp);
-
             communicator.incrementPendingThreads(event.getTimestamp().toNanos(), -1L);
-
             if (collectiveOperation.isOperationDone()) {
+                /*
+                 * If the communication is done then we search for the moment
+                 * were the first location started the communication : from
+                 * this moment, the same number of locations as the number of
+                 * locations in the communicator were expected to use this
+                 * communicator and it is needed to store this change
+                 */
                 communicator.incrementPendingThreads(Collections.min(collectiveOperation.getEnterTimestamps()), communicator.fLocations.size());
-                communicator.fCollectiveOperations.remove(collectiveOperation);
             }
         }
     }
@@ -459,7 +448,7 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
         protected boolean fQuarkInitialized;
         protected int fQuark;
         protected List<Long> fLocations;
-        protected final List<CollectiveOperationIdentifiers> fCollectiveOperations;
+        protected final PendingCollectiveOperations fCollectiveOperations;
         /**
          * Sorted map that links timestamp with changes in the number of pending
          * locations. This sorted map will be iterated over at the end of the
@@ -481,7 +470,7 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
             fId = id;
             fQuarkInitialized = false;
             fLocations = new ArrayList<>();
-            fCollectiveOperations = new ArrayList<>();
+            fCollectiveOperations = new PendingCollectiveOperations();
             fQuark = -1;
             fTimestampsPendingThreads = new TreeMap<>();
         }
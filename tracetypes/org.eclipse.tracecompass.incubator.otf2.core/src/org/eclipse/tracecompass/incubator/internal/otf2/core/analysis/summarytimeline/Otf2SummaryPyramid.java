@@ -0,0 +1,277 @@
+/**********************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.summarytimeline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
+
+/**
+ * Pyramid of the values of the summary timeline state system, aggregated
+ * over time buckets. The finest level divides the state system in at most
+ * {@link #MAX_BUCKETS} buckets, and each next level has buckets twice as
+ * large. A bucket holds the sum of the value of each attribute over its time
+ * range, so the value of a sample is the average over the bucket that
+ * contains it.
+ *
+ * The pyramid is built once the state system is complete, and a request is
+ * answered from the coarsest level whose buckets are not larger than the
+ * time between two samples. The requests with a finer resolution than the
+ * finest level must query the state system.
+ */
+public class Otf2SummaryPyramid {
+
+    /**
+     * Maximum number of buckets of the finest level
+     */
+    public static final int MAX_BUCKETS = 1 << 13;
+
+    private static final int MAGIC = 0x4F53544C; // "OSTL"
+    private static final int VERSION = 1;
+
+    private final long fStart;
+    private final long fEnd;
+    private final long fWidth;
+    private final int fNbAttributes;
+    /**
+     * Map of quark to the sums of its value over the buckets of each level,
+     * the first level being the finest
+     */
+    private final Map<Integer, double[][]> fLevels;
+
+    private Otf2SummaryPyramid(long start, long end, long width, int nbAttributes, Map<Integer, double[][]> levels) {
+        fStart = start;
+        fEnd = end;
+        fWidth = width;
+        fNbAttributes = nbAttributes;
+        fLevels = levels;
+    }
+
+    /**
+     * Build the pyramid of a state system
+     *
+     * @param ss
+     *            the state system, which must be built
+     * @param monitor
+     *            the progress monitor
+     * @return the pyramid, or null if the monitor was cancelled
+     * @throws StateSystemDisposedException
+     *             if the state system is disposed while it is queried
+     */
+    public static @Nullable Otf2SummaryPyramid build(ITmfStateSystem ss, @Nullable IProgressMonitor monitor) throws StateSystemDisposedException {
+        long start = ss.getStartTime();
+        long end = ss.getCurrentEndTime();
+        long width = (end - start) / MAX_BUCKETS + 1;
+        int count = getCount(start, end, width);
+        int nbAttributes = ss.getNbAttributes();
+        List<Integer> quarks = new ArrayList<>();
+        for (int quark = 0; quark < nbAttributes; quark++) {
+            quarks.add(quark);
+        }
+        Map<Integer, double[]> sums = new HashMap<>();
+        for (ITmfStateInterval interval : ss.query2D(quarks, start, end)) {
+            if (monitor != null && monitor.isCanceled()) {
+                return null;
+            }
+            Object value = interval.getValue();
+            if (value instanceof Number) {
+                double[] row = sums.computeIfAbsent(interval.getAttribute(), q -> new double[count]);
+                add(row, start, width, interval.getStartTime(), interval.getEndTime(), ((Number) value).doubleValue());
+            }
+        }
+        return new Otf2SummaryPyramid(start, end, width, nbAttributes, createLevels(sums));
+    }
+
+    /**
+     * Add the sum of a value over an interval to the buckets it overlaps
+     */
+    private static void add(double[] row, long start, long width, long intervalStart, long intervalEnd, double value) {
+        long intervalLimit = intervalEnd + 1;
+        for (int i = (int) ((intervalStart - start) / width); i <= (intervalEnd - start) / width; i++) {
+            long bucketStart = start + i * width;
+            long overlap = Math.min(intervalLimit, bucketStart + width) - Math.max(intervalStart, bucketStart);
+            row[i] += value * overlap;
+        }
+    }
+
+    private static int getCount(long start, long end, long width) {
+        return (int) ((end - start) / width) + 1;
+    }
+
+    /**
+     * Create the coarser levels from the sums of the finest level
+     */
+    private static Map<Integer, double[][]> createLevels(Map<Integer, double[]> sums) {
+        Map<Integer, double[][]> levels = new HashMap<>();
+        for (Entry<Integer, double[]> entry : sums.entrySet()) {
+            double[] finest = entry.getValue();
+            int nbLevels = 1;
+            for (int count = finest.length; count > 1; count = (count + 1) / 2) {
+                nbLevels++;
+            }
+            double[][] rows = new double[nbLevels][];
+            rows[0] = finest;
+            for (int level = 1; level < nbLevels; level++) {
+                double[] children = rows[level - 1];
+                double[] row = new double[(children.length + 1) / 2];
+                for (int i = 0; i < children.length; i++) {
+                    row[i / 2] += children[i];
+                }
+                rows[level] = row;
+            }
+            levels.put(entry.getKey(), rows);
+        }
+        return levels;
+    }
+
+    /**
+     * Get the level to answer a request for samples at some times
+     *
+     * @param times
+     *            the sorted times of the samples, in the range of the state
+     *            system
+     * @return the coarsest level whose buckets are not larger than the time
+     *         between two samples, or -1 if the samples are finer than the
+     *         finest level and the state system must be queried
+     */
+    public int getLevel(List<Long> times) {
+        if (times.size() < 2) {
+            return -1;
+        }
+        long resolution = (times.get(times.size() - 1) - times.get(0)) / (times.size() - 1);
+        if (resolution < fWidth) {
+            return -1;
+        }
+        int level = 0;
+        long width = fWidth;
+        while (width <= resolution / 2 && (fEnd - fStart) / width > 0) {
+            width *= 2;
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Get the average values of an attribute at some times
+     *
+     * @param quark
+     *            the quark of the attribute
+     * @param level
+     *            the level, see {@link #getLevel(List)}
+     * @param times
+     *            the times of the samples, in the range of the state system
+     * @return the average value of the attribute over the bucket of each
+     *         time, 0 for the attributes without a value
+     */
+    public double[] getAverages(int quark, int level, List<Long> times) {
+        double[] averages = new double[times.size()];
+        double[][] rows = fLevels.get(quark);
+        if (rows == null) {
+            return averages;
+        }
+        double[] row = rows[Math.min(level, rows.length - 1)];
+        long width = fWidth << Math.min(level, rows.length - 1);
+        for (int i = 0; i < averages.length; i++) {
+            long time = times.get(i);
+            if (time < fStart || time > fEnd) {
+                continue;
+            }
+            int bucket = (int) ((time - fStart) / width);
+            long bucketStart = fStart + bucket * width;
+            // The last bucket can end after the state system
+            long bucketWidth = Math.min(bucketStart + width, fEnd + 1) - bucketStart;
+            averages[i] = row[bucket] / bucketWidth;
+        }
+        return averages;
+    }
+
+    /**
+     * Save the pyramid to a file
+     *
+     * @param file
+     *            the file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fStart);
+            out.writeLong(fEnd);
+            out.writeLong(fWidth);
+            out.writeInt(fNbAttributes);
+            out.writeInt(fLevels.size());
+            for (Entry<Integer, double[][]> entry : fLevels.entrySet()) {
+                out.writeInt(entry.getKey());
+                // The coarser levels are created again when the file is loaded
+                for (double sum : entry.getValue()[0]) {
+                    out.writeDouble(sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Load a pyramid from a file
+     *
+     * @param file
+     *            the file
+     * @param ss
+     *            the state system of the pyramid
+     * @return the pyramid, or null if the file is not a pyramid of this state
+     *         system
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static @Nullable Otf2SummaryPyramid load(File file, ITmfStateSystem ss) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long start = in.readLong();
+            long end = in.readLong();
+            long width = in.readLong();
+            int nbAttributes = in.readInt();
+            if (start != ss.getStartTime() || end != ss.getCurrentEndTime() || width != (end - start) / MAX_BUCKETS + 1 || nbAttributes != ss.getNbAttributes()) {
+                return null;
+            }
+            int count = getCount(start, end, width);
+            int nbRows = in.readInt();
+            Map<Integer, double[]> sums = new HashMap<>();
+            for (int i = 0; i < nbRows; i++) {
+                int quark = in.readInt();
+                double[] row = new double[count];
+                for (int j = 0; j < count; j++) {
+                    row[j] = in.readDouble();
+                }
+                sums.put(quark, row);
+            }
+            return new Otf2SummaryPyramid(start, end, width, nbAttributes, createLevels(sums));
+        }
+    }
+}
@@ -11,10 +11,19 @@
 
 package org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.summarytimeline;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Objects;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.AbstractOtf2Analysis;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
 import org.eclipse.tracecompass.tmf.core.statesystem.ITmfStateProvider;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 
 /**
  * Summary Timeline analysis
@@ -26,6 +35,10 @@ public class Otf2SummaryTimelineAnalysis extends AbstractOtf2Analysis {
     /** The ID suffix of this analysis module */
     public static final String ID_SUFFIX = ".summarytimeline"; //$NON-NLS-1$
 
+    private static final String PYRAMID_EXTENSION = ".pyramid"; //$NON-NLS-1$
+
+    private volatile @Nullable Otf2SummaryPyramid fPyramid = null;
+
     /**
      * Constructor
      */
@@ -38,6 +51,52 @@ public class Otf2SummaryTimelineAnalysis extends AbstractOtf2Analysis {
         return new Otf2SummaryTimelineStateProvider(Objects.requireNonNull(getTrace()));
     }
 
+    @Override
+    protected boolean executeAnalysis(@Nullable IProgressMonitor monitor) {
+        boolean ret = super.executeAnalysis(monitor);
+        ITmfTrace trace = getTrace();
+        ITmfStateSystem ss = getStateSystem();
+        if (!ret || trace == null || ss == null || !ss.waitUntilBuilt(0)) {
+            return ret;
+        }
+        fPyramid = openPyramid(trace, ss, monitor);
+        return ret;
+    }
+
+    /**
+     * Load the pyramid of the state system from the supplementary files of
+     * the trace, or build and save it if it is missing or outdated
+     */
+    private @Nullable Otf2SummaryPyramid openPyramid(ITmfTrace trace, ITmfStateSystem ss, @Nullable IProgressMonitor monitor) {
+        File file = new File(TmfTraceManager.getSupplementaryFileDir(trace) + getId() + PYRAMID_EXTENSION);
+        try {
+            if (file.exists()) {
+                Otf2SummaryPyramid pyramid = Otf2SummaryPyramid.load(file, ss);
+                if (pyramid != null) {
+                    return pyramid;
+                }
+            }
+            Otf2SummaryPyramid pyramid = Otf2SummaryPyramid.build(ss, monitor);
+            if (pyramid != null) {
+                pyramid.save(file);
+            }
+            return pyramid;
+        } catch (IOException | StateSystemDisposedException e) {
+            Activator.getInstance().logError("Error opening the summary pyramid " + file, e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * Get the pyramid of the values of the state system, which is available
+     * once the state system is built
+     *
+     * @return the pyramid, or null if it is not available
+     */
+    public @Nullable Otf2SummaryPyramid getPyramid() {
+        return fPyramid;
+    }
+
     /**
      * @return the full ID of this analysis module
      */
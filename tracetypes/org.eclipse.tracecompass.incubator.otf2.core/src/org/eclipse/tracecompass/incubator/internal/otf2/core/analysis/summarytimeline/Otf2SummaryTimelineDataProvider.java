@@ -175,7 +175,6 @@ public class Otf2SummaryTimelineDataProvider extends AbstractTreeCommonXDataProv
 
     @Override
     protected @Nullable Collection<IYModel> getYSeriesModels(ITmfStateSystem ss, Map<String, Object> fetchParameters, @Nullable IProgressMonitor monitor) throws StateSystemDisposedException {
-        ImmutableList.Builder<IYModel> ySeries = ImmutableList.builder();
         Map<Integer, double[]> quarkToValues = new HashMap<>();
         // Prepare the quarks to display
         Collection<Long> selectedItems = DataProviderParameterUtils.extractSelectedItems(fetchParameters);
@@ -191,6 +190,21 @@ public class Otf2SummaryTimelineDataProvider extends AbstractTreeCommonXDataProv
             }
         }
 
+        // Use the pyramid unless the samples are finer than its finest level
+        Otf2SummaryPyramid pyramid = getAnalysisModule().getPyramid();
+        int level = (pyramid != null) ? pyramid.getLevel(times) : -1;
+        if (pyramid != null && level >= 0) {
+            for (Entry<Integer, double[]> values : quarkToValues.entrySet()) {
+                double[] averages = pyramid.getAverages(values.getKey(), level, times);
+                double[] row = values.getValue();
+                for (int i = 0; i < row.length; i++) {
+                    // conversion to percentages
+                    row[i] = 100 * averages[i];
+                }
+            }
+            return getYModels(ss, quarkToValues);
+        }
+
         // Query the state system to fill the arrays of values
         try {
             for (ITmfStateInterval interval : ss.query2D(quarkToValues.keySet(), times)) {
@@ -214,7 +228,11 @@ public class Otf2SummaryTimelineDataProvider extends AbstractTreeCommonXDataProv
             Activator.getInstance().logError(e.getMessage(), e);
             return null;
         }
+        return getYModels(ss, quarkToValues);
+    }
 
+    private Collection<IYModel> getYModels(ITmfStateSystem ss, Map<Integer, double[]> quarkToValues) {
+        ImmutableList.Builder<IYModel> ySeries = ImmutableList.builder();
         for (Entry<Integer, double[]> values : quarkToValues.entrySet()) {
             if (ss.getSubAttributes(values.getKey(), false).isEmpty()) {
                 ySeries.add(new YModel(fIDToDisplayQuark.inverse().getOrDefault(values.getKey(), -1L), ss.getAttributeName(values.getKey()), values.getValue(), Y_AXIS_DESCRIPTION));
@@ -22,7 +22,7 @@ import java.util.Collection;
  */
 public class CollectiveOperationIdentifiers {
 
-    private static final int UNDEFINED_ROOT_ID = -1;
+    static final int UNDEFINED_ROOT_ID = -1;
     private final int fOperationCode;
     private final int fCommunicator;
     private final long fRootLocationId;
@@ -122,6 +122,35 @@ public class CollectiveOperationIdentifiers {
         fEnterTimestamps.add(timestamp);
     }
 
+    /**
+     * @return the identifier of the communication routine
+     */
+    int getOperationCode() {
+        return fOperationCode;
+    }
+
+    /**
+     * @return the id of the communicator
+     */
+    int getCommunicator() {
+        return fCommunicator;
+    }
+
+    /**
+     * @return the id of the location that is the root for the communication
+     */
+    long getRootLocationId() {
+        return fRootLocationId;
+    }
+
+    /**
+     * @return the locations that did not call the MPI routine for the
+     *         communication
+     */
+    Collection<Long> getPendingLocations() {
+        return fPendingLocations;
+    }
+
     /**
      * @return the list of timestamps when locations called the routine
      */
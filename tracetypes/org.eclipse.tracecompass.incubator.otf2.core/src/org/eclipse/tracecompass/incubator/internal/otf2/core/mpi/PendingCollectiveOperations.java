@@ -0,0 +1,126 @@
+/**********************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.otf2.core.mpi;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The collective MPI operations that some locations did not call yet. A
+ * location calls the operations with the same identifiers in the order they
+ * were started, so each location has a queue of the operations it did not
+ * call, per identifiers. The operation called by a location is the first one
+ * of its queue, which is the first started operation that is associated to
+ * the call, as given by
+ * {@link CollectiveOperationIdentifiers#isAssociatedOperation(int, long, int, long)}.
+ */
+public class PendingCollectiveOperations {
+
+    /**
+     * The identifiers of the operations called by a location
+     */
+    private static final class Key {
+        private final int fOperationCode;
+        private final long fRootLocationId;
+        private final int fCommunicator;
+        private final long fLocationId;
+
+        public Key(int operationCode, long rootLocationId, int communicator, long locationId) {
+            fOperationCode = operationCode;
+            fRootLocationId = rootLocationId;
+            fCommunicator = communicator;
+            fLocationId = locationId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fOperationCode, fRootLocationId, fCommunicator, fLocationId);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) other;
+            return fOperationCode == that.fOperationCode && fRootLocationId == that.fRootLocationId && fCommunicator == that.fCommunicator && fLocationId == that.fLocationId;
+        }
+    }
+
+    private final Map<Key, Deque<CollectiveOperationIdentifiers>> fOperations = new HashMap<>();
+
+    /**
+     * Add an operation that was started, to the queues of the locations that
+     * did not call it yet
+     *
+     * @param operation
+     *            the operation
+     */
+    public void add(CollectiveOperationIdentifiers operation) {
+        for (Long locationId : operation.getPendingLocations()) {
+            Key key = new Key(operation.getOperationCode(), operation.getRootLocationId(), operation.getCommunicator(), locationId);
+            fOperations.computeIfAbsent(key, k -> new ArrayDeque<>()).add(operation);
+        }
+    }
+
+    /**
+     * Remove the operation called by a location from its queue
+     *
+     * @param operationCode
+     *            the identifier of the MPI routine
+     * @param rootLocationId
+     *            the location ID of the communication root
+     * @param communicator
+     *            the communicator ID of the communication
+     * @param srcLocationId
+     *            the ID of the location that made this communication
+     * @return the operation, or null if the location has no operation with
+     *         these identifiers to call
+     */
+    public @Nullable CollectiveOperationIdentifiers poll(int operationCode, long rootLocationId, int communicator, long srcLocationId) {
+        Key key = new Key(operationCode, rootLocationId, communicator, srcLocationId);
+        Deque<CollectiveOperationIdentifiers> operations = fOperations.get(key);
+        if (operations == null) {
+            return null;
+        }
+        CollectiveOperationIdentifiers operation = operations.poll();
+        if (operations.isEmpty()) {
+            fOperations.remove(key);
+        }
+        return operation;
+    }
+
+    /**
+     * Remove the operation called by a location from its queue, for the
+     * communications without a particular root
+     *
+     * @param operationCode
+     *            the identifier of the MPI routine
+     * @param communicator
+     *            the communicator ID of the communication
+     * @param srcLocationId
+     *            the ID of the location that made this communication
+     * @return the operation, or null if the location has no operation with
+     *         these identifiers to call
+     */
+    public @Nullable CollectiveOperationIdentifiers poll(int operationCode, int communicator, long srcLocationId) {
+        return poll(operationCode, CollectiveOperationIdentifiers.UNDEFINED_ROOT_ID, communicator, srcLocationId);
+    }
+}
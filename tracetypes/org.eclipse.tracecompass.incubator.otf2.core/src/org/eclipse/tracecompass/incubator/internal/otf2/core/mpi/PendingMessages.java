@@ -0,0 +1,74 @@
+/**********************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.otf2.core.mpi;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The point to point MPI messages that were sent and not received yet. The
+ * messages with the same communicator, sender, receiver and tag are received
+ * in the order they were sent, so they are kept in a queue per identifiers.
+ */
+public class PendingMessages {
+
+    private final Map<MessageIdentifiers, Deque<MessageIdentifiers>> fMessages = new HashMap<>();
+    private int fSize = 0;
+
+    /**
+     * Add a sent message
+     *
+     * @param message
+     *            the identifiers of the message, with the timestamp when it
+     *            was sent
+     */
+    public void add(MessageIdentifiers message) {
+        // Most queues have a single message
+        fMessages.computeIfAbsent(message, m -> new ArrayDeque<>(1)).add(message);
+        fSize++;
+    }
+
+    /**
+     * Remove the first sent message with the same identifiers as a received
+     * message
+     *
+     * @param message
+     *            the identifiers of the received message
+     * @return the identifiers of the sent message, or null if no such message
+     *         was sent
+     */
+    public @Nullable MessageIdentifiers remove(MessageIdentifiers message) {
+        Deque<MessageIdentifiers> messages = fMessages.get(message);
+        if (messages == null) {
+            return null;
+        }
+        MessageIdentifiers sentMessage = messages.poll();
+        if (messages.isEmpty()) {
+            fMessages.remove(message);
+        }
+        fSize--;
+        return sentMessage;
+    }
+
+    /**
+     * Get the number of pending messages
+     *
+     * @return the number of messages
+     */
+    public int size() {
+        return fSize;
+    }
+}
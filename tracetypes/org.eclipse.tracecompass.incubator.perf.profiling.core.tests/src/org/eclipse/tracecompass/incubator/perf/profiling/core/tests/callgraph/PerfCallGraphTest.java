@@ -19,6 +19,8 @@ import static org.junit.Assert.fail;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
@@ -121,4 +123,37 @@ public class PerfCallGraphTest {
         assertEquals("0x4", callsite.getObject().resolve(Collections.emptySet()));
     }
 
+    /**
+     * Test the weights of the callsites returned by
+     * {@link ISamplingDataProvider#getSamplingData(int, long, long)}, which
+     * count the samples
+     */
+    @Test
+    public void testSamplingDataWeights() {
+        PerfCallchainAnalysisModule module = fModule;
+        assertNotNull(module);
+
+        Collection<AggregatedCallSite> samplingData = module.getSamplingData(2, 0, 50);
+        assertEquals(2, samplingData.size());
+        for (AggregatedCallSite callsite : samplingData) {
+            assertEquals(5, callsite.getWeight());
+        }
+
+        // Samples at 4, 6 and 8
+        samplingData = module.getSamplingData(2, 3, 9);
+        assertEquals(1, samplingData.size());
+        AggregatedCallSite callsite = samplingData.iterator().next();
+        assertEquals("0x1", callsite.getObject().resolve(Collections.emptySet()));
+        assertEquals(3, callsite.getWeight());
+        Map<String, Long> calleeWeights = new HashMap<>();
+        for (AggregatedCallSite callee : callsite.getCallees()) {
+            calleeWeights.put(callee.getObject().resolve(Collections.emptySet()), callee.getWeight());
+        }
+        assertEquals(2, calleeWeights.size());
+        assertEquals(Long.valueOf(2), calleeWeights.get("0x2"));
+        assertEquals(Long.valueOf(1), calleeWeights.get("0x0"));
+
+        assertTrue(module.getSamplingData(2, 21, 50).isEmpty());
+    }
+
 }
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.perf.profiling.core.tests.callgraph;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph.PerfCallchainTrie;
+import org.junit.Test;
+
+/**
+ * Test the {@link PerfCallchainTrie}
+ */
+public class PerfCallchainTrieTest {
+
+    /**
+     * Test that the callchains with a same prefix share its nodes
+     */
+    @Test
+    public void testIntern() {
+        PerfCallchainTrie trie = new PerfCallchainTrie();
+        assertEquals(PerfCallchainTrie.ROOT, trie.intern(new long[0]));
+        assertArrayEquals(new long[0], trie.getCallchain(PerfCallchainTrie.ROOT));
+
+        int node = trie.intern(new long[] { 3, 2, 1 });
+        assertEquals(3, trie.size());
+        assertEquals(node, trie.intern(new long[] { 3, 2, 1 }));
+        assertArrayEquals(new long[] { 1, 2, 3 }, trie.getCallchain(node));
+
+        int other = trie.intern(new long[] { 4, 2, 1 });
+        assertNotEquals(node, other);
+        assertEquals(4, trie.size());
+        assertArrayEquals(new long[] { 1, 2, 4 }, trie.getCallchain(other));
+
+        // A same address in another stack is another node
+        int prefix = trie.intern(new long[] { 2, 1 });
+        assertEquals(trie.getNode(PerfCallchainTrie.ROOT, 1), trie.getNode(PerfCallchainTrie.ROOT, 1));
+        assertEquals(prefix, trie.getNode(trie.getNode(PerfCallchainTrie.ROOT, 1), 2));
+        assertNotEquals(prefix, trie.intern(new long[] { 2 }));
+        assertEquals(5, trie.size());
+    }
+
+    /**
+     * Test that the nodes are kept when the trie grows and is written and
+     * read
+     *
+     * @throws IOException
+     *             if the trie cannot be written or read
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        PerfCallchainTrie trie = new PerfCallchainTrie();
+        Random random = new Random(42);
+        long[][] callchains = new long[5000][];
+        int[] nodes = new int[callchains.length];
+        for (int i = 0; i < callchains.length; i++) {
+            callchains[i] = random.longs(1 + random.nextInt(10), 0, 50).toArray();
+            nodes[i] = trie.intern(callchains[i]);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            trie.write(out);
+        }
+        PerfCallchainTrie read = PerfCallchainTrie.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertNotNull(read);
+        assertEquals(trie.size(), read.size());
+        for (int i = 0; i < callchains.length; i++) {
+            assertArrayEquals(trie.getCallchain(nodes[i]), read.getCallchain(nodes[i]));
+            assertEquals(nodes[i], read.intern(callchains[i]));
+        }
+        assertEquals(trie.size(), read.size());
+    }
+}
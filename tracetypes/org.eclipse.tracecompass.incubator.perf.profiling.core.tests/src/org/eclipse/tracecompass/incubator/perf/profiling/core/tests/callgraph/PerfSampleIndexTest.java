@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.perf.profiling.core.tests.callgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph.PerfCallchainTrie;
+import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph.PerfSampleIndex;
+import org.junit.Test;
+
+/**
+ * Test the {@link PerfSampleIndex}
+ */
+public class PerfSampleIndexTest {
+
+    private static final long START = 1000;
+    private static final long END = START + 1000000;
+    private static final int SAMPLE_COUNT = 20000;
+    private static final long[][] CALLCHAINS = { { 1 }, { 1, 2 }, { 1, 2, 3 }, { 4, 5 }, { 4 } };
+
+    private static class Sample {
+        private final long fTimestamp;
+        private final long fPid;
+        private final int fTid;
+        private final long[] fCallchain;
+
+        public Sample(long timestamp, long pid, int tid, long[] callchain) {
+            fTimestamp = timestamp;
+            fPid = pid;
+            fTid = tid;
+            fCallchain = callchain;
+        }
+    }
+
+    private static List<Sample> createSamples() {
+        Random random = new Random(42);
+        List<Sample> samples = new ArrayList<>();
+        long timestamp = START;
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            // Some samples have the same timestamp
+            timestamp += random.nextInt(50);
+            int tid = random.nextInt(3);
+            samples.add(new Sample(timestamp, tid < 2 ? 10 : 20, tid, CALLCHAINS[random.nextInt(CALLCHAINS.length)]));
+        }
+        return samples;
+    }
+
+    /**
+     * Get the sample counts of a range, by process and callchain in the order
+     * of their first sample, with the time of this sample
+     */
+    private static Map<List<Long>, long[]> getCounts(PerfSampleIndex index, int tid, long start, long end) {
+        Map<List<Long>, long[]> counts = new LinkedHashMap<>();
+        index.getSamples(tid, start, end, (pid, callchain, timestamp, count) -> {
+            long[] value = counts.computeIfAbsent(getKey(pid, callchain), k -> new long[] { timestamp, 0 });
+            assertTrue(timestamp >= start && timestamp <= end);
+            value[1] += count;
+        });
+        return counts;
+    }
+
+    private static Map<List<Long>, long[]> getExpectedCounts(List<Sample> samples, int tid, long start, long end) {
+        Map<List<Long>, long[]> counts = new LinkedHashMap<>();
+        for (Sample sample : samples) {
+            if (sample.fTid == tid && sample.fTimestamp >= start && sample.fTimestamp <= end) {
+                counts.computeIfAbsent(getKey(sample.fPid, sample.fCallchain), k -> new long[] { sample.fTimestamp, 0 })[1]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Get a callchain in the order of the perf_callchain field, from a
+     * callchain whose element at position 0 is the bottom of the stack
+     */
+    private static long[] reverse(long[] callchain) {
+        long[] reversed = new long[callchain.length];
+        for (int i = 0; i < callchain.length; i++) {
+            reversed[i] = callchain[callchain.length - 1 - i];
+        }
+        return reversed;
+    }
+
+    private static List<Long> getKey(long pid, long[] callchain) {
+        List<Long> key = new ArrayList<>();
+        key.add(pid);
+        Arrays.stream(callchain).forEach(key::add);
+        return key;
+    }
+
+    private static void assertCounts(Map<List<Long>, long[]> expected, Map<List<Long>, long[]> actual) {
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        for (List<Long> key : expected.keySet()) {
+            assertTrue(Arrays.equals(expected.get(key), actual.get(key)));
+        }
+    }
+
+    /**
+     * Test that the samples of ranges aligned or not on the buckets are the
+     * samples of the range
+     *
+     * @throws IOException
+     *             if the index file cannot be written or read
+     */
+    @Test
+    public void testGetSamples() throws IOException {
+        List<Sample> samples = createSamples();
+        PerfCallchainTrie trie = new PerfCallchainTrie();
+        PerfSampleIndex.Builder builder = new PerfSampleIndex.Builder(trie);
+        for (Sample sample : samples) {
+            builder.addSample(sample.fTimestamp, sample.fPid, sample.fTid, trie.intern(reverse(sample.fCallchain)));
+        }
+        PerfSampleIndex index = builder.build(START, END);
+        File file = File.createTempFile("perf", ".samples");
+        try {
+            index.save(file);
+            PerfSampleIndex loaded = PerfSampleIndex.load(file, START, END);
+            assertNotNull(loaded);
+            assertEquals(null, PerfSampleIndex.load(file, START, END + 1));
+
+            Random random = new Random(7);
+            for (int i = 0; i < 200; i++) {
+                int tid = random.nextInt(4);
+                long start = START + random.nextInt((int) (END - START));
+                long end = start + random.nextInt(200000);
+                Map<List<Long>, long[]> expected = getExpectedCounts(samples, tid, start, end);
+                assertCounts(expected, getCounts(index, tid, start, end));
+                assertCounts(expected, getCounts(loaded, tid, start, end));
+            }
+            assertCounts(getExpectedCounts(samples, 0, 0, Long.MAX_VALUE), getCounts(index, 0, 0, Long.MAX_VALUE));
+            assertTrue(getCounts(index, 0, END + 1, END + 10).isEmpty());
+        } finally {
+            file.delete();
+        }
+    }
+}
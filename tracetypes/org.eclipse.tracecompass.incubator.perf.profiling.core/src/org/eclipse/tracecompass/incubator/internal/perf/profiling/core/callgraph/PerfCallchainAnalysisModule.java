@@ -11,35 +11,49 @@
 
 package org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.analysis.core.concepts.AggregatedCallSite;
+import org.eclipse.tracecompass.incubator.analysis.core.concepts.ICallStackSymbol;
 import org.eclipse.tracecompass.incubator.analysis.core.concepts.ISamplingDataProvider;
 import org.eclipse.tracecompass.incubator.analysis.core.weighted.tree.IWeightedTreeGroupDescriptor;
+import org.eclipse.tracecompass.incubator.analysis.core.weighted.tree.WeightedTree;
 import org.eclipse.tracecompass.incubator.callstack.core.base.CallStackElement;
 import org.eclipse.tracecompass.incubator.callstack.core.base.CallStackGroupDescriptor;
 import org.eclipse.tracecompass.incubator.callstack.core.base.ICallStackElement;
+import org.eclipse.tracecompass.incubator.callstack.core.callgraph.CallGraph;
 import org.eclipse.tracecompass.incubator.callstack.core.sampled.callgraph.ProfilingCallGraphAnalysisModule;
+import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.Activator;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfAnalysisException;
 import org.eclipse.tracecompass.tmf.core.request.ITmfEventRequest;
 import org.eclipse.tracecompass.tmf.core.request.TmfEventRequest;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
 import org.eclipse.tracecompass.tmf.core.util.Pair;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 
 /**
  * An analysis module for the sampled callchains from a perf trace. It
@@ -57,11 +71,29 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
     private static final String FIELD_PERF_CALLCHAIN = "perf_callchain"; //$NON-NLS-1$
     private static final String FIELD_PERF_PID = "perf_pid"; //$NON-NLS-1$
     private static final String FIELD_PERF_TID = "perf_tid"; //$NON-NLS-1$
+    private static final String SAMPLE_INDEX_EXTENSION = ".samples"; //$NON-NLS-1$
 
     private final CallStackGroupDescriptor fThreadDescriptor;
     private final CallStackGroupDescriptor fProcessDescriptor;
     // private final ProfilingGroup fGroupNode = new ProfilingGroup("Data",
     // CallGraphAllGroupDescriptor.getInstance());
+    /** The process elements by process ID */
+    private final Map<Long, ICallStackElement> fProcessElements = new HashMap<>();
+    /** The thread elements by process ID and thread ID */
+    private final Map<Long, Map<Long, ICallStackElement>> fThreadElements = new HashMap<>();
+    private final PerfCallchainTrie fTrie = new PerfCallchainTrie();
+    /**
+     * The samples of the call graphs being built, per element and callchain
+     * node in the order of their first sample, with the time of this sample
+     * and the number of samples
+     */
+    private final Map<CallGraph, Map<ICallStackElement, Map<Integer, long[]>>> fSamples = new ConcurrentHashMap<>();
+    private volatile @Nullable PerfSampleIndex fSampleIndex = null;
+    /**
+     * Builder of the sample index during the full pass of the analysis. If
+     * another request cancels this pass, the builder is discarded.
+     */
+    private volatile PerfSampleIndex.@Nullable Builder fIndexBuilder = null;
 
     /**
      * Constructor
@@ -72,6 +104,109 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
         fProcessDescriptor = new CallStackGroupDescriptor("Process", fThreadDescriptor, true); //$NON-NLS-1$
     }
 
+    @Override
+    protected boolean executeAnalysis(@NonNull IProgressMonitor monitor) throws TmfAnalysisException {
+        ITmfTrace trace = getTrace();
+        if (trace == null) {
+            return super.executeAnalysis(monitor);
+        }
+        File file = new File(TmfTraceManager.getSupplementaryFileDir(trace) + getId() + SAMPLE_INDEX_EXTENSION);
+        long start = trace.getStartTime().toNanos();
+        if (fSampleIndex == null && file.exists()) {
+            try {
+                fSampleIndex = PerfSampleIndex.load(file, start, trace.getEndTime().toNanos());
+            } catch (IOException e) {
+                Activator.getInstance().logError("Error reading the sample index " + file, e); //$NON-NLS-1$
+            }
+        }
+        if (fSampleIndex == null) {
+            fIndexBuilder = new PerfSampleIndex.Builder(fTrie);
+        }
+        try {
+            boolean ret = super.executeAnalysis(monitor);
+            PerfSampleIndex.Builder builder = fIndexBuilder;
+            if (ret && builder != null) {
+                PerfSampleIndex index = builder.build(start, trace.getEndTime().toNanos());
+                fSampleIndex = index;
+                try {
+                    index.save(file);
+                } catch (IOException e) {
+                    Activator.getInstance().logError("Error writing the sample index " + file, e); //$NON-NLS-1$
+                }
+            }
+            return ret;
+        } finally {
+            fIndexBuilder = null;
+        }
+    }
+
+    @Override
+    protected void addStackTrace(CallGraph callGraph, ITmfEvent event) {
+        if (!event.getName().startsWith(EVENT_SAMPLING)) {
+            return;
+        }
+        ITmfEventField field = event.getContent().getField(FIELD_PERF_CALLCHAIN);
+        if (field == null) {
+            return;
+        }
+        // The callsites are only created when the call graph is complete
+        int callchain = fTrie.intern((long[]) field.getValue());
+        if (callchain == PerfCallchainTrie.ROOT) {
+            return;
+        }
+        Long pidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_PID);
+        long pid = pidField == null ? -1 : pidField;
+        Long tidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_TID);
+        long tid = tidField == null ? -1 : tidField;
+        PerfSampleIndex.Builder builder = fIndexBuilder;
+        if (builder != null) {
+            builder.addSample(event.getTimestamp().toNanos(), pid, tid, callchain);
+        }
+        long timestamp = event.getTimestamp().getValue();
+        long[] samples = fSamples.computeIfAbsent(callGraph, c -> new LinkedHashMap<>())
+                .computeIfAbsent(getElement(pid, tid), e -> new LinkedHashMap<>())
+                .computeIfAbsent(callchain, c -> new long[] { timestamp, 0 });
+        samples[1]++;
+    }
+
+    @Override
+    protected void flushStackTraces(CallGraph callGraph) {
+        Map<ICallStackElement, Map<Integer, long[]>> elements = fSamples.remove(callGraph);
+        if (elements == null) {
+            return;
+        }
+        for (Entry<ICallStackElement, Map<Integer, long[]>> element : elements.entrySet()) {
+            for (Entry<Integer, long[]> samples : element.getValue().entrySet()) {
+                long[] value = samples.getValue();
+                callGraph.addAggregatedCallSite(element.getKey(), getCallSite(element.getKey(), fTrie.getCallchain(samples.getKey()), value[0], value[1]));
+            }
+        }
+    }
+
+    /**
+     * Get the callsite of samples with the same callchain
+     *
+     * @param element
+     *            the element of the samples
+     * @param callchain
+     *            the callchain, the element at position 0 being the bottom
+     * @param timestamp
+     *            the time of the first sample
+     * @param count
+     *            the number of samples
+     * @return the callsite, with a weight of the number of samples
+     */
+    private AggregatedCallSite getCallSite(ICallStackElement element, long[] callchain, long timestamp, long count) {
+        AggregatedCallSite callsite = getCallSite(element, callchain, timestamp);
+        // The callsite has a single callee per level
+        @Nullable WeightedTree<ICallStackSymbol> site = callsite;
+        while (site != null) {
+            site.addToWeight(count - 1);
+            site = Iterables.getFirst(site.getChildren(), null);
+        }
+        return callsite;
+    }
+
     @Override
     protected @Nullable Pair<ICallStackElement, AggregatedCallSite> getProfiledStackTrace(@NonNull ITmfEvent event) {
         if (!event.getName().startsWith(EVENT_SAMPLING)) {
@@ -91,30 +226,27 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
             value[i] = value[j];
             value[j] = tmp;
         }
-        ICallStackElement element = getElement(event);
+        Long pidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_PID);
+        long pid = pidField == null ? -1 : pidField;
+        Long tidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_TID);
+        long tid = tidField == null ? -1 : tidField;
+        ICallStackElement element = getElement(pid, tid);
         return new Pair<>(element, getCallSite(element, value, event.getTimestamp().getValue()));
     }
 
     /**
-     * @param event
+     * Get the element of a thread, creating it and the element of its process
+     * if they do not exist
      */
-    private ICallStackElement getElement(ITmfEvent event) {
-        // Find a root elements with the same PID
-        Collection<ICallStackElement> rootElements = getRootElements();
-        Long pidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_PID);
-        Long pid = pidField == null ? -1 : pidField;
-        Long tidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_TID);
-        Long tid = tidField == null ? -1 : tidField;
-        Optional<ICallStackElement> process = rootElements.stream()
-                .filter(e -> e.getName().equals(String.valueOf(pid)))
-                .findFirst();
-        if (!process.isPresent()) {
+    private synchronized ICallStackElement getElement(long pid, long tid) {
+        Map<Long, ICallStackElement> threads = fThreadElements.get(pid);
+        if (threads == null) {
             // Process is null, create both process and thread elements and return
             ICallStackElement processEl = new CallStackElement(String.valueOf(pid), fProcessDescriptor, fThreadDescriptor, null) {
 
                 @Override
                 protected int retrieveSymbolKeyAt(long time) {
-                    return pid.intValue();
+                    return (int) pid;
                 }
 
             };
@@ -123,20 +255,22 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
             threadEl.setSymbolKeyElement(processEl);
             processEl.addChild(threadEl);
             addRootElement(processEl);
+            fProcessElements.put(pid, processEl);
+            threads = new HashMap<>();
+            threads.put(tid, threadEl);
+            fThreadElements.put(pid, threads);
             return threadEl;
         }
-        ICallStackElement processEl = process.get();
 
         // Process exists, find a thread element under it or create it
-        Optional<ICallStackElement> thread = processEl.getChildrenElements().stream()
-                .filter(e -> e.getName().equals(String.valueOf(tid)))
-                .findFirst();
-
-        if (thread.isPresent()) {
-            return thread.get();
+        ICallStackElement threadEl = threads.get(tid);
+        if (threadEl != null) {
+            return threadEl;
         }
-        ICallStackElement threadEl = new CallStackElement(String.valueOf(tid), fThreadDescriptor, null, processEl);
+        ICallStackElement processEl = Objects.requireNonNull(fProcessElements.get(pid));
+        threadEl = new CallStackElement(String.valueOf(tid), fThreadDescriptor, null, processEl);
         processEl.addChild(threadEl);
+        threads.put(tid, threadEl);
         return threadEl;
 
     }
@@ -173,6 +307,11 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
             return Collections.emptyList();
         }
         List<AggregatedCallSite> callsites = new ArrayList<>();
+        PerfSampleIndex index = fSampleIndex;
+        if (index != null) {
+            index.getSamples(tid, start, end, (pid, callchain, timestamp, count) -> addCallSite(callsites, getCallSite(getElement(pid, tid), callchain, timestamp, count)));
+            return callsites;
+        }
         TmfEventRequest request = new PerfProfilingEventRequest(trace, start, end, tid, callsites);
         trace.sendRequest(request);
         try {
@@ -251,15 +390,18 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
             if (stackTrace == null) {
                 return;
             }
-            AggregatedCallSite perfCallSite = stackTrace.getSecond();
-            for (AggregatedCallSite site : fSites) {
-                if (site.getObject().equals(perfCallSite.getObject())) {
-                    site.merge(perfCallSite);
-                    return;
-                }
+            addCallSite(fSites, stackTrace.getSecond());
+        }
+    }
+
+    private static void addCallSite(List<AggregatedCallSite> sites, AggregatedCallSite perfCallSite) {
+        for (AggregatedCallSite site : sites) {
+            if (site.getObject().equals(perfCallSite.getObject())) {
+                site.merge(perfCallSite);
+                return;
             }
-            fSites.add(perfCallSite);
         }
+        sites.add(perfCallSite);
     }
 
 }
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Trie of the callchains of perf samples. Each node is a frame, identified by
+ * its parent node and its address, and has a single int ID, so a callchain is
+ * identified by the node of its top frame. The nodes are kept in arrays
+ * indexed by ID and found by a hash table of IDs, so that the samples with a
+ * same prefix share its nodes without allocating any object per sample.
+ *
+ * The trie can be shared by the threads that read a trace.
+ */
+public class PerfCallchainTrie {
+
+    /**
+     * The parent of the nodes of the bottom frames, and the node of an empty
+     * callchain
+     */
+    public static final int ROOT = -1;
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int EMPTY = -1;
+
+    private int[] fParents = new int[INITIAL_CAPACITY];
+    private long[] fAddresses = new long[INITIAL_CAPACITY];
+    private int[] fDepths = new int[INITIAL_CAPACITY];
+    private int fCount = 0;
+    /** Open addressing hash table of node IDs, at most half full */
+    private int[] fTable = createTable(2 * INITIAL_CAPACITY);
+
+    private static int[] createTable(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int hash(int parent, long address) {
+        long hash = (address + parent) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Get the node of a frame, adding it if it does not exist
+     *
+     * @param parent
+     *            the node of the caller frame, or {@link #ROOT} for a bottom
+     *            frame
+     * @param address
+     *            the address of the frame
+     * @return the node ID
+     */
+    public synchronized int getNode(int parent, long address) {
+        int mask = fTable.length - 1;
+        int slot = hash(parent, address) & mask;
+        while (fTable[slot] != EMPTY) {
+            int node = fTable[slot];
+            if (fParents[node] == parent && fAddresses[node] == address) {
+                return node;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return addNode(parent, address, slot);
+    }
+
+    private int addNode(int parent, long address, int slot) {
+        if (fCount == fParents.length) {
+            int capacity = 2 * fCount;
+            fParents = Arrays.copyOf(fParents, capacity);
+            fAddresses = Arrays.copyOf(fAddresses, capacity);
+            fDepths = Arrays.copyOf(fDepths, capacity);
+        }
+        int node = fCount++;
+        fParents[node] = parent;
+        fAddresses[node] = address;
+        fDepths[node] = (parent == ROOT) ? 1 : fDepths[parent] + 1;
+        fTable[slot] = node;
+        if (2 * fCount > fTable.length) {
+            rehash(2 * fTable.length);
+        }
+        return node;
+    }
+
+    private void rehash(int capacity) {
+        int[] table = createTable(capacity);
+        int mask = capacity - 1;
+        for (int node = 0; node < fCount; node++) {
+            int slot = hash(fParents[node], fAddresses[node]) & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = node;
+        }
+        fTable = table;
+    }
+
+    /**
+     * Get the node of a callchain, adding its missing frames
+     *
+     * @param callchain
+     *            the callchain, as in the perf_callchain field: the element
+     *            at position 0 is the top of the stack
+     * @return the node of the top frame, or {@link #ROOT} if the callchain is
+     *         empty
+     */
+    public synchronized int intern(long[] callchain) {
+        int node = ROOT;
+        for (int i = callchain.length - 1; i >= 0; i--) {
+            node = getNode(node, callchain[i]);
+        }
+        return node;
+    }
+
+    /**
+     * Get the callchain of a node
+     *
+     * @param node
+     *            the node of the top frame
+     * @return the callchain, the element at position 0 being the bottom of
+     *         the stack
+     */
+    public synchronized long[] getCallchain(int node) {
+        if (node == ROOT) {
+            return new long[0];
+        }
+        long[] callchain = new long[fDepths[node]];
+        for (int current = node, i = callchain.length - 1; current != ROOT; current = fParents[current], i--) {
+            callchain[i] = fAddresses[current];
+        }
+        return callchain;
+    }
+
+    /**
+     * Get the number of nodes of the trie
+     *
+     * @return the number of nodes
+     */
+    public synchronized int size() {
+        return fCount;
+    }
+
+    /**
+     * Write the nodes of the trie
+     *
+     * @param out
+     *            the output stream
+     * @throws IOException
+     *             if the stream cannot be written
+     */
+    public synchronized void write(DataOutputStream out) throws IOException {
+        out.writeInt(fCount);
+        for (int node = 0; node < fCount; node++) {
+            out.writeInt(fParents[node]);
+            out.writeLong(fAddresses[node]);
+        }
+    }
+
+    /**
+     * Read the nodes of a trie written by {@link #write(DataOutputStream)}
+     *
+     * @param in
+     *            the input stream
+     * @return the trie, or null if the nodes are not valid
+     * @throws IOException
+     *             if the stream cannot be read
+     */
+    public static @Nullable PerfCallchainTrie read(DataInputStream in) throws IOException {
+        PerfCallchainTrie trie = new PerfCallchainTrie();
+        int count = in.readInt();
+        for (int node = 0; node < count; node++) {
+            int parent = in.readInt();
+            long address = in.readLong();
+            // A parent is always created before its children
+            if (parent < ROOT || parent >= node || trie.getNode(parent, address) != node) {
+                return null;
+            }
+        }
+        return trie;
+    }
+}
@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Index of the perf samples of a trace, per thread and time bucket. The
+ * callchains of the samples are nodes of a {@link PerfCallchainTrie}, and each
+ * bucket has the number of samples of each callchain, so that the samples of
+ * a time range are aggregated from the buckets it contains, and only the
+ * samples of the two buckets at its edges are read one by one.
+ *
+ * The samples are given to the consumer in the order of the trace, the
+ * samples of a bucket being given at the time of the first sample of their
+ * callchain.
+ */
+public class PerfSampleIndex {
+
+    /**
+     * Maximum number of time buckets of the trace
+     */
+    public static final int MAX_BUCKETS = 4096;
+
+    private static final int MAGIC = 0x50534958; // "PSIX"
+    private static final int VERSION = 1;
+
+    /**
+     * Consumer of the samples of a time range
+     */
+    @FunctionalInterface
+    public interface SampleConsumer {
+        /**
+         * Accept samples of a same callchain and process
+         *
+         * @param pid
+         *            the process ID of the samples
+         * @param callchain
+         *            the callchain of the samples, the element at position 0
+         *            being the bottom of the stack. It must not be modified.
+         * @param timestamp
+         *            the time of the first of these samples
+         * @param count
+         *            the number of samples
+         */
+        void accept(long pid, long[] callchain, long timestamp, int count);
+    }
+
+    /**
+     * Builder of the index, which receives the samples in the order of the
+     * trace
+     */
+    public static class Builder {
+
+        private final PerfCallchainTrie fTrie;
+        private final Map<Integer, ThreadSamples> fThreads = new LinkedHashMap<>();
+
+        /**
+         * Constructor
+         *
+         * @param trie
+         *            the trie of the callchains of the samples
+         */
+        public Builder(PerfCallchainTrie trie) {
+            fTrie = trie;
+        }
+
+        /**
+         * Add a sample
+         *
+         * @param timestamp
+         *            the time of the sample, in nanoseconds
+         * @param pid
+         *            the process ID
+         * @param tid
+         *            the thread ID
+         * @param callchain
+         *            the node of the callchain in the trie
+         */
+        public void addSample(long timestamp, long pid, long tid, int callchain) {
+            fThreads.computeIfAbsent((int) tid, t -> new ThreadSamples()).add(timestamp, pid, callchain);
+        }
+
+        /**
+         * Build the index with the samples added so far
+         *
+         * @param start
+         *            the start time of the trace, in nanoseconds
+         * @param end
+         *            the end time of the trace, in nanoseconds
+         * @return the index
+         */
+        public PerfSampleIndex build(long start, long end) {
+            return new PerfSampleIndex(start, end, fTrie, fThreads);
+        }
+    }
+
+    /**
+     * The samples of a thread, in the order of the trace, with their buckets
+     */
+    private static final class ThreadSamples {
+        private long[] fTimestamps = new long[16];
+        private long[] fPids = new long[16];
+        private int[] fCallchains = new int[16];
+        private int fCount = 0;
+
+        /** The bucket of each group of samples, in time order */
+        private long[] fBuckets = new long[0];
+        /** Index of the first sample of each bucket, and the sample count */
+        private int[] fBucketStarts = new int[0];
+        /** Index of the first entry of each bucket, and the entry count */
+        private int[] fEntryStarts = new int[0];
+        private int[] fEntryCallchains = new int[0];
+        private long[] fEntryPids = new long[0];
+        private long[] fEntryTimestamps = new long[0];
+        private int[] fEntryCounts = new int[0];
+
+        public void add(long timestamp, long pid, int callchain) {
+            if (fCount == fTimestamps.length) {
+                int capacity = 2 * fCount;
+                fTimestamps = Arrays.copyOf(fTimestamps, capacity);
+                fPids = Arrays.copyOf(fPids, capacity);
+                fCallchains = Arrays.copyOf(fCallchains, capacity);
+            }
+            fTimestamps[fCount] = timestamp;
+            fPids[fCount] = pid;
+            fCallchains[fCount] = callchain;
+            fCount++;
+        }
+
+        /**
+         * Group the samples in buckets and count the samples of each
+         * callchain and process per bucket
+         */
+        public void createBuckets(long start, long width) {
+            List<Long> buckets = new ArrayList<>();
+            List<Integer> bucketStarts = new ArrayList<>();
+            List<Integer> entryStarts = new ArrayList<>();
+            List<int[]> entries = new ArrayList<>();
+            // Entries of the current bucket, by callchain and process
+            Map<List<Long>, int[]> bucketEntries = new LinkedHashMap<>();
+            for (int i = 0; i < fCount; i++) {
+                long bucket = (fTimestamps[i] - start) / width;
+                if (buckets.isEmpty() || buckets.get(buckets.size() - 1) != bucket) {
+                    entries.addAll(bucketEntries.values());
+                    bucketEntries.clear();
+                    buckets.add(bucket);
+                    bucketStarts.add(i);
+                    entryStarts.add(entries.size());
+                }
+                int sample = i;
+                // The entry is the index of its first sample and the count
+                bucketEntries.computeIfAbsent(Arrays.asList((long) fCallchains[i], fPids[i]), k -> new int[] { sample, 0 })[1]++;
+            }
+            entries.addAll(bucketEntries.values());
+            bucketStarts.add(fCount);
+            entryStarts.add(entries.size());
+
+            fBuckets = buckets.stream().mapToLong(Long::longValue).toArray();
+            fBucketStarts = bucketStarts.stream().mapToInt(Integer::intValue).toArray();
+            fEntryStarts = entryStarts.stream().mapToInt(Integer::intValue).toArray();
+            int entryCount = entries.size();
+            fEntryCallchains = new int[entryCount];
+            fEntryPids = new long[entryCount];
+            fEntryTimestamps = new long[entryCount];
+            fEntryCounts = new int[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                int[] entry = entries.get(i);
+                fEntryCallchains[i] = fCallchains[entry[0]];
+                fEntryPids[i] = fPids[entry[0]];
+                fEntryTimestamps[i] = fTimestamps[entry[0]];
+                fEntryCounts[i] = entry[1];
+            }
+        }
+    }
+
+    private final long fStart;
+    private final long fEnd;
+    private final long fWidth;
+    private final PerfCallchainTrie fTrie;
+    private final Map<Integer, ThreadSamples> fThreads;
+
+    private PerfSampleIndex(long start, long end, PerfCallchainTrie trie, Map<Integer, ThreadSamples> threads) {
+        fStart = start;
+        fEnd = end;
+        fWidth = Math.max(0, end - start) / MAX_BUCKETS + 1;
+        fTrie = trie;
+        fThreads = threads;
+        for (ThreadSamples samples : threads.values()) {
+            samples.createBuckets(start, fWidth);
+        }
+    }
+
+    /**
+     * Get the samples of a thread in a time range
+     *
+     * @param tid
+     *            the thread ID
+     * @param start
+     *            the start of the range, in nanoseconds
+     * @param end
+     *            the end of the range, in nanoseconds, inclusive
+     * @param consumer
+     *            the consumer of the samples
+     */
+    public void getSamples(int tid, long start, long end, SampleConsumer consumer) {
+        ThreadSamples samples = fThreads.get(tid);
+        if (samples == null || start > end) {
+            return;
+        }
+        int first = lowerBound(samples.fTimestamps, samples.fCount, start);
+        int last = lowerBound(samples.fTimestamps, samples.fCount, end == Long.MAX_VALUE ? end : end + 1) - 1;
+        if (first > last) {
+            return;
+        }
+        int bucket = upperBound(samples.fBucketStarts, samples.fBuckets.length, first) - 1;
+        while (bucket < samples.fBuckets.length && samples.fBucketStarts[bucket] <= last) {
+            int bucketFirst = samples.fBucketStarts[bucket];
+            int bucketLast = samples.fBucketStarts[bucket + 1] - 1;
+            if (first <= bucketFirst && bucketLast <= last) {
+                for (int i = samples.fEntryStarts[bucket]; i < samples.fEntryStarts[bucket + 1]; i++) {
+                    consumer.accept(samples.fEntryPids[i], fTrie.getCallchain(samples.fEntryCallchains[i]), samples.fEntryTimestamps[i], samples.fEntryCounts[i]);
+                }
+            } else {
+                // Bucket at an edge of the range, read its samples in the range
+                for (int i = Math.max(first, bucketFirst); i <= Math.min(last, bucketLast); i++) {
+                    consumer.accept(samples.fPids[i], fTrie.getCallchain(samples.fCallchains[i]), samples.fTimestamps[i], 1);
+                }
+            }
+            bucket++;
+        }
+    }
+
+    /**
+     * Get the trie of the callchains of the samples
+     *
+     * @return the trie
+     */
+    public PerfCallchainTrie getTrie() {
+        return fTrie;
+    }
+
+    /**
+     * Get the index of the first value that is greater than or equal to a key
+     */
+    private static int lowerBound(long[] values, int length, long key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the index of the first value that is greater than a key
+     */
+    private static int upperBound(int[] values, int length, int key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Save the index to a file
+     *
+     * @param file
+     *            the file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fStart);
+            out.writeLong(fEnd);
+            fTrie.write(out);
+            // The buckets are created again when the file is loaded
+            out.writeInt(fThreads.size());
+            for (Entry<Integer, ThreadSamples> entry : fThreads.entrySet()) {
+                ThreadSamples samples = entry.getValue();
+                out.writeInt(entry.getKey());
+                out.writeInt(samples.fCount);
+                for (int i = 0; i < samples.fCount; i++) {
+                    out.writeLong(samples.fTimestamps[i]);
+                    out.writeLong(samples.fPids[i]);
+                    out.writeInt(samples.fCallchains[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Load an index from a file
+     *
+     * @param file
+     *            the file
+     * @param start
+     *            the start time of the trace, in nanoseconds
+     * @param end
+     *            the end time of the trace, in nanoseconds
+     * @return the index, or null if the file is not an index of a trace with
+     *         this time range
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static @Nullable PerfSampleIndex load(File file, long start, long end) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != start || in.readLong() != end) {
+                return null;
+            }
+            PerfCallchainTrie trie = PerfCallchainTrie.read(in);
+            if (trie == null) {
+                return null;
+            }
+            int nodeCount = trie.size();
+            int threadCount = in.readInt();
+            Map<Integer, ThreadSamples> threads = new LinkedHashMap<>();
+            for (int i = 0; i < threadCount; i++) {
+                ThreadSamples samples = new ThreadSamples();
+                threads.put(in.readInt(), samples);
+                int count = in.readInt();
+                for (int j = 0; j < count; j++) {
+                    long timestamp = in.readLong();
+                    long pid = in.readLong();
+                    int callchain = in.readInt();
+                    if (callchain < PerfCallchainTrie.ROOT || callchain >= nodeCount) {
+                        return null;
+                    }
+                    samples.add(timestamp, pid, callchain);
+                }
+            }
+            return new PerfSampleIndex(start, end, trie, threads);
+        }
+    }
+}
@@ -14,8 +14,10 @@ package org.eclipse.tracecompass.incubator.internal.perf.profiling.core.symbol;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -41,9 +43,56 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
  */
 public class PerfMmapSymbolProvider implements ISymbolProvider {
 
+    /** Maximum number of address ranges in the mapping cache */
+    private static final int CACHE_SIZE = 4096;
+
+    /**
+     * The base addresses of the libraries of a process, sorted, with their
+     * quarks
+     */
+    private static final class ProcessMappings {
+        private final long[] fBaseAddresses;
+        private final int[] fQuarks;
+
+        public ProcessMappings(long[] baseAddresses, int[] quarks) {
+            fBaseAddresses = baseAddresses;
+            fQuarks = quarks;
+        }
+    }
+
+    /**
+     * The file mapped at a base address of a process, with the time range of
+     * its mmap interval
+     */
+    private static final class CachedMapping {
+        private final long fStart;
+        private final long fEnd;
+        private final String fFilename;
+
+        public CachedMapping(long start, long end, String filename) {
+            fStart = start;
+            fEnd = end;
+            fFilename = filename;
+        }
+    }
+
     private final PerfMmapAnalysisModule fMmapModule;
     private final ITmfTrace fTrace;
     private final Map<String, IMappingFile> fSymbolMapping = new HashMap<>();
+    /** The mappings of the processes, once the state system is built */
+    private final Map<Integer, ProcessMappings> fProcessMappings = new HashMap<>();
+    /**
+     * Least recently used cache of the mappings of the address ranges, by
+     * process ID and index of the base address of the range
+     */
+    private final Map<Long, CachedMapping> fMappingCache = new LinkedHashMap<Long, CachedMapping>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(@Nullable Entry<Long, CachedMapping> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
 
     /**
      * Constructor
@@ -71,6 +120,9 @@ public class PerfMmapSymbolProvider implements ISymbolProvider {
         if (stateSystem == null) {
             return null;
         }
+        if (stateSystem.waitUntilBuilt(0)) {
+            return getCachedSymbol(stateSystem, pid, timestamp, address);
+        }
         // Get the quark for the process
         int pidQuark = stateSystem.optQuarkAbsolute(String.valueOf(pid));
         if (pidQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
@@ -109,6 +161,64 @@ public class PerfMmapSymbolProvider implements ISymbolProvider {
 
     }
 
+    /**
+     * Get a symbol when the state system is built, so that the base addresses
+     * of a process do not change anymore. The mapping of an address is the
+     * one of the last base address before it, so all the addresses up to the
+     * next base address share the same mmap interval, which is cached until a
+     * timestamp outside of it is requested.
+     */
+    private @Nullable TmfResolvedSymbol getCachedSymbol(ITmfStateSystem stateSystem, int pid, long timestamp, long address) {
+        ProcessMappings mappings = getProcessMappings(stateSystem, pid);
+        int index = Arrays.binarySearch(mappings.fBaseAddresses, address);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        if (index < 0) {
+            return null;
+        }
+        long baseAddress = mappings.fBaseAddresses[index];
+        Long key = ((long) pid << 32) | index;
+        CachedMapping mapping;
+        synchronized (fMappingCache) {
+            mapping = fMappingCache.get(key);
+        }
+        if (mapping == null || timestamp < mapping.fStart || timestamp > mapping.fEnd) {
+            try {
+                ITmfStateInterval interval = stateSystem.querySingleState(timestamp, mappings.fQuarks[index]);
+                mapping = new CachedMapping(interval.getStartTime(), interval.getEndTime(), String.valueOf(interval.getValue()));
+            } catch (IndexOutOfBoundsException | TimeRangeException | StateSystemDisposedException e) {
+                Activator.getInstance().logWarning("Exceptions while getting perf mmap symbol", e); //$NON-NLS-1$
+                return getSymbol(address);
+            }
+            synchronized (fMappingCache) {
+                fMappingCache.put(key, mapping);
+            }
+        }
+        TmfResolvedSymbol symbol = getSymbolInFile(pid, mapping.fFilename, address, baseAddress);
+        return symbol == null ? new TmfResolvedSymbol(baseAddress, mapping.fFilename) : symbol;
+    }
+
+    private ProcessMappings getProcessMappings(ITmfStateSystem stateSystem, int pid) {
+        synchronized (fProcessMappings) {
+            ProcessMappings mappings = fProcessMappings.get(pid);
+            if (mappings != null) {
+                return mappings;
+            }
+            NavigableMap<Long, Integer> baddrQuarks = new TreeMap<>();
+            int pidQuark = stateSystem.optQuarkAbsolute(String.valueOf(pid));
+            if (pidQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+                for (int quark : stateSystem.getSubAttributes(pidQuark, false)) {
+                    baddrQuarks.put(Long.parseLong(stateSystem.getAttributeName(quark)), quark);
+                }
+            }
+            mappings = new ProcessMappings(baddrQuarks.keySet().stream().mapToLong(Long::longValue).toArray(),
+                    baddrQuarks.values().stream().mapToInt(Integer::intValue).toArray());
+            fProcessMappings.put(pid, mappings);
+            return mappings;
+        }
+    }
+
     private @Nullable TmfResolvedSymbol getSymbolInFile(int pid, String filename, long address, long offset) {
         long addressInFile = address - offset;
         IMappingFile mappingFile = fSymbolMapping.get(filename);
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests.perf;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.analysis.callstack.TraceEventCallStackProvider;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.analysis.callstack.TraceEventCallstackAnalysis;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfAnalysisException;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestHelper;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.junit.Test;
+
+/**
+ * Benchmarks the {@link TraceEventCallStackProvider} on synthetic traces of
+ * complete ("X") events on many threads
+ */
+public class TraceEventCallStackBenchmark {
+
+    /**
+     * Test ID for the trace event benchmarks
+     */
+    public static final String TEST_ID = "org.eclipse.tracecompass.incubator#TraceEvent#";
+    private static final String TEST_CALLSTACK_BUILD = "Building callstack of complete events (%d threads)";
+
+    private static final int[] THREAD_COUNTS = { 100, 1000, 5000 };
+    private static final int NB_EVENTS = 200000;
+    private static final int LOOP_COUNT = 5;
+
+    /**
+     * Run the benchmark for all the numbers of threads
+     *
+     * @throws IOException
+     *             if the trace file cannot be written
+     * @throws TmfTraceException
+     *             if the trace cannot be opened
+     * @throws TmfAnalysisException
+     *             if the analysis cannot be set
+     */
+    @Test
+    public void runCallStackBenchmark() throws IOException, TmfTraceException, TmfAnalysisException {
+        for (int threadCount : THREAD_COUNTS) {
+            Path path = createTrace(threadCount);
+            try {
+                benchmarkCallStack(path, threadCount);
+            } finally {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Write a trace where each thread has a complete event with a nested one
+     * every 100 microseconds, the threads starting their events at different times
+     */
+    private static Path createTrace(int threadCount) throws IOException {
+        Path path = Files.createTempFile("traceevent-threads-" + threadCount, ".json");
+        int rounds = NB_EVENTS / (2 * threadCount);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write('[');
+            boolean first = true;
+            for (int round = 0; round < rounds; round++) {
+                for (int offset = 0; offset < 10; offset++) {
+                    long ts = 1000000L + round * 100L + offset;
+                    for (int tid = offset; tid < threadCount; tid += 10) {
+                        if (!first) {
+                            writer.write(",\n");
+                        }
+                        first = false;
+                        writer.write(getEvent(tid, ts, 60, "outer"));
+                        writer.write(",\n");
+                        writer.write(getEvent(tid, ts, 30, "inner"));
+                    }
+                }
+            }
+            writer.write("]\n");
+        }
+        return path;
+    }
+
+    private static String getEvent(int tid, long ts, int duration, String name) {
+        return "{\"cat\":\"bench\",\"pid\":1,\"tid\":" + tid + ",\"ts\":" + ts + ",\"ph\":\"X\",\"name\":\"" + name + "\",\"args\":{},\"dur\":" + duration + "}";
+    }
+
+    private static void benchmarkCallStack(Path path, int threadCount) throws TmfTraceException, TmfAnalysisException {
+        Performance perf = Performance.getDefault();
+        String name = String.format(TEST_CALLSTACK_BUILD, threadCount);
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + name));
+        perf.tagAsSummary(pm, name, Dimension.CPU_TIME);
+
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            TraceEventTrace trace = new TraceEventTrace();
+            TraceEventCallstackAnalysis module = new TraceEventCallstackAnalysis();
+            try {
+                trace.initTrace(null, path.toString(), ITmfEvent.class);
+                module.triggerAutomatically(false);
+                assertTrue(module.setTrace(trace));
+
+                pm.start();
+                assertTrue(TmfTestHelper.executeAnalysis(module));
+                pm.stop();
+                assertNotNull(module.getStateSystem());
+
+                /*
+                 * Delete the supplementary files, so that the next iteration
+                 * rebuilds the state system
+                 */
+                File[] files = new File(TmfTraceManager.getSupplementaryFileDir(trace)).listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        file.delete();
+                    }
+                }
+            } finally {
+                module.dispose();
+                trace.dispose();
+            }
+        }
+        pm.commit();
+    }
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.analysis.callstack.EdgeQuarkPool;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the pool of the quarks of the trace event edges
+ */
+public class EdgeQuarkPoolTest {
+
+    private static final String EDGES = "Edges";
+    /** More edges than the initial capacity of the pool */
+    private static final int NB_OVERLAPPING = 20;
+
+    private ITmfStateSystemBuilder fSs;
+    private ITmfStateSystemBuilder fScanSs;
+    private EdgeQuarkPool fPool;
+
+    /**
+     * Create the state systems
+     */
+    @Before
+    public void setUp() {
+        fSs = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend("pool", 0L));
+        fScanSs = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend("scan", 0L));
+        fPool = new EdgeQuarkPool(EDGES);
+    }
+
+    /**
+     * Dispose the state systems
+     */
+    @After
+    public void tearDown() {
+        fSs.dispose();
+        fScanSs.dispose();
+    }
+
+    /**
+     * Test that overlapping edges get new quarks past the initial capacity of
+     * the pool, and that the first released quark is reused
+     */
+    @Test
+    public void testOverlappingEdges() {
+        for (int i = 0; i < NB_OVERLAPPING; i++) {
+            assertEquals(Integer.toString(i), insertEdge(5, 1000 + 10 * i));
+        }
+        // Every quark is released by 1195, the first one since 1000
+        assertEquals("0", insertEdge(1195, 1300));
+        assertEquals("1", insertEdge(1195, 1310));
+        assertEquals("2", insertEdge(1195, 1320));
+        // No quark is released since 1015
+        assertEquals(Integer.toString(NB_OVERLAPPING), insertEdge(1015, 1330));
+        assertEquals("3", insertEdge(1035, 1340));
+        assertEquals(NB_OVERLAPPING + 1, fSs.getSubAttributes(fSs.optQuarkAbsolute(EDGES), false).size());
+    }
+
+    /**
+     * Test that a quark with an ongoing value is not available until its
+     * value is reset
+     */
+    @Test
+    public void testOngoingValue() {
+        int quark = fPool.getAvailableQuark(fSs, 10);
+        fSs.modifyAttribute(10, 1, quark);
+        fPool.update(fSs, quark);
+
+        int other = fPool.getAvailableQuark(fSs, 100);
+        assertNotEquals(quark, other);
+        fSs.modifyAttribute(100, 2, other);
+        fPool.update(fSs, other);
+        assertNotEquals(quark, fPool.getAvailableQuark(fSs, 150));
+
+        fSs.modifyAttribute(200, (Object) null, quark);
+        fPool.update(fSs, quark);
+        assertNotEquals(quark, fPool.getAvailableQuark(fSs, 150));
+        assertEquals(quark, fPool.getAvailableQuark(fSs, 300));
+    }
+
+    /**
+     * Test that the pool gives the same quarks as a scan of the ongoing state
+     * of every quark, for many overlapping edges
+     */
+    @Test
+    public void testSameQuarksAsScan() {
+        Random random = new Random(42);
+        long time = 10000;
+        for (int i = 0; i < 2000; i++) {
+            time += (1 + random.nextInt(30)) * 10;
+            // The edges start between two times, so never when a quark is released
+            long startTime = time - random.nextInt(200) * 10 - 5;
+            String name = insertEdge(startTime, time);
+
+            int scanQuark = getAvailableEdgeQuark(fScanSs, startTime);
+            fScanSs.modifyAttribute(startTime, i, scanQuark);
+            fScanSs.modifyAttribute(time, (Object) null, scanQuark);
+            assertEquals("Edge " + i, fScanSs.getAttributeName(scanQuark), name);
+        }
+        assertEquals(fScanSs.getNbAttributes(), fSs.getNbAttributes());
+    }
+
+    /**
+     * Insert an edge the way the trace event call stack provider does
+     *
+     * @return the name of the quark of the edge
+     */
+    private String insertEdge(long startTime, long endTime) {
+        int quark = fPool.getAvailableQuark(fSs, startTime);
+        fSs.modifyAttribute(startTime, endTime, quark);
+        fSs.modifyAttribute(endTime, (Object) null, quark);
+        fPool.update(fSs, quark);
+        return fSs.getAttributeName(quark);
+    }
+
+    /**
+     * The scan of the ongoing state of every quark that the pool replaces
+     */
+    private static int getAvailableEdgeQuark(ITmfStateSystemBuilder ssb, long startTime) {
+        int edgeRoot = ssb.getQuarkAbsoluteAndAdd(EDGES);
+        List<@NonNull Integer> subQuarks = ssb.getSubAttributes(edgeRoot, false);
+
+        for (int quark : subQuarks) {
+            long start = ssb.getOngoingStartTime(quark);
+            Object value = ssb.queryOngoing(quark);
+            if (value == null && start <= startTime) {
+                return quark;
+            }
+        }
+
+        return ssb.getQuarkRelativeAndAdd(edgeRoot, Integer.toString(subQuarks.size()));
+    }
+}
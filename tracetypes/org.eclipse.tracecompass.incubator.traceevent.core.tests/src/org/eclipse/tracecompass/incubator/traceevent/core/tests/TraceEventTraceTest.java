@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -15,15 +15,24 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventEvent;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventField;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventCache;
 import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
 import org.eclipse.tracecompass.internal.provisional.jsontrace.core.trace.JsonTrace;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -36,6 +45,7 @@ import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableSet;
@@ -335,4 +345,128 @@ public class TraceEventTraceTest {
             trace.dispose();
         }
     }
+
+    /**
+     * Test the sorting of a trace with events at the same time, which must
+     * keep the order of the trace file
+     *
+     * @throws IOException
+     *             error writing the trace
+     * @throws TmfTraceException
+     *             should not happen
+     */
+    @Test
+    public void testSortingSameTime() throws IOException, TmfTraceException {
+        StringBuilder sb = new StringBuilder("{\"traceEvents\":[\n");
+        List<String> expected = new ArrayList<>();
+        int nbEvents = 3000;
+        for (int i = 0; i < nbEvents; i++) {
+            // Events at 10 different times, in reverse order of time
+            long ts = 1000 - (i % 10) * 100;
+            String name = "event" + i + (i % 7 == 0 ? "{\\\"}" : "");
+            sb.append("{\"ph\":\"i\",\"name\":\"").append(name).append("\",\"pid\":1,\"tid\":1,\"ts\":").append(ts).append('}');
+            sb.append(i < nbEvents - 1 ? ",\n" : "\n]}");
+        }
+        for (int time = 9; time >= 0; time--) {
+            for (int i = time; i < nbEvents; i += 10) {
+                expected.add("event" + i + (i % 7 == 0 ? "{\"}" : ""));
+            }
+        }
+
+        Path path = Files.createTempFile("trace-event-sorting", ".json");
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+        ITmfTrace trace = new TraceEventTrace();
+        try {
+            trace.initTrace(null, path.toString(), ITmfEvent.class);
+            ITmfContext context = trace.seekEvent(0L);
+            List<String> names = new ArrayList<>();
+            ITmfEvent event = trace.getNext(context);
+            while (event != null) {
+                names.add(event.getName());
+                event = trace.getNext(context);
+            }
+            assertEquals(expected, names);
+        } finally {
+            File[] files = new File(TmfTraceManager.getSupplementaryFileDir(trace)).listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            trace.dispose();
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Test that the events read from the event cache of a trace are the same
+     * as the events parsed from the sorted file, when the cache is written
+     * and when it is reopened
+     *
+     * @throws IOException
+     *             error reading the sorted file
+     * @throws TmfTraceException
+     *             should not happen
+     */
+    @SuppressWarnings("restriction")
+    @Test
+    public void testEventCache() throws IOException, TmfTraceException {
+        String path = "traces/chromeos_system_trace.json";
+        Map<String, String> properties = null;
+        for (int i = 0; i < 2; i++) {
+            TraceEventTrace trace = new TraceEventTrace();
+            try {
+                trace.initTrace(null, path, ITmfEvent.class);
+                File sortedFile = new File(TmfTraceManager.getSupplementaryFileDir(trace) + new File(path).getName());
+                assertTrue(TraceEventCache.getCacheFile(sortedFile).exists());
+
+                List<TraceEventField> expected = new ArrayList<>();
+                try (BufferedRandomAccessFile rafile = new BufferedRandomAccessFile(sortedFile, "r")) {
+                    String json = JsonTrace.readNextEventString(() -> rafile.read());
+                    while (json != null) {
+                        TraceEventField field = TraceEventField.parseJson(json);
+                        if (field != null && field.getPhase() != 'M') {
+                            expected.add(field);
+                        }
+                        json = JsonTrace.readNextEventString(() -> rafile.read());
+                    }
+                }
+                ITmfContext context = trace.seekEvent(0L);
+                ITmfEvent event = trace.getNext(context);
+                List<TraceEventField> actual = new ArrayList<>();
+                while (event != null) {
+                    actual.add(((TraceEventEvent) event).getField());
+                    event = trace.getNext(context);
+                }
+                assertEquals(expected.size(), actual.size());
+                for (int j = 0; j < expected.size(); j++) {
+                    TraceEventField expectedField = expected.get(j);
+                    TraceEventField actualField = actual.get(j);
+                    assertEquals(expectedField.getName(), actualField.getName());
+                    assertEquals(expectedField.getTs(), actualField.getTs());
+                    assertEquals(expectedField.getPhase(), actualField.getPhase());
+                    assertEquals(String.valueOf(expectedField.getPid()), String.valueOf(actualField.getPid()));
+                    assertEquals(expectedField.getTid(), actualField.getTid());
+                    assertEquals(expectedField.getDuration(), actualField.getDuration());
+                    assertEquals(expectedField.getCategory(), actualField.getCategory());
+                    assertEquals(expectedField.getId(), actualField.getId());
+                    assertEquals(expectedField.getArgs(), actualField.getArgs());
+                    ITmfEventField expectedContent = expectedField.getContent();
+                    ITmfEventField actualContent = actualField.getContent();
+                    assertEquals(new ArrayList<>(expectedContent.getFieldNames()), new ArrayList<>(actualContent.getFieldNames()));
+                    for (String name : expectedContent.getFieldNames()) {
+                        assertEquals(name, String.valueOf(expectedContent.getField(name).getValue()), String.valueOf(actualContent.getField(name).getValue()));
+                    }
+                }
+                // The metadata events are read from the cache too
+                if (properties == null) {
+                    properties = ((ITmfPropertiesProvider) trace).getProperties();
+                } else {
+                    assertEquals(properties, ((ITmfPropertiesProvider) trace).getProperties());
+                }
+            } finally {
+                trace.dispose();
+            }
+        }
+    }
 }
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.analysis.callstack;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.tracecompass.incubator.callstack.core.base.EdgeStateValue;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.tmf.core.statesystem.TmfAttributePool;
+
+/**
+ * Pool of the quarks of the {@link EdgeStateValue}s. A quark is available for
+ * an edge if it has no ongoing value since before the start time of the edge.
+ * The {@link TmfAttributePool} cannot be used as it cannot tell that a quark is
+ * available for a time range.
+ *
+ * The pool keeps the time at which each quark was released, in a tree of the
+ * minimum release time of the quarks in the order of their creation, so that
+ * the first available quark is found in logarithmic time instead of by
+ * querying the ongoing state of every quark.
+ *
+ * The pool must be the only one to modify the sub-attributes of its root.
+ */
+public class EdgeQuarkPool {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long UNAVAILABLE = Long.MAX_VALUE;
+
+    private final String fRoot;
+    /** The quarks, in the order of their creation */
+    private int[] fQuarks = new int[INITIAL_CAPACITY];
+    /** Map of quark to its index */
+    private final Map<Integer, Integer> fIndexes = new HashMap<>();
+    /**
+     * Minimum release time of the quarks of each subtree, the leaves start at
+     * index fCapacity. The leaves without a quark are unavailable.
+     */
+    private long[] fReleaseTimes = new long[2 * INITIAL_CAPACITY];
+    private int fCapacity = INITIAL_CAPACITY;
+    private int fCount = 0;
+
+    /**
+     * Constructor
+     *
+     * @param root
+     *            the name of the root attribute of the edges
+     */
+    public EdgeQuarkPool(String root) {
+        fRoot = root;
+        Arrays.fill(fReleaseTimes, UNAVAILABLE);
+    }
+
+    /**
+     * Get an available quark to insert an {@link EdgeStateValue} from
+     * startTime to the current end time. It is the first created quark that
+     * is available, or a new quark if none is. Once the edge is inserted,
+     * {@link #update(ITmfStateSystemBuilder, int)} must be called with the
+     * quark.
+     *
+     * @param ssb
+     *            the {@link ITmfStateSystemBuilder} for this analysis.
+     * @param startTime
+     *            the start time of the {@link EdgeStateValue}.
+     * @return a quark which is available from start time to now (i.e. its
+     *         ongoing value is <code>null</code> and its start time is smaller
+     *         than the queried start time).
+     */
+    public int getAvailableQuark(ITmfStateSystemBuilder ssb, long startTime) {
+        int edgeRoot = ssb.getQuarkAbsoluteAndAdd(fRoot);
+        if (fReleaseTimes[1] <= startTime) {
+            // Go down to the first leaf released at or before the start time
+            int node = 1;
+            while (node < fCapacity) {
+                node = (fReleaseTimes[2 * node] <= startTime) ? 2 * node : 2 * node + 1;
+            }
+            return fQuarks[node - fCapacity];
+        }
+
+        int quark = ssb.getQuarkRelativeAndAdd(edgeRoot, Integer.toString(fCount));
+        if (fCount == fCapacity) {
+            grow();
+        }
+        fQuarks[fCount] = quark;
+        fIndexes.put(quark, fCount);
+        fCount++;
+        return quark;
+    }
+
+    /**
+     * Update the release time of a quark from its ongoing state, after an edge
+     * was inserted
+     *
+     * @param ssb
+     *            the {@link ITmfStateSystemBuilder} for this analysis.
+     * @param quark
+     *            the quark returned by
+     *            {@link #getAvailableQuark(ITmfStateSystemBuilder, long)}
+     */
+    public void update(ITmfStateSystemBuilder ssb, int quark) {
+        Integer index = fIndexes.get(quark);
+        if (index == null) {
+            return;
+        }
+        long releaseTime = (ssb.queryOngoing(quark) == null) ? ssb.getOngoingStartTime(quark) : UNAVAILABLE;
+        int node = fCapacity + index;
+        fReleaseTimes[node] = releaseTime;
+        node /= 2;
+        while (node > 0) {
+            fReleaseTimes[node] = Math.min(fReleaseTimes[2 * node], fReleaseTimes[2 * node + 1]);
+            node /= 2;
+        }
+    }
+
+    private void grow() {
+        int capacity = 2 * fCapacity;
+        long[] releaseTimes = new long[2 * capacity];
+        Arrays.fill(releaseTimes, UNAVAILABLE);
+        System.arraycopy(fReleaseTimes, fCapacity, releaseTimes, capacity, fCapacity);
+        for (int node = capacity - 1; node > 0; node--) {
+            releaseTimes[node] = Math.min(releaseTimes[2 * node], releaseTimes[2 * node + 1]);
+        }
+        fQuarks = Arrays.copyOf(fQuarks, capacity);
+        fReleaseTimes = releaseTimes;
+        fCapacity = capacity;
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -13,13 +13,13 @@ package org.eclipse.tracecompass.incubator.internal.traceevent.core.analysis.cal
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.TreeMap;
+import java.util.PriorityQueue;
 import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
@@ -43,7 +43,6 @@ import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedE
 import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
-import org.eclipse.tracecompass.tmf.core.statesystem.TmfAttributePool;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
@@ -74,9 +73,17 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
     private ITmfTimestamp fSafeTime;
 
     /**
-     * A map of tid/stacks of timestamps
+     * A map of callstack quark/stacks of end times of the complete events
      */
-    private final Map<Integer, Deque<Long>> fStack = new TreeMap<>();
+    private final Map<Integer, Deque<Long>> fStack = new HashMap<>();
+
+    /**
+     * The end times of the complete events, ordered by time, so that an event
+     * only updates the stacks with an expired end time. There is one candidate
+     * per end time pushed on a stack, which is polled when it expires, even if
+     * the end time is not the top of its stack anymore.
+     */
+    private final PriorityQueue<CloseCandidate> fCloseCandidates = new PriorityQueue<>(Comparator.comparingLong(CloseCandidate::getTime));
 
     private final ITmfEventAspect<?> fIdAspect;
 
@@ -94,6 +101,24 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
      * Cache of trace event scope ID string to their parsed values
      */
     private final Map<EventTreeKey, Integer> fIdCache = new HashMap<>();
+    /**
+     * Pool of the quarks of the edges
+     */
+    private final EdgeQuarkPool fEdgeQuarks = new EdgeQuarkPool(EDGES);
+
+    private static final class CloseCandidate {
+        private final long fTime;
+        private final int fQuark;
+
+        public CloseCandidate(long time, int quark) {
+            fTime = time;
+            fQuark = quark;
+        }
+
+        public long getTime() {
+            return fTime;
+        }
+    }
 
     private static class EventTreeKey {
         private final String fCategory;
@@ -302,18 +327,23 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
     }
 
     private void updateCloseCandidates(ITmfStateSystemBuilder ss, long timestamp) {
-        for (Entry<Integer, Deque<Long>> stackEntry : fStack.entrySet()) {
-            Deque<Long> stack = stackEntry.getValue();
-            if (!stack.isEmpty()) {
-                Long closeCandidate = stack.pop();
+        CloseCandidate candidate = fCloseCandidates.peek();
+        while (candidate != null && candidate.fTime < timestamp) {
+            fCloseCandidates.poll();
+            Deque<Long> stack = fStack.get(candidate.fQuark);
+            if (stack != null) {
+                /*
+                 * The expired end times below a valid one stay on the stack
+                 * until the valid one expires, and are then popped with it
+                 */
+                Long closeCandidate = stack.peek();
                 while (closeCandidate != null && closeCandidate < timestamp) {
-                    ss.popAttribute(closeCandidate, stackEntry.getKey());
-                    closeCandidate = (stack.isEmpty()) ? null : stack.pop();
-                }
-                if (closeCandidate != null) {
-                    stack.push(closeCandidate);
+                    stack.pop();
+                    ss.popAttribute(closeCandidate, candidate.fQuark);
+                    closeCandidate = stack.peek();
                 }
             }
+            candidate = fCloseCandidates.peek();
         }
     }
 
@@ -365,11 +395,12 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
         }
 
         if (srcHostThread != null) {
-            int edgeQuark = getAvailableEdgeQuark(ss, startTime);
+            int edgeQuark = fEdgeQuarks.getAvailableQuark(ss, startTime);
 
             Object edgeStateValue = new EdgeStateValue(fIdCache.computeIfAbsent(key, FUNCTION), srcHostThread, currHostThread);
             ss.modifyAttribute(startTime, edgeStateValue, edgeQuark);
             ss.modifyAttribute(ts, (Object) null, edgeQuark);
+            fEdgeQuarks.update(ss, edgeQuark);
         }
     }
 
@@ -393,11 +424,12 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
         }
 
         if (srcHostThread != null) {
-            int edgeQuark = getAvailableEdgeQuark(ss, startTime);
+            int edgeQuark = fEdgeQuarks.getAvailableQuark(ss, startTime);
 
             Object edgeStateValue = new EdgeStateValue(fIdCache.computeIfAbsent(key, FUNCTION), srcHostThread, currHostThread);
             ss.modifyAttribute(startTime, edgeStateValue, edgeQuark);
             ss.modifyAttribute(ts, (Object) null, edgeQuark);
+            fEdgeQuarks.update(ss, edgeQuark);
 
         }
         // update data for next edge
@@ -448,34 +480,6 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
         fEdgeSrcHosts.put(key, currHostThread);
     }
 
-    /**
-     * Get an available quark to insert an {@link EdgeStateValue} from startTime to
-     * the current end time. The {@link TmfAttributePool} cannot be used as it
-     * cannot tell that a quark is available for a time range
-     *
-     * @param ssb
-     *            the {@link ITmfStateSystemBuilder} for this analysis.
-     * @param startTime
-     *            the start time of the {@link EdgeStateValue}.
-     * @return a quark which is available from start time to now (i.e. its ongoing
-     *         value is <code>null</code> and its start time is smaller than the
-     *         queried start time).
-     */
-    private static int getAvailableEdgeQuark(ITmfStateSystemBuilder ssb, long startTime) {
-        int edgeRoot = ssb.getQuarkAbsoluteAndAdd(EDGES);
-        List<@NonNull Integer> subQuarks = ssb.getSubAttributes(edgeRoot, false);
-
-        for (int quark : subQuarks) {
-            long start = ssb.getOngoingStartTime(quark);
-            Object value = ssb.queryOngoing(quark);
-            if (value == null && start <= startTime) {
-                return quark;
-            }
-        }
-
-        return ssb.getQuarkRelativeAndAdd(edgeRoot, Integer.toString(subQuarks.size()));
-    }
-
     private void handleStart(@NonNull ITmfEvent event, ITmfStateSystemBuilder ss, long timestamp, String processName) {
         Object functionBeginName = functionEntry(event);
         if (functionBeginName != null) {
@@ -596,6 +600,7 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
         ss.pushAttribute(startTime, event.getName(), callStackQuark);
         Deque<Long> stack = fStack.computeIfAbsent(callStackQuark, ArrayDeque::new);
         stack.push(end);
+        fCloseCandidates.add(new CloseCandidate(end, callStackQuark));
     }
 
 }
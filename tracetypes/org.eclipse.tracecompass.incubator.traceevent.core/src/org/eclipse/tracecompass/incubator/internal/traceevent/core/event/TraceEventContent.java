@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.event;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Content of a trace event whose fields are read only when they are needed.
+ * The fields used by the analyses, like the phase or the thread ID, are
+ * available right away, and the whole content, with the arguments, is created
+ * the first time another field is requested. It is then the same as the
+ * content of a field parsed from JSON.
+ */
+@NonNullByDefault
+class TraceEventContent extends TmfEventField {
+
+    /**
+     * Names of the fields that can be basic fields
+     */
+    public static final Set<String> BASIC_FIELD_NAMES = ImmutableSet.of(ITraceEventConstants.PHASE, ITraceEventConstants.NAME,
+            ITraceEventConstants.TID, ITraceEventConstants.PID, ITraceEventConstants.DURATION, ITraceEventConstants.CATEGORY,
+            ITraceEventConstants.ID, ITraceEventConstants.SCOPE);
+
+    private final Map<String, ITmfEventField> fBasicFields;
+    private @Nullable Supplier<ITmfEventField> fSupplier;
+    private @Nullable ITmfEventField fContent = null;
+
+    /**
+     * Constructor
+     *
+     * @param basicFields
+     *            the fields that are available without reading the content,
+     *            by name, see {@link #BASIC_FIELD_NAMES}. A basic field that
+     *            is not in the map is not in the content.
+     * @param content
+     *            the supplier of the whole content
+     */
+    public TraceEventContent(Map<String, ITmfEventField> basicFields, Supplier<ITmfEventField> content) {
+        super(ITmfEventField.ROOT_FIELD_ID, null, null);
+        fBasicFields = basicFields;
+        fSupplier = content;
+    }
+
+    private synchronized ITmfEventField getContent() {
+        ITmfEventField content = fContent;
+        Supplier<ITmfEventField> supplier = fSupplier;
+        if (content == null && supplier != null) {
+            content = supplier.get();
+            fContent = content;
+            fSupplier = null;
+        }
+        return content != null ? content : this;
+    }
+
+    @Override
+    public @Nullable Object getValue() {
+        return getContent().getValue();
+    }
+
+    @Override
+    public Collection<String> getFieldNames() {
+        return getContent().getFieldNames();
+    }
+
+    @Override
+    public Collection<? extends ITmfEventField> getFields() {
+        return getContent().getFields();
+    }
+
+    @Override
+    public @Nullable ITmfEventField getField(String @NonNull... path) {
+        if (path.length == 1 && BASIC_FIELD_NAMES.contains(path[0])) {
+            return fBasicFields.get(path[0]);
+        }
+        return getContent().getField(path);
+    }
+
+    @Override
+    public String getFormattedValue() {
+        return getContent().getFormattedValue();
+    }
+
+    @Override
+    public int hashCode() {
+        return getContent().hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        Object other = (obj instanceof TraceEventContent) ? ((TraceEventContent) obj).getContent() : obj;
+        return getContent().equals(other);
+    }
+
+    @Override
+    public String toString() {
+        return getContent().toString();
+    }
+}
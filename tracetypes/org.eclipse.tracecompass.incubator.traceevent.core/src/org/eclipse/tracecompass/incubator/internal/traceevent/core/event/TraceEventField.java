@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -49,8 +50,9 @@ public class TraceEventField {
     private final long fTs;
     private final char fPhase;
     private final String fName;
-    private ITmfEventField fContent;
-    private final @Nullable Map<String, Object> fArgs;
+    private final ITmfEventField fContent;
+    private @Nullable Map<String, Object> fArgs = null;
+    private boolean fArgsRead = false;
     private final @Nullable Integer fTid;
     private final @Nullable String fCategory;
     private final @Nullable String fId;
@@ -185,27 +187,97 @@ public class TraceEventField {
      *            event fields (arguments)
      */
     protected TraceEventField(String name, long ts, String phase, @Nullable Object pid, @Nullable Integer tid, @Nullable String category, @Nullable String id, @Nullable Double duration, Map<String, Object> fields) {
+        this(name, ts, phase, pid, tid, category, id, duration, createContent(fields, ts));
+        fArgs = extractArgs(fields);
+        fArgsRead = true;
+    }
+
+    /**
+     * Constructor of a field whose content is created only when it is needed,
+     * like a field read from the event cache of a trace. The phase, name,
+     * pid, tid, duration, category, ID and scope fields of the content are
+     * available without creating it.
+     *
+     * @param name
+     *            event name
+     * @param ts
+     *            the timestamp in ns
+     * @param phase
+     *            the phase of the event
+     * @param pid
+     *            the process id
+     * @param tid
+     *            the threadId
+     * @param category
+     *            the category
+     * @param id
+     *            the ID of the event stream
+     * @param scope
+     *            the scope of the ID
+     * @param duration
+     *            the duration in ns
+     * @param fields
+     *            the supplier of the event fields (arguments), the same as
+     *            the ones of {@link #parseJson(String)}
+     */
+    public TraceEventField(String name, long ts, String phase, @Nullable Object pid, @Nullable Integer tid, @Nullable String category, @Nullable String id, @Nullable String scope, @Nullable Double duration, Supplier<Map<String, Object>> fields) {
+        this(name, ts, phase, pid, tid, category, id, duration, new TraceEventContent(createBasicFields(name, phase, pid, tid, category, id, scope, duration), () -> createContent(fields.get(), ts)));
+    }
+
+    private TraceEventField(String name, long ts, String phase, @Nullable Object pid, @Nullable Integer tid, @Nullable String category, @Nullable String id, @Nullable Double duration, ITmfEventField content) {
         fName = name;
         fPid = pid;
         fTid = tid;
         fCategory = category;
         fId = id;
+        fContent = content;
+        fTs = ts;
+        fDuration = duration == null ? null : Double.isFinite(duration) ? duration.longValue() : null;
+        fPhase = phase.charAt(0);
+    }
+
+    private static ITmfEventField createContent(Map<String, Object> fields, long ts) {
         ITmfEventField[] array = fields.entrySet().stream()
                 .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
                 .toArray(ITmfEventField[]::new);
-        fContent = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
+        ITmfEventField content = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
         fields.put(ITraceEventConstants.TIMESTAMP, ts / MICRO_TO_NANO);
-        fTs = ts;
-        fDuration = duration == null ? null : Double.isFinite(duration) ? duration.longValue() : null;
-        fPhase = phase.charAt(0);
+        return content;
+    }
+
+    private static Map<String, ITmfEventField> createBasicFields(String name, String phase, @Nullable Object pid, @Nullable Integer tid, @Nullable String category, @Nullable String id, @Nullable String scope, @Nullable Double duration) {
+        Map<String, ITmfEventField> basicFields = new HashMap<>();
+        basicFields.put(ITraceEventConstants.PHASE, new TmfEventField(ITraceEventConstants.PHASE, phase, null));
+        basicFields.put(ITraceEventConstants.NAME, new TmfEventField(ITraceEventConstants.NAME, name, null));
+        if (tid != null) {
+            basicFields.put(ITraceEventConstants.TID, new TmfEventField(ITraceEventConstants.TID, tid, null));
+        }
+        if (pid != null) {
+            basicFields.put(ITraceEventConstants.PID, new TmfEventField(ITraceEventConstants.PID, pid, null));
+        }
+        if (duration != null && Double.isFinite(duration)) {
+            basicFields.put(ITraceEventConstants.DURATION, new TmfEventField(ITraceEventConstants.DURATION, duration, null));
+        }
+        if (category != null) {
+            basicFields.put(ITraceEventConstants.CATEGORY, new TmfEventField(ITraceEventConstants.CATEGORY, category, null));
+        }
+        if (id != null) {
+            basicFields.put(ITraceEventConstants.ID, new TmfEventField(ITraceEventConstants.ID, id, null));
+        }
+        if (scope != null) {
+            basicFields.put(ITraceEventConstants.SCOPE, new TmfEventField(ITraceEventConstants.SCOPE, scope, null));
+        }
+        return basicFields;
+    }
+
+    private static @Nullable Map<String, Object> extractArgs(Map<String, Object> fields) {
         @SuppressWarnings("null")
         Map<@NonNull String, @NonNull Object> args = fields.entrySet().stream()
                 .filter(entry -> {
                     return entry.getKey().startsWith(ITraceEventConstants.ARGS + "/"); //$NON-NLS-1$
                 })
                 .collect(Collectors.toMap(entry -> entry.getKey().substring(5), Entry::getValue));
-        fArgs = args.isEmpty() ? null : args;
-
+        return args.isEmpty() ? null : args;
     }
 
     /**
@@ -297,7 +369,16 @@ public class TraceEventField {
      * @return a map of the arguments and their field names
      */
     @Nullable
-    public Map<String, Object> getArgs() {
+    public synchronized Map<String, Object> getArgs() {
+        if (!fArgsRead) {
+            Object fields = fContent.getValue();
+            if (fields instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> fieldsMap = (Map<String, Object>) fields;
+                fArgs = extractArgs(fieldsMap);
+            }
+            fArgsRead = true;
+        }
         return fArgs;
     }
 }
@@ -0,0 +1,552 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.ITraceEventConstants;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventField;
+import org.eclipse.tracecompass.internal.provisional.jsontrace.core.trace.JsonTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Binary cache of the events of a sorted trace event file, saved with the
+ * supplementary files of the trace, so that the events are read without
+ * parsing JSON.
+ *
+ * The cache has a record for each event string of the file, in the order they
+ * are read from its start. The records are stored in columns: the start and
+ * end offsets of the event string, the timestamp, the duration, the phase,
+ * name, pid, tid, category, ID and scope, the strings being IDs in a
+ * dictionary. The other fields of an event, like its arguments, are in a blob
+ * at an offset of the record, and they are read only when they are needed.
+ *
+ * The offsets of the events in the file are the locations of the trace, so an
+ * event is read from the cache or from the file the same way.
+ */
+@NonNullByDefault
+public class TraceEventCache implements AutoCloseable {
+
+    /**
+     * Suffix of the name of the cache file of a sorted trace file
+     */
+    public static final String FILE_SUFFIX = ".cache"; //$NON-NLS-1$
+
+    private static final int MAGIC = 0x54454543; // "TEEC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 44;
+    private static final int NONE = -1;
+
+    /** Types of the values of the fields */
+    private static final byte STRING = 0;
+    private static final byte INTEGER = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte PID = 3;
+
+    private static final Gson G_SON = new Gson();
+
+    /**
+     * Columns of the records, a column is mapped in one buffer
+     */
+    private enum Column {
+        START(Long.BYTES),
+        END(Long.BYTES),
+        TIMESTAMP(Long.BYTES),
+        DURATION(Double.BYTES),
+        FIELDS(Long.BYTES),
+        PHASE(Integer.BYTES),
+        NAME(Integer.BYTES),
+        PID(Integer.BYTES),
+        TID(Integer.BYTES),
+        CATEGORY(Integer.BYTES),
+        ID(Integer.BYTES),
+        SCOPE(Integer.BYTES);
+
+        private final int fWidth;
+
+        Column(int width) {
+            fWidth = width;
+        }
+    }
+
+    private static final int RECORD_SIZE;
+    private static final int MAX_COUNT;
+
+    static {
+        int recordSize = 0;
+        int maxWidth = 0;
+        for (Column column : Column.values()) {
+            recordSize += column.fWidth;
+            maxWidth = Math.max(maxWidth, column.fWidth);
+        }
+        RECORD_SIZE = recordSize;
+        MAX_COUNT = Integer.MAX_VALUE / maxWidth;
+    }
+
+    private final File fFile;
+    private final FileChannel fChannel;
+    private final int fCount;
+    private final ByteBuffer[] fColumns;
+    private final String[] fStrings;
+    private final Object[] fPids;
+    private final long fFieldsStart;
+
+    private TraceEventCache(File file, FileChannel channel, int count, ByteBuffer[] columns, String[] strings, Object[] pids, long fieldsStart) {
+        fFile = file;
+        fChannel = channel;
+        fCount = count;
+        fColumns = columns;
+        fStrings = strings;
+        fPids = pids;
+        fFieldsStart = fieldsStart;
+    }
+
+    /**
+     * Get the cache file of a sorted trace file
+     *
+     * @param sortedFile
+     *            the sorted trace file
+     * @return the cache file
+     */
+    public static File getCacheFile(File sortedFile) {
+        return new File(sortedFile.getPath() + FILE_SUFFIX);
+    }
+
+    /**
+     * Write the cache of a sorted trace file, reading its events like the
+     * trace does
+     *
+     * @param sortedFile
+     *            the sorted trace file
+     * @param cacheFile
+     *            the cache file
+     * @return true if the cache was written, false if the events of the file
+     *         cannot be cached
+     * @throws IOException
+     *             if a file cannot be read or written
+     */
+    public static boolean build(File sortedFile, File cacheFile) throws IOException {
+        Path dir = cacheFile.getAbsoluteFile().getParentFile().toPath();
+        Column[] columns = Column.values();
+        List<Path> tempFiles = new ArrayList<>();
+        DataOutputStream[] columnOuts = new DataOutputStream[columns.length];
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                Path columnFile = Files.createTempFile(dir, cacheFile.getName(), ".tmp"); //$NON-NLS-1$
+                tempFiles.add(columnFile);
+                columnOuts[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnFile)));
+            }
+            Path fieldsFile = Files.createTempFile(dir, cacheFile.getName(), ".tmp"); //$NON-NLS-1$
+            tempFiles.add(fieldsFile);
+            Map<String, Integer> strings = new HashMap<>();
+            Map<String, Integer> pids = new HashMap<>();
+            List<Object> pidList = new ArrayList<>();
+            int count = 0;
+            try (BufferedRandomAccessFile rafile = new BufferedRandomAccessFile(sortedFile, "r"); //$NON-NLS-1$
+                    DataOutputStream fieldsOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(fieldsFile)))) {
+                ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+                DataOutputStream record = new DataOutputStream(recordBytes);
+                long fieldsOffset = 0;
+                long start = rafile.getFilePointer();
+                String json = JsonTrace.readNextEventString(() -> rafile.read());
+                while (json != null) {
+                    if (count == MAX_COUNT) {
+                        return false;
+                    }
+                    long end = rafile.getFilePointer();
+                    TraceEventField field;
+                    try {
+                        field = TraceEventField.parseJson(json);
+                    } catch (RuntimeException e) {
+                        // The trace cannot read this event either
+                        return false;
+                    }
+                    columnOuts[Column.START.ordinal()].writeLong(start);
+                    columnOuts[Column.END.ordinal()].writeLong(end);
+                    if (field == null) {
+                        writeRecord(columnOuts, 0, Double.NaN, NONE, NONE, NONE, NONE, Integer.MIN_VALUE, NONE, NONE, NONE);
+                    } else {
+                        recordBytes.reset();
+                        int pid = NONE;
+                        ITmfEventField content = field.getContent();
+                        record.writeInt(content.getFields().size());
+                        for (ITmfEventField subField : content.getFields()) {
+                            writeString(record, subField.getName());
+                            Object value = subField.getValue();
+                            if (subField.getName().equals(ITraceEventConstants.PID) && value != null) {
+                                pid = getPidIndex(pids, pidList, value);
+                                if (pid == NONE) {
+                                    return false;
+                                }
+                                record.writeByte(PID);
+                                record.writeInt(pid);
+                            } else if (value instanceof String) {
+                                record.writeByte(STRING);
+                                writeString(record, (String) value);
+                            } else if (value instanceof Integer) {
+                                record.writeByte(INTEGER);
+                                record.writeInt((Integer) value);
+                            } else if (value instanceof Double) {
+                                record.writeByte(DOUBLE);
+                                record.writeDouble((Double) value);
+                            } else {
+                                return false;
+                            }
+                        }
+                        fieldsOut.writeInt(recordBytes.size());
+                        recordBytes.writeTo(fieldsOut);
+
+                        Object duration = getValue(content, ITraceEventConstants.DURATION);
+                        Integer tid = field.getTid();
+                        writeRecord(columnOuts, field.getTs(), duration instanceof Double ? (Double) duration : Double.NaN, fieldsOffset,
+                                getStringIndex(strings, getValue(content, ITraceEventConstants.PHASE)),
+                                getStringIndex(strings, field.getName()),
+                                pid, tid != null ? tid : Integer.MIN_VALUE,
+                                getStringIndex(strings, field.getCategory()),
+                                getStringIndex(strings, field.getId()),
+                                getStringIndex(strings, getValue(content, ITraceEventConstants.SCOPE)));
+                        fieldsOffset += Integer.BYTES + recordBytes.size();
+                    }
+                    count++;
+                    start = end;
+                    json = JsonTrace.readNextEventString(() -> rafile.read());
+                }
+            }
+            for (DataOutputStream out : columnOuts) {
+                out.close();
+            }
+
+            ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream();
+            try (DataOutputStream dictionary = new DataOutputStream(dictionaryBytes)) {
+                String[] stringArray = new String[strings.size()];
+                strings.forEach((string, index) -> stringArray[index] = string);
+                dictionary.writeInt(stringArray.length);
+                for (String string : stringArray) {
+                    writeString(dictionary, string);
+                }
+                dictionary.writeInt(pidList.size());
+                for (Object pid : pidList) {
+                    dictionary.writeBoolean(pid instanceof String);
+                    writeString(dictionary, pid.toString());
+                }
+            }
+            Path cache = Files.createTempFile(dir, cacheFile.getName(), ".tmp"); //$NON-NLS-1$
+            tempFiles.add(cache);
+            long dictionaryStart = HEADER_SIZE + (long) count * RECORD_SIZE;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(cache)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(sortedFile.length());
+                out.writeLong(sortedFile.lastModified());
+                out.writeInt(count);
+                out.writeLong(dictionaryStart);
+                out.writeLong(dictionaryStart + dictionaryBytes.size());
+                for (int i = 0; i < columns.length; i++) {
+                    Files.copy(tempFiles.get(i), out);
+                }
+                dictionaryBytes.writeTo(out);
+                Files.copy(fieldsFile, out);
+            }
+            Files.move(cache, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } finally {
+            for (DataOutputStream out : columnOuts) {
+                if (out != null) {
+                    out.close();
+                }
+            }
+            for (Path tempFile : tempFiles) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    private static void writeRecord(DataOutputStream[] columnOuts, long ts, double duration, long fieldsOffset, int phase, int name, int pid, int tid, int category, int id, int scope) throws IOException {
+        columnOuts[Column.TIMESTAMP.ordinal()].writeLong(ts);
+        columnOuts[Column.DURATION.ordinal()].writeDouble(duration);
+        columnOuts[Column.FIELDS.ordinal()].writeLong(fieldsOffset);
+        columnOuts[Column.PHASE.ordinal()].writeInt(phase);
+        columnOuts[Column.NAME.ordinal()].writeInt(name);
+        columnOuts[Column.PID.ordinal()].writeInt(pid);
+        columnOuts[Column.TID.ordinal()].writeInt(tid);
+        columnOuts[Column.CATEGORY.ordinal()].writeInt(category);
+        columnOuts[Column.ID.ordinal()].writeInt(id);
+        columnOuts[Column.SCOPE.ordinal()].writeInt(scope);
+    }
+
+    private static @Nullable Object getValue(ITmfEventField content, String name) {
+        ITmfEventField field = content.getField(name);
+        return field != null ? field.getValue() : null;
+    }
+
+    private static int getStringIndex(Map<String, Integer> strings, @Nullable Object string) {
+        if (!(string instanceof String)) {
+            return NONE;
+        }
+        return strings.computeIfAbsent((String) string, s -> strings.size());
+    }
+
+    /**
+     * Get the index of a pid, a number or a string, in the pid dictionary
+     */
+    private static int getPidIndex(Map<String, Integer> pids, List<Object> pidList, Object pid) {
+        if (!(pid instanceof String) && !(pid instanceof Number)) {
+            return NONE;
+        }
+        String key = (pid instanceof String ? "s" : "n") + pid; //$NON-NLS-1$ //$NON-NLS-2$
+        Integer index = pids.get(key);
+        if (index == null) {
+            index = pidList.size();
+            pidList.add(pid);
+            pids.put(key, index);
+        }
+        return index;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return string;
+    }
+
+    /**
+     * Open the cache of a sorted trace file
+     *
+     * @param sortedFile
+     *            the sorted trace file
+     * @param cacheFile
+     *            the cache file
+     * @return the cache, or null if the file is not a cache of this sorted
+     *         file
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static @Nullable TraceEventCache open(File sortedFile, File cacheFile) throws IOException {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != sortedFile.length() || header.getLong() != sortedFile.lastModified()) {
+                channel.close();
+                return null;
+            }
+            int count = header.getInt();
+            long dictionaryStart = header.getLong();
+            long fieldsStart = header.getLong();
+            if (count < 0 || count > MAX_COUNT || dictionaryStart != HEADER_SIZE + (long) count * RECORD_SIZE ||
+                    fieldsStart < dictionaryStart || fieldsStart - dictionaryStart > Integer.MAX_VALUE || fieldsStart > channel.size()) {
+                channel.close();
+                return null;
+            }
+            Column[] columns = Column.values();
+            ByteBuffer[] columnBuffers = new ByteBuffer[columns.length];
+            long offset = HEADER_SIZE;
+            for (Column column : columns) {
+                long size = (long) count * column.fWidth;
+                columnBuffers[column.ordinal()] = channel.map(MapMode.READ_ONLY, offset, size);
+                offset += size;
+            }
+            ByteBuffer dictionary = ByteBuffer.allocate((int) (fieldsStart - dictionaryStart));
+            readFully(channel, dictionary, dictionaryStart);
+            dictionary.flip();
+            String[] strings = new String[dictionary.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(dictionary);
+            }
+            Object[] pids = new Object[dictionary.getInt()];
+            for (int i = 0; i < pids.length; i++) {
+                boolean isString = dictionary.get() != 0;
+                String pid = readString(dictionary);
+                // Numbers are the same as the ones parsed from the trace
+                pids[i] = isString ? pid : G_SON.fromJson(pid, JsonPrimitive.class).getAsNumber();
+            }
+            return new TraceEventCache(cacheFile, channel, count, columnBuffers, strings, pids, fieldsStart);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        } catch (RuntimeException e) {
+            // Invalid cache file
+            channel.close();
+            return null;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * Get the number of records of the cache, one per event string of the
+     * trace file
+     *
+     * @return the number of records
+     */
+    public int getCount() {
+        return fCount;
+    }
+
+    /**
+     * Find the record of the event string that starts at an offset of the
+     * trace file
+     *
+     * @param location
+     *            the offset
+     * @return the index of the record, or -1 if no event string starts at this
+     *         offset
+     */
+    public int find(long location) {
+        ByteBuffer starts = fColumns[Column.START.ordinal()];
+        int low = 0;
+        int high = fCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long start = starts.getLong(mid * Long.BYTES);
+            if (start < location) {
+                low = mid + 1;
+            } else if (start > location) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Get the offset of the end of the event string of a record in the trace
+     * file, which is the location of the next event
+     *
+     * @param index
+     *            the index of the record
+     * @return the offset
+     */
+    public long getEnd(int index) {
+        return fColumns[Column.END.ordinal()].getLong(index * Long.BYTES);
+    }
+
+    /**
+     * Get the event field of a record. The fields that are not in the columns
+     * are read when the content or the arguments of the field are requested.
+     *
+     * @param index
+     *            the index of the record
+     * @return the field, or null if the event string of the record is not an
+     *         event
+     */
+    public @Nullable TraceEventField getField(int index) {
+        long fieldsOffset = fColumns[Column.FIELDS.ordinal()].getLong(index * Long.BYTES);
+        if (fieldsOffset == NONE) {
+            return null;
+        }
+        long ts = fColumns[Column.TIMESTAMP.ordinal()].getLong(index * Long.BYTES);
+        double duration = fColumns[Column.DURATION.ordinal()].getDouble(index * Double.BYTES);
+        String phase = getString(Column.PHASE, index);
+        String name = getString(Column.NAME, index);
+        int pid = fColumns[Column.PID.ordinal()].getInt(index * Integer.BYTES);
+        int tid = fColumns[Column.TID.ordinal()].getInt(index * Integer.BYTES);
+        if (phase == null || name == null) {
+            return null;
+        }
+        return new TraceEventField(name, ts, phase, pid == NONE ? null : fPids[pid], tid == Integer.MIN_VALUE ? null : tid,
+                getString(Column.CATEGORY, index), getString(Column.ID, index), getString(Column.SCOPE, index),
+                Double.isNaN(duration) ? null : duration, () -> readFields(fieldsOffset));
+    }
+
+    private @Nullable String getString(Column column, int index) {
+        int string = fColumns[column.ordinal()].getInt(index * Integer.BYTES);
+        return string == NONE ? null : fStrings[string];
+    }
+
+    private Map<String, Object> readFields(long fieldsOffset) {
+        Map<String, Object> fields = new HashMap<>();
+        try {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            readFully(fChannel, length, fFieldsStart + fieldsOffset);
+            ByteBuffer buffer = ByteBuffer.allocate(length.getInt(0));
+            readFully(fChannel, buffer, fFieldsStart + fieldsOffset + Integer.BYTES);
+            buffer.flip();
+            int count = buffer.getInt();
+            // Same insertion order as the fields of the parsed event
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                byte type = buffer.get();
+                switch (type) {
+                case STRING:
+                    fields.put(key, readString(buffer));
+                    break;
+                case INTEGER:
+                    fields.put(key, buffer.getInt());
+                    break;
+                case DOUBLE:
+                    fields.put(key, buffer.getDouble());
+                    break;
+                case PID:
+                    fields.put(key, fPids[buffer.getInt()]);
+                    break;
+                default:
+                    throw new IOException("Invalid field type: " + type); //$NON-NLS-1$
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Activator.getInstance().logError("Error reading event cache: " + fFile, e); //$NON-NLS-1$
+        }
+        return fields;
+    }
+
+    @Override
+    public void close() {
+        try {
+            fChannel.close();
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error closing event cache: " + fFile, e); //$NON-NLS-1$
+        }
+    }
+}
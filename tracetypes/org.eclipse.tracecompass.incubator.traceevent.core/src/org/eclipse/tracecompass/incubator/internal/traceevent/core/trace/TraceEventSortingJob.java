@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 Ericsson
+ * Copyright (c) 2018, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -13,7 +13,7 @@ package org.eclipse.tracecompass.incubator.internal.traceevent.core.trace;
 
 import java.io.IOException;
 
-import org.eclipse.tracecompass.internal.jsontrace.core.job.SortingJob;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.merge.ParallelSortingJob;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
 /**
@@ -22,7 +22,7 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
  * @author Katherine Nadeau
  *
  */
-public class TraceEventSortingJob extends SortingJob {
+public class TraceEventSortingJob extends ParallelSortingJob {
 
     /**
      * Constructor
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0 which
@@ -104,6 +104,7 @@ public class TraceEventTrace extends JsonTrace {
     private final @NonNull Map<Object, String> fPidNames = new HashMap<>();
     private final @NonNull NavigableMap<Integer, String> fTidNames = new TreeMap<>();
     private final @NonNull Iterable<@NonNull ITmfEventAspect<?>> fEventAspects;
+    private @Nullable TraceEventCache fCache = null;
 
     /**
      * Constructor
@@ -183,6 +184,7 @@ public class TraceEventTrace extends JsonTrace {
                 throw new TmfTraceException("Job failed " + result.getMessage()); //$NON-NLS-1$
             }
         }
+        fCache = openCache(fFile);
         try {
             fFileInput = new BufferedRandomAccessFile(fFile, "r"); //$NON-NLS-1$
             goToCorrectStart(fFileInput);
@@ -203,6 +205,34 @@ public class TraceEventTrace extends JsonTrace {
         }
     }
 
+    /**
+     * Open the event cache of the sorted file, writing it if the file has no
+     * valid cache
+     */
+    private static @Nullable TraceEventCache openCache(File file) {
+        File cacheFile = TraceEventCache.getCacheFile(file);
+        try {
+            TraceEventCache cache = TraceEventCache.open(file, cacheFile);
+            if (cache == null && TraceEventCache.build(file, cacheFile)) {
+                cache = TraceEventCache.open(file, cacheFile);
+            }
+            return cache;
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error opening event cache: " + cacheFile, e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        TraceEventCache cache = fCache;
+        if (cache != null) {
+            cache.close();
+            fCache = null;
+        }
+        super.dispose();
+    }
+
     /**
      * Update the file position to be at the actual start of events, after the
      * trace event header
@@ -257,7 +287,12 @@ public class TraceEventTrace extends JsonTrace {
                 locationInfo = 0L;
             }
             if (locationInfo != null) {
+                TraceEventCache cache = fCache;
+                int index = (cache != null) ? cache.find(locationInfo) : -1;
                 try {
+                    if (cache != null && index >= 0) {
+                        return parseCachedEvent(cache, index, context.getRank());
+                    }
                     if (!locationInfo.equals(fFileInput.getFilePointer())) {
                         fFileInput.seek(locationInfo);
                     }
@@ -282,6 +317,25 @@ public class TraceEventTrace extends JsonTrace {
         return null;
     }
 
+    /**
+     * Read the next event from the cache like it is read from the file, and
+     * move the file position after it
+     */
+    private @Nullable ITmfEvent parseCachedEvent(TraceEventCache cache, int first, long rank) throws IOException {
+        for (int index = first; index < cache.getCount(); index++) {
+            TraceEventField field = cache.getField(index);
+            if (field == null) {
+                continue;
+            }
+            if (field.getPhase() != 'M') {
+                fFileInput.seek(cache.getEnd(index));
+                return new TraceEventEvent(this, rank, field);
+            }
+            parseMetadata(field);
+        }
+        return null;
+    }
+
     private void parseMetadata(TraceEventField field) {
         Map<@NonNull String, @NonNull Object> args = field.getArgs();
         String name = field.getName();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -12,11 +12,19 @@
 package org.eclipse.tracecompass.incubator.uftrace.core.tests.trace;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatEvent;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.junit.Test;
 
 /**
@@ -44,4 +52,43 @@ public class IntegrationTest {
         assertEquals("event count", 113751, cnt);
     }
 
+    /**
+     * Seek the locations of events and check that the events are the ones
+     * read from the start of the trace
+     *
+     * @throws TmfTraceException
+     *             something went wrong
+     */
+    @Test
+    public void seekTrace() throws TmfTraceException {
+        Uftrace uft = new Uftrace();
+        uft.initTrace(null, "res/uftrace-ls", TmfEvent.class);
+        ITmfContext ctx = uft.seekEvent(0);
+        Map<ITmfLocation, ITmfEvent> expected = new LinkedHashMap<>();
+        int rank = 0;
+        ITmfLocation location = ctx.getLocation();
+        ITmfEvent event = uft.getNext(ctx);
+        while (event != null) {
+            if (rank % 10000 == 1 || rank == 113750) {
+                expected.put(location, event);
+            }
+            rank++;
+            location = ctx.getLocation();
+            event = uft.getNext(ctx);
+        }
+        assertEquals("checked events", 13, expected.size());
+        for (Entry<ITmfLocation, ITmfEvent> entry : expected.entrySet()) {
+            ITmfEvent expectedEvent = entry.getValue();
+            ITmfEvent actual = uft.getNext(uft.seekEvent(entry.getKey()));
+            assertNotNull(actual);
+            assertEquals("rank", expectedEvent.getRank(), actual.getRank());
+            assertEquals("timestamp", expectedEvent.getTimestamp(), actual.getTimestamp());
+            DatEvent expectedData = (DatEvent) expectedEvent.getContent().getValue();
+            DatEvent actualData = (DatEvent) actual.getContent().getValue();
+            assertEquals("type", expectedData.getType(), actualData.getType());
+            assertEquals("tid", expectedData.getTid(), actualData.getTid());
+            assertEquals("address", expectedData.getAddress(), actualData.getAddress());
+        }
+        uft.dispose();
+    }
 }
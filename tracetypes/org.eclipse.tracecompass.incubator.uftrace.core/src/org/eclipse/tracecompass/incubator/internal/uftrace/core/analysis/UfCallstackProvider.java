@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -16,7 +16,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.event.aspect.LinuxTidAspect;
 import org.eclipse.tracecompass.incubator.callstack.core.instrumented.statesystem.CallStackStateProvider;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatEvent;
-import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.UfEventType;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace.ExecAspect;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace.PidAspect;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -72,7 +71,7 @@ public class UfCallstackProvider extends CallStackStateProvider {
         Object payload = content.getValue();
         if (payload instanceof DatEvent) {
             DatEvent ev = (DatEvent) payload;
-            if (event.getType().equals(UfEventType.ENTRY)) {
+            if (ev.isEntry()) {
                 return ev.getAddress();
             }
         }
@@ -85,7 +84,7 @@ public class UfCallstackProvider extends CallStackStateProvider {
         Object payload = content.getValue();
         if (payload instanceof DatEvent) {
             DatEvent ev = (DatEvent) payload;
-            if (event.getType().equals(UfEventType.EXIT)) {
+            if (ev.isExit()) {
                 return ev.getAddress();
             }
         }
@@ -105,6 +104,10 @@ public class UfCallstackProvider extends CallStackStateProvider {
 
     @Override
     protected long getThreadId(@NonNull ITmfEvent event) {
+        Object payload = event.getContent().getValue();
+        if (payload instanceof DatEvent) {
+            return ((DatEvent) payload).getTid();
+        }
         Integer resolve = fTidAspect.resolve(event);
         return resolve == null ? -1 : resolve.longValue();
     }
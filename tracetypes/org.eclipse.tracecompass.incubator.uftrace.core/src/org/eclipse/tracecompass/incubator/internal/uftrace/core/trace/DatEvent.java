@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -19,7 +19,8 @@ import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * Data (.dat) event type. This is to be used in Tracecompass as an event field,
- * but encapsulates a full event from dat.
+ * but encapsulates a full event from dat. The event only keeps the raw record
+ * and decodes its fields when they are read.
  *
  * @author Matthew Khouzam
  *
@@ -53,11 +54,11 @@ public class DatEvent {
     private static final long ADDRESS_MASK = (1L << 48) - 1 << 16;
 
     private static final String[] TYPES = { "ENTRY", "EXIT", "EVENT", "LOST" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    private static final int ENTRY_TYPE = 0;
+    private static final int EXIT_TYPE = 1;
 
     private final long fTime;
-    private final String fType;
-    private final int fDepth;
-    private final long fAddress;
+    private final long fPayload;
     private final int fTid;
 
     /**
@@ -113,29 +114,31 @@ public class DatEvent {
      * @return an event
      */
     public static @Nullable DatEvent create(long nanoseconds, long payload, int tid) {
-        String type = TYPES[(int) (payload & TYPE_MASK)];
-        if (type == null) {
-            throw new IllegalStateException("Trace type cannot be null"); //$NON-NLS-1$
-        }
-        boolean moreData = (payload & MARKER_MASK) == MARKER_MASK;
-        int magic = (int) ((payload & MAGIC_MASK) >>> 3);
-        int depth = (int) ((payload & DEPTH_MASK) >>> 6);
-        long address = (payload & ADDRESS_MASK) >>> 16;
-        if (magic != UFTRACE_MAGIC_NUMBER) {
+        if (!isValid(payload)) {
             return null;
         }
+        boolean moreData = (payload & MARKER_MASK) == MARKER_MASK;
         if (moreData) {
             // TODO: do something here
             // it seems undefined at the moment in the spec
         }
-        return new DatEvent(nanoseconds, type, depth, address, tid);
+        return new DatEvent(nanoseconds, payload, tid);
     }
 
-    private DatEvent(long nanoseconds, String type, int depth, long address, int tid) {
+    /**
+     * Check the magic number of the data of an event
+     *
+     * @param payload
+     *            the data of the event
+     * @return true if the data is an event
+     */
+    public static boolean isValid(long payload) {
+        return (int) ((payload & MAGIC_MASK) >>> 3) == UFTRACE_MAGIC_NUMBER;
+    }
+
+    private DatEvent(long nanoseconds, long payload, int tid) {
         fTime = nanoseconds;
-        fType = type;
-        fDepth = depth;
-        fAddress = address;
+        fPayload = payload;
         fTid = tid;
     }
 
@@ -154,7 +157,39 @@ public class DatEvent {
      * @return the type
      */
     public String getType() {
-        return fType;
+        String type = TYPES[getTypeIndex()];
+        if (type == null) {
+            throw new IllegalStateException("Trace type cannot be null"); //$NON-NLS-1$
+        }
+        return type;
+    }
+
+    /**
+     * Get the type bits of the event, the index of its type in the uftrace
+     * types
+     *
+     * @return the type index
+     */
+    int getTypeIndex() {
+        return (int) (fPayload & TYPE_MASK);
+    }
+
+    /**
+     * Whether the event is a function entry
+     *
+     * @return true if the type is "ENTRY"
+     */
+    public boolean isEntry() {
+        return getTypeIndex() == ENTRY_TYPE;
+    }
+
+    /**
+     * Whether the event is a function exit
+     *
+     * @return true if the type is "EXIT"
+     */
+    public boolean isExit() {
+        return getTypeIndex() == EXIT_TYPE;
     }
 
     /**
@@ -163,7 +198,7 @@ public class DatEvent {
      * @return the depth
      */
     public int getDepth() {
-        return fDepth;
+        return (int) ((fPayload & DEPTH_MASK) >>> 6);
     }
 
     /**
@@ -172,7 +207,7 @@ public class DatEvent {
      * @return the address
      */
     public long getAddress() {
-        return fAddress;
+        return (fPayload & ADDRESS_MASK) >>> 16;
     }
 
     /**
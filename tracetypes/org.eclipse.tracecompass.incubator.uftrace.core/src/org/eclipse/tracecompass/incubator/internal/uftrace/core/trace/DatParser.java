@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -13,12 +13,15 @@ package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 import java.util.NoSuchElementException;
 
 import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.common.collect.PeekingIterator;
 
@@ -45,8 +48,15 @@ import com.google.common.collect.PeekingIterator;
  */
 public class DatParser implements Iterable<DatEvent> {
 
+    /**
+     * Size of a record: a timestamp and a payload
+     */
+    static final int RECORD_SIZE = Long.BYTES * 2;
+
     private final File fFile;
     private final long fStart;
+    private final int fTid;
+    private @Nullable ByteBuffer fData = null;
 
     /**
      * Data event parser
@@ -69,50 +79,124 @@ public class DatParser implements Iterable<DatEvent> {
     public DatParser(File file, long start) {
         fFile = file;
         fStart = start;
+        fTid = NumberUtils.toInt(file.getName().substring(0, file.getName().length() - 4));
     }
 
-    @Override
-    public PeekingIterator<DatEvent> iterator() {
+    /**
+     * Get the file of this data
+     *
+     * @return the file
+     */
+    public File getFile() {
+        return fFile;
+    }
 
+    /**
+     * Get the thread id of this data, from the name of the file
+     *
+     * @return the TID
+     */
+    int getTid() {
+        return fTid;
+    }
+
+    /**
+     * Get a view of the data of the file. The file is mapped once, and the
+     * views share the mapping, but each view has its own position.
+     *
+     * @return the little endian data, from the start offset
+     */
+    ByteBuffer getData() {
+        ByteBuffer data;
+        synchronized (this) {
+            data = fData;
+            if (data == null) {
+                data = map();
+                fData = data;
+            }
+        }
+        return data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private ByteBuffer map() {
         try (FileChannel fc = FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
-            MappedByteBuffer bb = fc.map(FileChannel.MapMode.READ_ONLY, fStart, fc.size());
+            long size = Math.max(0, fc.size() - fStart);
+            MappedByteBuffer bb = fc.map(FileChannel.MapMode.READ_ONLY, Math.min(fStart, fc.size()), size);
             if (bb == null) {
                 throw new IllegalStateException("cannot create a byte buffer!"); //$NON-NLS-1$
             }
-            return new PeekingIterator<DatEvent>() {
-
-                DatEvent fCurrent = null;
-
-                @Override
-                public DatEvent next() {
-                    if (!hasNext()) {
-                        throw new NoSuchElementException("no more data"); //$NON-NLS-1$
-                    }
-                    fCurrent = DatEvent.create(bb,
-                            NumberUtils.toInt(fFile.getName().substring(0, fFile.getName().length() - 4)));
-                    return fCurrent;
-                }
+            return bb;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-                @Override
-                public boolean hasNext() {
-                    return bb.remaining() > Long.BYTES * 2;
-                }
+    /**
+     * Whether a record can be read at a position of the data
+     *
+     * @param data
+     *            the data, see {@link #getData()}
+     * @param position
+     *            the position of the record
+     * @return true if there is a record to read
+     */
+    static boolean hasRecord(ByteBuffer data, long position) {
+        return data.limit() - position > RECORD_SIZE;
+    }
 
-                @Override
-                public DatEvent peek() {
-                    if (fCurrent == null && hasNext()) {
-                        return next();
-                    }
-                    return fCurrent;
+    @Override
+    public PeekingIterator<DatEvent> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Get an iterator of the events from a position in the data
+     *
+     * @param position
+     *            the offset of an event from the start of the data, a
+     *            multiple of the size of a record
+     * @return the iterator
+     */
+    public PeekingIterator<DatEvent> iterator(long position) {
+        ByteBuffer bb = getData();
+        bb.position((int) Math.min(position, bb.limit()));
+        return new PeekingIterator<DatEvent>() {
+
+            DatEvent fPeeked = null;
+            boolean fHasPeeked = false;
+
+            @Override
+            public DatEvent next() {
+                if (fHasPeeked) {
+                    fHasPeeked = false;
+                    DatEvent peeked = fPeeked;
+                    fPeeked = null;
+                    return peeked;
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException("no more data"); //$NON-NLS-1$
                 }
+                return DatEvent.create(bb, fTid);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return fHasPeeked || hasRecord(bb, bb.position());
+            }
 
-                @Override
-                public void remove() {
-                    throw new UnsupportedOperationException("can't"); //$NON-NLS-1$
+            @Override
+            public DatEvent peek() {
+                if (!fHasPeeked) {
+                    fPeeked = next();
+                    fHasPeeked = true;
                 }
-            };
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
-        }
+                return fPeeked;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("can't"); //$NON-NLS-1$
+            }
+        };
     }
 }
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.merge.LoserTree;
+
+/**
+ * Checkpoints of the merge of the data streams of a uftrace. Every interval
+ * of events, a checkpoint has the position of each stream, so that a
+ * {@link UfContext} can resume the merge at the checkpoint instead of reading
+ * all the events from the start.
+ *
+ * The index is built by merging the timestamps of the streams like
+ * {@link UfContext} does, without creating the events, and it can be saved
+ * with the supplementary files of the trace.
+ */
+public class UfCheckpointIndex {
+
+    /**
+     * Default number of events between two checkpoints
+     */
+    public static final int DEFAULT_INTERVAL = 8192;
+
+    private static final int MAGIC = 0x55464349; // "UFCI"
+    private static final int VERSION = 1;
+
+    private final int fInterval;
+    private final long fEventCount;
+    private final long[][] fPositions;
+
+    private UfCheckpointIndex(int interval, long eventCount, long[][] positions) {
+        fInterval = interval;
+        fEventCount = eventCount;
+        fPositions = positions;
+    }
+
+    /**
+     * Build the index of data streams
+     *
+     * @param dats
+     *            the data streams, in the order of the streams of the context
+     * @param interval
+     *            the number of events between two checkpoints
+     * @return the index
+     */
+    public static UfCheckpointIndex build(List<DatParser> dats, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Invalid checkpoint interval: " + interval); //$NON-NLS-1$
+        }
+        int streamCount = dats.size();
+        ByteBuffer[] data = new ByteBuffer[streamCount];
+        long[] positions = new long[streamCount];
+        // Streams ordered by time of their next event, then index
+        LoserTree tree = new LoserTree(streamCount);
+        for (int i = 0; i < streamCount; i++) {
+            data[i] = dats.get(i).getData();
+            if (DatParser.hasRecord(data[i], 0)) {
+                tree.setKey(i, data[i].getLong(0));
+            }
+        }
+        tree.build();
+
+        List<long[]> checkpoints = new ArrayList<>();
+        long rank = 0;
+        while (!tree.isEmpty()) {
+            if (rank % interval == 0) {
+                checkpoints.add(positions.clone());
+            }
+            int stream = tree.getTop();
+            positions[stream] += DatParser.RECORD_SIZE;
+            rank++;
+            if (DatParser.hasRecord(data[stream], positions[stream])) {
+                tree.replaceTopKey(data[stream].getLong((int) positions[stream]));
+            } else {
+                tree.removeTop();
+            }
+        }
+        return new UfCheckpointIndex(interval, rank, checkpoints.toArray(new long[checkpoints.size()][]));
+    }
+
+    /**
+     * Get the number of events between two checkpoints
+     *
+     * @return the interval
+     */
+    public int getInterval() {
+        return fInterval;
+    }
+
+    /**
+     * Get the number of events of the trace
+     *
+     * @return the number of events
+     */
+    public long getEventCount() {
+        return fEventCount;
+    }
+
+    /**
+     * Get the rank of the last checkpoint at or before a rank
+     *
+     * @param rank
+     *            the rank of an event
+     * @return the rank of the checkpoint
+     */
+    public long getCheckpointRank(long rank) {
+        if (fPositions.length == 0 || rank <= 0) {
+            return 0;
+        }
+        return Math.min(rank / fInterval, fPositions.length - 1L) * fInterval;
+    }
+
+    /**
+     * Get the positions of the streams at a checkpoint
+     *
+     * @param checkpointRank
+     *            the rank of the checkpoint, see
+     *            {@link #getCheckpointRank(long)}
+     * @return the positions of the streams, null if the index has no
+     *         checkpoint
+     */
+    public long @Nullable [] getPositions(long checkpointRank) {
+        if (fPositions.length == 0) {
+            return null;
+        }
+        return fPositions[(int) (checkpointRank / fInterval)];
+    }
+
+    /**
+     * Save the index to a file
+     *
+     * @param file
+     *            the file
+     * @param dats
+     *            the data streams of the index, to check that the index is
+     *            still valid when it is loaded
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void save(File file, List<DatParser> dats) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(fInterval);
+            out.writeLong(fEventCount);
+            out.writeInt(dats.size());
+            for (DatParser dat : dats) {
+                out.writeUTF(dat.getFile().getName());
+                out.writeLong(dat.getFile().length());
+            }
+            out.writeInt(fPositions.length);
+            for (long[] positions : fPositions) {
+                for (long position : positions) {
+                    out.writeLong(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Load an index from a file
+     *
+     * @param file
+     *            the file
+     * @param dats
+     *            the data streams of the trace
+     * @return the index, or null if the file is not an index of these data
+     *         streams
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static @Nullable UfCheckpointIndex load(File file, List<DatParser> dats) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            int interval = in.readInt();
+            long eventCount = in.readLong();
+            int streamCount = in.readInt();
+            if (interval <= 0 || eventCount < 0 || streamCount != dats.size()) {
+                return null;
+            }
+            for (DatParser dat : dats) {
+                if (!in.readUTF().equals(dat.getFile().getName()) || in.readLong() != dat.getFile().length()) {
+                    return null;
+                }
+            }
+            int checkpointCount = in.readInt();
+            if (checkpointCount != (eventCount + interval - 1) / interval) {
+                return null;
+            }
+            long[][] positions = new long[checkpointCount][streamCount];
+            for (long[] checkpoint : positions) {
+                for (int i = 0; i < streamCount; i++) {
+                    checkpoint[i] = in.readLong();
+                }
+            }
+            return new UfCheckpointIndex(interval, eventCount, positions);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -11,9 +11,11 @@
 
 package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
-import java.util.PriorityQueue;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.merge.LoserTree;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
@@ -22,18 +24,41 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
-import com.google.common.collect.PeekingIterator;
+import com.google.common.collect.Lists;
 
 /**
- * Naive context
+ * Context of a uftrace, which merges the events of the data streams by time.
+ * The events of the same time are ordered by stream, so the merge from the
+ * positions of the streams at a rank gives the same events as the merge from
+ * the start.
+ *
+ * The location of the context is the number of events read times the size of
+ * a record.
  *
  * @author Matthew Khouzam
  *
  */
 public class UfContext extends TmfContext {
 
-    private PriorityQueue<PeekingIterator<DatEvent>> fQueue = new PriorityQueue<>(
-            (o1, o2) -> Long.compare(o1.peek().getTime(), o2.peek().getTime()));
+    /**
+     * A cursor in the shared data of a stream. The merge compares the times of
+     * the next records of the streams, kept by the tree, so it does not decode
+     * the records.
+     */
+    private static final class DatStream {
+        private final ByteBuffer fData;
+        private final int fTid;
+        private int fPosition;
+
+        private DatStream(ByteBuffer data, int tid, int position) {
+            fData = data;
+            fTid = tid;
+            fPosition = position;
+        }
+    }
+
+    private final DatStream[] fStreams;
+    private final LoserTree fTree;
     private ITmfTrace fTrace;
 
     /**
@@ -45,13 +70,39 @@ public class UfContext extends TmfContext {
      *            trace
      */
     public UfContext(Iterable<DatParser> dats, ITmfTrace trace) {
+        this(dats, trace, null, 0);
+    }
+
+    /**
+     * Constructor, to resume the merge of the streams at a rank
+     *
+     * @param dats
+     *            data streams
+     * @param trace
+     *            trace
+     * @param positions
+     *            the positions of the streams at the rank, in the order of the
+     *            streams, null for the start of the streams
+     * @param rank
+     *            the rank of the next event
+     */
+    public UfContext(Iterable<DatParser> dats, ITmfTrace trace, long @Nullable [] positions, long rank) {
         fTrace = trace;
-        for (DatParser dp : dats) {
-            PeekingIterator<DatEvent> iterator = dp.iterator();
-            if (iterator.hasNext()) {
-                fQueue.add(iterator);
+        List<DatParser> parsers = Lists.newArrayList(dats);
+        fStreams = new DatStream[parsers.size()];
+        fTree = new LoserTree(parsers.size());
+        for (int i = 0; i < fStreams.length; i++) {
+            DatParser dp = parsers.get(i);
+            ByteBuffer data = dp.getData();
+            int position = (int) (positions == null ? 0 : positions[i]);
+            fStreams[i] = new DatStream(data, dp.getTid(), position);
+            if (DatParser.hasRecord(data, position)) {
+                fTree.setKey(i, data.getLong(position));
             }
         }
+        fTree.build();
+        setLocation(new TmfLongLocation(rank * DatParser.RECORD_SIZE));
+        setRank(rank);
     }
 
     @Override
@@ -65,24 +116,69 @@ public class UfContext extends TmfContext {
      * @return the next event or null
      */
     public ITmfEvent getNext() {
-        PeekingIterator<DatEvent> eventSource = fQueue.poll();
-        if (eventSource != null) {
-            DatEvent event = eventSource.next();
-            if (eventSource.hasNext()) {
-                fQueue.add(eventSource);
-            }
+        DatEvent event = nextDatEvent();
+        if (event != null) {
             TmfEvent tmfEvent = new TmfEvent(fTrace, getRank(), fTrace.createTimestamp(event.getTime()),
-                    UfEventType.lookup(event.getType()),
+                    UfEventType.lookup(event),
                     new TmfEventField(ITmfEventField.ROOT_FIELD_ID, event, null));
-            TmfLongLocation location = getLocation();
-            if (location != null) {
-                setLocation(new TmfLongLocation(location.getLocationInfo() + Long.BYTES * 2));
-            } else {
-                setLocation(new TmfLongLocation(Long.BYTES * 2));
-            }
             return tmfEvent;
         }
         return null;
     }
 
+    /**
+     * Skip events, without creating them. The location and the rank of the
+     * context are the ones after the skipped events.
+     *
+     * @param count
+     *            the number of events to skip
+     * @return the number of skipped events, less than the count at the end of
+     *         the streams
+     */
+    public long skip(long count) {
+        long skipped = 0;
+        while (skipped < count && skipDatEvent()) {
+            skipped++;
+        }
+        setRank(getRank() + skipped);
+        return skipped;
+    }
+
+    private @Nullable DatEvent nextDatEvent() {
+        int top = fTree.getTop();
+        if (top < 0) {
+            return null;
+        }
+        DatStream eventSource = fStreams[top];
+        DatEvent event = DatEvent.create(fTree.getTopKey(), eventSource.fData.getLong(eventSource.fPosition + Long.BYTES), eventSource.fTid);
+        advanceTop();
+        return event;
+    }
+
+    private boolean skipDatEvent() {
+        if (fTree.isEmpty()) {
+            return false;
+        }
+        advanceTop();
+        return true;
+    }
+
+    /**
+     * Move the stream at the top of the tree to its next record
+     */
+    private void advanceTop() {
+        DatStream eventSource = fStreams[fTree.getTop()];
+        eventSource.fPosition += DatParser.RECORD_SIZE;
+        if (DatParser.hasRecord(eventSource.fData, eventSource.fPosition)) {
+            fTree.replaceTopKey(eventSource.fData.getLong(eventSource.fPosition));
+        } else {
+            fTree.removeTop();
+        }
+        TmfLongLocation location = getLocation();
+        if (location != null) {
+            setLocation(new TmfLongLocation(location.getLocationInfo() + DatParser.RECORD_SIZE));
+        } else {
+            setLocation(new TmfLongLocation(DatParser.RECORD_SIZE));
+        }
+    }
 }
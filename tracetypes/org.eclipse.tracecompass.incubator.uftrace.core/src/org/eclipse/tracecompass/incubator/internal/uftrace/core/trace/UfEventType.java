@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -44,6 +44,9 @@ public class UfEventType extends TmfEventType {
     /** The event types */
     public static final Set<? extends ITmfEventType> TYPES = ImmutableSet.of(UfEventType.ENTRY, UfEventType.EXIT, UfEventType.EVENT, UfEventType.LOST);
 
+    /** The event types, by the type bits of the data events */
+    private static final UfEventType[] TYPES_BY_INDEX = { ENTRY, EXIT, EVENT, LOST };
+
     private UfEventType(String name) {
         super(name, ROOT);
     }
@@ -70,4 +73,20 @@ public class UfEventType extends TmfEventType {
         }
     }
 
+    /**
+     * Lookup the event type of a data event, without decoding the name of its
+     * type
+     *
+     * @param event
+     *            the data event
+     * @return the event type
+     */
+    static ITmfEventType lookup(DatEvent event) {
+        UfEventType type = TYPES_BY_INDEX[event.getTypeIndex()];
+        if (type == null) {
+            throw new IllegalStateException("Trace type cannot be null"); //$NON-NLS-1$
+        }
+        return type;
+    }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Ericsson
+ * Copyright (c) 2017, 2026 Ericsson
  *
  * All rights reserved. This program and the accompanying materials are
  * made available under the terms of the Eclipse Public License 2.0 which
@@ -16,14 +16,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Set;
 
 import org.apache.commons.io.FilenameUtils;
@@ -53,6 +52,7 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceKnownSize;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceWithPreDefinedEvents;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
@@ -79,7 +79,9 @@ import com.google.common.collect.Iterables;
 public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
         ITmfTraceKnownSize, ITmfTraceWithPreDefinedEvents {
 
-    private Collection<DatParser> fDats = new ArrayList<>();
+    private static final String CHECKPOINT_INDEX_FILE = "uftrace-checkpoints.idx"; //$NON-NLS-1$
+
+    private List<DatParser> fDats = new ArrayList<>();
     private Map<Long, MapParser> fMap = new HashMap<>();
     private Map<String, SymParser> fSyms = new HashMap<>();
     private TaskParser fTasks;
@@ -88,6 +90,8 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
     private long fSize;
 
+    private @Nullable UfCheckpointIndex fCheckpointIndex = null;
+
     private final ISymbolProvider fSymbolProvider = new UfTraceSymbolProvider();
 
     private final @NonNull TidAspect fTidAspect = new TidAspect();
@@ -245,6 +249,8 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
                 throw new TmfTraceException(e.getMessage(), e);
             }
         }
+        // The order of the streams orders the events of the same time
+        fDats.sort(Comparator.comparing(dat -> dat.getFile().getName()));
     }
 
     @Override
@@ -259,27 +265,49 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
     @Override
     public ITmfContext seekEvent(ITmfLocation location) {
-        UfContext context = new UfContext(fDats, this);
-        if (location == null) {
-            return context;
-        }
         if (location instanceof TmfLongLocation) {
-            TmfLongLocation longLocation = (TmfLongLocation) location;
-            if (longLocation.getLocationInfo().longValue() == 0) {
+            long rank = ((TmfLongLocation) location).getLocationInfo() / DatParser.RECORD_SIZE;
+            if (rank > 0) {
+                // Resume the merge of the streams at the last checkpoint
+                UfCheckpointIndex index = getCheckpointIndex();
+                long checkpointRank = index.getCheckpointRank(rank);
+                UfContext context = new UfContext(fDats, this, index.getPositions(checkpointRank), checkpointRank);
+                context.skip(rank - checkpointRank);
                 return context;
             }
-            while (context.getLocation() != null && Long.compare(longLocation.getLocationInfo(), Objects.requireNonNull(context.getLocation()).getLocationInfo()) >= 0) {
-                ITmfEvent next = context.getNext();
-                if (next == null) {
-                    break;
-                }
-                updateAttributes(context, next);
-                if (context.getLocation() == null) {
-                    return context;
-                }
+        }
+        return new UfContext(fDats, this);
+    }
+
+    /**
+     * Get the checkpoint index of the data streams, loaded from the
+     * supplementary files of the trace or built on the first call
+     *
+     * @return the checkpoint index
+     */
+    private synchronized UfCheckpointIndex getCheckpointIndex() {
+        UfCheckpointIndex index = fCheckpointIndex;
+        if (index != null) {
+            return index;
+        }
+        File file = new File(TmfTraceManager.getSupplementaryFileDir(this), CHECKPOINT_INDEX_FILE);
+        if (file.exists()) {
+            try {
+                index = UfCheckpointIndex.load(file, fDats);
+            } catch (IOException e) {
+                Activator.getInstance().logError("Error reading the checkpoint index: " + file, e); //$NON-NLS-1$
             }
         }
-        return context;
+        if (index == null) {
+            index = UfCheckpointIndex.build(fDats, UfCheckpointIndex.DEFAULT_INTERVAL);
+            try {
+                index.save(file, fDats);
+            } catch (IOException e) {
+                Activator.getInstance().logError("Error writing the checkpoint index: " + file, e); //$NON-NLS-1$
+            }
+        }
+        fCheckpointIndex = index;
+        return index;
     }
 
     @Override
@@ -295,10 +323,20 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
         }
         if (ctx instanceof UfContext) {
             UfContext ufContext = (UfContext) ctx;
+            TmfLongLocation location = ufContext.getLocation();
             ITmfEvent tmfEvent = ufContext.getNext();
             if (tmfEvent != null) {
-                fCurrentLoc = new TmfLongLocation(fCurrentLoc.getLocationInfo() + Long.BYTES * 2);
-                ctx.setLocation(fCurrentLoc);
+                /*
+                 * The location after the event is the current location, the
+                 * context keeps the location of the event until getNext()
+                 * updates it, so the checkpoints of the indexer have the
+                 * location of their event.
+                 */
+                TmfLongLocation nextLocation = ufContext.getLocation();
+                if (nextLocation != null) {
+                    fCurrentLoc = nextLocation;
+                }
+                ufContext.setLocation(location);
                 updateAttributes(context, tmfEvent);
                 return tmfEvent;
             }